@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A {@code PipelinedIterable} reads the items of another {@link Iterable} on a
+ * separate producer thread and hands them to the consumer through a bounded
+ * queue. This allows a lazy iterable, for example the results of a scan, to be
+ * produced concurrently with the code consuming it, while holding at most the
+ * buffer size of items in memory.
+ * <p>
+ * Each call to {@link #iterator()} starts a new producer thread over a new
+ * iterator of the wrapped iterable. The producer stops once the wrapped
+ * iterator is exhausted, the iterator or this iterable is closed, or the
+ * iterator is no longer referenced by the consumer, so a producer does not
+ * outlive an iterator that has been abandoned without being closed. Any
+ * exception thrown by the wrapped iterable is rethrown to the consumer.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedIterable<T> implements CloseableIterable<T> {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final Object NULL_ITEM = new Object();
+    private static final Object END = new Object();
+
+    private final Iterable<T> iterable;
+    private final int bufferSize;
+    private final Function<CloseableIterator<T>, Reference<CloseableIterator<T>>> consumerReference;
+    private final Set<Producer<T>> producers = ConcurrentHashMap.newKeySet();
+
+    public PipelinedIterable(final Iterable<T> iterable, final int bufferSize) {
+        this(iterable, bufferSize, WeakReference::new);
+    }
+
+    /**
+     * @param iterable          the iterable to produce the items of
+     * @param bufferSize        the maximum number of items to buffer
+     * @param consumerReference creates the reference each producer holds to
+     *                          its consumer's iterator, the producer stops once
+     *                          the reference is cleared
+     */
+    PipelinedIterable(final Iterable<T> iterable, final int bufferSize,
+                      final Function<CloseableIterator<T>, Reference<CloseableIterator<T>>> consumerReference) {
+        if (null == iterable) {
+            throw new IllegalArgumentException("Iterable is required");
+        }
+        if (1 > bufferSize) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        this.iterable = iterable;
+        this.bufferSize = bufferSize;
+        this.consumerReference = consumerReference;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        final PipelinedIterator<T> iterator = new PipelinedIterator<>(queue);
+        final Producer<T> producer = new Producer<>(iterable, queue, consumerReference.apply(iterator), producers);
+        iterator.producer = producer;
+        producers.add(producer);
+        producer.start();
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        producers.forEach(Producer::close);
+        CloseableUtil.close(iterable);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    private static final class PipelinedIterator<T> implements CloseableIterator<T> {
+        private final BlockingQueue<Object> queue;
+        private Producer<T> producer;
+        private boolean done;
+        private Object next;
+
+        private PipelinedIterator(final BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            if (null == next) {
+                try {
+                    while (null == next) {
+                        if (producer.closed) {
+                            close();
+                            return false;
+                        }
+                        next = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted while waiting for the next item", e);
+                }
+                if (END == next) {
+                    close();
+                    return false;
+                }
+                if (next instanceof Failure) {
+                    final Throwable error = ((Failure) next).error;
+                    close();
+                    if (error instanceof Error) {
+                        throw (Error) error;
+                    }
+                    throw (RuntimeException) error;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object item = next;
+            next = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            next = null;
+            producer.close();
+        }
+    }
+
+    /**
+     * Produces the items on its own thread. The producer only holds a weak
+     * reference to the consumer's iterator, so it can tell when the iterator
+     * has been abandoned.
+     */
+    private static final class Producer<T> implements Runnable {
+        private final Iterable<T> iterable;
+        private final BlockingQueue<Object> queue;
+        private final Reference<CloseableIterator<T>> consumer;
+        private final Set<Producer<T>> producers;
+        private final Thread thread;
+        private volatile boolean closed;
+
+        private Producer(final Iterable<T> iterable, final BlockingQueue<Object> queue,
+                         final Reference<CloseableIterator<T>> consumer, final Set<Producer<T>> producers) {
+            this.iterable = iterable;
+            this.queue = queue;
+            this.consumer = consumer;
+            this.producers = producers;
+            this.thread = new Thread(this, "PipelinedIterable-" + THREAD_COUNT.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+            producers.remove(this);
+        }
+
+        @Override
+        public void run() {
+            Iterator<T> iterator = null;
+            try {
+                iterator = iterable.iterator();
+                while (!closed && iterator.hasNext()) {
+                    final T item = iterator.next();
+                    if (!put(null == item ? NULL_ITEM : item)) {
+                        return;
+                    }
+                }
+                put(END);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException | Error e) {
+                try {
+                    put(new Failure(e));
+                } catch (final InterruptedException e2) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                CloseableUtil.close(iterator);
+                producers.remove(this);
+            }
+        }
+
+        /**
+         * Waits for space in the queue, giving up if the consumer closes or
+         * abandons the iterator.
+         */
+        private boolean put(final Object item) throws InterruptedException {
+            while (!closed) {
+                if (queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (null == consumer.get()) {
+                    close();
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable error;
+
+        private Failure(final Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class PipelinedIterableTest {
+
+    @Test
+    public void shouldIterateOverAllItemsInOrder() {
+        // Given
+        final List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        items.set(10, null);
+
+        // When
+        final List<Integer> result;
+        try (final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(items, 5)) {
+            result = Lists.newArrayList(iterable);
+        }
+
+        // Then
+        assertEquals(items, result);
+    }
+
+    @Test
+    public void shouldProduceItemsOnSeparateThread() {
+        // Given
+        final String consumerThread = Thread.currentThread().getName();
+        final Iterable<String> producerThreads = new TransformIterable<Integer, String>(Arrays.asList(1, 2, 3)) {
+            @Override
+            protected String transform(final Integer item) {
+                return Thread.currentThread().getName();
+            }
+        };
+
+        // When
+        final List<String> result = Lists.newArrayList(new PipelinedIterable<>(producerThreads, 1));
+
+        // Then
+        assertThat(result).hasSize(3)
+                .allSatisfy(thread -> assertNotEquals(consumerThread, thread));
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromWrappedIterable() {
+        // Given
+        final Iterable<Integer> failingIterable = () -> new Iterator<Integer>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (2 == count) {
+                    throw new IllegalStateException("Failed to read item");
+                }
+                return count++;
+            }
+        };
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(failingIterable, 10).iterator();
+
+        // When
+        assertEquals(0, (int) iterator.next());
+        assertEquals(1, (int) iterator.next());
+        final Exception exception = assertThrows(IllegalStateException.class, iterator::next);
+
+        // Then
+        assertEquals("Failed to read item", exception.getMessage());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldCloseWrappedIteratorWhenClosedBeforeFullyConsumed() {
+        // Given
+        final CloseableIterable<Integer> iterable = mock(CloseableIterable.class);
+        final CloseableIterator<Integer> wrappedIterator = new WrappedCloseableIterator<>(
+                new RepeatItemIterable<>(1, Long.MAX_VALUE).iterator());
+        final CloseableIterator<Integer> spyIterator = spy(wrappedIterator);
+        given(iterable.iterator()).willReturn(spyIterator);
+        final PipelinedIterable<Integer> pipelinedIterable = new PipelinedIterable<>(iterable, 2);
+        final CloseableIterator<Integer> iterator = pipelinedIterable.iterator();
+
+        // When
+        assertEquals(1, (int) iterator.next());
+        pipelinedIterable.close();
+
+        // Then
+        assertThrows(NoSuchElementException.class, iterator::next);
+        verify(spyIterator, timeout(5000)).close();
+        verify(iterable).close();
+    }
+
+    @Test
+    public void shouldStopProducingWhenIteratorIsAbandoned() {
+        // Given
+        final CloseableIterable<Integer> iterable = mock(CloseableIterable.class);
+        final CloseableIterator<Integer> spyIterator = spy(new WrappedCloseableIterator<>(
+                new RepeatItemIterable<>(1, Long.MAX_VALUE).iterator()));
+        given(iterable.iterator()).willReturn(spyIterator);
+        final List<Reference<CloseableIterator<Integer>>> consumerReferences = new ArrayList<>();
+        final PipelinedIterable<Integer> pipelinedIterable = new PipelinedIterable<>(iterable, 2, consumer -> {
+            final Reference<CloseableIterator<Integer>> reference = new WeakReference<>(consumer);
+            consumerReferences.add(reference);
+            return reference;
+        });
+        final CloseableIterator<Integer> iterator = pipelinedIterable.iterator();
+        assertEquals(1, (int) iterator.next());
+
+        // When
+        consumerReferences.get(0).clear();
+
+        // Then
+        verify(spyIterator, timeout(5000)).close();
+    }
+}
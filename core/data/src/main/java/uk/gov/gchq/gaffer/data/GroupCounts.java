@@ -39,15 +39,20 @@ public class GroupCounts {
         addElementGroup(group, edgeGroups);
     }
 
+    public void addEntityGroup(final String group, final int count) {
+        addElementGroup(group, count, entityGroups);
+    }
+
+    public void addEdgeGroup(final String group, final int count) {
+        addElementGroup(group, count, edgeGroups);
+    }
+
     private void addElementGroup(final String group, final Map<String, Integer> elementGroups) {
-        Integer count = elementGroups.get(group);
-        if (null == count) {
-            count = 1;
-        } else {
-            count += 1;
-        }
-
-        elementGroups.put(group, count);
+        addElementGroup(group, 1, elementGroups);
+    }
+
+    private void addElementGroup(final String group, final int count, final Map<String, Integer> elementGroups) {
+        elementGroups.merge(group, count, Integer::sum);
     }
 
     public boolean isLimitHit() {
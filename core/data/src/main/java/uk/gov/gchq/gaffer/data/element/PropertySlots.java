@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.element;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code PropertySlots} is the layout of the properties of a group, assigning
+ * each property name a fixed slot. It is shared by all the
+ * {@link SlottedProperties} of the group, so the name to slot lookup is held
+ * once per group rather than once per element.
+ */
+public final class PropertySlots {
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    public PropertySlots(final Collection<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+        this.slots = new HashMap<>(this.names.length * 2);
+        for (int i = 0; i < this.names.length; i++) {
+            if (null != slots.put(this.names[i], i)) {
+                throw new IllegalArgumentException("Duplicate property name: " + this.names[i]);
+            }
+        }
+    }
+
+    /**
+     * @param name the property name
+     * @return the slot of the property, or -1 if the property does not have a slot
+     */
+    public int indexOf(final Object name) {
+        final Integer slot = slots.get(name);
+        return null != slot ? slot : -1;
+    }
+
+    public String getName(final int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("names", Arrays.toString(names))
+                .toString();
+    }
+}
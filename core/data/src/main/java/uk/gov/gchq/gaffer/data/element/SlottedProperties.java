@@ -0,0 +1,523 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.element;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@code SlottedProperties} are {@link Properties} that store the values of the
+ * properties in a {@link PropertySlots} layout, usually the properties of a
+ * group in the schema, in an array indexed by slot rather than in a hash table.
+ * This avoids a hash table entry for every property of every element. Any
+ * properties without a slot, for example transient properties added by a
+ * transform, are stored in a separate {@link Properties} map.
+ * <p>
+ * As with {@link Properties}, putting a null value removes the property. The
+ * properties are equal to, and serialised as, {@link Properties} with the same
+ * values.
+ * </p>
+ */
+public class SlottedProperties extends Properties {
+    private static final long serialVersionUID = -1905212498871785231L;
+
+    private final transient PropertySlots slots;
+    private final transient Object[] values;
+    private transient int slotCount;
+    private transient Properties overflow;
+
+    public SlottedProperties(final PropertySlots slots) {
+        this(slots, new Object[slots.size()], 0, null);
+    }
+
+    private SlottedProperties(final PropertySlots slots, final Object[] values, final int slotCount, final Properties overflow) {
+        super();
+        this.slots = slots;
+        this.values = values;
+        this.slotCount = slotCount;
+        this.overflow = overflow;
+    }
+
+    public PropertySlots getSlots() {
+        return slots;
+    }
+
+    /**
+     * @param slot the slot of the property in the {@link PropertySlots}
+     * @return the value of the property in the slot, or null if it is not set
+     */
+    public Object getSlotValue(final int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Sets the value of the property in the slot. A null value removes the
+     * property.
+     *
+     * @param slot  the slot of the property in the {@link PropertySlots}
+     * @param value the value of the property
+     * @return the previous value of the property, or null if it was not set
+     */
+    public Object putSlotValue(final int slot, final Object value) {
+        return setSlot(slot, value);
+    }
+
+    @Override
+    public Object get(final Object name) {
+        final int slot = slots.indexOf(name);
+        if (0 <= slot) {
+            return values[slot];
+        }
+        return null != overflow ? overflow.get(name) : null;
+    }
+
+    @Override
+    public Object getOrDefault(final Object name, final Object defaultValue) {
+        final Object value = get(name);
+        return null != value ? value : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(final Object name) {
+        return null != get(name);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (final Object slotValue : values) {
+            if (null != slotValue && slotValue.equals(value)) {
+                return true;
+            }
+        }
+        return null != overflow && overflow.containsValue(value);
+    }
+
+    @Override
+    public Object put(final String name, final Object value) {
+        if (null == name) {
+            return null;
+        }
+        final int slot = slots.indexOf(name);
+        if (0 <= slot) {
+            return setSlot(slot, value);
+        }
+        if (null == value) {
+            return null != overflow ? overflow.remove(name) : null;
+        }
+        if (null == overflow) {
+            overflow = new Properties();
+        }
+        return overflow.put(name, value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ?> properties) {
+        for (final Map.Entry<? extends String, ?> entry : properties.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object putIfAbsent(final String name, final Object value) {
+        final Object current = get(name);
+        if (null == current) {
+            put(name, value);
+        }
+        return current;
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        final int slot = slots.indexOf(name);
+        if (0 <= slot) {
+            return setSlot(slot, null);
+        }
+        return null != overflow ? overflow.remove(name) : null;
+    }
+
+    @Override
+    public boolean remove(final Object name, final Object value) {
+        final Object current = get(name);
+        if (null != current && current.equals(value)) {
+            remove(name);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object replace(final String name, final Object value) {
+        final Object current = get(name);
+        if (null != current) {
+            put(name, value);
+        }
+        return current;
+    }
+
+    @Override
+    public boolean replace(final String name, final Object oldValue, final Object newValue) {
+        final Object current = get(name);
+        if (null != current && current.equals(oldValue)) {
+            put(name, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object computeIfAbsent(final String name, final Function<? super String, ?> mappingFunction) {
+        final Object current = get(name);
+        if (null != current) {
+            return current;
+        }
+        final Object value = mappingFunction.apply(name);
+        put(name, value);
+        return value;
+    }
+
+    @Override
+    public Object computeIfPresent(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        final Object current = get(name);
+        if (null == current) {
+            return null;
+        }
+        final Object value = remappingFunction.apply(name, current);
+        put(name, value);
+        return value;
+    }
+
+    @Override
+    public Object compute(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        final Object value = remappingFunction.apply(name, get(name));
+        put(name, value);
+        return value;
+    }
+
+    @Override
+    public Object merge(final String name, final Object value, final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        Objects.requireNonNull(value);
+        final Object current = get(name);
+        final Object mergedValue = null == current ? value : remappingFunction.apply(current, value);
+        put(name, mergedValue);
+        return mergedValue;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (null != values[i]) {
+                action.accept(slots.getName(i), values[i]);
+            }
+        }
+        if (null != overflow) {
+            overflow.forEach(action);
+        }
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super String, ? super Object, ?> function) {
+        for (int i = 0; i < values.length; i++) {
+            if (null != values[i]) {
+                setSlot(i, function.apply(slots.getName(i), values[i]));
+            }
+        }
+        if (null != overflow) {
+            overflow.replaceAll(function);
+            overflow.values().removeIf(Objects::isNull);
+        }
+    }
+
+    @Override
+    public int size() {
+        return slotCount + (null != overflow ? overflow.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        slotCount = 0;
+        overflow = null;
+    }
+
+    @Override
+    public void keepOnly(final Collection<String> propertiesToKeep) {
+        for (int i = 0; i < values.length; i++) {
+            if (null != values[i] && !propertiesToKeep.contains(slots.getName(i))) {
+                setSlot(i, null);
+            }
+        }
+        if (null != overflow) {
+            overflow.keepOnly(propertiesToKeep);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                final Iterator<Map.Entry<String, Object>> entries = new EntryIterator();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return entries.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object name) {
+                return containsKey(name);
+            }
+
+            @Override
+            public boolean remove(final Object name) {
+                return null != SlottedProperties.this.remove(name);
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return new AbstractCollection<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                final Iterator<Map.Entry<String, Object>> entries = new EntryIterator();
+                return new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        return entries.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SlottedProperties.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object value) {
+                return containsValue(value);
+            }
+
+            @Override
+            public void clear() {
+                SlottedProperties.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public SlottedProperties clone() {
+        return new SlottedProperties(slots, values.clone(), slotCount, null != overflow ? overflow.clone() : null);
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder sb = new ToStringBuilder(this);
+        forEach((key, value) -> sb.append(key, String.format("<%s>%s", value.getClass().getCanonicalName(), value)));
+        return sb.build();
+    }
+
+    /**
+     * The slots and values are not serialisable, so these properties are
+     * serialised as plain {@link Properties}.
+     *
+     * @return the properties to serialise
+     */
+    protected Object writeReplace() {
+        return new Properties(this);
+    }
+
+    private Object setSlot(final int slot, final Object value) {
+        final Object previous = values[slot];
+        values[slot] = value;
+        if (null == previous && null != value) {
+            slotCount++;
+        } else if (null != previous && null == value) {
+            slotCount--;
+        }
+        return previous;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int nextSlot;
+        private int currentSlot = -1;
+        private Iterator<Map.Entry<String, Object>> overflowEntries;
+
+        private EntryIterator() {
+            nextSlot = findSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextSlot < values.length) {
+                return true;
+            }
+            if (null == overflowEntries) {
+                if (null == overflow) {
+                    return false;
+                }
+                overflowEntries = overflow.entrySet().iterator();
+            }
+            return overflowEntries.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSlot < values.length) {
+                currentSlot = nextSlot;
+                nextSlot = findSlot(nextSlot + 1);
+                return new SlotEntry(currentSlot);
+            }
+            currentSlot = -1;
+            return overflowEntries.next();
+        }
+
+        @Override
+        public void remove() {
+            if (0 <= currentSlot) {
+                setSlot(currentSlot, null);
+                currentSlot = -1;
+            } else if (null != overflowEntries) {
+                overflowEntries.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int findSlot(final int from) {
+            int slot = from;
+            while (slot < values.length && null == values[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    private final class SlotEntry implements Map.Entry<String, Object> {
+        private final int slot;
+
+        private SlotEntry(final int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return slots.getName(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            return setSlot(slot, value);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
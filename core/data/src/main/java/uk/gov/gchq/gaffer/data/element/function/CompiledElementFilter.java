@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@code CompiledElementFilter} evaluates the predicates of an {@link ElementFilter}
+ * against an {@link Element}.
+ * <p>
+ * The references selected by each predicate are resolved when the filter is
+ * compiled. Predicates selecting a single reference are tested against the
+ * value read directly from the element, so no tuples are created. Predicates
+ * selecting several references are tested against an {@link ElementTuple},
+ * which is only created if one of them is reached.
+ * </p>
+ */
+final class CompiledElementFilter {
+    private final TupleAdaptedPredicate[] components;
+    private final String[][] selections;
+    private final Predicate[] predicates;
+    private final ElementReference[] references;
+
+    CompiledElementFilter(final List<TupleAdaptedPredicate<String, ?>> components) {
+        final int size = components.size();
+        this.components = components.toArray(new TupleAdaptedPredicate[size]);
+        this.selections = new String[size][];
+        this.predicates = new Predicate[size];
+        this.references = new ElementReference[size];
+        for (int i = 0; i < size; i++) {
+            selections[i] = this.components[i].getSelection();
+            predicates[i] = this.components[i].getPredicate();
+            references[i] = ElementReference.of(selections[i]);
+        }
+    }
+
+    /**
+     * @param currentComponents the current predicates of the filter
+     * @return true if this was compiled from the same predicates, with the same
+     * selections, so it is still valid
+     */
+    boolean isCompiledFrom(final List<TupleAdaptedPredicate<String, ?>> currentComponents) {
+        if (currentComponents.size() != components.length) {
+            return false;
+        }
+        for (int i = 0; i < components.length; i++) {
+            final TupleAdaptedPredicate<String, ?> component = currentComponents.get(i);
+            if (component != components[i]
+                    || component.getSelection() != selections[i]
+                    || component.getPredicate() != predicates[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean test(final Element element) {
+        ElementTuple tuple = null;
+        for (int i = 0; i < components.length; i++) {
+            final boolean result;
+            if (null != references[i]) {
+                result = predicates[i].test(references[i].get(element));
+            } else {
+                if (null == tuple) {
+                    tuple = new ElementTuple(element);
+                }
+                result = components[i].test(tuple);
+            }
+            if (!result) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@code CompiledElementTransformer} applies the functions of an
+ * {@link ElementTransformer} to an {@link Element}.
+ * <p>
+ * The references selected and projected by each function are resolved when the
+ * transformer is compiled. Functions selecting a single reference and projecting
+ * to a single identifier or property read and write the element directly, so no
+ * tuples are created. Any other functions are applied through an
+ * {@link ElementTuple}, which is only created if one of them is reached.
+ * </p>
+ */
+final class CompiledElementTransformer {
+    private final TupleAdaptedFunction[] components;
+    private final String[][] selections;
+    private final String[][] projections;
+    private final Function[] functions;
+    private final ElementReference[] selectionReferences;
+    private final ElementReference[] projectionReferences;
+
+    CompiledElementTransformer(final List<TupleAdaptedFunction<String, ?, ?>> components) {
+        final int size = components.size();
+        this.components = components.toArray(new TupleAdaptedFunction[size]);
+        this.selections = new String[size][];
+        this.projections = new String[size][];
+        this.functions = new Function[size];
+        this.selectionReferences = new ElementReference[size];
+        this.projectionReferences = new ElementReference[size];
+        for (int i = 0; i < size; i++) {
+            selections[i] = this.components[i].getSelection();
+            projections[i] = this.components[i].getProjection();
+            functions[i] = this.components[i].getFunction();
+            final ElementReference selection = ElementReference.of(selections[i]);
+            final ElementReference projection = ElementReference.of(projections[i]);
+            if (null != selection && null != projection && projection.isWritable()) {
+                selectionReferences[i] = selection;
+                projectionReferences[i] = projection;
+            }
+        }
+    }
+
+    /**
+     * @param currentComponents the current functions of the transformer
+     * @return true if this was compiled from the same functions, with the same
+     * selections and projections, so it is still valid
+     */
+    boolean isCompiledFrom(final List<TupleAdaptedFunction<String, ?, ?>> currentComponents) {
+        if (currentComponents.size() != components.length) {
+            return false;
+        }
+        for (int i = 0; i < components.length; i++) {
+            final TupleAdaptedFunction<String, ?, ?> component = currentComponents.get(i);
+            if (component != components[i]
+                    || component.getSelection() != selections[i]
+                    || component.getProjection() != projections[i]
+                    || component.getFunction() != functions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Element apply(final Element element) {
+        ElementTuple tuple = null;
+        for (int i = 0; i < components.length; i++) {
+            if (null != selectionReferences[i]) {
+                projectionReferences[i].put(element, functions[i].apply(selectionReferences[i].get(element)));
+            } else {
+                if (null == tuple) {
+                    tuple = new ElementTuple(element);
+                }
+                components[i].apply(tuple);
+            }
+        }
+        return element;
+    }
+}
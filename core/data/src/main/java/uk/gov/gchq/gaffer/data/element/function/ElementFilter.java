@@ -37,24 +37,35 @@ import java.util.function.Predicate;
  */
 @JsonPropertyOrder(alphabetic = true)
 public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
     private boolean readOnly;
-
+    private volatile CompiledElementFilter compiledFilter;
+
+    /**
+     * Tests the element using a compiled form of this filter, which is created
+     * on first use and recreated if the predicates change.
+     *
+     * @param element the element to test
+     * @return true if the element passes all the predicates
+     */
     public boolean test(final Element element) {
-        elementTuple.setElement(element);
-        return test(elementTuple);
+        CompiledElementFilter compiled = compiledFilter;
+        if (null == compiled || !compiled.isCompiledFrom(components)) {
+            compiled = new CompiledElementFilter(components);
+            compiledFilter = compiled;
+        }
+        return compiled.test(element);
     }
 
     public ValidationResult testWithValidationResult(final Element element) {
         final ValidationResult result = new ValidationResult();
-        elementTuple.setElement(element);
+        final ElementTuple elementTuple = new ElementTuple(element);
         components.stream()
                 .filter(predicate -> !predicate.test(elementTuple))
-                .forEach(predicate -> result.addError(getErrorMsg(predicate)));
+                .forEach(predicate -> result.addError(getErrorMsg(predicate, elementTuple)));
         return result;
     }
 
-    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate) {
+    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate, final ElementTuple elementTuple) {
         final StringBuilder builder = new StringBuilder();
         builder.append("Filter: ")
                 .append(predicate.getPredicate())
@@ -101,11 +112,8 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
             return false;
         }
 
-        final ElementFilter that = (ElementFilter) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -113,14 +121,13 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(19, 53)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .append("components", components)
                 .toString();
     }
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.data.element.function;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementTuple;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
+
+/**
+ * An {@code ElementReference} is a reference to an identifier or property of an
+ * {@link Element}, resolved once so that it can be read from and written to
+ * elements without the name lookups done by an {@link ElementTuple}.
+ * <p>
+ * A property of {@link SlottedProperties} is read and written by its slot. The
+ * slot is resolved for the layout of the last properties seen, so it is only
+ * looked up again when the elements have a different layout, e.g. a different group.
+ * </p>
+ */
+final class ElementReference {
+    private final String reference;
+    private final IdentifierType idType;
+    private final boolean wholeElement;
+    private final boolean allProperties;
+    private SlotReference slotReference;
+
+    private ElementReference(final String reference) {
+        this.reference = reference;
+        this.wholeElement = ElementTuple.ELEMENT.equals(reference);
+        this.allProperties = ElementTuple.PROPERTIES.equals(reference);
+        this.idType = wholeElement || allProperties ? null : IdentifierType.fromName(reference);
+    }
+
+    /**
+     * @param selection the selection or projection of a function
+     * @return the reference, or null if the selection is not a single reference
+     */
+    static ElementReference of(final String[] selection) {
+        if (null == selection || 1 != selection.length || null == selection[0]) {
+            return null;
+        }
+        return new ElementReference(selection[0]);
+    }
+
+    Object get(final Element element) {
+        if (wholeElement) {
+            return element;
+        }
+        if (allProperties) {
+            return element.getProperties();
+        }
+        if (null != idType) {
+            return element.getIdentifier(idType);
+        }
+        final Properties properties = element.getProperties();
+        if (properties instanceof SlottedProperties) {
+            final int slot = getSlot((SlottedProperties) properties);
+            if (0 <= slot) {
+                return ((SlottedProperties) properties).getSlotValue(slot);
+            }
+        }
+        return element.getProperty(reference);
+    }
+
+    /**
+     * The whole element and its properties are only written through an
+     * {@link ElementTuple}, so functions projecting them are not compiled.
+     */
+    boolean isWritable() {
+        return !wholeElement && !allProperties;
+    }
+
+    void put(final Element element, final Object value) {
+        if (null != idType) {
+            element.putIdentifier(idType, value);
+            return;
+        }
+        final Properties properties = element.getProperties();
+        if (properties instanceof SlottedProperties) {
+            final int slot = getSlot((SlottedProperties) properties);
+            if (0 <= slot) {
+                ((SlottedProperties) properties).putSlotValue(slot, value);
+                return;
+            }
+        }
+        element.putProperty(reference, value);
+    }
+
+    private int getSlot(final SlottedProperties properties) {
+        // The reference may be shared between threads, so the layout and slot
+        // are replaced together rather than updated in place
+        SlotReference slotRef = slotReference;
+        if (null == slotRef || slotRef.slots != properties.getSlots()) {
+            slotRef = new SlotReference(properties.getSlots(), properties.getSlots().indexOf(reference));
+            slotReference = slotRef;
+        }
+        return slotRef.slot;
+    }
+
+    private static final class SlotReference {
+        private final PropertySlots slots;
+        private final int slot;
+
+        private SlotReference(final PropertySlots slots, final int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+    }
+}
@@ -21,7 +21,6 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.ElementTuple;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.impl.function.Identity;
@@ -37,12 +36,22 @@ import java.util.function.Function;
 @Since("0.3.0")
 @Summary("A Function which applies a series of transformations to an Element")
 public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
-
+    private volatile CompiledElementTransformer compiledTransformer;
+
+    /**
+     * Transforms the element using a compiled form of this transformer, which
+     * is created on first use and recreated if the functions change.
+     *
+     * @param element the element to transform
+     * @return the transformed element
+     */
     public Element apply(final Element element) {
-        elementTuple.setElement(element);
-        apply(elementTuple);
-        return element;
+        CompiledElementTransformer compiled = compiledTransformer;
+        if (null == compiled || !compiled.isCompiledFrom(getComponents())) {
+            compiled = new CompiledElementTransformer(getComponents());
+            compiledTransformer = compiled;
+        }
+        return compiled.apply(element);
     }
 
     @Override
@@ -55,11 +64,8 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
             return false;
         }
 
-        final ElementTransformer that = (ElementTransformer) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -67,14 +73,13 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(47, 17)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .append("components", getComponents())
                 .toString();
     }
 
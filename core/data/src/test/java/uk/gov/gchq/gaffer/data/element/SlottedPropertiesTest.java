@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class SlottedPropertiesTest {
+    private static final PropertySlots SLOTS = new PropertySlots(Arrays.asList(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2));
+
+    @Test
+    public void shouldPutAndGetSlottedAndUnslottedProperties() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+
+        // When
+        properties.put(TestPropertyNames.PROP_2, 2);
+        properties.put(TestPropertyNames.PROP_3, 3);
+        properties.put(TestPropertyNames.PROP_1, null);
+
+        // Then
+        assertThat(properties).hasSize(2);
+        assertEquals(2, properties.get(TestPropertyNames.PROP_2));
+        assertEquals(3, properties.get(TestPropertyNames.PROP_3));
+        assertThat(properties.containsKey(TestPropertyNames.PROP_1)).isFalse();
+        assertThat(properties.keySet()).containsExactly(TestPropertyNames.PROP_2, TestPropertyNames.PROP_3);
+    }
+
+    @Test
+    public void shouldPutAndGetPropertiesBySlot() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        final int slot = SLOTS.indexOf(TestPropertyNames.PROP_2);
+
+        // When
+        properties.putSlotValue(slot, 2);
+        final Object previous = properties.putSlotValue(slot, 3);
+
+        // Then
+        assertEquals(2, previous);
+        assertEquals(3, properties.getSlotValue(slot));
+        assertEquals(3, properties.get(TestPropertyNames.PROP_2));
+        assertThat(properties).hasSize(1);
+
+        // When
+        properties.putSlotValue(slot, null);
+
+        // Then
+        assertThat(properties).isEmpty();
+    }
+
+    @Test
+    public void shouldBeEqualToPropertiesWithTheSameValues() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.put(TestPropertyNames.PROP_1, "value1");
+        properties.put(TestPropertyNames.PROP_3, "value3");
+        final Properties expected = new Properties();
+        expected.put(TestPropertyNames.PROP_1, "value1");
+        expected.put(TestPropertyNames.PROP_3, "value3");
+
+        // When
+        final Properties clone = properties.clone();
+
+        // Then
+        assertEquals(expected, properties);
+        assertEquals(properties, expected);
+        assertEquals(expected.hashCode(), properties.hashCode());
+        assertEquals(expected, clone);
+        assertNotSame(properties, clone);
+    }
+
+    @Test
+    public void shouldRemovePropertiesThroughViews() {
+        // Given
+        final SlottedProperties properties = new SlottedProperties(SLOTS);
+        properties.put(TestPropertyNames.PROP_1, 1);
+        properties.put(TestPropertyNames.PROP_2, 2);
+        properties.put(TestPropertyNames.PROP_3, 3);
+
+        // When
+        final Iterator<Map.Entry<String, Object>> itr = properties.entrySet().iterator();
+        itr.next();
+        itr.remove();
+        properties.keepOnly(Arrays.asList(TestPropertyNames.PROP_2));
+
+        // Then
+        assertThat(properties).hasSize(1);
+        assertThat(properties.entrySet()).hasSize(1);
+        assertEquals(2, properties.get(TestPropertyNames.PROP_2));
+    }
+}
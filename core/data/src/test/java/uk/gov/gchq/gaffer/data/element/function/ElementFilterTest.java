@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.JSONSerialisationTest;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
@@ -293,6 +294,42 @@ public class ElementFilterTest extends JSONSerialisationTest<ElementFilter> {
         assertThatNoException().isThrownBy(() -> components.add(null));
     }
 
+    @Test
+    public void shouldTestElementIdentifiersAndProperties() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(IdentifierType.VERTEX.name())
+                .execute(new IsEqual("vertex1"))
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(2))
+                .build();
+
+        // When / Then
+        assertTrue(filter.test(new Entity.Builder().vertex("vertex1").property(TestPropertyNames.PROP_1, 3).build()));
+        assertFalse(filter.test(new Entity.Builder().vertex("vertex2").property(TestPropertyNames.PROP_1, 3).build()));
+        assertFalse(filter.test(new Entity.Builder().vertex("vertex1").property(TestPropertyNames.PROP_1, 1).build()));
+    }
+
+    @Test
+    public void shouldTestElementUsingUpdatedPredicatesAfterFirstTest() {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(2))
+                .build();
+        final Entity entity = makeEntity(3, "value");
+        assertTrue(filter.test(entity));
+
+        // When
+        final TupleAdaptedPredicate<String, Object> predicate = new TupleAdaptedPredicate<>();
+        predicate.setSelection(new String[]{TestPropertyNames.PROP_2});
+        predicate.setPredicate(new IsEqual("otherValue"));
+        filter.getComponents().add(predicate);
+
+        // Then
+        assertFalse(filter.test(entity));
+    }
+
     private Entity makeEntity(final Object property1, final String property2) {
         return new Entity.Builder()
                 .property(TestPropertyNames.PROP_1, property1)
@@ -24,6 +24,8 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.koryphe.function.FunctionTest;
 import uk.gov.gchq.koryphe.impl.function.Identity;
@@ -31,6 +33,7 @@ import uk.gov.gchq.koryphe.impl.function.ToLong;
 import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -213,4 +216,59 @@ public class ElementTransformerTest extends FunctionTest<ElementTransformer> {
     protected Iterable<ElementTransformer> getDifferentInstancesOrNull() {
         return null;
     }
+
+    @Test
+    public void shouldTransformIdentifierIntoPropertyAndApplyUpdatedFunctions() {
+        // Given
+        final ElementTransformer transformer = new ElementTransformer.Builder()
+                .select(IdentifierType.VERTEX.name())
+                .project(TestPropertyNames.PROP_1)
+                .build();
+        final Entity entity = new Entity.Builder()
+                .vertex("1")
+                .build();
+        transformer.apply(entity);
+        assertEquals("1", entity.getProperty(TestPropertyNames.PROP_1));
+
+        // When
+        final TupleAdaptedFunction<String, Object, Object> function = new TupleAdaptedFunction<>();
+        function.setSelection(new String[]{TestPropertyNames.PROP_1});
+        function.setFunction(new ToLong());
+        function.setProjection(new String[]{TestPropertyNames.PROP_2});
+        transformer.getComponents().add(function);
+        final Element result = transformer.apply(entity);
+
+        // Then
+        assertSame(entity, result);
+        assertEquals(1L, entity.getProperty(TestPropertyNames.PROP_2));
+    }
+
+    @Test
+    public void shouldTransformSlottedPropertiesWithDifferentLayouts() {
+        // Given
+        final ElementTransformer transformer = new ElementTransformer.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new ToLong())
+                .project(TestPropertyNames.PROP_2)
+                .build();
+        final Entity entity1 = new Entity("group1", "1", new SlottedProperties(
+                new PropertySlots(Arrays.asList(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2))));
+        entity1.putProperty(TestPropertyNames.PROP_1, 1);
+        final Entity entity2 = new Entity("group2", "2", new SlottedProperties(
+                new PropertySlots(Arrays.asList(TestPropertyNames.PROP_2, TestPropertyNames.PROP_1))));
+        entity2.putProperty(TestPropertyNames.PROP_1, 2);
+        final Entity entity3 = new Entity("group3", "3", new SlottedProperties(
+                new PropertySlots(Arrays.asList(TestPropertyNames.PROP_3))));
+        entity3.putProperty(TestPropertyNames.PROP_1, 3);
+
+        // When
+        transformer.apply(entity1);
+        transformer.apply(entity2);
+        transformer.apply(entity3);
+
+        // Then
+        assertEquals(1L, entity1.getProperty(TestPropertyNames.PROP_2));
+        assertEquals(2L, entity2.getProperty(TestPropertyNames.PROP_2));
+        assertEquals(3L, entity3.getProperty(TestPropertyNames.PROP_2));
+    }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.FileResultCacheUtil;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.SpillSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the {@link ResultCacheExporter} interface for exporting the
+ * results of a Gaffer query to compressed files in a local directory, rather than
+ * to a {@link uk.gov.gchq.gaffer.graph.Graph}-backed results cache.
+ * <p>
+ * Each export key is stored in a file in a directory for the job. Every call to
+ * {@link #add(String, Iterable)} streams the results into a new gzip block in a
+ * temporary file, so results are never held in memory, and then appends the block
+ * to the export file. Appends to the same file are serialised, so the exporter can
+ * be shared by operations running in parallel. Results are serialised using a
+ * {@link SpillSerialiser} with the {@link Schema} of the store that ran the export.
+ * Each block records the operation authorisations required to read it.
+ * <p>
+ * Exports are not returned once they are older than the time to live, and are
+ * removed periodically by {@link FileResultCacheUtil#scheduleExpiredExportRemoval(Path, Long)}.
+ */
+public class FileResultCacheExporter implements ResultCacheExporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileResultCacheExporter.class);
+    private static final byte END_OF_BLOCK = -1;
+    private static final int NUM_FILE_LOCKS = 64;
+    private static final Object[] FILE_LOCKS = new Object[NUM_FILE_LOCKS];
+
+    static {
+        for (int i = 0; i < NUM_FILE_LOCKS; i++) {
+            FILE_LOCKS[i] = new Object();
+        }
+    }
+
+    private final Path jobDirectory;
+    private final SpillSerialiser serialiser;
+    private final Long timeToLive;
+    private final TreeSet<String> requiredOpAuths;
+    private final Set<String> userOpAuths;
+
+    public FileResultCacheExporter(final Context context,
+                                   final String jobId,
+                                   final Path cacheDirectory,
+                                   final Schema schema,
+                                   final Set<String> requiredOpAuths,
+                                   final Long timeToLive) {
+        this.jobDirectory = FileResultCacheUtil.getJobDirectory(cacheDirectory, jobId);
+        this.serialiser = new SpillSerialiser(schema);
+        this.timeToLive = timeToLive;
+        if (null == requiredOpAuths) {
+            this.requiredOpAuths = CollectionUtil.treeSet(context.getUser().getUserId());
+        } else {
+            this.requiredOpAuths = new TreeSet<>(requiredOpAuths);
+        }
+
+        userOpAuths = new HashSet<>(context.getUser().getOpAuths());
+        userOpAuths.add(context.getUser().getUserId());
+    }
+
+    @Override
+    public void add(final String key, final Iterable<?> values) throws OperationException {
+        if (null == values) {
+            return;
+        }
+
+        final Path file = FileResultCacheUtil.getExportFile(jobDirectory, key);
+        Path block = null;
+        try {
+            Files.createDirectories(jobDirectory);
+            block = Files.createTempFile(jobDirectory, null, ".tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(
+                    Files.newOutputStream(block))))) {
+                out.writeInt(requiredOpAuths.size());
+                for (final String opAuth : requiredOpAuths) {
+                    out.writeUTF(opAuth);
+                }
+                for (final Object value : values) {
+                    serialiser.write(value, out);
+                }
+                out.writeByte(END_OF_BLOCK);
+            }
+            synchronized (getFileLock(file)) {
+                try (final OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    Files.copy(block, out);
+                }
+                Files.setLastModifiedTime(jobDirectory, Files.getLastModifiedTime(file));
+            }
+        } catch (final IOException e) {
+            throw new OperationException("Unable to write results to " + file, e);
+        } finally {
+            CloseableUtil.close(values);
+            deleteBlock(block);
+        }
+    }
+
+    @Override
+    public CloseableIterable<?> get(final String key) throws OperationException {
+        final Path file = FileResultCacheUtil.getExportFile(jobDirectory, key);
+        if (!Files.exists(file) || FileResultCacheUtil.isExpired(file, timeToLive)) {
+            return new EmptyClosableIterable<>();
+        }
+        return new ResultIterable(file);
+    }
+
+    private static Object getFileLock(final Path file) {
+        return FILE_LOCKS[Math.floorMod(file.toAbsolutePath().hashCode(), NUM_FILE_LOCKS)];
+    }
+
+    private static void deleteBlock(final Path block) {
+        if (null != block) {
+            try {
+                Files.deleteIfExists(block);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete temporary export block {}", block, e);
+            }
+        }
+    }
+
+    private class ResultIterable implements CloseableIterable<Object> {
+        private final Path file;
+        private ResultIterator iterator;
+
+        ResultIterable(final Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            CloseableUtil.close(iterator);
+            try {
+                iterator = new ResultIterator(new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)))));
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to read results from " + file, e);
+            }
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterator);
+        }
+    }
+
+    private class ResultIterator implements CloseableIterator<Object> {
+        private final DataInputStream in;
+        private boolean inBlock;
+        private boolean canReadBlock;
+        private boolean hasNext;
+        private Object next;
+
+        ResultIterator(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext) {
+                try {
+                    hasNext = readNext();
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException("Unable to read results", e);
+                }
+                if (!hasNext) {
+                    close();
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            final Object result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(in);
+        }
+
+        private boolean readNext() throws IOException {
+            while (true) {
+                if (!inBlock) {
+                    final int numOpAuths;
+                    try {
+                        numOpAuths = in.readInt();
+                    } catch (final EOFException e) {
+                        return false;
+                    }
+                    final Set<String> blockOpAuths = new HashSet<>(numOpAuths);
+                    for (int i = 0; i < numOpAuths; i++) {
+                        blockOpAuths.add(in.readUTF());
+                    }
+                    canReadBlock = userOpAuths.containsAll(blockOpAuths);
+                    inBlock = true;
+                }
+
+                final byte type = in.readByte();
+                if (END_OF_BLOCK == type) {
+                    inBlock = false;
+                    continue;
+                }
+                final Object result = serialiser.read(type, in);
+                if (canReadBlock) {
+                    next = result;
+                    return true;
+                }
+            }
+        }
+    }
+}
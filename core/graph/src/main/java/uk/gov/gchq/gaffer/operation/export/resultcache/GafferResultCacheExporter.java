@@ -51,7 +51,7 @@ import java.util.TreeSet;
  * Implementation of the {@link Exporter} interface for exporting the results of
  * a Gaffer query to a {@link Graph}-backed results cache.
  */
-public class GafferResultCacheExporter implements Exporter {
+public class GafferResultCacheExporter implements ResultCacheExporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferResultCacheExporter.class);
     private final String jobId;
     private final Context context;
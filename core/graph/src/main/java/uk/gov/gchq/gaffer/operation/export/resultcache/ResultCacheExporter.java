@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import uk.gov.gchq.gaffer.operation.export.Exporter;
+
+/**
+ * A {@code ResultCacheExporter} is an {@link Exporter} for the Gaffer results
+ * cache. The results cache handlers register and look up their exporter using
+ * this type, so the results can be stored either in a {@link uk.gov.gchq.gaffer.graph.Graph},
+ * using a {@link GafferResultCacheExporter}, or in a directory, using a
+ * {@link FileResultCacheExporter}.
+ */
+public interface ResultCacheExporter extends Exporter {
+}
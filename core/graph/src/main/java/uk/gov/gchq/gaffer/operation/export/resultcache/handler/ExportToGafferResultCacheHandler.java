@@ -17,18 +17,25 @@
 package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
 
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.export.resultcache.FileResultCacheExporter;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.FileResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.ExportToGafferResultCache;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.export.ExportToHandler;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
 /**
  * A {@code ExportToGafferResultCacheHandler} is an {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler}
  * used to export results to a Gaffer results cache.
  */
-public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGafferResultCache, GafferResultCacheExporter> {
+public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGafferResultCache, ResultCacheExporter> {
     private String graphId = "gafferResultCache";
 
     /**
@@ -40,13 +47,22 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
 
     private String cacheStorePropertiesPath;
 
+    /**
+     * If set, results are cached in compressed files in this directory rather
+     * than in a Gaffer graph.
+     */
+    private String cacheDirectory;
+
     @Override
-    protected Class<GafferResultCacheExporter> getExporterClass() {
-        return GafferResultCacheExporter.class;
+    protected Class<ResultCacheExporter> getExporterClass() {
+        return ResultCacheExporter.class;
     }
 
     @Override
-    protected GafferResultCacheExporter createExporter(final ExportToGafferResultCache export, final Context context, final Store store) {
+    protected ResultCacheExporter createExporter(final ExportToGafferResultCache export, final Context context, final Store store) {
+        if (null != cacheDirectory) {
+            return createFileExporter(context, context.getJobId(), export.getOpAuths(), store);
+        }
         return new GafferResultCacheExporter(
                 context, context.getJobId(), createGraph(store),
                 visibility, export.getOpAuths());
@@ -56,6 +72,15 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
         return GafferResultCacheUtil.createGraph(graphId, cacheStorePropertiesPath, timeToLive);
     }
 
+    protected FileResultCacheExporter createFileExporter(final Context context, final String jobId, final Set<String> opAuths, final Store store) {
+        if (null != visibility) {
+            throw new IllegalArgumentException("Visibility is not supported when the result cache is stored in a directory");
+        }
+        final Path directory = Paths.get(cacheDirectory);
+        FileResultCacheUtil.scheduleExpiredExportRemoval(directory, timeToLive);
+        return new FileResultCacheExporter(context, jobId, directory, store.getSchema(), opAuths, timeToLive);
+    }
+
     public String getGraphId() {
         return graphId;
     }
@@ -87,4 +112,12 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
     public void setStorePropertiesPath(final String cacheStorePropertiesPath) {
         this.cacheStorePropertiesPath = cacheStorePropertiesPath;
     }
+
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(final String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
 }
@@ -17,18 +17,25 @@
 package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
 
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.export.resultcache.FileResultCacheExporter;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.FileResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.GetGafferResultCacheExport;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.export.GetExportHandler;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
 /**
  * Specific handler for handling {@link GetGafferResultCacheExport} operations using
  * a {@link GafferResultCacheExporter} as the exporter class.
  */
-public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGafferResultCacheExport, GafferResultCacheExporter> {
+public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGafferResultCacheExport, ResultCacheExporter> {
     private String graphId = "gafferResultCache";
 
     /**
@@ -40,14 +47,23 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
 
     private String cacheStorePropertiesPath;
 
+    /**
+     * If set, results are cached in compressed files in this directory rather
+     * than in a Gaffer graph.
+     */
+    private String cacheDirectory;
+
     @Override
-    protected Class<GafferResultCacheExporter> getExporterClass() {
-        return GafferResultCacheExporter.class;
+    protected Class<ResultCacheExporter> getExporterClass() {
+        return ResultCacheExporter.class;
     }
 
     @Override
-    protected GafferResultCacheExporter createExporter(final GetGafferResultCacheExport export, final Context context, final Store store) {
+    protected ResultCacheExporter createExporter(final GetGafferResultCacheExport export, final Context context, final Store store) {
         final String jobId = null != export.getJobId() ? export.getJobId() : context.getJobId();
+        if (null != cacheDirectory) {
+            return createFileExporter(context, jobId, null, store);
+        }
         return new GafferResultCacheExporter(
                 context, jobId, createGraph(store),
                 visibility, null);
@@ -57,6 +73,15 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
         return GafferResultCacheUtil.createGraph(graphId, cacheStorePropertiesPath, timeToLive);
     }
 
+    protected FileResultCacheExporter createFileExporter(final Context context, final String jobId, final Set<String> opAuths, final Store store) {
+        if (null != visibility) {
+            throw new IllegalArgumentException("Visibility is not supported when the result cache is stored in a directory");
+        }
+        final Path directory = Paths.get(cacheDirectory);
+        FileResultCacheUtil.scheduleExpiredExportRemoval(directory, timeToLive);
+        return new FileResultCacheExporter(context, jobId, directory, store.getSchema(), opAuths, timeToLive);
+    }
+
     public String getGraphId() {
         return graphId;
     }
@@ -88,4 +113,12 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
     public void setStorePropertiesPath(final String cacheStorePropertiesPath) {
         this.cacheStorePropertiesPath = cacheStorePropertiesPath;
     }
+
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(final String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
 }
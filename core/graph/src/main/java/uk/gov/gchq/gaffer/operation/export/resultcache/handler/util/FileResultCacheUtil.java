@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache.handler.util;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility methods for maintaining a file based Gaffer result cache, used by the
+ * {@link uk.gov.gchq.gaffer.operation.export.resultcache.FileResultCacheExporter}.
+ */
+public final class FileResultCacheUtil {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileResultCacheUtil.class);
+    private static final String EXPORT_FILE_EXTENSION = ".gz";
+    private static final long MIN_REMOVAL_PERIOD = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_REMOVAL_PERIOD = TimeUnit.HOURS.toMillis(1);
+    private static final Map<Path, ScheduledFuture<?>> EXPIRED_EXPORT_REMOVALS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService sharedExecutor;
+
+    private FileResultCacheUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Path getJobDirectory(final Path cacheDirectory, final String jobId) {
+        return cacheDirectory.resolve(encode(jobId));
+    }
+
+    public static Path getExportFile(final Path jobDirectory, final String key) {
+        return jobDirectory.resolve(encode(key) + EXPORT_FILE_EXTENSION);
+    }
+
+    public static boolean isExpired(final Path path, final Long timeToLive) throws IOException {
+        return null != timeToLive
+                && System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis() > timeToLive;
+    }
+
+    /**
+     * Schedules the expired exports in the cache directory to be removed
+     * periodically, at most once an hour, rather than each time an exporter is
+     * created. The removal is only scheduled once for each directory. It runs on
+     * the store's {@link ExecutorService}, or on a shared daemon thread if that
+     * has not been initialised.
+     *
+     * @param cacheDirectory the directory containing the result cache
+     * @param timeToLive     the time to live in milliseconds
+     */
+    public static void scheduleExpiredExportRemoval(final Path cacheDirectory, final Long timeToLive) {
+        if (null == timeToLive) {
+            return;
+        }
+
+        EXPIRED_EXPORT_REMOVALS.compute(cacheDirectory.toAbsolutePath(), (directory, removal) -> {
+            // The removal is cancelled if the executor it was scheduled on is shut down
+            if (null != removal && !removal.isDone()) {
+                return removal;
+            }
+            final long period = Math.min(Math.max(timeToLive, MIN_REMOVAL_PERIOD), MAX_REMOVAL_PERIOD);
+            return getExecutor().scheduleWithFixedDelay(
+                    () -> removeExpiredExports(directory, timeToLive), 0, period, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Deletes the exports for any jobs that have not been written to within the
+     * time to live.
+     *
+     * @param cacheDirectory the directory containing the result cache
+     * @param timeToLive     the time to live in milliseconds
+     */
+    public static void removeExpiredExports(final Path cacheDirectory, final Long timeToLive) {
+        if (null == timeToLive || !Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        try (final DirectoryStream<Path> jobDirectories = Files.newDirectoryStream(cacheDirectory)) {
+            for (final Path jobDirectory : jobDirectories) {
+                if (isExpired(jobDirectory, timeToLive)) {
+                    LOGGER.debug("Removing expired exports in {}", jobDirectory);
+                    FileUtils.deleteDirectory(jobDirectory.toFile());
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to remove expired exports from {}", cacheDirectory, e);
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getExecutor() {
+        final ScheduledExecutorService service = ExecutorService.getService();
+        if (null != service) {
+            return service;
+        }
+        if (null == sharedExecutor) {
+            sharedExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "FileResultCache-removal");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * Job IDs and export keys are encoded so they can be safely used as file names.
+     */
+    private static String encode(final String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
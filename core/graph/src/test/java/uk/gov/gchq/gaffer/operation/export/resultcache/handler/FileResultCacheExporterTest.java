@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.export.resultcache.FileResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.FileResultCacheUtil;
+import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileResultCacheExporterTest {
+
+    private final User user = new User.Builder()
+            .userId("user01")
+            .opAuths("1", "2", "3")
+            .build();
+    private final Context context = new Context(user);
+    private final String key = "key";
+
+    @Test
+    public void shouldAddAndGetResults(@TempDir final Path tempDir) throws OperationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+        final Entity entityWithExtraProperty = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex2")
+                .property(TestPropertyNames.COUNT, 1L)
+                .property(TestPropertyNames.PROP_1, "value")
+                .build();
+        final List<?> results = Arrays.asList(entity, entityWithExtraProperty, 1, "2", null);
+        final FileResultCacheExporter exporter = createExporter(tempDir, context, context.getJobId());
+
+        // When
+        exporter.add(key, results);
+        exporter.add(key, Arrays.asList("3"));
+
+        // Then
+        assertThat(Lists.newArrayList(exporter.get(key)))
+                .containsExactly(entity, entityWithExtraProperty, 1, "2", null, "3");
+    }
+
+    @Test
+    public void shouldNotGetResultsWithoutRequiredOpAuths(@TempDir final Path tempDir) throws OperationException {
+        // Given
+        createExporter(tempDir, context, context.getJobId()).add(key, Arrays.asList(1, 2));
+        final Context otherContext = new Context(new User.Builder()
+                .userId("user02")
+                .opAuths("3")
+                .build());
+
+        // When
+        final List<Object> results = Lists.newArrayList(createExporter(tempDir, otherContext, context.getJobId()).get(key));
+
+        // Then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    public void shouldAddResultsConcurrentlyWithoutCorruptingTheExport(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final FileResultCacheExporter exporter = createExporter(tempDir, context, context.getJobId());
+        final int numThreads = 8;
+        final int numResults = 1000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List<Future<?>> adds = new ArrayList<>();
+        final List<Integer> expected = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < numThreads; i++) {
+                final List<Integer> results = IntStream.range(i * numResults, (i + 1) * numResults)
+                        .boxed()
+                        .collect(Collectors.toList());
+                expected.addAll(results);
+                adds.add(executor.submit(() -> {
+                    start.await();
+                    exporter.add(key, results);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> add : adds) {
+                add.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(Lists.newArrayList(exporter.get(key))).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void shouldRemoveExpiredExports(@TempDir final Path tempDir) throws Exception {
+        // Given
+        createExporter(tempDir, context, context.getJobId()).add(key, Arrays.asList(1, 2));
+        createExporter(tempDir, context, "otherJob").add(key, Arrays.asList(3, 4));
+        final Path jobDirectory = FileResultCacheUtil.getJobDirectory(tempDir, context.getJobId());
+        final Path otherJobDirectory = FileResultCacheUtil.getJobDirectory(tempDir, "otherJob");
+        setLastModifiedHoursAgo(jobDirectory, 2);
+
+        // When
+        FileResultCacheUtil.removeExpiredExports(tempDir, TimeUnit.HOURS.toMillis(1));
+
+        // Then
+        assertThat(Files.exists(jobDirectory)).isFalse();
+        assertThat(Files.exists(otherJobDirectory)).isTrue();
+    }
+
+    @Test
+    public void shouldScheduleRemovalOfExpiredExports(@TempDir final Path tempDir) throws Exception {
+        // Given
+        createExporter(tempDir, context, context.getJobId()).add(key, Arrays.asList(1, 2));
+        final Path jobDirectory = FileResultCacheUtil.getJobDirectory(tempDir, context.getJobId());
+        setLastModifiedHoursAgo(jobDirectory, 2);
+
+        // When
+        FileResultCacheUtil.scheduleExpiredExportRemoval(tempDir, TimeUnit.HOURS.toMillis(1));
+
+        // Then
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (Files.exists(jobDirectory) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.exists(jobDirectory)).isFalse();
+    }
+
+    private static void setLastModifiedHoursAgo(final Path path, final long hours) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours)));
+    }
+
+    private FileResultCacheExporter createExporter(final Path tempDir, final Context context, final String jobId) {
+        return new FileResultCacheExporter(context, jobId, tempDir, createSchema(),
+                CollectionUtil.treeSet(new String[]{"1", "2"}), GafferResultCacheUtil.DEFAULT_TIME_TO_LIVE);
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
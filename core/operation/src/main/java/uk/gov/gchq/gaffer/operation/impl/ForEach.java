@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.operation.impl;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.collect.Lists;
@@ -38,6 +39,11 @@ import java.util.Map;
  * A {@code ForEach} operation runs the supplied operation on an Iterable of inputs.
  * <p>
  * For the given iterable of inputs, it will run the supplied operation for each input one at a time.
+ * If a parallelism greater than 1 is set, up to that many inputs are run
+ * concurrently. The results are always returned in the same order as the inputs
+ * and the first failure stops any remaining inputs from being run.
+ * If lazyResults is set, the operation is only run for each input as the
+ * results are iterated over, rather than for all the inputs up front.
  * <p>
  * For example, a ForEach operation with:
  * <p>
@@ -67,6 +73,9 @@ public class ForEach<I, O> implements InputOutput<Iterable<? extends I>, Iterabl
         Operations<Operation> {
     private Iterable<? extends I> input;
     private Operation operation;
+    private Integer parallelism;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean lazyResults = false;
     private Map<String, String> options;
 
     @Override
@@ -87,6 +96,22 @@ public class ForEach<I, O> implements InputOutput<Iterable<? extends I>, Iterabl
         this.operation = operation;
     }
 
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isLazyResults() {
+        return lazyResults;
+    }
+
+    public void setLazyResults(final boolean lazyResults) {
+        this.lazyResults = lazyResults;
+    }
+
     @Override
     public Map<String, String> getOptions() {
         return options;
@@ -102,6 +127,8 @@ public class ForEach<I, O> implements InputOutput<Iterable<? extends I>, Iterabl
         return new ForEach.Builder<I, O>()
                 .input(input)
                 .operation(operation)
+                .parallelism(parallelism)
+                .lazyResults(lazyResults)
                 .options(options)
                 .build();
     }
@@ -136,6 +163,16 @@ public class ForEach<I, O> implements InputOutput<Iterable<? extends I>, Iterabl
             _getOp().setOperation(operation);
             return _self();
         }
+
+        public Builder<I, O> parallelism(final Integer parallelism) {
+            _getOp().setParallelism(parallelism);
+            return _self();
+        }
+
+        public Builder<I, O> lazyResults(final boolean lazyResults) {
+            _getOp().setLazyResults(lazyResults);
+            return _self();
+        }
     }
 }
 
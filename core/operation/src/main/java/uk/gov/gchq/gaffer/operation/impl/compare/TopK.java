@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl.compare;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Lists;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code TopK} operation can be used to extract the k largest
+ * {@link uk.gov.gchq.gaffer.data.element.Element}s from a {@link java.lang.Iterable}
+ * using provided {@link java.util.Comparator}s, for example the 100 edges with
+ * the highest count. Either implement your own comparators or use the
+ * {@link uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator}.
+ * <p>
+ * The provided element comparators will be used sequentially to compare the
+ * elements. The results are returned largest first, so with a k of 1 the result
+ * is the same as the {@link Max} operation. Unlike a {@link Sort} with a
+ * resultLimit, only k elements are held in memory and the elements are not
+ * deduplicated.
+ * </p>
+ * <p>
+ * To approximate the k most frequent items instead, e.g. the vertices that
+ * occur most often, see the IterableToFrequentItems function in the
+ * sketches library.
+ * </p>
+ *
+ * @see uk.gov.gchq.gaffer.operation.impl.compare.TopK.Builder
+ * @see uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator
+ */
+@JsonPropertyOrder(value = {"class", "input", "comparators", "k"}, alphabetic = true)
+@Since("1.22.1")
+@Summary("Extracts the k largest elements based on provided Comparators")
+public class TopK implements
+        InputOutput<Iterable<? extends Element>, Iterable<? extends Element>>,
+        MultiInput<Element>,
+        ElementComparison {
+
+    private Iterable<? extends Element> input;
+    @Required
+    private List<Comparator<Element>> comparators;
+    @Required
+    private Integer k;
+    private Map<String, String> options;
+
+    @Override
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class", defaultImpl = ElementPropertyComparator.class)
+    public List<Comparator<Element>> getComparators() {
+        return comparators;
+    }
+
+    public void setComparators(final List<Comparator<Element>> comparators) {
+        this.comparators = comparators;
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> input) {
+        this.input = input;
+    }
+
+    public Integer getK() {
+        return k;
+    }
+
+    public void setK(final Integer k) {
+        this.k = k;
+    }
+
+    @Override
+    public TypeReference<Iterable<? extends Element>> getOutputTypeReference() {
+        return new TypeReferenceImpl.IterableElement();
+    }
+
+    @Override
+    public TopK shallowClone() {
+        return new TopK.Builder()
+                .input(input)
+                .comparators(comparators)
+                .k(k)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static final class Builder
+            extends BaseBuilder<TopK, Builder>
+            implements InputOutput.Builder<TopK, Iterable<? extends Element>, Iterable<? extends Element>, TopK.Builder>,
+            MultiInput.Builder<TopK, Element, Builder> {
+        public Builder() {
+            super(new TopK());
+        }
+
+        @SafeVarargs
+        public final Builder comparators(final Comparator<Element>... comparators) {
+            _getOp().setComparators(Lists.newArrayList(comparators));
+            return _self();
+        }
+
+        public Builder comparators(final List<Comparator<Element>> comparators) {
+            _getOp().setComparators(comparators);
+            return _self();
+        }
+
+        public Builder k(final Integer k) {
+            _getOp().setK(k);
+            return _self();
+        }
+    }
+}
@@ -16,13 +16,11 @@
 
 package uk.gov.gchq.gaffer.operation.impl.export.set;
 
-import com.google.common.collect.Iterables;
-
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 
+import java.io.Closeable;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -33,13 +31,43 @@ import java.util.Set;
  * using a {@link Set}.
  * The values are stored in a {@link LinkedHashSet} in order to ensure there is
  * a predictable iteration order.
+ * <p>
+ * If a maximum in memory size is provided, then once an export holds that many
+ * values any further values are spilled to a temporary file, so large exports
+ * do not need to be held in memory. Duplicates are still removed across the
+ * in memory and spilled values and the iteration order is preserved. The spill
+ * files are deleted when the exporter is closed, which happens when the
+ * context it was registered with closes its exporters, or once it is no
+ * longer referenced. Closing the exporter does not remove the values held in
+ * memory, but the spilled values can no longer be read.
+ * <p>
+ * Values may be exported by operations running in parallel, so access to the
+ * exports is synchronized.
  */
-public class SetExporter implements Exporter {
-    private Map<String, Set<Object>> exports = new HashMap<>();
+public class SetExporter implements Exporter, Closeable {
+    private final Integer maxInMemorySize;
+    private Map<String, SpillableSet> exports = new HashMap<>();
+
+    public SetExporter() {
+        this(null);
+    }
+
+    /**
+     * @param maxInMemorySize the maximum number of values to hold in memory for
+     *                        each export, or null to hold all the values in memory
+     */
+    public SetExporter(final Integer maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
 
     @Override
-    public void add(final String key, final Iterable<?> results) {
-        Iterables.addAll(getExport(key), results);
+    public synchronized void add(final String key, final Iterable<?> results) {
+        if (null != results) {
+            final SpillableSet export = getExport(key);
+            for (final Object result : results) {
+                export.add(result);
+            }
+        }
     }
 
     @Override
@@ -47,12 +75,21 @@ public class SetExporter implements Exporter {
         return get(key, 0, null);
     }
 
-    public CloseableIterable<?> get(final String key, final int start, final Integer end) {
-        return new LimitedCloseableIterable<>(getExport(key), start, end);
+    public synchronized CloseableIterable<?> get(final String key, final int start, final Integer end) {
+        return getExport(key).get(start, end);
+    }
+
+    public Integer getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    @Override
+    public synchronized void close() {
+        exports.values().forEach(SpillableSet::close);
     }
 
-    private Set<Object> getExport(final String key) {
-        Set<Object> export = exports.computeIfAbsent(key, k -> new LinkedHashSet<>());
+    private SpillableSet getExport(final String key) {
+        SpillableSet export = exports.computeIfAbsent(key, k -> new SpillableSet(null != maxInMemorySize ? maxInMemorySize : Integer.MAX_VALUE));
 
         return export;
     }
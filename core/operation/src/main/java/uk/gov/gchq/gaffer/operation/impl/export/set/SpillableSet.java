@@ -0,0 +1,432 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.export.set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code SpillableSet} is an insertion ordered set of values that holds at
+ * most a fixed number of values in memory. Once that limit is reached any new
+ * values are serialised to JSON and appended to a temporary file.
+ * <p>
+ * Only the hash code and file offset of each spilled value is kept in memory.
+ * The hash codes are held in an open addressing hash table, so duplicates are
+ * detected across the in memory values and all the spilled values, with the
+ * spilled values only read back from disk when their hash codes match. The
+ * offsets allow a page of the set to be read without reading the values before it.
+ * <p>
+ * The spill file is deleted when the set is closed, or if the spilled values
+ * are still being read, once the last of those readers is closed. Closing the
+ * set does not remove the values held in memory. If the set is never closed,
+ * the spill file is deleted the next time a set spills after this set is no
+ * longer referenced.
+ */
+final class SpillableSet implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillableSet.class);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String NULL_CLASS_NAME = "";
+    private static final ReferenceQueue<SpillableSet> UNREFERENCED_SETS = new ReferenceQueue<>();
+    private static final Set<SpillFileReference> SPILL_FILES = ConcurrentHashMap.newKeySet();
+
+    private final int maxInMemorySize;
+    private final Set<Object> inMemory = new LinkedHashSet<>();
+
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private SpillFileReference spillFileReference;
+    private long spillFileSize;
+    private int spilledSize;
+    private long[] offsets;
+    private int[] hashes;
+
+    /**
+     * Open addressing table of spilled value indices, offset by 1 so 0 marks
+     * an empty slot.
+     */
+    private int[] hashTable;
+    private int openReaders;
+    private boolean closed;
+
+    SpillableSet(final int maxInMemorySize) {
+        if (maxInMemorySize < 0) {
+            throw new IllegalArgumentException("The maximum number of values to hold in memory must not be negative");
+        }
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    /**
+     * Adds the value to the set if it is not already present.
+     *
+     * @param value the value to add
+     * @return true if the value was added
+     */
+    boolean add(final Object value) {
+        if (inMemory.contains(value)) {
+            return false;
+        }
+        if (0 == spilledSize && inMemory.size() < maxInMemorySize) {
+            return inMemory.add(value);
+        }
+
+        final int hash = null == value ? 0 : value.hashCode();
+        try {
+            if (containsSpilled(value, hash)) {
+                return false;
+            }
+            spill(value, hash);
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to spill the set export to disk", e);
+        }
+        return true;
+    }
+
+    int size() {
+        return inMemory.size() + spilledSize;
+    }
+
+    /**
+     * Gets the values between the start (inclusive) and end (exclusive)
+     * positions. The spilled values are streamed from disk.
+     *
+     * @param start the position of the first value to return
+     * @param end   the position after the last value to return, or null for all the values
+     * @return the values between start and end
+     */
+    CloseableIterable<Object> get(final int start, final Integer end) {
+        if (0 == spilledSize) {
+            return new LimitedCloseableIterable<>(inMemory, start, end);
+        }
+        if (null != end && start > end) {
+            throw new IllegalArgumentException("The start pointer must be less than the end pointer.");
+        }
+
+        final int inMemorySize = inMemory.size();
+        final int spilledStart = Math.max(start - inMemorySize, 0);
+        final int spilledEnd = null == end ? spilledSize : Math.max(Math.min(end - inMemorySize, spilledSize), 0);
+        final CloseableIterable<Object> spilled = new SpilledIterable(spilledStart, spilledEnd);
+        if (start >= inMemorySize) {
+            return spilled;
+        }
+        return new ChainedIterable<>(new LimitedCloseableIterable<>(inMemory, start, end), spilled);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        CloseableUtil.close(spillChannel);
+        spillChannel = null;
+        deleteSpillFileIfUnused();
+    }
+
+    private synchronized void openReader() {
+        if (closed) {
+            throw new GafferRuntimeException("The set export has been closed");
+        }
+        openReaders++;
+    }
+
+    private synchronized void closeReader() {
+        openReaders--;
+        deleteSpillFileIfUnused();
+    }
+
+    private void deleteSpillFileIfUnused() {
+        if (closed && 0 == openReaders && null != spillFile) {
+            SPILL_FILES.remove(spillFileReference);
+            spillFileReference.clear();
+            spillFileReference = null;
+            deleteSpillFile(spillFile);
+            spillFile = null;
+        }
+    }
+
+    private static void deleteSpillFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete the set export spill file {}", file, e);
+        }
+    }
+
+    /**
+     * Deletes the spill files of any sets that were not closed before they
+     * stopped being referenced.
+     */
+    private static void deleteUnreferencedSpillFiles() {
+        Reference<? extends SpillableSet> reference;
+        while (null != (reference = UNREFERENCED_SETS.poll())) {
+            final SpillFileReference spillFileReference = (SpillFileReference) reference;
+            if (SPILL_FILES.remove(spillFileReference)) {
+                CloseableUtil.close(spillFileReference.channel);
+                deleteSpillFile(spillFileReference.file);
+            }
+        }
+    }
+
+    private boolean containsSpilled(final Object value, final int hash) throws IOException {
+        if (0 == spilledSize) {
+            return false;
+        }
+        final int mask = hashTable.length - 1;
+        for (int slot = spread(hash) & mask; 0 != hashTable[slot]; slot = (slot + 1) & mask) {
+            final int index = hashTable[slot] - 1;
+            if (hash == hashes[index]) {
+                final Object spilledValue = readValue(offsets[index]);
+                if (null == value ? null == spilledValue : value.equals(spilledValue)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void spill(final Object value, final int hash) throws IOException {
+        if (closed) {
+            throw new GafferRuntimeException("The set export has been closed");
+        }
+        if (null == spillChannel) {
+            deleteUnreferencedSpillFiles();
+            spillFile = Files.createTempFile("gaffer-set-export-", ".spill");
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            spillFileReference = new SpillFileReference(this, spillFile, spillChannel);
+            SPILL_FILES.add(spillFileReference);
+            offsets = new long[INITIAL_CAPACITY];
+            hashes = new int[INITIAL_CAPACITY];
+            hashTable = new int[INITIAL_CAPACITY * 2];
+            LOGGER.debug("Spilling set export to {} after {} values", spillFile, inMemory.size());
+        }
+
+        final byte[] record = serialise(value);
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length);
+        buffer.putInt(record.length).put(record).flip();
+        long position = spillFileSize;
+        while (buffer.hasRemaining()) {
+            position += spillChannel.write(buffer, position);
+        }
+
+        if (spilledSize == offsets.length) {
+            offsets = Arrays.copyOf(offsets, spilledSize * 2);
+            hashes = Arrays.copyOf(hashes, spilledSize * 2);
+        }
+        offsets[spilledSize] = spillFileSize;
+        hashes[spilledSize] = hash;
+        spillFileSize = position;
+        spilledSize++;
+
+        // Keep the hash table at most half full
+        if (spilledSize * 2 > hashTable.length) {
+            hashTable = new int[hashTable.length * 2];
+            for (int i = 0; i < spilledSize - 1; i++) {
+                insert(i);
+            }
+        }
+        insert(spilledSize - 1);
+    }
+
+    private void insert(final int index) {
+        final int mask = hashTable.length - 1;
+        int slot = spread(hashes[index]) & mask;
+        while (0 != hashTable[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        hashTable[slot] = index + 1;
+    }
+
+    private Object readValue(final long offset) throws IOException {
+        final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(lengthBuffer, offset);
+        final ByteBuffer record = ByteBuffer.allocate(lengthBuffer.getInt(0));
+        readFully(record, offset + Integer.BYTES);
+        return deserialise(new DataInputStream(new ByteArrayInputStream(record.array())));
+    }
+
+    private void readFully(final ByteBuffer buffer, final long offset) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            final int read = spillChannel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of set export spill file " + spillFile);
+            }
+            position += read;
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte[] serialise(final Object value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            if (null == value) {
+                out.writeUTF(NULL_CLASS_NAME);
+            } else {
+                out.writeUTF(value.getClass().getName());
+                out.write(JSONSerialiser.serialise(value));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialise(final DataInputStream in) throws IOException {
+        final String className = in.readUTF();
+        if (NULL_CLASS_NAME.equals(className)) {
+            return null;
+        }
+        final byte[] json = new byte[in.available()];
+        in.readFully(json);
+        try {
+            return JSONSerialiser.deserialise(json, Class.forName(className));
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Spilled value class name was not found: " + className, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("inMemory", inMemory)
+                .append("spilledSize", spilledSize)
+                .append("spillFile", spillFile)
+                .toString();
+    }
+
+    /**
+     * Holds the spill file of a set, so it can be deleted once the set is no
+     * longer referenced. Readers of the spilled values reference the set, so
+     * this only happens once they are no longer referenced either.
+     */
+    private static final class SpillFileReference extends PhantomReference<SpillableSet> {
+        private final Path file;
+        private final FileChannel channel;
+
+        private SpillFileReference(final SpillableSet set, final Path file, final FileChannel channel) {
+            super(set, UNREFERENCED_SETS);
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private final class SpilledIterable implements CloseableIterable<Object> {
+        private final int start;
+        private final int end;
+
+        private SpilledIterable(final int start, final int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            if (start >= end) {
+                return new EmptyClosableIterable<>().iterator();
+            }
+            openReader();
+            try {
+                final FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ);
+                channel.position(offsets[start]);
+                return new SpilledIterator(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel))), end - start);
+            } catch (final IOException e) {
+                closeReader();
+                throw new GafferRuntimeException("Unable to read the set export spill file " + spillFile, e);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final class SpilledIterator implements CloseableIterator<Object> {
+        private final DataInputStream in;
+        private int remaining;
+        private boolean readerClosed;
+
+        private SpilledIterator(final DataInputStream in, final int count) {
+            this.in = in;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining <= 0) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                remaining--;
+                return deserialise(new DataInputStream(new ByteArrayInputStream(record)));
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read the set export spill file", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!readerClosed) {
+                readerClosed = true;
+                CloseableUtil.close(in);
+                closeReader();
+            }
+        }
+    }
+}
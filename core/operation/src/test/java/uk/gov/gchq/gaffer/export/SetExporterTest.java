@@ -20,10 +20,14 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.impl.export.set.SetExporter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -83,4 +87,58 @@ public class SetExporterTest {
             assertEquals(values1.subList(start, end), Lists.newArrayList(results));
         }
     }
+
+    @Test
+    public void shouldSpillValuesToDiskAndRemoveDuplicates() {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 1L)
+                .build();
+        final List<Object> values = Arrays.asList(1, "2", 3L, entity, null, "6");
+        try (final SetExporter exporter = new SetExporter(2)) {
+
+            // When
+            exporter.add("key", values);
+            exporter.add("key", Arrays.asList("6", null, entity.shallowClone(), 1, 7));
+
+            // Then
+            final List<Object> expected = new ArrayList<>(values);
+            expected.add(7);
+            assertEquals(expected, Lists.newArrayList(exporter.get("key")));
+        }
+    }
+
+    @Test
+    public void shouldGetSubsetOfSpilledValues() {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(i);
+        }
+        try (final SetExporter exporter = new SetExporter(100)) {
+            exporter.add("key", values);
+
+            // When / Then
+            assertEquals(values.subList(50, 150), Lists.newArrayList(exporter.get("key", 50, 150)));
+            assertEquals(values.subList(4000, 4010), Lists.newArrayList(exporter.get("key", 4000, 4010)));
+            assertEquals(values.subList(4990, 5000), Lists.newArrayList(exporter.get("key", 4990, 6000)));
+            assertEquals(values.subList(4990, 5000), Lists.newArrayList(exporter.get("key", 4990, null)));
+        }
+    }
+
+    @Test
+    public void shouldKeepInMemoryValuesWhenClosed() {
+        // Given
+        final List<String> values = Arrays.asList("1", "2", "3");
+        final SetExporter exporter = new SetExporter(10);
+        exporter.add("key", values);
+
+        // When
+        exporter.close();
+
+        // Then
+        assertEquals(values, Lists.newArrayList(exporter.get("key")));
+    }
 }
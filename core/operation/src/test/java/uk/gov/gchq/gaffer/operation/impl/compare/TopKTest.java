@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl.compare;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class TopKTest extends OperationTest<TopK> {
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("comparators", "k");
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final ElementPropertyComparator comparator = new ElementPropertyComparator();
+        final TopK topK = new TopK.Builder()
+                .input(new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .property("property", 1)
+                        .build(), new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .property("property", 2)
+                        .build())
+                .comparators(comparator)
+                .k(10)
+                .build();
+
+        // Then
+        assertThat(topK.getInput()).hasSize(2);
+        assertThat(topK.getComparators()).containsExactly(comparator);
+        assertEquals(10, (int) topK.getK());
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final Entity input = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .property("property", 1)
+                .build();
+        final ElementPropertyComparator comparator = new ElementPropertyComparator();
+        final TopK topK = new TopK.Builder()
+                .input(input)
+                .comparators(comparator)
+                .k(5)
+                .build();
+
+        // When
+        final TopK clone = topK.shallowClone();
+
+        // Then
+        assertNotSame(topK, clone);
+        assertThat(clone.getInput().iterator().next()).isEqualTo(input);
+        assertThat(clone.getComparators().iterator().next()).isEqualTo(comparator);
+        assertEquals(5, (int) clone.getK());
+    }
+
+    @Test
+    public void shouldGetOutputClass() {
+        // When
+        final Class<?> outputClass = getTestObject().getOutputClass();
+
+        // Then
+        assertEquals(Iterable.class, outputClass);
+    }
+
+    @Override
+    protected TopK getTestObject() {
+        return new TopK();
+    }
+}
@@ -18,20 +18,25 @@ package uk.gov.gchq.gaffer.store;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.export.Exporter;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.Closeable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@code Context} contains operation chain execution information, such
  * as the user who executed the operation chain and a map of {@link Exporter}s.
+ * The exporters and variables may be updated by operations running in parallel,
+ * for example within a ForEach, so they are held in thread safe maps.
  */
 public class Context {
     private final User user;
@@ -43,7 +48,7 @@ public class Context {
     /**
      * Map of exporter simple class name to exporter
      */
-    private final Map<Class<? extends Exporter>, Exporter> exporters = new HashMap<>();
+    private final Map<Class<? extends Exporter>, Exporter> exporters = new ConcurrentHashMap<>();
 
     public Context() {
         this(new User());
@@ -90,7 +95,7 @@ public class Context {
             this.config = config;
         }
         this.jobId = createJobId();
-        this.variables = new HashMap<>();
+        this.variables = Collections.synchronizedMap(new HashMap<>());
     }
 
     /**
@@ -136,7 +141,7 @@ public class Context {
     }
 
     public void setVariables(final Map<String, Object> variables) {
-        this.variables = variables;
+        this.variables = null != variables ? Collections.synchronizedMap(variables) : null;
     }
 
     public void setVariable(final String key, final Object value) {
@@ -163,10 +168,25 @@ public class Context {
     }
 
     public void addExporter(final Exporter exporter) {
-        if (exporters.containsKey(exporter.getClass())) {
+        if (null != exporters.putIfAbsent(exporter.getClass(), exporter)) {
             throw new IllegalArgumentException("Exporter of type " + exporter.getClass() + " has already been registered");
         }
-        exporters.put(exporter.getClass(), exporter);
+    }
+
+    /**
+     * Releases any resources, such as temporary files, held by the exporters.
+     * Exports held in memory are still available afterwards. The exporters are
+     * shared with any contexts cloned from this one, so this should only be
+     * called once the context and its clones are no longer needed. If it is not
+     * called, the resources are released once the exporters are no longer
+     * referenced.
+     */
+    public void closeExporters() {
+        for (final Exporter exporter : exporters.values()) {
+            if (exporter instanceof Closeable) {
+                CloseableUtil.close((Closeable) exporter);
+            }
+        }
     }
 
     public <E> E getExporter(final Class<? extends E> exporterClass) {
@@ -64,6 +64,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.compare.Max;
 import uk.gov.gchq.gaffer.operation.impl.compare.Min;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.compare.TopK;
 import uk.gov.gchq.gaffer.operation.impl.export.GetExports;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.ExportToGafferResultCache;
 import uk.gov.gchq.gaffer.operation.impl.export.set.ExportToSet;
@@ -98,6 +99,7 @@ import uk.gov.gchq.gaffer.store.library.NoGraphLibrary;
 import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.operation.GetTraits;
 import uk.gov.gchq.gaffer.store.operation.HasTrait;
+import uk.gov.gchq.gaffer.store.operation.OperationChainPlanCache;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.operation.OperationUtil;
 import uk.gov.gchq.gaffer.store.operation.add.AddSchemaToLibrary;
@@ -130,6 +132,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.WhileHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.compare.MaxHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.compare.MinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.compare.SortHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.compare.TopKHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.export.GetExportsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.export.set.ExportToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.export.set.GetSetExportHandler;
@@ -159,7 +162,13 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSingletonListHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
+import uk.gov.gchq.gaffer.store.optimiser.FuseFunctionsIntoViewRule;
+import uk.gov.gchq.gaffer.store.optimiser.LimitIntoSortRule;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import uk.gov.gchq.gaffer.store.optimiser.RemoveDiscardedOperationsRule;
+import uk.gov.gchq.gaffer.store.optimiser.RemoveRedundantGetElementsRule;
+import uk.gov.gchq.gaffer.store.optimiser.RuleBasedOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -199,6 +208,7 @@ public abstract class Store {
     private final Map<Class<? extends Operation>, OperationHandler> operationHandlers = new LinkedHashMap<>();
     protected final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
     protected final OperationChainValidator opChainValidator;
+    private OperationChainPlanCache opChainPlanCache;
     private final SchemaOptimiser schemaOptimiser;
     private final Boolean addCoreOpHandlers;
 
@@ -284,7 +294,9 @@ public abstract class Store {
 
         optimiseSchema();
         validateSchemas();
+        this.opChainPlanCache = createOperationChainPlanCache();
         addOpHandlers();
+        addOperationChainRules();
         addExecutorService(properties);
 
         if (properties.getJobTrackerEnabled() && !jobsRescheduled) {
@@ -816,8 +828,61 @@ public abstract class Store {
         return opChainValidator;
     }
 
+    /**
+     * Creates the cache of validated and optimised operation chains used by
+     * the {@link OperationChainHandler}.
+     *
+     * @return the operation chain plan cache, or null if plans should not be cached
+     */
+    protected OperationChainPlanCache createOperationChainPlanCache() {
+        final int size = properties.getOperationChainPlanCacheSize();
+        return 0 < size ? new OperationChainPlanCache(size) : null;
+    }
+
+    public OperationChainPlanCache getOperationChainPlanCache() {
+        return opChainPlanCache;
+    }
+
+    /**
+     * Gets the version of any store state, other than the schema, operation
+     * handlers and optimisers, that validating or optimising an operation chain
+     * depends on. Cached operation chain plans are only reused whilst the
+     * version is unchanged.
+     *
+     * @return the version of the store state, or a negative number if
+     * operation chain plans should not be cached
+     */
+    public long getOperationChainPlanVersion() {
+        return 0;
+    }
+
+    /**
+     * Creates the store independent {@link OperationChainRule}s to apply to
+     * operation chains before any store specific optimisers.
+     * By default each rule is enabled by its store property.
+     *
+     * @return the operation chain rules
+     */
+    protected List<OperationChainRule> createOperationChainRules() {
+        final List<OperationChainRule> rules = new ArrayList<>();
+        if (properties.getOptimiserFuseFunctionsIntoView()) {
+            rules.add(new FuseFunctionsIntoViewRule());
+        }
+        if (properties.getOptimiserRemoveRedundantGetElements()) {
+            rules.add(new RemoveRedundantGetElementsRule());
+        }
+        if (properties.getOptimiserRemoveDiscardedOperations()) {
+            rules.add(new RemoveDiscardedOperationsRule());
+        }
+        if (properties.getOptimiserLimitIntoSort()) {
+            rules.add(new LimitIntoSortRule());
+        }
+        return rules;
+    }
+
     public void addOperationChainOptimisers(final List<OperationChainOptimiser> newOpChainOptimisers) {
         opChainOptimisers.addAll(newOpChainOptimisers);
+        clearOperationChainPlanCache();
     }
 
     public List<OperationChainOptimiser> getOperationChainOptimisers() {
@@ -878,7 +943,7 @@ public abstract class Store {
      * uk.gov.gchq.gaffer.operation.OperationChain}
      */
     protected OperationHandler<? extends OperationChain<?>> getOperationChainHandler() {
-        return new OperationChainHandler<>(opChainValidator, opChainOptimisers);
+        return new OperationChainHandler<>(opChainValidator, opChainOptimisers, opChainPlanCache);
     }
 
     protected HashMap<String, SchemaElementDefinition> getSchemaElements() {
@@ -965,6 +1030,21 @@ public abstract class Store {
         return result;
     }
 
+    private void addOperationChainRules() {
+        opChainOptimisers.removeIf(RuleBasedOperationChainOptimiser.class::isInstance);
+        final List<OperationChainRule> rules = createOperationChainRules();
+        if (null != rules && !rules.isEmpty()) {
+            opChainOptimisers.add(0, new RuleBasedOperationChainOptimiser(rules));
+        }
+        clearOperationChainPlanCache();
+    }
+
+    private void clearOperationChainPlanCache() {
+        if (null != opChainPlanCache) {
+            opChainPlanCache.clear();
+        }
+    }
+
     private void addExecutorService(final StoreProperties properties) {
         ExecutorService.initialise(properties.getJobExecutorThreadCount());
     }
@@ -1029,6 +1109,7 @@ public abstract class Store {
         addOperationHandler(Max.class, new MaxHandler());
         addOperationHandler(Min.class, new MinHandler());
         addOperationHandler(Sort.class, new SortHandler());
+        addOperationHandler(TopK.class, new TopKHandler());
 
         // OperationChain
         addOperationHandler(OperationChain.class, getOperationChainHandler());
@@ -77,6 +77,37 @@ public class StoreProperties implements Cloneable {
 
     public static final String ADMIN_AUTH = "gaffer.store.admin.auth";
 
+    /**
+     * Properties to enable the store independent operation chain optimisation rules.
+     * All the rules are disabled by default.
+     */
+    public static final String OPTIMISER_FUSE_FUNCTIONS_INTO_VIEW = "gaffer.store.optimiser.fuse.functions.into.view";
+    public static final String OPTIMISER_REMOVE_REDUNDANT_GET_ELEMENTS = "gaffer.store.optimiser.remove.redundant.get.elements";
+    public static final String OPTIMISER_REMOVE_DISCARDED_OPERATIONS = "gaffer.store.optimiser.remove.discarded.operations";
+    public static final String OPTIMISER_LIMIT_INTO_SORT = "gaffer.store.optimiser.limit.into.sort";
+
+    /**
+     * The maximum number of validated and optimised operation chains to cache.
+     * The cache is disabled by default.
+     */
+    public static final String OPERATION_CHAIN_PLAN_CACHE_SIZE = "gaffer.store.operation.chain.plan.cache.size";
+    public static final String OPERATION_CHAIN_PLAN_CACHE_SIZE_DEFAULT = "0";
+
+    /**
+     * The number of results buffered between each pair of operations when
+     * operation chains are executed in pipelined mode. Pipelining is disabled
+     * by default.
+     */
+    public static final String OPERATION_CHAIN_PIPELINE_BUFFER_SIZE = "gaffer.store.operation.chain.pipeline.buffer.size";
+    public static final String OPERATION_CHAIN_PIPELINE_BUFFER_SIZE_DEFAULT = "0";
+
+    /**
+     * The maximum number of elements held in memory when aggregating elements.
+     * Beyond this the elements are spilled to disk.
+     */
+    public static final String AGGREGATION_MAX_IN_MEMORY_SIZE = "gaffer.store.aggregation.max.in.memory.size";
+    public static final String AGGREGATION_MAX_IN_MEMORY_SIZE_DEFAULT = "1000000";
+
     /**
      * CSV of extra packages to be included in the reflection scanning.
      */
@@ -458,6 +489,62 @@ public class StoreProperties implements Cloneable {
         set(STRICT_JSON, null == strictJson ? null : Boolean.toString(strictJson));
     }
 
+    public Boolean getOptimiserFuseFunctionsIntoView() {
+        return Boolean.valueOf(get(OPTIMISER_FUSE_FUNCTIONS_INTO_VIEW, "false"));
+    }
+
+    public void setOptimiserFuseFunctionsIntoView(final Boolean enabled) {
+        set(OPTIMISER_FUSE_FUNCTIONS_INTO_VIEW, enabled.toString());
+    }
+
+    public Boolean getOptimiserRemoveRedundantGetElements() {
+        return Boolean.valueOf(get(OPTIMISER_REMOVE_REDUNDANT_GET_ELEMENTS, "false"));
+    }
+
+    public void setOptimiserRemoveRedundantGetElements(final Boolean enabled) {
+        set(OPTIMISER_REMOVE_REDUNDANT_GET_ELEMENTS, enabled.toString());
+    }
+
+    public Boolean getOptimiserRemoveDiscardedOperations() {
+        return Boolean.valueOf(get(OPTIMISER_REMOVE_DISCARDED_OPERATIONS, "false"));
+    }
+
+    public void setOptimiserRemoveDiscardedOperations(final Boolean enabled) {
+        set(OPTIMISER_REMOVE_DISCARDED_OPERATIONS, enabled.toString());
+    }
+
+    public Boolean getOptimiserLimitIntoSort() {
+        return Boolean.valueOf(get(OPTIMISER_LIMIT_INTO_SORT, "false"));
+    }
+
+    public void setOptimiserLimitIntoSort(final Boolean enabled) {
+        set(OPTIMISER_LIMIT_INTO_SORT, enabled.toString());
+    }
+
+    public Integer getOperationChainPlanCacheSize() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PLAN_CACHE_SIZE, OPERATION_CHAIN_PLAN_CACHE_SIZE_DEFAULT));
+    }
+
+    public void setOperationChainPlanCacheSize(final Integer size) {
+        set(OPERATION_CHAIN_PLAN_CACHE_SIZE, size.toString());
+    }
+
+    public Integer getOperationChainPipelineBufferSize() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_BUFFER_SIZE, OPERATION_CHAIN_PIPELINE_BUFFER_SIZE_DEFAULT));
+    }
+
+    public void setOperationChainPipelineBufferSize(final Integer bufferSize) {
+        set(OPERATION_CHAIN_PIPELINE_BUFFER_SIZE, bufferSize.toString());
+    }
+
+    public Integer getAggregationMaxInMemorySize() {
+        return Integer.parseInt(get(AGGREGATION_MAX_IN_MEMORY_SIZE, AGGREGATION_MAX_IN_MEMORY_SIZE_DEFAULT));
+    }
+
+    public void setAggregationMaxInMemorySize(final Integer maxInMemorySize) {
+        set(AGGREGATION_MAX_IN_MEMORY_SIZE, maxInMemorySize.toString());
+    }
+
     public String getAdminAuth() {
         return get(ADMIN_AUTH, "");
     }
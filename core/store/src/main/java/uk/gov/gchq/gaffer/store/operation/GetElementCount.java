@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.exception.CloneFailedException;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code GetElementCount} operation returns the number of elements returned by a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements} or
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} operation.
+ * The elements are counted by the store, e.g. on the tablet servers or
+ * region servers, so they do not have to be sent to the client.
+ * This operation is added by the
+ * {@link uk.gov.gchq.gaffer.store.optimiser.CountOperationChainOptimiser}
+ * in place of a get operation followed by a
+ * {@link uk.gov.gchq.gaffer.operation.impl.Count} operation.
+ */
+@JsonPropertyOrder(value = {"class", "operation"}, alphabetic = true)
+@Since("1.22.1")
+@Summary("Gets the number of elements, counted within the store")
+public class GetElementCount implements Output<Long> {
+    private Operation operation;
+    private Map<String, String> options;
+
+    public GetElementCount() {
+    }
+
+    public GetElementCount(final Operation operation) {
+        this.operation = operation;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(final Operation operation) {
+        this.operation = operation;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public TypeReference<Long> getOutputTypeReference() {
+        return new TypeReferenceImpl.Long();
+    }
+
+    @Override
+    public GetElementCount shallowClone() throws CloneFailedException {
+        return new Builder()
+                .operation(null != operation ? operation.shallowClone() : null)
+                .options(options)
+                .build();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final GetElementCount that = (GetElementCount) obj;
+        return new EqualsBuilder()
+                .append(operation, that.operation)
+                .append(options, that.options)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 53)
+                .append(operation)
+                .append(options)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("operation", operation)
+                .append("options", options)
+                .toString();
+    }
+
+    public static class Builder extends BaseBuilder<GetElementCount, Builder>
+            implements Output.Builder<GetElementCount, Long, Builder> {
+        public Builder() {
+            super(new GetElementCount());
+        }
+
+        public Builder operation(final Operation operation) {
+            _getOp().setOperation(operation);
+            return this;
+        }
+    }
+}
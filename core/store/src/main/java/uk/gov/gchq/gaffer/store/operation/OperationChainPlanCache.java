@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * An {@code OperationChainPlanCache} caches the result of validating and
+ * optimising an {@link OperationChain}, so chains that are submitted
+ * repeatedly only differing in their input seeds are validated and optimised
+ * once.
+ * </p>
+ * <p>
+ * Plans are keyed on a structural fingerprint of the chain, which is the json
+ * of the chain with the inputs of the top level operations removed, along with
+ * whether each of those operations had an input, the user's id and
+ * authorisations, and the version of any store state the validation depends
+ * on. As the optimisers may depend on the input seeds, the
+ * optimised chain is only cached for chains without any input. The cache is
+ * bounded, evicting the least recently used plans.
+ * </p>
+ */
+public class OperationChainPlanCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainPlanCache.class);
+
+    private final Map<String, Plan> plans;
+
+    public OperationChainPlanCache(final int maxSize) {
+        if (1 > maxSize) {
+            throw new IllegalArgumentException("The maximum number of cached plans must be at least 1");
+        }
+        this.plans = Collections.synchronizedMap(new LinkedHashMap<String, Plan>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4362937011432749367L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Plan> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Creates the key for the plan of the operation chain when executed by
+     * the user.
+     *
+     * @param operationChain the operation chain
+     * @param user           the user executing the operation chain
+     * @param storeVersion   the version of the store state, see
+     *                       {@link uk.gov.gchq.gaffer.store.Store#getOperationChainPlanVersion()}
+     * @return the key, or null if the chain could not be fingerprinted and so
+     * should not be cached
+     */
+    public String createKey(final OperationChain<?> operationChain, final User user, final long storeVersion) {
+        final OperationChain<?> structure = operationChain.shallowClone();
+        final StringBuilder key = new StringBuilder();
+        key.append(storeVersion).append('|');
+        for (final Operation operation : structure.getOperations()) {
+            if (operation instanceof Input) {
+                key.append(null != ((Input) operation).getInput() ? 'I' : '-');
+                ((Input) operation).setInput(null);
+            } else {
+                key.append('-');
+            }
+        }
+
+        try {
+            key.append('|').append(StringUtil.toString(JSONSerialiser.serialise(structure)));
+        } catch (final SerialisationException e) {
+            LOGGER.debug("Unable to fingerprint operation chain, the plan will not be cached", e);
+            return null;
+        }
+
+        if (null != user) {
+            key.append('|').append(user.getUserId())
+                    .append('|').append(new TreeSet<>(user.getOpAuths()))
+                    .append('|').append(new TreeSet<>(user.getDataAuths()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key the plan key
+     * @return the cached plan, or null if the plan is not cached
+     */
+    public Plan get(final String key) {
+        return null != key ? plans.get(key) : null;
+    }
+
+    /**
+     * Caches the plan for an operation chain.
+     *
+     * @param key                     the plan key
+     * @param validationResult        the result of validating the chain
+     * @param optimisedOperationChain the optimised chain, or null if the chain
+     *                                has an input and so must be optimised each time
+     */
+    public void put(final String key, final ValidationResult validationResult, final OperationChain<?> optimisedOperationChain) {
+        if (null != key) {
+            plans.put(key, new Plan(validationResult,
+                    null != optimisedOperationChain ? optimisedOperationChain.shallowClone() : null));
+        }
+    }
+
+    /**
+     * Removes all the cached plans, for example when the optimisers change.
+     */
+    public void clear() {
+        plans.clear();
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * The cached result of validating and optimising an operation chain.
+     */
+    public static final class Plan {
+        private final ValidationResult validationResult;
+        private final OperationChain<?> optimisedOperationChain;
+
+        private Plan(final ValidationResult validationResult, final OperationChain<?> optimisedOperationChain) {
+            this.validationResult = validationResult;
+            this.optimisedOperationChain = optimisedOperationChain;
+        }
+
+        public ValidationResult getValidationResult() {
+            return validationResult;
+        }
+
+        public boolean hasOptimisedOperationChain() {
+            return null != optimisedOperationChain;
+        }
+
+        /**
+         * @param <O> the output type of the operation chain
+         * @return a copy of the optimised operation chain, which may be executed
+         * without affecting the cached plan, or null if it was not cached
+         */
+        public <O> OperationChain<O> getOptimisedOperationChain() {
+            return null != optimisedOperationChain ? (OperationChain<O>) optimisedOperationChain.shallowClone() : null;
+        }
+    }
+}
@@ -16,6 +16,10 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
@@ -23,18 +27,35 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An {@code OperationHandler} for the {@link ForEach} Operation.
+ * <p>
+ * If the parallelism is greater than 1, the operations are executed on the
+ * store's shared executor, see {@link ParallelTasks}. At most parallelism
+ * operations are in progress or waiting to be read at any time, so the results
+ * are returned in input order without buffering the results of the whole input.
+ * Results that are lazy {@link Iterable}s, such as the results of a scan, are read
+ * into a list within the task, so the scans themselves run in parallel rather than
+ * one at a time as the results are read. Each of these results is held in memory.
+ * If an operation fails, no further operations are started, the operations still
+ * to run are cancelled and the first failure is thrown. The operations share the
+ * {@link Context}, which is safe to update from several threads.
  *
  * @param <I> input type
  * @param <O> output type
  */
 public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O>, Iterable<? extends O>> {
-
     @Override
     public Iterable<? extends O> doOperation(final ForEach<I, O> forEach, final Context context, final Store store) throws OperationException {
         if (null == forEach.getOperation()) {
@@ -43,24 +64,183 @@ public class ForEachHandler<I, O> implements OutputOperationHandler<ForEach<I, O
         if (null == forEach.getInput()) {
             throw new OperationException("Inputs cannot be null");
         }
+        final int parallelism = null == forEach.getParallelism() ? 1 : forEach.getParallelism();
+        if (1 > parallelism) {
+            throw new OperationException("Parallelism must be at least 1");
+        }
+
+        if (forEach.isLazyResults()) {
+            return new ForEachIterable(forEach, parallelism, context, store);
+        }
+
+        if (1 == parallelism) {
+            final List<O> results = new ArrayList<>();
+            for (final I input : forEach.getInput()) {
+                results.add(executeOperation(forEach.getOperation(), input, context, store));
+            }
+            return results;
+        }
 
         final List<O> results = new ArrayList<>();
-        for (final I input : forEach.getInput()) {
-            final Operation clonedOperation = forEach.getOperation().shallowClone();
-            OperationHandlerUtil.updateOperationInput(clonedOperation, input);
-            results.add(executeOperation(clonedOperation, context, store));
+        try (final ForEachIterator iterator = new ForEachIterator(forEach, parallelism, context, store)) {
+            while (iterator.hasNext()) {
+                results.add(iterator.nextResult());
+            }
         }
         return results;
     }
 
-    private O executeOperation(final Operation operation, final Context context, final Store store) throws OperationException {
+    private O executeOperation(final Operation operation, final I input, final Context context, final Store store) throws OperationException {
+        final Operation clonedOperation = operation.shallowClone();
+        OperationHandlerUtil.updateOperationInput(clonedOperation, input);
+
         final O result;
-        if (operation instanceof Output) {
-            result = store.execute((Output<O>) operation, context);
+        if (clonedOperation instanceof Output) {
+            result = store.execute((Output<O>) clonedOperation, context);
         } else {
-            store.execute(operation, context);
+            store.execute(clonedOperation, context);
             result = null;
         }
         return result;
     }
+
+    private O readResult(final O result) {
+        if (!(result instanceof Iterable) || result instanceof Collection) {
+            return result;
+        }
+        try {
+            final List<Object> items = new ArrayList<>();
+            for (final Object item : (Iterable<?>) result) {
+                items.add(item);
+            }
+            return (O) items;
+        } finally {
+            CloseableUtil.close(result);
+        }
+    }
+
+    private final class ForEachIterable implements CloseableIterable<O> {
+        private final ForEach<I, O> forEach;
+        private final int parallelism;
+        private final Context context;
+        private final Store store;
+        private ForEachIterator iterator;
+
+        private ForEachIterable(final ForEach<I, O> forEach, final int parallelism, final Context context, final Store store) {
+            this.forEach = forEach;
+            this.parallelism = parallelism;
+            this.context = context;
+            this.store = store;
+        }
+
+        @Override
+        public CloseableIterator<O> iterator() {
+            CloseableUtil.close(iterator);
+            iterator = new ForEachIterator(forEach, parallelism, context, store);
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterator);
+        }
+    }
+
+    /**
+     * Runs the operation for each input, keeping up to parallelism operations
+     * running ahead of the result being read. With a parallelism of 1 the
+     * operations are run on the calling thread as each result is read.
+     */
+    private final class ForEachIterator implements CloseableIterator<O> {
+        private final Operation operation;
+        private final Iterator<? extends I> inputs;
+        private final Context context;
+        private final Store store;
+        private final ParallelTasks<O> tasks;
+        private final AtomicReference<OperationException> firstFailure = new AtomicReference<>();
+
+        private ForEachIterator(final ForEach<I, O> forEach, final int parallelism, final Context context, final Store store) {
+            this.operation = forEach.getOperation();
+            this.inputs = forEach.getInput().iterator();
+            this.context = context;
+            this.store = store;
+            this.tasks = 1 < parallelism ? new ParallelTasks<>(parallelism, true) : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == tasks) {
+                return inputs.hasNext();
+            }
+            submit();
+            if (tasks.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public O next() {
+            try {
+                return nextResult();
+            } catch (final OperationException e) {
+                throw new GafferRuntimeException(e.getMessage(), e);
+            }
+        }
+
+        private O nextResult() throws OperationException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (null == tasks) {
+                return executeOperation(operation, inputs.next(), context, store);
+            }
+
+            try {
+                if (null != firstFailure.get()) {
+                    throw firstFailure.get();
+                }
+                return tasks.take();
+            } catch (final ExecutionException | CancellationException e) {
+                close();
+                if (null != firstFailure.get()) {
+                    throw firstFailure.get();
+                }
+                throw new OperationException("ForEach operation failed", e);
+            } catch (final OperationException e) {
+                close();
+                throw e;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new OperationException("Interrupted while waiting for the ForEach operation", e);
+            } finally {
+                submit();
+            }
+        }
+
+        private void submit() {
+            while (null == firstFailure.get() && tasks.canSubmit() && inputs.hasNext()) {
+                final I input = inputs.next();
+                tasks.submit(() -> {
+                    try {
+                        return readResult(executeOperation(operation, input, context, store));
+                    } catch (final OperationException | RuntimeException e) {
+                        firstFailure.compareAndSet(null, e instanceof OperationException
+                                ? (OperationException) e : new OperationException(e.getMessage(), e));
+                        throw e;
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void close() {
+            if (null != tasks) {
+                tasks.close();
+            }
+            CloseableUtil.close(inputs);
+        }
+    }
 }
@@ -15,15 +15,22 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.operation.OperationChainPlanCache;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
@@ -36,39 +43,83 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
+    private final OperationChainPlanCache opChainPlanCache;
 
     @Override
     public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
 
         final OperationChain<OUT> preparedOperationChain = prepareOperationChain(operationChain, context, store);
 
-        Object result = null;
-        for (final Operation op : preparedOperationChain.getOperations()) {
-            updateOperationInput(op, result);
-            result = store.handleOperation(op, context);
+        final int pipelineBufferSize = getPipelineBufferSize(store);
+        final List<Operation> operations = preparedOperationChain.getOperations();
+        final List<PipelinedIterable<?>> pipelines = new ArrayList<>();
+        boolean succeeded = false;
+        try {
+            Object result = null;
+            for (int i = 0; i < operations.size(); i++) {
+                final Operation op = operations.get(i);
+                updateOperationInput(op, result);
+                result = store.handleOperation(op, context);
+                if (0 < pipelineBufferSize && i < operations.size() - 1 && isLazyIterable(result)) {
+                    final PipelinedIterable<?> pipeline = new PipelinedIterable<>((Iterable<?>) result, pipelineBufferSize);
+                    pipelines.add(pipeline);
+                    result = pipeline;
+                }
+            }
+            succeeded = true;
+            return (OUT) closeWithPipelines(result, pipelines);
+        } finally {
+            if (!succeeded) {
+                pipelines.forEach(PipelinedIterable::close);
+            }
         }
-
-        return (OUT) result;
     }
 
     public <O> OperationChain<O> prepareOperationChain(final OperationChain<O> operationChain, final Context context, final Store store) {
-        final ValidationResult validationResult = opChainValidator.validate(operationChain, context
-                .getUser(), store);
+        final long storeVersion = null != opChainPlanCache ? store.getOperationChainPlanVersion() : -1;
+        final String planKey = 0 <= storeVersion ? opChainPlanCache.createKey(operationChain, context.getUser(), storeVersion) : null;
+        final OperationChainPlanCache.Plan plan = null != planKey ? opChainPlanCache.get(planKey) : null;
+
+        final ValidationResult validationResult = null != plan
+                ? plan.getValidationResult()
+                : opChainValidator.validate(operationChain, context.getUser(), store);
         if (!validationResult.isValid()) {
+            if (null != planKey && null == plan) {
+                opChainPlanCache.put(planKey, validationResult, null);
+            }
             throw new IllegalArgumentException("Operation chain is invalid. " + validationResult
                     .getErrorString());
         }
 
+        if (null != plan && plan.hasOptimisedOperationChain()) {
+            return plan.getOptimisedOperationChain();
+        }
+
         OperationChain<O> optimisedOperationChain = operationChain;
         for (final OperationChainOptimiser opChainOptimiser : opChainOptimisers) {
             optimisedOperationChain = opChainOptimiser.optimise(optimisedOperationChain);
         }
+
+        if (null != planKey && null == plan) {
+            opChainPlanCache.put(planKey, validationResult, hasInput(operationChain) ? null : optimisedOperationChain);
+        }
         return optimisedOperationChain;
     }
 
     public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers) {
+        this(opChainValidator, opChainOptimisers, null);
+    }
+
+    /**
+     * @param opChainValidator  the validator for the operation chains
+     * @param opChainOptimisers the optimisers to apply to the operation chains
+     * @param opChainPlanCache  the cache of validated and optimised operation
+     *                          chains, or null to validate and optimise every chain
+     */
+    public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final OperationChainPlanCache opChainPlanCache) {
         this.opChainValidator = opChainValidator;
         this.opChainOptimisers = opChainOptimisers;
+        this.opChainPlanCache = opChainPlanCache;
     }
 
     protected OperationChainValidator getOpChainValidator() {
@@ -78,4 +129,57 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
     protected List<OperationChainOptimiser> getOpChainOptimisers() {
         return opChainOptimisers;
     }
+
+    protected OperationChainPlanCache getOpChainPlanCache() {
+        return opChainPlanCache;
+    }
+
+    /**
+     * In pipelined mode the lazy results of each operation are produced on a
+     * separate thread while the next operation consumes them, so consecutive
+     * operations run concurrently rather than one after another.
+     */
+    private static int getPipelineBufferSize(final Store store) {
+        final StoreProperties properties = store.getProperties();
+        return null != properties ? properties.getOperationChainPipelineBufferSize() : 0;
+    }
+
+    /**
+     * Collections have already been materialised, so only gain overhead from
+     * being pipelined.
+     */
+    private static boolean isLazyIterable(final Object result) {
+        return result instanceof Iterable && !(result instanceof Collection);
+    }
+
+    /**
+     * The pipelines must be closed once the chain result is no longer needed,
+     * so their producers stop. If the result is lazy they are closed with the
+     * result, otherwise the chain has finished with them.
+     */
+    private static Object closeWithPipelines(final Object result, final List<PipelinedIterable<?>> pipelines) {
+        if (pipelines.isEmpty()) {
+            return result;
+        }
+        if (!isLazyIterable(result)) {
+            pipelines.forEach(PipelinedIterable::close);
+            return result;
+        }
+        return new WrappedCloseableIterable<Object>((Iterable<Object>) result) {
+            @Override
+            public void close() {
+                super.close();
+                pipelines.forEach(PipelinedIterable::close);
+            }
+        };
+    }
+
+    private static boolean hasInput(final OperationChain<?> operationChain) {
+        for (final Operation operation : operationChain.getOperations()) {
+            if (operation instanceof Input && null != ((Input) operation).getInput()) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -16,6 +16,8 @@
 package uk.gov.gchq.gaffer.store.operation.handler.compare;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -25,7 +27,9 @@ import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.ElementSorter;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -35,10 +39,18 @@ import java.util.stream.Stream;
  * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * <p>
+ * If a maxInMemorySize is configured and the resultLimit does not already bound
+ * the number of elements held in memory, the elements are sorted using an
+ * {@link ElementSorter} instead. Inputs up to the maxInMemorySize are sorted
+ * in memory in parallel, larger inputs are sorted externally by spilling sorted
+ * runs to disk and merging them as the results are read.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
 
+    private Integer maxInMemorySize;
+
     @Override
     public Iterable<? extends Element> doOperation(final Sort operation, final Context context, final Store store) throws OperationException {
         // If there is no input or there are no comparators, we return null
@@ -60,6 +72,11 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        if (null != maxInMemorySize
+                && (null == operation.getResultLimit() || operation.getResultLimit() > maxInMemorySize)) {
+            return sortWithinMemoryLimit(operation, store);
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
                              .filter(Objects::nonNull)) {
@@ -74,4 +91,31 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    private Iterable<? extends Element> sortWithinMemoryLimit(final Sort operation, final Store store) throws OperationException {
+        final ElementSorter sorter = new ElementSorter(
+                operation.getCombinedComparator(),
+                operation.isDeduplicate(),
+                maxInMemorySize,
+                null != store ? store.getSchema() : null);
+        try {
+            final CloseableIterable<Element> sorted = sorter.sort(operation.getInput());
+            if (null == operation.getResultLimit()) {
+                return sorted;
+            }
+            return new LimitedCloseableIterable<>(sorted, 0, operation.getResultLimit());
+        } catch (final IOException e) {
+            throw new OperationException("Unable to sort the elements", e);
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
+
+    public Integer getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(final Integer maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
 }
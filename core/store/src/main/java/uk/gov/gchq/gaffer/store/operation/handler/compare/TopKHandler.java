@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.compare.TopK;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A {@code TopKHandler} handles the {@link TopK} operation.
+ * <p>
+ * It keeps the k largest elements seen so far in a bounded heap, so each
+ * element is compared with the smallest of the current top k and only k
+ * elements are held in memory.
+ * <p>
+ * If a parallelism is configured, the input is read in batches and the top k of
+ * each batch is found on the store's shared executor, with at most that many
+ * batches in progress at once, see {@link ParallelTasks}. The results of each
+ * batch are merged into the overall top k. This is worthwhile when the comparators
+ * are expensive, for example when comparing deserialised sketches. The
+ * comparators are shared between the threads, so must be thread safe.
+ */
+public class TopKHandler implements OutputOperationHandler<TopK, Iterable<? extends Element>> {
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
+    private Integer parallelism;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    @Override
+    public Iterable<? extends Element> doOperation(final TopK operation, final Context context, final Store store) throws OperationException {
+        // If there is no input or there are no comparators, we return null
+        if (null == operation.getInput()
+                || null == operation.getComparators()
+                || operation.getComparators().isEmpty()) {
+            return null;
+        }
+        if (null == operation.getK() || 1 > operation.getK()) {
+            throw new OperationException("k must be at least 1");
+        }
+
+        final Comparator<Element> comparator = operation.getCombinedComparator();
+        try {
+            final TopKHeap topK = new TopKHeap(operation.getK(), comparator);
+            if (null == parallelism) {
+                topK.addAll(operation.getInput());
+            } else {
+                addAllInParallel(topK, operation);
+            }
+            return topK.toList();
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
+
+    private void addAllInParallel(final TopKHeap topK, final TopK operation) throws OperationException {
+        try (final ParallelTasks<List<Element>> tasks = new ParallelTasks<>(parallelism, false)) {
+            final Iterator<? extends Element> elements = operation.getInput().iterator();
+            while (elements.hasNext() || !tasks.isEmpty()) {
+                while (tasks.canSubmit() && elements.hasNext()) {
+                    final List<Element> batch = new ArrayList<>(batchSize);
+                    while (batch.size() < batchSize && elements.hasNext()) {
+                        batch.add(elements.next());
+                    }
+                    tasks.submit(() -> {
+                        final TopKHeap batchTopK = new TopKHeap(operation.getK(), topK.comparator);
+                        batchTopK.addAll(batch);
+                        return batchTopK.toList();
+                    });
+                }
+                topK.addAll(tasks.take());
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException("Unable to find the top k elements: " + e.getCause().getMessage(), e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while finding the top k elements", e);
+        }
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        if (null != parallelism) {
+            ParallelTasks.validateParallelism(parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        ParallelTasks.validateBatchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * A min heap holding at most k elements, so the head is the smallest of
+     * the top k. Elements equal to the smallest do not replace it, so the first
+     * of equal elements is kept.
+     */
+    private static final class TopKHeap {
+        private final int k;
+        private final Comparator<Element> comparator;
+        private final PriorityQueue<Element> heap;
+
+        private TopKHeap(final int k, final Comparator<Element> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<>(Math.min(k, DEFAULT_BATCH_SIZE) + 1, comparator);
+        }
+
+        private void addAll(final Iterable<? extends Element> elements) {
+            for (final Element element : elements) {
+                if (null != element) {
+                    if (heap.size() < k) {
+                        heap.add(element);
+                    } else if (comparator.compare(element, heap.peek()) > 0) {
+                        heap.poll();
+                        heap.add(element);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the elements, largest first
+         */
+        private List<Element> toList() {
+            final List<Element> elements = new ArrayList<>(heap);
+            elements.sort(Collections.reverseOrder(comparator));
+            return elements;
+        }
+    }
+}
@@ -35,13 +35,17 @@ public abstract class ExportOperationHandler<EXPORT extends Export & Operation,
     public Object doOperation(final EXPORT export,
                               final Context context, final Store store)
             throws OperationException {
-        EXPORTER exporter = context.getExporter(getExporterClass());
-        if (null == exporter) {
-            exporter = createExporter(export, context, store);
+        EXPORTER exporter;
+        // Operations running in parallel may share the context
+        synchronized (context) {
+            exporter = context.getExporter(getExporterClass());
             if (null == exporter) {
-                throw new OperationException("Unable to create exporter: " + getExporterClass());
+                exporter = createExporter(export, context, store);
+                if (null == exporter) {
+                    throw new OperationException("Unable to create exporter: " + getExporterClass());
+                }
+                context.addExporter(exporter);
             }
-            context.addExporter(exporter);
         }
 
         return doOperation(export, context, store, exporter);
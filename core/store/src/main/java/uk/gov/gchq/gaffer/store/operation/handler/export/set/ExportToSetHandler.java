@@ -27,6 +27,12 @@ import uk.gov.gchq.gaffer.store.operation.handler.export.ExportToHandler;
  * to a {@link java.util.Set} via a {@link SetExporter}.
  */
 public class ExportToSetHandler extends ExportToHandler<ExportToSet, SetExporter> {
+    /**
+     * The maximum number of values to hold in memory for each export before
+     * spilling to disk. If null, all the values are held in memory.
+     */
+    private Integer maxInMemorySize;
+
     @Override
     protected Class<SetExporter> getExporterClass() {
         return SetExporter.class;
@@ -34,6 +40,14 @@ public class ExportToSetHandler extends ExportToHandler<ExportToSet, SetExporter
 
     @Override
     protected SetExporter createExporter(final ExportToSet export, final Context context, final Store store) {
-        return new SetExporter();
+        return new SetExporter(maxInMemorySize);
+    }
+
+    public Integer getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(final Integer maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
     }
 }
@@ -29,6 +29,12 @@ import uk.gov.gchq.gaffer.store.operation.handler.export.GetExportHandler;
  * a {@link SetExporter}.
  */
 public class GetSetExportHandler extends GetExportHandler<GetSetExport, SetExporter> {
+    /**
+     * Used if the set exporter has not already been created by an
+     * {@link ExportToSetHandler}, see {@link ExportToSetHandler#getMaxInMemorySize()}.
+     */
+    private Integer maxInMemorySize;
+
     @Override
     protected CloseableIterable<?> getExport(final GetSetExport export, final SetExporter exporter) throws OperationException {
         return exporter.get(export.getKeyOrDefault(), export.getStart(), export.getEnd());
@@ -41,6 +47,14 @@ public class GetSetExportHandler extends GetExportHandler<GetSetExport, SetExpor
 
     @Override
     public SetExporter createExporter(final GetSetExport export, final Context context, final Store store) {
-        return new SetExporter();
+        return new SetExporter(maxInMemorySize);
+    }
+
+    public Integer getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(final Integer maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
     }
 }
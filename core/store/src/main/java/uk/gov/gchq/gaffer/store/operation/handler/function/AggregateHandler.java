@@ -33,15 +33,39 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * An {@code AggregateHandler} handles the {@link Aggregate} operation, grouping
+ * and aggregating the input elements in memory.
+ * <p>
+ * At most maxInMemorySize elements are held in memory, or the store's
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#AGGREGATION_MAX_IN_MEMORY_SIZE}
+ * if the handler is not configured with a maxInMemorySize. Larger inputs are
+ * spilled to disk, sorted and aggregated as the results are read, see
+ * {@link uk.gov.gchq.gaffer.store.util.StreamingElementAggregator}.
+ * <p>
+ * If the input is already sorted, so elements with the same group, identifiers
+ * and groupBy properties are adjacent, the operation option
+ * {@value #SORTED_INPUT} can be set to true. The elements are then aggregated
+ * lazily as they are read and each aggregated element is returned as soon as
+ * the key changes.
+ */
 public class AggregateHandler implements OutputOperationHandler<Aggregate, Iterable<? extends Element>> {
+    public static final String SORTED_INPUT = "gaffer.store.operation.aggregate.sorted.input";
+
     private final FunctionValidator<Aggregate> validator = new AggregateValidator();
 
+    private Integer maxInMemorySize;
+
     @Override
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Context context, final Store store) throws OperationException {
-        return doOperation(operation, store.getSchema());
+        return doOperation(operation, store.getSchema(), getMaxInMemorySize(store));
     }
 
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Schema schema) throws OperationException {
+        return doOperation(operation, schema, null != maxInMemorySize ? maxInMemorySize : AggregatorUtil.DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    public Iterable<? extends Element> doOperation(final Aggregate operation, final Schema schema, final int inMemoryLimit) throws OperationException {
         if (null == operation.getInput()) {
             throw new OperationException("Aggregate operation has null iterable of elements");
         }
@@ -63,7 +87,32 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
             throw new OperationException("Aggregate operation is invalid. " + result.getErrorString());
         }
 
-        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
+        if (Boolean.parseBoolean(operation.getOption(SORTED_INPUT))) {
+            return AggregatorUtil.queryAggregateSorted(operation.getInput(), schema, buildView(operation), false);
+        }
+        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation), false, inMemoryLimit);
+    }
+
+    /**
+     * @param store the store the operation is being executed on
+     * @return the configured maxInMemorySize, otherwise the store's aggregation
+     * memory budget
+     */
+    public int getMaxInMemorySize(final Store store) {
+        if (null != maxInMemorySize) {
+            return maxInMemorySize;
+        }
+        return null != store.getProperties()
+                ? store.getProperties().getAggregationMaxInMemorySize()
+                : AggregatorUtil.DEFAULT_MAX_IN_MEMORY_SIZE;
+    }
+
+    public Integer getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    public void setMaxInMemorySize(final Integer maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
     }
 
     private View buildView(final Aggregate operation) {
@@ -22,19 +22,62 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
 
 /**
  * An {@code GenerateElementsHandler} handles {@link uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements} operations.
  * It uses the {@link uk.gov.gchq.gaffer.data.generator.ElementGenerator} from the operation to generate
  * {@link uk.gov.gchq.gaffer.data.element.Element}s from the operation input objects.
+ * <p>
+ * If a parallelism is configured, the input is split into batches of the batch
+ * size and the generator is applied to the batches on the store's shared
+ * executor, with at most that many batches being generated or waiting to be
+ * read at any time, so the generator must be thread safe. The results are returned
+ * lazily, in input order unless preserveOrder is set to false.
  *
  * @param <OBJ> the type of input objects from the operation.
  */
 public class GenerateElementsHandler<OBJ> implements OutputOperationHandler<GenerateElements<OBJ>, Iterable<? extends Element>> {
+    private Integer parallelism;
+    private int batchSize = ParallelGeneratorIterable.DEFAULT_BATCH_SIZE;
+    private boolean preserveOrder = true;
+
     @Override
     public Iterable<? extends Element> doOperation(final GenerateElements<OBJ> operation,
                                                    final Context context, final Store store)
             throws OperationException {
-        return operation.getElementGenerator().apply(operation.getInput());
+        if (null == parallelism || null == operation.getInput()) {
+            return operation.getElementGenerator().apply(operation.getInput());
+        }
+        return new ParallelGeneratorIterable<>(operation.getInput(), operation.getElementGenerator(),
+                batchSize, parallelism, preserveOrder);
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        if (null != parallelism) {
+            ParallelTasks.validateParallelism(parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        ParallelTasks.validateBatchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    public void setPreserveOrder(final boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
     }
 }
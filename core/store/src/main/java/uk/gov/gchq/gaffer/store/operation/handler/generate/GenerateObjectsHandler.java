@@ -21,19 +21,62 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
 
 /**
  * An {@code GenerateObjectsHandler} handles {@link uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects} operations.
  * It uses the {@link uk.gov.gchq.gaffer.data.generator.ElementGenerator} from the operation to generate
  * objects of type OBJ from the operation input {@link uk.gov.gchq.gaffer.data.element.Element}s.
+ * <p>
+ * If a parallelism is configured, the input is split into batches of the batch
+ * size and the generator is applied to the batches on the store's shared
+ * executor, with at most that many batches being generated or waiting to be
+ * read at any time, so the generator must be thread safe. The results are returned
+ * lazily, in input order unless preserveOrder is set to false.
  *
  * @param <OBJ> the type of output objects from the operation.
  */
 public class GenerateObjectsHandler<OBJ> implements OutputOperationHandler<GenerateObjects<OBJ>, Iterable<? extends OBJ>> {
+    private Integer parallelism;
+    private int batchSize = ParallelGeneratorIterable.DEFAULT_BATCH_SIZE;
+    private boolean preserveOrder = true;
+
     @Override
     public Iterable<? extends OBJ> doOperation(final GenerateObjects<OBJ> operation,
                                                final Context context, final Store store)
             throws OperationException {
-        return operation.getElementGenerator().apply(operation.getInput());
+        if (null == parallelism || null == operation.getInput()) {
+            return operation.getElementGenerator().apply(operation.getInput());
+        }
+        return new ParallelGeneratorIterable<>(operation.getInput(), operation.getElementGenerator(),
+                batchSize, parallelism, preserveOrder);
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        if (null != parallelism) {
+            ParallelTasks.validateParallelism(parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        ParallelTasks.validateBatchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    public void setPreserveOrder(final boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.generate;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A {@code ParallelGeneratorIterable} applies a generator to batches of its
+ * input on the store's shared executor, see {@link ParallelTasks}.
+ * <p>
+ * The input is read in batches on the consuming thread and each batch is
+ * generated on the executor. At most the parallelism batches are being
+ * generated or waiting to be read at any time, so the downstream operation
+ * consumes the results while later batches are generated, without the results
+ * of the whole input being held in memory. If order is not preserved, batches
+ * are returned as soon as they have been generated.
+ * </p>
+ * <p>
+ * The generator is shared between the threads, so must be thread safe.
+ * </p>
+ *
+ * @param <I> the type of the input objects
+ * @param <O> the type of the generated objects
+ */
+final class ParallelGeneratorIterable<I, O> implements CloseableIterable<O> {
+    static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Iterable<? extends I> input;
+    private final Function<Iterable<? extends I>, ? extends Iterable<? extends O>> generator;
+    private final int batchSize;
+    private final int parallelism;
+    private final boolean preserveOrder;
+    private ParallelGeneratorIterator iterator;
+
+    ParallelGeneratorIterable(final Iterable<? extends I> input,
+                              final Function<Iterable<? extends I>, ? extends Iterable<? extends O>> generator,
+                              final int batchSize,
+                              final int parallelism,
+                              final boolean preserveOrder) {
+        ParallelTasks.validateBatchSize(batchSize);
+        ParallelTasks.validateParallelism(parallelism);
+        this.input = input;
+        this.generator = generator;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.preserveOrder = preserveOrder;
+    }
+
+    @Override
+    public CloseableIterator<O> iterator() {
+        CloseableUtil.close(iterator);
+        iterator = new ParallelGeneratorIterator();
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(iterator);
+        CloseableUtil.close(input);
+    }
+
+    private List<O> generate(final List<I> batch) {
+        final Iterable<? extends O> generated = generator.apply(batch);
+        if (null == generated) {
+            return Collections.emptyList();
+        }
+        try {
+            final List<O> results = new ArrayList<>(batch.size());
+            for (final O result : generated) {
+                results.add(result);
+            }
+            return results;
+        } finally {
+            CloseableUtil.close(generated);
+        }
+    }
+
+    private final class ParallelGeneratorIterator implements CloseableIterator<O> {
+        private final Iterator<? extends I> inputs;
+        private final ParallelTasks<List<O>> tasks;
+        private Iterator<O> batchResults = Collections.emptyIterator();
+
+        private ParallelGeneratorIterator() {
+            this.inputs = input.iterator();
+            this.tasks = new ParallelTasks<>(parallelism, preserveOrder);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batchResults.hasNext()) {
+                submit();
+                if (tasks.isEmpty()) {
+                    close();
+                    return false;
+                }
+                batchResults = nextBatch().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public O next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batchResults.next();
+        }
+
+        private List<O> nextBatch() {
+            try {
+                return tasks.take();
+            } catch (final ExecutionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new GafferRuntimeException("Unable to generate objects: " + e.getCause().getMessage(), e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new GafferRuntimeException("Interrupted while generating objects", e);
+            }
+        }
+
+        private void submit() {
+            while (tasks.canSubmit() && inputs.hasNext()) {
+                final List<I> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && inputs.hasNext()) {
+                    batch.add(inputs.next());
+                }
+                tasks.submit(() -> generate(batch));
+            }
+        }
+
+        @Override
+        public void close() {
+            tasks.close();
+            batchResults = Collections.emptyIterator();
+            CloseableUtil.close(inputs);
+        }
+    }
+}
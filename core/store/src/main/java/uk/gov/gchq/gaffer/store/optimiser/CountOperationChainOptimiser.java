@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.operation.GetElementCount;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * <p>
+ * A {@code CountOperationChainOptimiser} replaces a {@link GetElements} or
+ * {@link GetAllElements} operation followed by {@link Count} with a
+ * {@link GetElementCount} operation, and one followed by {@link CountGroups}
+ * with a {@link GetGroupCounts} operation, so the elements can be counted
+ * within the store rather than on the client.
+ * </p>
+ * <p>
+ * The chain is only optimised if the view does not contain any post transform
+ * filters, as these are applied on the client side, if a {@link GetElements}
+ * operation has its own input, as the count operations do not take their seeds
+ * from the previous operation in the chain, and if the
+ * {@link CountGroups} operation does not have a limit, as the store will
+ * count all the elements.
+ * Stores that register this optimiser must provide handlers for
+ * {@link GetElementCount} and {@link GetGroupCounts}.
+ * </p>
+ */
+public class CountOperationChainOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if (isCountableGetOperation(previousOp)) {
+            if (isCountOperation(currentOp)) {
+                return singletonList(new GetElementCount.Builder()
+                        .operation(previousOp)
+                        .options(currentOp.getOptions())
+                        .build());
+            }
+            if (isCountGroupsOperation(currentOp)) {
+                return singletonList(new GetGroupCounts.Builder()
+                        .operation(previousOp)
+                        .options(currentOp.getOptions())
+                        .build());
+            }
+        }
+        if (isCountableGetOperation(currentOp) && (isCountOperation(nextOp) || isCountGroupsOperation(nextOp))) {
+            return emptyList();
+        }
+        return singletonList(currentOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+
+    private boolean isCountableGetOperation(final Operation operation) {
+        if (null == operation) {
+            return false;
+        }
+        if (GetElements.class.equals(operation.getClass())) {
+            if (null == ((GetElements) operation).getInput()) {
+                return false;
+            }
+        } else if (!GetAllElements.class.equals(operation.getClass())) {
+            return false;
+        }
+        final View view = ((GraphFilters) operation).getView();
+        return null == view || !view.hasPostTransformFilters();
+    }
+
+    private boolean isCountOperation(final Operation operation) {
+        return null != operation
+                && Count.class.equals(operation.getClass())
+                && null == ((Count) operation).getInput();
+    }
+
+    private boolean isCountGroupsOperation(final Operation operation) {
+        return null != operation
+                && CountGroups.class.equals(operation.getClass())
+                && null == ((CountGroups) operation).getInput()
+                && null == ((CountGroups) operation).getLimit();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A {@code FuseFunctionsIntoViewRule} moves {@link Filter} and {@link Transform}
+ * operations that directly follow a {@link GetElements} or {@link GetAllElements}
+ * into the {@link View} of the get operation, so the functions are applied as
+ * the elements are retrieved rather than in a separate pass over the results.
+ * </p>
+ * <p>
+ * A {@link Filter} becomes a post transform filter for each group in the view,
+ * and groups that the filter does not include are removed from the view.
+ * A {@link Transform} is appended to the transformer for each group, provided
+ * the group does not already have a post transform filter, which would
+ * otherwise be applied before the transform.
+ * </p>
+ * <p>
+ * The view must list its groups explicitly and must not contain global
+ * definitions or property projections. The filter or transform must also
+ * list its groups, as resolving the defaults requires the schema. Otherwise
+ * the operations are left unchanged.
+ * </p>
+ */
+public class FuseFunctionsIntoViewRule implements OperationChainRule {
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        final List<Operation> optimisedOps = new ArrayList<>(operations.size());
+        boolean fused = false;
+        for (final Operation operation : operations) {
+            final int previousIndex = optimisedOps.size() - 1;
+            final Operation fusedOp = previousIndex < 0 ? null : fuse(optimisedOps.get(previousIndex), operation);
+            if (null != fusedOp) {
+                optimisedOps.set(previousIndex, fusedOp);
+                fused = true;
+            } else {
+                optimisedOps.add(operation);
+            }
+        }
+        return fused ? optimisedOps : operations;
+    }
+
+    private Operation fuse(final Operation getOp, final Operation functionOp) {
+        if (!isFusable(getOp)) {
+            return null;
+        }
+
+        final View view = ((GraphFilters) getOp).getView();
+        final View fusedView;
+        if (functionOp instanceof Filter && null == ((Filter) functionOp).getInput()) {
+            fusedView = fuseFilter(view, (Filter) functionOp);
+        } else if (functionOp instanceof Transform && null == ((Transform) functionOp).getInput()) {
+            fusedView = fuseTransform(view, (Transform) functionOp);
+        } else {
+            fusedView = null;
+        }
+
+        if (null == fusedView) {
+            return null;
+        }
+        final Operation fusedOp = getOp.shallowClone();
+        ((GraphFilters) fusedOp).setView(fusedView);
+        return fusedOp;
+    }
+
+    private View fuseFilter(final View view, final Filter filter) {
+        if (null == filter.getEntities() && null == filter.getEdges()) {
+            return null;
+        }
+
+        final View.Builder builder = new View.Builder().config(view.getConfig());
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ElementFilter groupFilter = null != filter.getEntities() ? filter.getEntities().get(entry.getKey()) : null;
+            if (null != groupFilter) {
+                builder.entity(entry.getKey(), addPostTransformFilter(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEntities(), groupFilter));
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ElementFilter groupFilter = null != filter.getEdges() ? filter.getEdges().get(entry.getKey()) : null;
+            if (null != groupFilter) {
+                builder.edge(entry.getKey(), addPostTransformFilter(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEdges(), groupFilter));
+            }
+        }
+
+        final View fusedView = builder.build();
+        return fusedView.hasGroups() ? fusedView : null;
+    }
+
+    private View fuseTransform(final View view, final Transform transform) {
+        if (null == transform.getEntities() && null == transform.getEdges()) {
+            return null;
+        }
+
+        final View.Builder builder = new View.Builder().config(view.getConfig());
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ViewElementDefinition elementDef = addTransformer(entry.getValue(),
+                    null != transform.getEntities() ? transform.getEntities().get(entry.getKey()) : null);
+            if (null == elementDef) {
+                return null;
+            }
+            builder.entity(entry.getKey(), elementDef);
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ViewElementDefinition elementDef = addTransformer(entry.getValue(),
+                    null != transform.getEdges() ? transform.getEdges().get(entry.getKey()) : null);
+            if (null == elementDef) {
+                return null;
+            }
+            builder.edge(entry.getKey(), elementDef);
+        }
+        return builder.build();
+    }
+
+    private ViewElementDefinition addPostTransformFilter(final ViewElementDefinition elementDef, final ElementFilter... filters) {
+        final List<TupleAdaptedPredicate<String, ?>> filterFunctions = new ArrayList<>();
+        if (null != elementDef.getPostTransformFilterFunctions()) {
+            filterFunctions.addAll(elementDef.getPostTransformFilterFunctions());
+        }
+        for (final ElementFilter filter : filters) {
+            if (null != filter && null != filter.getComponents()) {
+                filterFunctions.addAll(filter.getComponents());
+            }
+        }
+        return new ViewElementDefinition.Builder(elementDef.clone())
+                .postTransformFilterFunctions(filterFunctions)
+                .build();
+    }
+
+    private ViewElementDefinition addTransformer(final ViewElementDefinition elementDef, final ElementTransformer transformer) {
+        if (null == transformer || null == transformer.getComponents() || transformer.getComponents().isEmpty()) {
+            return elementDef;
+        }
+        if (elementDef.hasPostTransformFilters()) {
+            return null;
+        }
+        return new ViewElementDefinition.Builder(elementDef.clone())
+                .addTransformFunctions(transformer.getComponents())
+                .build();
+    }
+
+    private boolean isFusable(final Operation operation) {
+        if (null == operation
+                || (!GetElements.class.equals(operation.getClass()) && !GetAllElements.class.equals(operation.getClass()))) {
+            return false;
+        }
+
+        final View view = ((GraphFilters) operation).getView();
+        if (null == view || !view.hasGroups() || view.isAllEntities() || view.isAllEdges()
+                || hasDefinitions(view.getGlobalElements())
+                || hasDefinitions(view.getGlobalEntities())
+                || hasDefinitions(view.getGlobalEdges())) {
+            return false;
+        }
+
+        return !hasProjection(view.getEntities().values()) && !hasProjection(view.getEdges().values());
+    }
+
+    private static boolean hasProjection(final Collection<ViewElementDefinition> elementDefs) {
+        for (final ViewElementDefinition elementDef : elementDefs) {
+            if (null != elementDef.getProperties() || null != elementDef.getExcludeProperties()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasDefinitions(final List<?> globalDefinitions) {
+        return null != globalDefinitions && !globalDefinitions.isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code LimitIntoSortRule} moves a truncating {@link Limit} that directly
+ * follows a {@link Sort} into the result limit of the {@link Sort}. The sort
+ * then only keeps the top 'k' elements in memory rather than sorting all of them,
+ * and a result limit of 1 is handled as a {@link uk.gov.gchq.gaffer.operation.impl.compare.Max}.
+ */
+public class LimitIntoSortRule implements OperationChainRule {
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        final List<Operation> optimisedOps = new ArrayList<>(operations.size());
+        boolean combined = false;
+        for (final Operation operation : operations) {
+            final int previousIndex = optimisedOps.size() - 1;
+            if (previousIndex >= 0 && isTruncatingLimit(operation) && Sort.class.equals(optimisedOps.get(previousIndex).getClass())) {
+                final Sort sort = ((Sort) optimisedOps.get(previousIndex)).shallowClone();
+                final int resultLimit = ((Limit) operation).getResultLimit();
+                if (null == sort.getResultLimit() || resultLimit < sort.getResultLimit()) {
+                    sort.setResultLimit(resultLimit);
+                }
+                optimisedOps.set(previousIndex, sort);
+                combined = true;
+            } else {
+                optimisedOps.add(operation);
+            }
+        }
+        return combined ? optimisedOps : operations;
+    }
+
+    private boolean isTruncatingLimit(final Operation operation) {
+        if (null != operation && Limit.class.equals(operation.getClass())) {
+            final Limit limit = (Limit) operation;
+            return null != limit.getResultLimit() && 0 < limit.getResultLimit()
+                    && null == limit.getInput() && Boolean.TRUE.equals(limit.getTruncate());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.List;
+
+/**
+ * An {@code OperationChainRule} rewrites the operations in an operation chain
+ * into an equivalent, more efficient, list of operations. Rules are applied
+ * by a {@link RuleBasedOperationChainOptimiser}.
+ */
+public interface OperationChainRule {
+    /**
+     * Applies the rule to the operations. The operations must not be modified,
+     * any operation that needs to change should be cloned first.
+     *
+     * @param operations the operations in the chain
+     * @return the rewritten operations, or the same list if the rule does not apply
+     */
+    List<Operation> apply(final List<Operation> operations);
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.compare.TopK;
+import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToCsv;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToMap;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSingletonList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToStream;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@code RemoveDiscardedOperationsRule} removes operations whose output is
+ * immediately discarded by a {@link DiscardOutput}, if the operations have no
+ * side effects. Only operations that just read or convert data are removed,
+ * any other operation, such as an add or an export, stops the rule.
+ */
+public class RemoveDiscardedOperationsRule implements OperationChainRule {
+    private static final Set<Class<? extends Operation>> NO_SIDE_EFFECT_OPERATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            GetElements.class,
+            GetAllElements.class,
+            GetAdjacentIds.class,
+            Count.class,
+            CountGroups.class,
+            Limit.class,
+            Sort.class,
+            Max.class,
+            Min.class,
+            TopK.class,
+            Filter.class,
+            Transform.class,
+            Aggregate.class,
+            ToArray.class,
+            ToCsv.class,
+            ToEntitySeeds.class,
+            ToList.class,
+            ToMap.class,
+            ToSet.class,
+            ToSingletonList.class,
+            ToStream.class,
+            ToVertices.class
+    )));
+
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        final List<Operation> optimisedOps = new ArrayList<>(operations.size());
+        boolean removed = false;
+        for (final Operation operation : operations) {
+            if (operation instanceof DiscardOutput) {
+                // The output of the previous operation is discarded, so walk back
+                // removing the operations that only contribute to that output.
+                while (!optimisedOps.isEmpty()
+                        && NO_SIDE_EFFECT_OPERATIONS.contains(optimisedOps.get(optimisedOps.size() - 1).getClass())) {
+                    optimisedOps.remove(optimisedOps.size() - 1);
+                    removed = true;
+                }
+            }
+            optimisedOps.add(operation);
+        }
+        return removed ? optimisedOps : operations;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import com.google.common.collect.Iterables;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@code RemoveRedundantGetElementsRule} removes a {@link GetElements}
+ * that is immediately followed by another {@link GetElements} with identical
+ * seeds. The second operation has its own input, so the results of the first
+ * are never used and retrieving them is wasted work.
+ * The seeds are only compared if they are both {@link Collection}s, so lazy
+ * or single use inputs are never iterated by the rule.
+ */
+public class RemoveRedundantGetElementsRule implements OperationChainRule {
+    @Override
+    public List<Operation> apply(final List<Operation> operations) {
+        List<Operation> optimisedOps = null;
+        for (int i = 0; i < operations.size(); i++) {
+            final Operation operation = operations.get(i);
+            final Operation nextOp = i + 1 < operations.size() ? operations.get(i + 1) : null;
+            if (hasSameSeeds(operation, nextOp)) {
+                if (null == optimisedOps) {
+                    optimisedOps = new ArrayList<>(operations.subList(0, i));
+                }
+            } else if (null != optimisedOps) {
+                optimisedOps.add(operation);
+            }
+        }
+        return null != optimisedOps ? optimisedOps : operations;
+    }
+
+    private boolean hasSameSeeds(final Operation operation, final Operation nextOp) {
+        if (null == operation || null == nextOp
+                || !GetElements.class.equals(operation.getClass())
+                || !GetElements.class.equals(nextOp.getClass())) {
+            return false;
+        }
+
+        final Iterable<?> seeds = ((GetElements) operation).getInput();
+        final Iterable<?> nextSeeds = ((GetElements) nextOp).getInput();
+        return seeds instanceof Collection && nextSeeds instanceof Collection
+                && Iterables.elementsEqual(seeds, nextSeeds);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code RuleBasedOperationChainOptimiser} optimises an operation chain by
+ * applying a list of {@link OperationChainRule}s in order.
+ * The rules are independent of the store, so they can be applied to any
+ * chain before the store specific optimisers.
+ */
+public class RuleBasedOperationChainOptimiser implements OperationChainOptimiser {
+    private final List<OperationChainRule> rules;
+
+    public RuleBasedOperationChainOptimiser(final OperationChainRule... rules) {
+        this(Arrays.asList(rules));
+    }
+
+    public RuleBasedOperationChainOptimiser(final List<OperationChainRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    @Override
+    public <O> OperationChain<O> optimise(final OperationChain<O> operationChain) {
+        final List<Operation> operations = operationChain.getOperations();
+        List<Operation> optimisedOps = operations;
+        for (final OperationChainRule rule : rules) {
+            optimisedOps = rule.apply(optimisedOps);
+        }
+
+        if (optimisedOps == operations) {
+            return operationChain;
+        }
+        final OperationChain<O> optimisedChain = new OperationChain<>(optimisedOps);
+        optimisedChain.setOptions(operationChain.getOptions());
+        return optimisedChain;
+    }
+
+    public List<OperationChainRule> getRules() {
+        return rules;
+    }
+}
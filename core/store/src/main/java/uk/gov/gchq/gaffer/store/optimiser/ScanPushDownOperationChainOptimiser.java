@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * <p>
+ * A {@code ScanPushDownOperationChainOptimiser} adds options to the get
+ * operations in a chain so that a store can apply a {@link Limit} and skip
+ * the element properties on the server side.
+ * </p>
+ * <p>
+ * If a {@link GetElements}, {@link GetAllElements} or {@link GetAdjacentIds}
+ * is followed by a truncating {@link Limit}, the limit option is added to
+ * the get operation with the result limit as its value.
+ * If a {@link GetElements} or {@link GetAllElements} is followed by
+ * {@link ToVertices}, or the operation is a {@link GetAdjacentIds}, the
+ * identifiers only option is set to true as the properties will never be used.
+ * The options are only added if the view does not contain any transformers
+ * or post transform filters, as these are applied on the client side and
+ * may remove elements or require the properties.
+ * </p>
+ * <p>
+ * The {@link Limit} operation is left in the chain, so stores that apply
+ * the limit per scanner still return the correct number of results.
+ * </p>
+ */
+public class ScanPushDownOperationChainOptimiser extends AbstractOperationChainOptimiser {
+    private final String limitOption;
+    private final String identifiersOnlyOption;
+
+    public ScanPushDownOperationChainOptimiser(final String limitOption, final String identifiersOnlyOption) {
+        this.limitOption = limitOption;
+        this.identifiersOnlyOption = identifiersOnlyOption;
+    }
+
+    @Override
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        if (!isPushDownSupported(currentOp)) {
+            return singletonList(currentOp);
+        }
+
+        final Map<String, String> options = new HashMap<>();
+        if (isTruncatingLimit(nextOp)) {
+            options.put(limitOption, String.valueOf(((Limit) nextOp).getResultLimit()));
+        }
+        if (currentOp instanceof GetAdjacentIds || (null != nextOp && ToVertices.class.equals(nextOp.getClass()))) {
+            options.put(identifiersOnlyOption, Boolean.TRUE.toString());
+        }
+
+        if (options.isEmpty()) {
+            return singletonList(currentOp);
+        }
+
+        // Copy the options so the original operation is not modified
+        final Operation optimisedOp = currentOp.shallowClone();
+        if (null != currentOp.getOptions()) {
+            options.putAll(currentOp.getOptions());
+        }
+        optimisedOp.setOptions(options);
+        return singletonList(optimisedOp);
+    }
+
+    @Override
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
+
+    public String getLimitOption() {
+        return limitOption;
+    }
+
+    public String getIdentifiersOnlyOption() {
+        return identifiersOnlyOption;
+    }
+
+    private boolean isPushDownSupported(final Operation operation) {
+        if (null == operation) {
+            return false;
+        }
+
+        final Class<? extends Operation> opClass = operation.getClass();
+        if (!GetElements.class.equals(opClass)
+                && !GetAllElements.class.equals(opClass)
+                && !GetAdjacentIds.class.equals(opClass)) {
+            return false;
+        }
+
+        final View view = ((GraphFilters) operation).getView();
+        if (null == view) {
+            return true;
+        }
+        if (view.hasPostTransformFilters()) {
+            return false;
+        }
+        for (final ViewElementDefinition elementDef : new ChainedIterable<ViewElementDefinition>(view.getEntities().values(), view.getEdges().values())) {
+            if (null != elementDef.getTransformFunctions() && !elementDef.getTransformFunctions().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isTruncatingLimit(final Operation operation) {
+        if (null != operation && Limit.class.equals(operation.getClass())) {
+            final Limit limit = (Limit) operation;
+            return null != limit.getResultLimit() && Boolean.TRUE.equals(limit.getTruncate());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ScanPushDownOperationChainOptimiser that = (ScanPushDownOperationChainOptimiser) obj;
+        return new EqualsBuilder()
+                .append(limitOption, that.limitOption)
+                .append(identifiersOnlyOption, that.identifiersOnlyOption)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(limitOption)
+                .append(identifiersOnlyOption)
+                .toHashCode();
+    }
+}
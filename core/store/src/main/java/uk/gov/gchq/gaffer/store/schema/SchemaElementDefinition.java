@@ -31,6 +31,9 @@ import uk.gov.gchq.gaffer.commonutil.PropertiesUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.PropertySlots;
+import uk.gov.gchq.gaffer.data.element.SlottedProperties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.ElementDefinition;
@@ -93,7 +96,9 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
     protected ElementAggregator ingestAggregatorCache;
 
-    protected final Map<Set<String>, ElementAggregator> queryAggregatorCacheMap = new HashMap<>();
+    protected final Map<Set<String>, ElementAggregator> queryAggregatorCacheMap = Collections.synchronizedMap(new HashMap<>());
+
+    protected PropertySlots propertySlotsCache;
 
     protected Schema schemaReference;
 
@@ -132,6 +137,29 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         return properties.containsKey(propertyName);
     }
 
+    /**
+     * @return the slots of the properties, in the order they are defined in
+     * the schema
+     */
+    @JsonIgnore
+    public PropertySlots getPropertySlots() {
+        if (null == propertySlotsCache) {
+            propertySlotsCache = new PropertySlots(null != properties ? properties.keySet() : Collections.emptySet());
+        }
+        return propertySlotsCache;
+    }
+
+    /**
+     * Creates empty {@link Properties} for an element of this group. The
+     * values of the properties in the schema are stored by slot, see
+     * {@link SlottedProperties}.
+     *
+     * @return new empty properties
+     */
+    public Properties createProperties() {
+        return new SlottedProperties(getPropertySlots());
+    }
+
     @JsonGetter("properties")
     public Map<String, String> getPropertyMap() {
         return Collections.unmodifiableMap(properties);
@@ -756,6 +784,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
                 elDef.fullAggregatorCache = null;
                 elDef.ingestAggregatorCache = null;
                 elDef.queryAggregatorCacheMap.clear();
+                elDef.propertySlotsCache = null;
 
                 if (null != elementDef.groupBy && !elementDef.groupBy.isEmpty()) {
                     elDef.groupBy = new LinkedHashSet<>(elementDef.groupBy);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@code SpillSerialiser} writes records to, and reads them from, the
+ * temporary files used when results are too large to hold in memory.
+ * <p>
+ * {@link Element}s are serialised using the serialisers in the {@link Schema}
+ * where possible, which is much more compact and faster than JSON and does not
+ * require the properties to be {@link java.io.Serializable}. Elements the schema
+ * cannot represent, and any other values, are serialised as JSON.
+ * <p>
+ * Each record starts with a record type byte, which is non negative, so callers
+ * can mark the end of a block of records with a negative byte.
+ */
+public class SpillSerialiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillSerialiser.class);
+
+    private static final byte NULL_RECORD = 0;
+    private static final byte ELEMENT_RECORD = 1;
+    private static final byte JSON_RECORD = 2;
+
+    private final Schema schema;
+    private final ElementSerialiser elementSerialiser;
+
+    /**
+     * @param schema the schema used to serialise elements, or null to serialise
+     *               everything as JSON
+     */
+    public SpillSerialiser(final Schema schema) {
+        this.schema = schema;
+        this.elementSerialiser = createElementSerialiser(schema);
+    }
+
+    /**
+     * Writes a record for the value.
+     *
+     * @param value the value to write, may be null
+     * @param out   the output to write to
+     * @throws IOException if the value could not be written
+     */
+    public void write(final Object value, final DataOutput out) throws IOException {
+        if (null == value) {
+            out.writeByte(NULL_RECORD);
+            return;
+        }
+
+        if (value instanceof Element && canSerialiseWithSchema((Element) value)) {
+            try {
+                final byte[] bytes = elementSerialiser.serialise((Element) value);
+                out.writeByte(ELEMENT_RECORD);
+                writeBytes(bytes, out);
+                return;
+            } catch (final SerialisationException e) {
+                LOGGER.debug("Unable to serialise element using the schema, serialising as json instead", e);
+            }
+        }
+
+        final byte[] bytes = JSONSerialiser.serialise(value);
+        out.writeByte(JSON_RECORD);
+        out.writeUTF(value.getClass().getName());
+        writeBytes(bytes, out);
+    }
+
+    /**
+     * Reads the rest of a record, after its record type byte has been read.
+     *
+     * @param type the record type byte
+     * @param in   the input to read from
+     * @return the value of the record
+     * @throws IOException if the record could not be read
+     */
+    public Object read(final byte type, final DataInput in) throws IOException {
+        switch (type) {
+            case NULL_RECORD:
+                return null;
+            case ELEMENT_RECORD:
+                if (null == elementSerialiser) {
+                    throw new IOException("Unable to read an element record without a schema");
+                }
+                return elementSerialiser.deserialise(readBytes(in));
+            case JSON_RECORD:
+                final String className = in.readUTF();
+                final byte[] bytes = readBytes(in);
+                try {
+                    return JSONSerialiser.deserialise(bytes, Class.forName(className));
+                } catch (final ClassNotFoundException e) {
+                    throw new IOException("Record class name was not found: " + className, e);
+                }
+            default:
+                throw new IOException("Unknown record type: " + type);
+        }
+    }
+
+    /**
+     * The schema serialisers only store the properties in the schema, so the
+     * element can only be serialised with them if it has exactly those properties.
+     */
+    private boolean canSerialiseWithSchema(final Element element) {
+        if (null == elementSerialiser) {
+            return false;
+        }
+        if (element instanceof Edge && null != ((Edge) element).getMatchedVertex()) {
+            return false;
+        }
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        if (null == elementDef || !elementDef.getProperties().equals(element.getProperties().keySet())) {
+            return false;
+        }
+        return !element.getProperties().containsValue(null);
+    }
+
+    private static void writeBytes(final byte[] bytes, final DataOutput out) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static ElementSerialiser createElementSerialiser(final Schema schema) {
+        if (null == schema) {
+            return null;
+        }
+        try {
+            return new ElementSerialiser(schema);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.debug("Unable to serialise elements using the schema, they will be serialised as json", e);
+            return null;
+        }
+    }
+}
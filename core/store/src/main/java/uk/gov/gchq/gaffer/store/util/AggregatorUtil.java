@@ -16,15 +16,14 @@
 package uk.gov.gchq.gaffer.store.util;
 
 
-import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.ReservedPropertyNames;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.Since;
@@ -33,14 +32,11 @@ import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -49,6 +45,12 @@ import java.util.stream.Collectors;
  * checks the {@link View} to see if the groupBy properties have been overridden.
  */
 public final class AggregatorUtil {
+    /**
+     * The maximum number of elements held in memory when no limit is provided,
+     * see {@link StoreProperties#AGGREGATION_MAX_IN_MEMORY_SIZE}.
+     */
+    public static final int DEFAULT_MAX_IN_MEMORY_SIZE = Integer.parseInt(StoreProperties.AGGREGATION_MAX_IN_MEMORY_SIZE_DEFAULT);
+
     private AggregatorUtil() {
     }
 
@@ -57,33 +59,48 @@ public final class AggregatorUtil {
      * This uses the groupBy properties in the provided {@link Schema} to group
      * the elements prior to aggregating them.
      * <p>
-     * NOTE - this is done in memory so the size of the iterable should be limited.
+     * At most {@link #DEFAULT_MAX_IN_MEMORY_SIZE} elements are held in memory,
+     * beyond that the elements are spilled to disk.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema) {
-        if (null == schema) {
-            throw new IllegalArgumentException("Schema is required");
-        }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
-            }
-        }
+        return ingestAggregate(elements, schema, DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * At most maxInMemorySize elements are held in memory, beyond that the
+     * elements are spilled to disk, see {@link StreamingElementAggregator}.
+     *
+     * @param elements        the elements to be aggregated
+     * @param schema          the schema containing the aggregators and groupBy properties to use
+     * @param maxInMemorySize the maximum number of elements to hold in memory
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema, final int maxInMemorySize) {
+        return new StreamingElementAggregator(schema, maxInMemorySize).aggregate(elements);
+    }
 
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s,
+     * which must be sorted so that elements with the same group, identifiers and
+     * groupBy properties in the provided {@link Schema} are adjacent.
+     * <p>
+     * The elements are aggregated lazily as they are read, so only the element
+     * being aggregated is held in memory, see {@link StreamingElementAggregator#aggregateSorted(Iterable)}.
+     *
+     * @param elements the sorted elements to be aggregated
+     * @param schema   the schema containing the aggregators and groupBy properties to use
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregateSorted(final Iterable<? extends Element> elements, final Schema schema) {
+        return new StreamingElementAggregator(schema, 1).aggregateSorted(elements);
     }
 
     /**
@@ -92,7 +109,8 @@ public final class AggregatorUtil {
      * the elements prior to aggregating them. The Matched Vertex field is ignored during
      * aggregation.
      * <p>
-     * NOTE - this is done in memory so the size of the iterable should be limited.
+     * At most {@link #DEFAULT_MAX_IN_MEMORY_SIZE} elements are held in memory,
+     * beyond that the elements are spilled to disk.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
@@ -109,7 +127,8 @@ public final class AggregatorUtil {
      * the elements prior to aggregating them. Aggregation of Edges can optionally be
      * configured to include the Matched Vertex field.
      * <p>
-     * NOTE - this is done in memory so the size of the iterable should be limited.
+     * At most {@link #DEFAULT_MAX_IN_MEMORY_SIZE} elements are held in memory,
+     * beyond that the elements are spilled to disk.
      *
      * @param elements             the elements to be aggregated
      * @param schema               the schema containing the aggregators and groupBy properties to use
@@ -118,28 +137,58 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean includeMatchedVertex) {
+        return queryAggregate(elements, schema, view, includeMatchedVertex, DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them. Aggregation of Edges can optionally be
+     * configured to include the Matched Vertex field.
+     * <p>
+     * At most maxInMemorySize elements are held in memory, beyond that the
+     * elements are spilled to disk, see {@link StreamingElementAggregator}.
+     *
+     * @param elements             the elements to be aggregated
+     * @param schema               the schema containing the aggregators and groupBy properties to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @param maxInMemorySize      the maximum number of elements to hold in memory
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean includeMatchedVertex, final int maxInMemorySize) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
         if (null == view) {
             throw new IllegalArgumentException("View is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
-            }
+        return new StreamingElementAggregator(schema, view, includeMatchedVertex, maxInMemorySize).aggregate(elements);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s,
+     * which must be sorted so that elements with the same group, identifiers and
+     * groupBy properties in the provided {@link View} or {@link Schema} are adjacent.
+     * Aggregation of Edges can optionally be configured to include the Matched Vertex field.
+     * <p>
+     * The elements are aggregated lazily as they are read, so only the element
+     * being aggregated is held in memory, see {@link StreamingElementAggregator#aggregateSorted(Iterable)}.
+     *
+     * @param elements             the sorted elements to be aggregated
+     * @param schema               the schema containing the aggregators and groupBy properties to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregateSorted(final Iterable<? extends Element> elements, final Schema schema, final View view, final boolean includeMatchedVertex) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
         }
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view, includeMatchedVertex), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return new StreamingElementAggregator(schema, view, includeMatchedVertex, 1).aggregateSorted(elements);
     }
 
     /**
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * An {@code ElementDefinitionsCache} is a JVM wide cache of the {@link Schema}s
+ * and {@link View}s deserialised from json, so server side iterators and
+ * processors that are created for every scan do not have to repeatedly parse
+ * the same json. The cache is keyed on the json and bounded, evicting the least
+ * recently used schemas and views. The maximum number of schemas and views
+ * cached can be configured using the system property:
+ * gaffer.store.element-definitions-cache.max-size.
+ * </p>
+ * <p>
+ * The cached schemas and views, and the element filters and aggregators
+ * derived from them, are shared between scans running concurrently, so they
+ * must not be modified.
+ * </p>
+ */
+public final class ElementDefinitionsCache {
+    public static final String MAX_SIZE_PROPERTY = "gaffer.store.element-definitions-cache.max-size";
+    public static final int MAX_SIZE_DEFAULT = 50;
+
+    private static final int MAX_SIZE = Integer.getInteger(MAX_SIZE_PROPERTY, MAX_SIZE_DEFAULT);
+    private static final Map<String, Schema> SCHEMAS = Collections.synchronizedMap(new LruCache<>(MAX_SIZE));
+    private static final Map<String, View> VIEWS = Collections.synchronizedMap(new LruCache<>(MAX_SIZE));
+
+    private ElementDefinitionsCache() {
+    }
+
+    public static Schema getSchema(final String schemaJson) throws SchemaException {
+        return get(SCHEMAS, schemaJson, json -> Schema.fromJson(StringUtil.toBytes(json)));
+    }
+
+    public static Schema getSchema(final byte[] schemaJson) throws SchemaException {
+        return null != schemaJson ? getSchema(StringUtil.toString(schemaJson)) : null;
+    }
+
+    public static View getView(final String viewJson) throws SchemaException {
+        return get(VIEWS, viewJson, json -> View.fromJson(StringUtil.toBytes(json)));
+    }
+
+    public static View getView(final byte[] viewJson) throws SchemaException {
+        return null != viewJson ? getView(StringUtil.toString(viewJson)) : null;
+    }
+
+    /**
+     * Removes all the cached schemas and views.
+     */
+    public static void clear() {
+        SCHEMAS.clear();
+        VIEWS.clear();
+    }
+
+    private static <T> T get(final Map<String, T> cache, final String json, final Function<String, T> fromJson) {
+        if (null == json) {
+            return null;
+        }
+
+        final T cached = cache.get(json);
+        if (null != cached) {
+            return cached;
+        }
+
+        // The json is parsed outside of the lock so scans do not wait on each other.
+        // If two scans parse the same json at the same time the first one cached is used.
+        final T value = fromJson.apply(json);
+        final T existing = cache.putIfAbsent(json, value);
+        return null != existing ? existing : value;
+    }
+
+    private static final class LruCache<T> extends LinkedHashMap<String, T> {
+        private static final long serialVersionUID = -4581632837217587384L;
+        private final int maxSize;
+
+        private LruCache(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.SpillSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * An {@code ElementSorter} sorts {@link Element}s while holding at most a fixed
+ * number of them in memory.
+ * <p>
+ * If the input fits within the in memory limit it is sorted in memory using
+ * {@link Arrays#parallelSort(Object[], Comparator)}. Otherwise the input is
+ * split into sorted runs of that size, which are written to temporary files, and
+ * the runs are lazily merged as the results are read. At most the maximum merge
+ * fan in runs are read at once, so if there are more runs than that, groups of
+ * runs are first merged into larger runs until few enough remain. Elements in
+ * the runs are serialised using a {@link SpillSerialiser}.
+ * <p>
+ * The elements can also be sorted by an int sort key, before the comparator is
+ * applied. The key is calculated once for each element when it is added to a
+ * run and when it is read back from disk, rather than for every comparison.
+ * <p>
+ * The sort is stable. When deduplicating, equal elements are removed from each
+ * group of elements that the sort key and comparator consider equal.
+ */
+public class ElementSorter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementSorter.class);
+    public static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+
+    private final ToIntFunction<Element> sortKey;
+    private final Comparator<KeyedElement> comparator;
+    private final boolean deduplicate;
+    private final int maxInMemorySize;
+    private final SpillSerialiser serialiser;
+    private int maxMergeFanIn = DEFAULT_MAX_MERGE_FAN_IN;
+
+    /**
+     * @param comparator      the comparator to sort the elements with
+     * @param deduplicate     true if duplicate elements should be removed
+     * @param maxInMemorySize the maximum number of elements to hold in memory
+     * @param schema          the schema used to serialise the elements, or null
+     *                        to serialise them as JSON
+     */
+    public ElementSorter(final Comparator<Element> comparator,
+                         final boolean deduplicate,
+                         final int maxInMemorySize,
+                         final Schema schema) {
+        this(null, comparator, deduplicate, maxInMemorySize, schema);
+    }
+
+    /**
+     * @param sortKey         the int key to sort the elements by first, or null
+     * @param comparator      the comparator to sort elements with the same sort
+     *                        key with, or null if only the sort key is used
+     * @param deduplicate     true if duplicate elements should be removed
+     * @param maxInMemorySize the maximum number of elements to hold in memory
+     * @param schema          the schema used to serialise the elements, or null
+     *                        to serialise them as JSON
+     */
+    public ElementSorter(final ToIntFunction<Element> sortKey,
+                         final Comparator<Element> comparator,
+                         final boolean deduplicate,
+                         final int maxInMemorySize,
+                         final Schema schema) {
+        if (null == sortKey && null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (1 > maxInMemorySize) {
+            throw new IllegalArgumentException("The maximum number of elements to hold in memory must be at least 1");
+        }
+        this.sortKey = sortKey;
+        this.comparator = createComparator(sortKey, comparator);
+        this.deduplicate = deduplicate;
+        this.maxInMemorySize = maxInMemorySize;
+        this.serialiser = new SpillSerialiser(schema);
+    }
+
+    public int getMaxMergeFanIn() {
+        return maxMergeFanIn;
+    }
+
+    /**
+     * @param maxMergeFanIn the maximum number of sorted runs to read at once
+     *                      when merging them
+     */
+    public void setMaxMergeFanIn(final int maxMergeFanIn) {
+        if (2 > maxMergeFanIn) {
+            throw new IllegalArgumentException("The maximum merge fan in must be at least 2");
+        }
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    /**
+     * Sorts the input, ignoring any null elements. The input is fully consumed
+     * before this method returns. If the input had to be spilled to disk the
+     * files are deleted when the returned iterable is closed.
+     *
+     * @param input the elements to sort
+     * @return the sorted elements
+     * @throws IOException if the sorted runs could not be written to disk
+     */
+    public CloseableIterable<Element> sort(final Iterable<? extends Element> input) throws IOException {
+        final List<KeyedElement> buffer = new ArrayList<>();
+        final List<Path> runs = new ArrayList<>();
+        try {
+            for (final Element element : input) {
+                if (null != element) {
+                    buffer.add(toKeyed(element));
+                    if (buffer.size() >= maxInMemorySize) {
+                        runs.add(writeRun(sortInMemory(buffer)));
+                        buffer.clear();
+                    }
+                }
+            }
+
+            if (runs.isEmpty()) {
+                return new InMemorySortedIterable(sortInMemory(buffer));
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(sortInMemory(buffer)));
+                buffer.clear();
+            }
+            while (runs.size() > maxMergeFanIn) {
+                mergeRuns(runs);
+            }
+        } catch (final IOException | RuntimeException e) {
+            deleteRuns(runs);
+            throw e;
+        }
+
+        LOGGER.debug("Merging {} sorted runs of up to {} elements", runs.size(), maxInMemorySize);
+        return new MergedRunsIterable(runs);
+    }
+
+    private static Comparator<KeyedElement> createComparator(final ToIntFunction<Element> sortKey,
+                                                             final Comparator<Element> comparator) {
+        if (null == sortKey) {
+            return (a, b) -> comparator.compare(a.element, b.element);
+        }
+        if (null == comparator) {
+            return (a, b) -> Integer.compare(a.key, b.key);
+        }
+        return (a, b) -> {
+            final int result = Integer.compare(a.key, b.key);
+            return 0 != result ? result : comparator.compare(a.element, b.element);
+        };
+    }
+
+    private KeyedElement toKeyed(final Element element) {
+        return new KeyedElement(element, null != sortKey ? sortKey.applyAsInt(element) : 0);
+    }
+
+    private List<KeyedElement> sortInMemory(final List<KeyedElement> elements) {
+        final KeyedElement[] array = elements.toArray(new KeyedElement[elements.size()]);
+        Arrays.parallelSort(array, comparator);
+        return Arrays.asList(array);
+    }
+
+    private Path writeRun(final List<KeyedElement> sortedElements) throws IOException {
+        return writeRun(sortedElements.iterator());
+    }
+
+    private Path writeRun(final Iterator<KeyedElement> sortedElements) throws IOException {
+        final Iterator<Element> itr = deduplicate
+                ? new DeduplicatingIterator(sortedElements)
+                : new UnkeyedIterator(sortedElements);
+        Path run = null;
+        try {
+            run = Files.createTempFile("gaffer-sort-", ".run");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                while (itr.hasNext()) {
+                    serialiser.write(itr.next(), out);
+                }
+            }
+            return run;
+        } catch (final IOException | RuntimeException e) {
+            if (null != run) {
+                deleteRuns(Collections.singletonList(run));
+            }
+            throw e;
+        } finally {
+            CloseableUtil.close(itr);
+        }
+    }
+
+    /**
+     * Merges each group of up to the maximum merge fan in adjacent runs into a
+     * single run. The merged runs replace the groups in the same order, so the
+     * sort remains stable.
+     */
+    private void mergeRuns(final List<Path> runs) throws IOException {
+        LOGGER.debug("Merging {} sorted runs in groups of {}", runs.size(), maxMergeFanIn);
+        final List<Path> mergedRuns = new ArrayList<>((runs.size() + maxMergeFanIn - 1) / maxMergeFanIn);
+        try {
+            for (int start = 0; start < runs.size(); start += maxMergeFanIn) {
+                final List<Path> group = runs.subList(start, Math.min(start + maxMergeFanIn, runs.size()));
+                if (1 == group.size()) {
+                    mergedRuns.add(group.get(0));
+                } else {
+                    mergedRuns.add(writeRun(new MergedRunsIterator(group)));
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            deleteRuns(mergedRuns.stream().filter(run -> !runs.contains(run)).collect(Collectors.toList()));
+            throw e;
+        }
+        final List<Path> mergedGroups = new ArrayList<>(runs);
+        mergedGroups.removeAll(mergedRuns);
+        deleteRuns(mergedGroups);
+        runs.clear();
+        runs.addAll(mergedRuns);
+    }
+
+    private static void deleteRuns(final List<Path> runs) {
+        for (final Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete sorted run {}", run, e);
+            }
+        }
+    }
+
+    /**
+     * An element and its sort key, so the key is only calculated once.
+     */
+    private static final class KeyedElement {
+        private final Element element;
+        private final int key;
+
+        private KeyedElement(final Element element, final int key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private final class InMemorySortedIterable implements CloseableIterable<Element> {
+        private final List<KeyedElement> sortedElements;
+
+        private InMemorySortedIterable(final List<KeyedElement> sortedElements) {
+            this.sortedElements = sortedElements;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            if (deduplicate) {
+                return new DeduplicatingIterator(sortedElements.iterator());
+            }
+            return new UnkeyedIterator(sortedElements.iterator());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private final class MergedRunsIterable implements CloseableIterable<Element> {
+        private final List<Path> runs;
+
+        private MergedRunsIterable(final List<Path> runs) {
+            this.runs = runs;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final MergedRunsIterator itr = new MergedRunsIterator(runs);
+            return deduplicate ? new DeduplicatingIterator(itr) : new UnkeyedIterator(itr);
+        }
+
+        @Override
+        public void close() {
+            deleteRuns(runs);
+        }
+    }
+
+    /**
+     * A k-way merge of the sorted runs. Elements that compare equal are returned
+     * in run order, so the merge is stable.
+     */
+    private final class MergedRunsIterator implements CloseableIterator<KeyedElement> {
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> queue;
+
+        private MergedRunsIterator(final List<Path> runs) {
+            queue = new PriorityQueue<>(runs.size(), (a, b) -> {
+                final int result = comparator.compare(a.head, b.head);
+                return 0 != result ? result : Integer.compare(a.index, b.index);
+            });
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    final RunReader reader = new RunReader(i, runs.get(i));
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read the sorted runs", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (queue.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public KeyedElement next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final RunReader reader = queue.poll();
+            final KeyedElement element = reader.head;
+            try {
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read the sorted runs", e);
+            }
+            return element;
+        }
+
+        @Override
+        public void close() {
+            queue.clear();
+            readers.forEach(RunReader::close);
+        }
+    }
+
+    private final class RunReader {
+        private final int index;
+        private final DataInputStream in;
+        private KeyedElement head;
+
+        private RunReader(final int index, final Path run) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        }
+
+        private boolean advance() throws IOException {
+            final int type = in.read();
+            if (-1 == type) {
+                head = null;
+                close();
+                return false;
+            }
+            head = toKeyed((Element) serialiser.read((byte) type, in));
+            return true;
+        }
+
+        private void close() {
+            CloseableUtil.close(in);
+        }
+    }
+
+    /**
+     * Returns the elements without their sort keys.
+     */
+    private static final class UnkeyedIterator implements CloseableIterator<Element> {
+        private final Iterator<KeyedElement> sortedElements;
+
+        private UnkeyedIterator(final Iterator<KeyedElement> sortedElements) {
+            this.sortedElements = sortedElements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return sortedElements.hasNext();
+        }
+
+        @Override
+        public Element next() {
+            return sortedElements.next().element;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(sortedElements);
+        }
+    }
+
+    /**
+     * Removes equal elements from each group of adjacent elements that the
+     * sort key and comparator consider equal.
+     */
+    private final class DeduplicatingIterator implements CloseableIterator<Element> {
+        private final Iterator<KeyedElement> sortedElements;
+        private final Set<Element> group = new HashSet<>();
+        private KeyedElement groupFirst;
+        private Element next;
+
+        private DeduplicatingIterator(final Iterator<KeyedElement> sortedElements) {
+            this.sortedElements = sortedElements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && sortedElements.hasNext()) {
+                final KeyedElement element = sortedElements.next();
+                if (null == groupFirst || 0 != comparator.compare(groupFirst, element)) {
+                    groupFirst = element;
+                    group.clear();
+                }
+                if (group.add(element.element)) {
+                    next = element.element;
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(sortedElements);
+            group.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utility methods for the counts of the elements in each group that are
+ * calculated by the stores on their tablet or region servers.
+ */
+public final class GroupCountsUtil {
+    private GroupCountsUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Encodes the counts so they can be returned from the server as a single value.
+     *
+     * @param counts the number of elements in each group
+     * @return the encoded counts
+     * @throws IOException if the counts could not be encoded
+     */
+    public static byte[] encodeCounts(final Map<String, Long> counts) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(counts.size());
+            for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes the counts encoded using {@link #encodeCounts(Map)}
+     * @return the number of elements in each group
+     * @throws IOException if the counts could not be decoded
+     */
+    public static Map<String, Long> decodeCounts(final byte[] bytes) throws IOException {
+        final Map<String, Long> counts = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                counts.put(in.readUTF(), in.readLong());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Creates the {@link GroupCounts} for the counts. {@link GroupCounts} can
+     * only hold int counts, so any larger count is limited to
+     * {@link Integer#MAX_VALUE} and the limit hit flag is set.
+     *
+     * @param counts the number of elements in each group
+     * @param schema the schema, used to decide whether each group is an entity or edge group
+     * @return the group counts
+     */
+    public static GroupCounts toGroupCounts(final Map<String, Long> counts, final Schema schema) {
+        final GroupCounts groupCounts = new GroupCounts();
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            final int count;
+            if (entry.getValue() > Integer.MAX_VALUE) {
+                count = Integer.MAX_VALUE;
+                groupCounts.setLimitHit(true);
+            } else {
+                count = entry.getValue().intValue();
+            }
+
+            if (schema.isEntity(entry.getKey())) {
+                groupCounts.addEntityGroup(entry.getKey(), count);
+            } else {
+                groupCounts.addEdgeGroup(entry.getKey(), count);
+            }
+        }
+        return groupCounts;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+
+import java.io.Closeable;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A {@code ParallelTasks} runs a bounded number of tasks on the store's shared
+ * {@link ExecutorService}, for handlers that split their input into batches
+ * and process the batches in parallel. If the store's executor has not been
+ * initialised, a JVM wide pool of daemon threads is used instead, so no pool is
+ * created per operation and no threads are left behind if the results are
+ * abandoned.
+ * </p>
+ * <p>
+ * Results are taken in the order the tasks were submitted, or as soon as they
+ * are complete if order is not preserved. A task that has not been started
+ * when its result is needed is run on the calling thread, so the caller never
+ * waits on a shared executor that is busy with other work.
+ * </p>
+ * <p>
+ * A {@code ParallelTasks} must only be used from a single consuming thread.
+ * </p>
+ *
+ * @param <T> the type of the task results
+ */
+public final class ParallelTasks<T> implements Closeable {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ThreadPoolExecutor SHARED_EXECUTOR = new ThreadPoolExecutor(
+            0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "Parallel-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final int maxPending;
+    private final boolean preserveOrder;
+    private final Deque<Task> pending = new ConcurrentLinkedDeque<>();
+    private final BlockingQueue<Task> completed = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * @param maxPending    the maximum number of tasks that can be running or
+     *                      waiting to be taken at any time
+     * @param preserveOrder true if results should be taken in the order the
+     *                      tasks were submitted
+     */
+    public ParallelTasks(final int maxPending, final boolean preserveOrder) {
+        if (1 > maxPending) {
+            throw new IllegalArgumentException("The maximum number of pending tasks must be at least 1");
+        }
+        this.maxPending = maxPending;
+        this.preserveOrder = preserveOrder;
+    }
+
+    public static void validateParallelism(final int parallelism) {
+        if (1 > parallelism) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+    }
+
+    public static void validateBatchSize(final int batchSize) {
+        if (1 > batchSize) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+    }
+
+    public boolean canSubmit() {
+        return !closed && pending.size() < maxPending;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public void submit(final Callable<T> callable) {
+        if (closed) {
+            throw new IllegalStateException("Tasks have been closed");
+        }
+        final Task task = new Task(callable);
+        pending.add(task);
+        try {
+            getExecutor().execute(task);
+        } catch (final RejectedExecutionException e) {
+            // The task is left pending and will be run when its result is taken
+        }
+    }
+
+    /**
+     * Takes the result of the next task, waiting for it to complete if
+     * necessary.
+     *
+     * @return the result of the next task
+     * @throws ExecutionException   if the task failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws ExecutionException, InterruptedException {
+        if (pending.isEmpty()) {
+            throw new NoSuchElementException("There are no pending tasks");
+        }
+
+        final Task task;
+        if (preserveOrder) {
+            task = pending.poll();
+            task.runIfNotStarted();
+        } else {
+            Task next = completed.poll();
+            if (null == next) {
+                for (final Task pendingTask : pending) {
+                    if (pendingTask.runIfNotStarted()) {
+                        break;
+                    }
+                }
+                next = completed.take();
+            }
+            task = next;
+            pending.remove(task);
+        }
+        return task.get();
+    }
+
+    /**
+     * Cancels any tasks that are still pending.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Task task;
+        while (null != (task = pending.poll())) {
+            task.cancel(true);
+        }
+        completed.clear();
+    }
+
+    private static Executor getExecutor() {
+        final Executor service = ExecutorService.getService();
+        return null != service ? service : SHARED_EXECUTOR;
+    }
+
+    private final class Task extends FutureTask<T> {
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Task(final Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            runIfNotStarted();
+        }
+
+        private boolean runIfNotStarted() {
+            if (started.compareAndSet(false, true)) {
+                super.run();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected void done() {
+            if (!preserveOrder && !closed) {
+                completed.add(this);
+            }
+        }
+    }
+}
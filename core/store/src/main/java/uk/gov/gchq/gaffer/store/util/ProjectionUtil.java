@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility methods to work out which properties a store needs to deserialise
+ * in order to answer a query with a {@link View}. A property is required if it
+ * is returned to the user, or if it is needed to apply the filters, aggregation
+ * or transformations in the {@link View}. Stores can use this to avoid deserialising,
+ * or copying, properties that would only be removed by
+ * {@link uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil#removeProperties(View, uk.gov.gchq.gaffer.data.element.Element)}.
+ */
+public final class ProjectionUtil {
+    private ProjectionUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Gets the properties required for each group in the {@link View}. Groups
+     * that require all of their properties are not included in the returned map.
+     *
+     * @param view   the view
+     * @param schema the schema
+     * @return a map of group to the properties required for that group
+     */
+    public static Map<String, Set<String>> getRequiredProperties(final View view, final Schema schema) {
+        if (null == view || null == schema) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Set<String>> requiredProperties = new HashMap<>();
+        for (final String group : view.getGroups()) {
+            final Set<String> properties = getRequiredProperties(view.getElement(group), schema.getElement(group), schema);
+            if (null != properties) {
+                requiredProperties.put(group, properties);
+            }
+        }
+        return requiredProperties;
+    }
+
+    /**
+     * Gets the properties in the {@link SchemaElementDefinition} that are required
+     * by the {@link ViewElementDefinition}.
+     *
+     * @param viewElDef   the view element definition
+     * @param schemaElDef the schema element definition for the same group
+     * @param schema      the schema
+     * @return the required properties, or null if all the properties are required
+     */
+    public static Set<String> getRequiredProperties(final ViewElementDefinition viewElDef, final SchemaElementDefinition schemaElDef, final Schema schema) {
+        if (null == viewElDef || null == schemaElDef || viewElDef.isAllProperties()) {
+            return null;
+        }
+
+        final Set<String> required = new LinkedHashSet<>();
+        for (final String property : schemaElDef.getProperties()) {
+            if (null != viewElDef.getProperties()
+                    ? viewElDef.getProperties().contains(property)
+                    : !viewElDef.getExcludeProperties().contains(property)) {
+                required.add(property);
+            }
+        }
+
+        addPredicateSelections(viewElDef.getPreAggregationFilter(), required);
+        addPredicateSelections(viewElDef.getPostAggregationFilter(), required);
+        addPredicateSelections(viewElDef.getPostTransformFilter(), required);
+        addFunctionSelections(viewElDef.getTransformer(), required);
+        if (null != schema.getVisibilityProperty()) {
+            required.add(schema.getVisibilityProperty());
+        }
+        if (null != schema.getTimestampProperty()) {
+            required.add(schema.getTimestampProperty());
+        }
+        if (schemaElDef.isAggregate()) {
+            required.addAll(null != viewElDef.getGroupBy() ? viewElDef.getGroupBy() : schemaElDef.getGroupBy());
+            addAggregatorSelections(schemaElDef.getQueryAggregator(viewElDef.getGroupBy(), viewElDef.getAggregator()), required);
+        }
+
+        required.retainAll(schemaElDef.getProperties());
+        if (required.size() == schemaElDef.getProperties().size()) {
+            return null;
+        }
+        return required;
+    }
+
+    private static void addPredicateSelections(final ElementFilter filter, final Set<String> required) {
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : filter.getComponents()) {
+                required.addAll(Arrays.asList(predicate.getSelection()));
+            }
+        }
+    }
+
+    private static void addFunctionSelections(final ElementTransformer transformer, final Set<String> required) {
+        if (null != transformer) {
+            for (final TupleAdaptedFunction<String, ?, ?> function : transformer.getComponents()) {
+                required.addAll(Arrays.asList(function.getSelection()));
+            }
+        }
+    }
+
+    /**
+     * An aggregator can combine several properties, so if any of the properties it
+     * selects are required then all of its selected properties are required.
+     */
+    private static void addAggregatorSelections(final ElementAggregator aggregator, final Set<String> required) {
+        if (null != aggregator) {
+            for (final TupleAdaptedBinaryOperator<String, ?> operator : aggregator.getComponents()) {
+                final String[] selection = operator.getSelection();
+                if (selection.length > 1 && !Collections.disjoint(required, Arrays.asList(selection))) {
+                    required.addAll(Arrays.asList(selection));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code StreamingElementAggregator} aggregates {@link Element}s with the same
+ * key, where the key is the group, the identifiers and the groupBy properties.
+ * The Matched Vertex of an Edge is only part of the key if it is configured to be.
+ * <p>
+ * Input that is already sorted, so elements with the same key are adjacent, is
+ * aggregated lazily as it is read, returning each aggregated element as soon as
+ * the key changes. Unsorted input is aggregated into a hash table, merging the
+ * properties of each element into the first element read with the same key. If the hash table
+ * grows beyond the maximum number of elements to hold in memory, the partially
+ * aggregated elements and the rest of the input are sorted by key hash with an
+ * {@link ElementSorter}, spilling to disk, and the sorted elements are then
+ * aggregated as they are read.
+ * <p>
+ * Elements in groups that are not aggregated are returned unchanged. As with
+ * the {@link ElementAggregator}, the elements are aggregated in place so the
+ * input elements may be modified.
+ */
+public class StreamingElementAggregator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingElementAggregator.class);
+
+    private final Schema schema;
+    private final View view;
+    private final boolean includeMatchedVertex;
+    private final int maxInMemorySize;
+    private final Collection<String> aggregatedGroups;
+    private final Map<String, String[]> groupBys = new HashMap<>();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+
+    /**
+     * Creates a {@code StreamingElementAggregator} that applies ingest aggregation.
+     *
+     * @param schema          the schema containing the aggregators and groupBy properties to use
+     * @param maxInMemorySize the maximum number of elements to hold in memory
+     */
+    public StreamingElementAggregator(final Schema schema, final int maxInMemorySize) {
+        this(schema, null, false, maxInMemorySize);
+    }
+
+    /**
+     * Creates a {@code StreamingElementAggregator} that applies query time
+     * aggregation, or ingest aggregation if the view is null.
+     *
+     * @param schema               the schema containing the aggregators and groupBy properties to use
+     * @param view                 the view containing the aggregators and groupBy properties to use
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @param maxInMemorySize      the maximum number of elements to hold in memory
+     */
+    public StreamingElementAggregator(final Schema schema,
+                                      final View view,
+                                      final boolean includeMatchedVertex,
+                                      final int maxInMemorySize) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (1 > maxInMemorySize) {
+            throw new IllegalArgumentException("The maximum number of elements to hold in memory must be at least 1");
+        }
+        this.schema = schema;
+        this.view = view;
+        this.includeMatchedVertex = includeMatchedVertex;
+        this.maxInMemorySize = maxInMemorySize;
+        this.aggregatedGroups = schema.getAggregatedGroups();
+
+        final Map<String, Set<String>> groupToGroupBys = null == view
+                ? AggregatorUtil.getIngestGroupBys(schema)
+                : AggregatorUtil.getQueryGroupBys(schema, view);
+        for (final Map.Entry<String, Set<String>> entry : groupToGroupBys.entrySet()) {
+            groupBys.put(entry.getKey(), entry.getValue().toArray(new String[entry.getValue().size()]));
+        }
+    }
+
+    /**
+     * Aggregates the input, ignoring any null elements. The input is consumed
+     * before this method returns unless it has to be spilled to disk, in which
+     * case the files are deleted when the returned iterable is closed.
+     *
+     * @param input the elements to aggregate
+     * @return the aggregated elements
+     */
+    public CloseableIterable<Element> aggregate(final Iterable<? extends Element> input) {
+        final Map<ElementKey, Element> aggregated = new HashMap<>();
+        final List<Element> nonAggregated = new ArrayList<>();
+        final Iterator<? extends Element> itr = input.iterator();
+        while (itr.hasNext()) {
+            final Element element = itr.next();
+            if (null != element) {
+                if (aggregatedGroups.contains(element.getGroup())) {
+                    final ElementKey key = new ElementKey(element);
+                    final Element state = aggregated.putIfAbsent(key, element);
+                    if (null != state) {
+                        aggregate(state, element);
+                    }
+                } else {
+                    nonAggregated.add(element);
+                }
+                if (aggregated.size() + nonAggregated.size() > maxInMemorySize) {
+                    return spill(aggregated, nonAggregated, itr);
+                }
+            }
+        }
+
+        return new ChainedIterable<>(aggregated.values(), nonAggregated);
+    }
+
+    /**
+     * Lazily aggregates input where the elements with the same key are
+     * adjacent, for example elements sorted by their group, identifiers and
+     * groupBy properties. Only the element currently being aggregated is held
+     * in memory. Elements with the same key that are not adjacent are not
+     * aggregated together.
+     *
+     * @param input the sorted elements to aggregate
+     * @return the aggregated elements
+     */
+    public CloseableIterable<Element> aggregateSorted(final Iterable<? extends Element> input) {
+        return new AggregatedIterable(input, false);
+    }
+
+    private CloseableIterable<Element> spill(final Map<ElementKey, Element> aggregated,
+                                             final List<Element> nonAggregated,
+                                             final Iterator<? extends Element> remaining) {
+        LOGGER.debug("Aggregating more than {} elements, sorting the elements to aggregate them", maxInMemorySize);
+        final ElementSorter sorter = new ElementSorter(this::hashKey, null, false, maxInMemorySize, schema);
+        final Iterable<Element> remainingIterable = () -> (Iterator<Element>) remaining;
+        try {
+            return new AggregatedIterable(sorter.sort(new ChainedIterable<Element>(aggregated.values(), nonAggregated, remainingIterable)), true);
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to spill the elements being aggregated to disk", e);
+        }
+    }
+
+    private void aggregate(final Element state, final Element element) {
+        ElementAggregator aggregator = aggregators.get(state.getGroup());
+        if (null == aggregator) {
+            aggregator = createAggregator(state.getGroup());
+            aggregators.put(state.getGroup(), aggregator);
+        }
+        aggregator.apply(state, element);
+    }
+
+    private ElementAggregator createAggregator(final String group) {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == view) {
+            return elementDef.getIngestAggregator();
+        }
+        final ViewElementDefinition viewElementDef = view.getElement(group);
+        return elementDef.getQueryAggregator(viewElementDef.getGroupBy(), viewElementDef.getAggregator());
+    }
+
+    private String[] getGroupBy(final Element element) {
+        final String[] groupBy = groupBys.get(element.getGroup());
+        if (null == groupBy) {
+            throw new IllegalArgumentException("Group " + element.getGroup() + " was not recognised");
+        }
+        return groupBy;
+    }
+
+    private int getIdentifierCount(final Element element) {
+        if (element instanceof Edge) {
+            return includeMatchedVertex ? 4 : 3;
+        }
+        return 1;
+    }
+
+    private static Object getIdentifier(final Element element, final int index) {
+        if (element instanceof Entity) {
+            return ((Entity) element).getVertex();
+        }
+        final Edge edge = (Edge) element;
+        switch (index) {
+            case 0:
+                return edge.getSource();
+            case 1:
+                return edge.getDestination();
+            case 2:
+                return edge.isDirected();
+            default:
+                return edge.getMatchedVertex();
+        }
+    }
+
+    /**
+     * Calculates the hash code of the key of the element without creating the
+     * key. This is equal to the hash code of the {@link ElementKey}.
+     */
+    private int hashKey(final Element element) {
+        if (!aggregatedGroups.contains(element.getGroup())) {
+            return 0;
+        }
+        final String[] groupBy = getGroupBy(element);
+        final int identifierCount = getIdentifierCount(element);
+        int hash = element.getGroup().hashCode();
+        for (int i = 0; i < identifierCount; i++) {
+            hash = 31 * hash + hashValue(getIdentifier(element, i));
+        }
+        for (final String propertyName : groupBy) {
+            hash = 31 * hash + hashValue(element.getProperty(propertyName));
+        }
+        return hash;
+    }
+
+    private static int hashValue(final Object value) {
+        if (null == value) {
+            return 0;
+        }
+        if (value.getClass().isArray()) {
+            return Arrays.deepHashCode(new Object[]{value});
+        }
+        return value.hashCode();
+    }
+
+    /**
+     * The group, identifiers and groupBy property values of an element, which
+     * is much cheaper to create and compare than an empty clone of the element.
+     */
+    private final class ElementKey {
+        private final String group;
+        private final Object[] values;
+        private final int hash;
+
+        private ElementKey(final Element element) {
+            final String[] groupBy = getGroupBy(element);
+            final int identifierCount = getIdentifierCount(element);
+            group = element.getGroup();
+            values = new Object[identifierCount + groupBy.length];
+            for (int i = 0; i < identifierCount; i++) {
+                values[i] = getIdentifier(element, i);
+            }
+            for (int i = 0; i < groupBy.length; i++) {
+                values[identifierCount + i] = element.getProperty(groupBy[i]);
+            }
+            hash = hashKey(element);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ElementKey)) {
+                return false;
+            }
+            final ElementKey key = (ElementKey) obj;
+            return hash == key.hash && group.equals(key.group) && Arrays.deepEquals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final class AggregatedIterable implements CloseableIterable<Element> {
+        private final Iterable<? extends Element> input;
+        private final boolean sortedByHash;
+
+        private AggregatedIterable(final Iterable<? extends Element> input, final boolean sortedByHash) {
+            this.input = input;
+            this.sortedByHash = sortedByHash;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            return new AggregatedIterator(input.iterator(), sortedByHash);
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+    }
+
+    /**
+     * Aggregates adjacent elements with the same key. If the input is only
+     * sorted by key hash, the adjacent elements with the same hash are
+     * aggregated in a small hash table, as elements with different keys may
+     * share a hash.
+     */
+    private final class AggregatedIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends Element> input;
+        private final boolean sortedByHash;
+        private final Map<ElementKey, Element> sameHash = new LinkedHashMap<>();
+        private ElementKey currentKey;
+        private Element current;
+        private Iterator<Element> pending;
+        private Element next;
+
+        private AggregatedIterator(final Iterator<? extends Element> input, final boolean sortedByHash) {
+            this.input = input;
+            this.sortedByHash = sortedByHash;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (null != pending) {
+                    if (pending.hasNext()) {
+                        next = pending.next();
+                        continue;
+                    }
+                    pending = null;
+                }
+                if (!input.hasNext()) {
+                    if (null == current) {
+                        close();
+                        return false;
+                    }
+                    emitCurrent();
+                    continue;
+                }
+
+                final Element element = input.next();
+                if (null == element) {
+                    continue;
+                }
+                if (!aggregatedGroups.contains(element.getGroup())) {
+                    next = element;
+                    continue;
+                }
+
+                final ElementKey key = new ElementKey(element);
+                if (null == current) {
+                    setCurrent(key, element);
+                } else if (sortedByHash && currentKey.hash == key.hash) {
+                    final Element state = sameHash.putIfAbsent(key, element);
+                    if (null != state) {
+                        aggregate(state, element);
+                    }
+                } else if (!sortedByHash && currentKey.equals(key)) {
+                    aggregate(current, element);
+                } else {
+                    emitCurrent();
+                    setCurrent(key, element);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+
+        private void setCurrent(final ElementKey key, final Element element) {
+            currentKey = key;
+            current = element;
+            if (sortedByHash) {
+                sameHash.put(key, element);
+            }
+        }
+
+        private void emitCurrent() {
+            if (sameHash.size() > 1) {
+                pending = new ArrayList<>(sameHash.values()).iterator();
+            } else {
+                next = current;
+            }
+            sameHash.clear();
+            currentKey = null;
+            current = null;
+        }
+    }
+}
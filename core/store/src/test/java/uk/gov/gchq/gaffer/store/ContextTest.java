@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.export.Exporter;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collections;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -200,4 +201,18 @@ public class ContextTest {
         assertEquals(context.getVariable("testVar"), "testVarVal");
         assertEquals(context.getVariable("testVar2"), "testVarVal2");
     }
+
+    @Test
+    public void shouldKeepVariablesSetConcurrently() {
+        // Given
+        final Context context = new Context(new User("user"));
+
+        // When
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> context.setVariable("testVar" + i, i));
+
+        // Then
+        assertEquals(1000, context.getVariables().size());
+        assertEquals(999, context.getVariable("testVar999"));
+    }
 }
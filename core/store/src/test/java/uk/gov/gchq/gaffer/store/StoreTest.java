@@ -76,6 +76,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.compare.Max;
 import uk.gov.gchq.gaffer.operation.impl.compare.Min;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.compare.TopK;
 import uk.gov.gchq.gaffer.operation.impl.export.GetExports;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.ExportToGafferResultCache;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.GetGafferResultCacheExport;
@@ -529,6 +530,7 @@ public class StoreTest {
                 Max.class,
                 Min.class,
                 Sort.class,
+                TopK.class,
 
                 // Validation
                 ValidateOperationChain.class,
@@ -639,6 +641,7 @@ public class StoreTest {
                 Max.class,
                 Min.class,
                 Sort.class,
+                TopK.class,
 
                 // Validation
                 ValidateOperationChain.class,
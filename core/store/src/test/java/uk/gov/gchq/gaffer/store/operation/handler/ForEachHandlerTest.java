@@ -16,24 +16,38 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class ForEachHandlerTest {
@@ -97,4 +111,123 @@ public class ForEachHandlerTest {
         assertThat(result).hasSize(1);
         assertSame(output, result.get(0));
     }
+
+    @Test
+    public void shouldExecuteInParallelAndReturnResultsInInputOrder() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final CountDownLatch allStarted = new CountDownLatch(4);
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation -> {
+            final List<?> input = Lists.newArrayList(((Count<?>) invocation.getArgument(0)).getInput());
+            allStarted.countDown();
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new OperationException("Operations were not executed concurrently");
+            }
+            return (long) input.size();
+        });
+        final List<List<Integer>> inputs = new ArrayList<>();
+        final List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            inputs.add(Collections.nCopies(i, i));
+            expected.add((long) i);
+        }
+        final ForEach<List<Integer>, Long> forEach = new ForEach.Builder<List<Integer>, Long>()
+                .input(inputs)
+                .operation(new Count<>())
+                .parallelism(4)
+                .build();
+
+        // When
+        final Iterable<? extends Long> result = new ForEachHandler<List<Integer>, Long>().doOperation(forEach, context, store);
+
+        // Then
+        assertThat(result).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void shouldReadIterableResultsConcurrentlyWhenExecutingInParallel() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        final CountDownLatch iterating = new CountDownLatch(2);
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation -> {
+            final List<Integer> input = Lists.newArrayList(((ToList<Integer>) invocation.getArgument(0)).getInput());
+            return (Iterable<Integer>) () -> {
+                iterating.countDown();
+                try {
+                    if (!iterating.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Results were not read concurrently");
+                    }
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return input.iterator();
+            };
+        });
+        final ForEach<List<Integer>, Iterable<Integer>> forEach = new ForEach.Builder<List<Integer>, Iterable<Integer>>()
+                .input(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)))
+                .operation(new ToList<>())
+                .parallelism(2)
+                .build();
+
+        // When
+        final Iterable<? extends Iterable<Integer>> result = new ForEachHandler<List<Integer>, Iterable<Integer>>().doOperation(forEach, context, store);
+
+        // Then
+        assertThat(result).containsExactly(Arrays.asList(1, 2), Arrays.asList(3));
+    }
+
+    @Test
+    public void shouldThrowFirstFailureWhenExecutingInParallel() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation -> {
+            final List<?> input = Lists.newArrayList(((Count<?>) invocation.getArgument(0)).getInput());
+            if (5 == input.size()) {
+                throw new OperationException("Failed on input 5");
+            }
+            return (long) input.size();
+        });
+        final List<List<Integer>> inputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            inputs.add(Collections.nCopies(i, i));
+        }
+        final ForEach<List<Integer>, Long> forEach = new ForEach.Builder<List<Integer>, Long>()
+                .input(inputs)
+                .operation(new Count<>())
+                .parallelism(4)
+                .build();
+        final ForEachHandler<List<Integer>, Long> handler = new ForEachHandler<>();
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> handler.doOperation(forEach, context, store))
+                .withMessage("Failed on input 5");
+    }
+
+    @Test
+    public void shouldOnlyExecuteOperationsAsLazyResultsAreRead() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation ->
+                (long) Lists.newArrayList(((Count<?>) invocation.getArgument(0)).getInput()).size());
+        final ForEach<List<Integer>, Long> forEach = new ForEach.Builder<List<Integer>, Long>()
+                .input(Arrays.asList(Arrays.asList(1), Arrays.asList(1, 2), Arrays.asList(1, 2, 3)))
+                .operation(new Count<>())
+                .lazyResults(true)
+                .build();
+
+        // When
+        final Iterable<? extends Long> result = new ForEachHandler<List<Integer>, Long>().doOperation(forEach, context, store);
+
+        // Then
+        verify(store, never()).execute(any(Output.class), eq(context));
+        final Iterator<? extends Long> iterator = result.iterator();
+        assertEquals(1L, (long) iterator.next());
+        verify(store, times(1)).execute(any(Output.class), eq(context));
+        assertThat(Lists.newArrayList(result)).containsExactly(1L, 2L, 3L);
+    }
 }
@@ -19,6 +19,8 @@ import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -31,6 +33,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.operation.OperationChainPlanCache;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.gaffer.user.User;
@@ -40,10 +43,16 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class OperationChainHandlerTest {
 
@@ -149,4 +158,200 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldOnlyValidateOperationChainsWithDifferentSeedsOnce() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainOptimiser opChainOptimiser = mock(OperationChainOptimiser.class);
+        final OperationChainPlanCache opChainPlanCache = new OperationChainPlanCache(10);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator,
+                Collections.singletonList(opChainOptimiser), opChainPlanCache);
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+
+        final OperationChain<Object> opChain1 = new OperationChain<>(Arrays.asList(
+                new GetElements.Builder().input(new EntitySeed("A")).build(), new Limit<>(5)));
+        final OperationChain<Object> opChain2 = new OperationChain<>(Arrays.asList(
+                new GetElements.Builder().input(new EntitySeed("B")).build(), new Limit<>(5)));
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(opChainOptimiser.optimise(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        opChainHandler.prepareOperationChain(opChain1, context, store);
+        opChainHandler.prepareOperationChain(opChain2, context, store);
+        opChainHandler.prepareOperationChain(opChain1, new Context(new User("user02")), store);
+
+        // Then
+        verify(opChainValidator, times(2)).validate(any(), any(), any());
+        verify(opChainOptimiser, times(3)).optimise(any());
+        assertEquals(2, opChainPlanCache.size());
+    }
+
+    @Test
+    public void shouldReuseOptimisedOperationChainWithoutInput() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainOptimiser opChainOptimiser = mock(OperationChainOptimiser.class);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator,
+                Collections.singletonList(opChainOptimiser), new OperationChainPlanCache(10));
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit<Object> limit = new Limit<>(5);
+        final OperationChain<Object> optimisedOpChain = new OperationChain<>(Collections.singletonList(getAllElements));
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(opChainOptimiser.optimise(any())).willReturn((OperationChain) optimisedOpChain);
+
+        // When
+        opChainHandler.prepareOperationChain(new OperationChain<>(Arrays.asList(new GetAllElements(), limit)), context, store);
+        final OperationChain<Object> result = opChainHandler.prepareOperationChain(
+                new OperationChain<>(Arrays.asList(new GetAllElements(), limit)), context, store);
+
+        // Then
+        verify(opChainValidator, times(1)).validate(any(), any(), any());
+        verify(opChainOptimiser, times(1)).optimise(any());
+        assertEquals(1, result.getOperations().size());
+        assertTrue(result.getOperations().get(0) instanceof GetAllElements);
+        assertNotSame(getAllElements, result.getOperations().get(0));
+    }
+
+    @Test
+    public void shouldNotReusePlanWhenStoreVersionChanges() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainPlanCache opChainPlanCache = new OperationChainPlanCache(10);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator,
+                Collections.emptyList(), opChainPlanCache);
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.getOperationChainPlanVersion()).willReturn(1L, 1L, 2L, -1L);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            opChainHandler.prepareOperationChain(new OperationChain<>(new GetAllElements()), context, store);
+        }
+
+        // Then
+        verify(opChainValidator, times(3)).validate(any(), any(), any());
+        assertEquals(2, opChainPlanCache.size());
+    }
+
+    @Test
+    public void shouldCacheInvalidOperationChains() {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator,
+                Collections.emptyList(), new OperationChainPlanCache(10));
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+        final ValidationResult invalidResult = new ValidationResult();
+        invalidResult.addError("invalid");
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(invalidResult);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> opChainHandler.prepareOperationChain(
+                new OperationChain<>(new GetAllElements()), context, store));
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> opChainHandler.prepareOperationChain(
+                new OperationChain<>(new GetAllElements()), context, store));
+
+        // Then
+        assertTrue(exception.getMessage().contains("invalid"));
+        verify(opChainValidator, times(1)).validate(any(), any(), any());
+    }
+
+    @Test
+    public void shouldPipelineLazyResultsBetweenOperations() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator, Collections.emptyList());
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelineBufferSize(10);
+
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Entity> op2 = new Limit<>(1);
+        final Entity entityA = new Entity.Builder().group(TestGroups.ENTITY).vertex("A").build();
+        final Entity entityB = new Entity.Builder().group(TestGroups.ENTITY).vertex("B").build();
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.handleOperation(op1, context)).willReturn(new WrappedCloseableIterable<>(Arrays.asList(entityA, entityB)));
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> op2.getInput());
+
+        // When
+        final Object result = opChainHandler.doOperation(new OperationChain<>(Arrays.asList(op1, op2)), context, store);
+
+        // Then
+        assertTrue(op2.getInput() instanceof PipelinedIterable);
+        assertEquals(Arrays.asList(entityA, entityB), Lists.newArrayList((Iterable<?>) result));
+    }
+
+    @Test
+    public void shouldClosePipelinesWhenChainResultIsClosed() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator, Collections.emptyList());
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelineBufferSize(10);
+
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Entity> op2 = new Limit<>(1);
+        final CloseableIterable<Entity> op1Result = mock(CloseableIterable.class);
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.handleOperation(op1, context)).willReturn(op1Result);
+        given(store.handleOperation(op2, context)).willAnswer(invocation -> new WrappedCloseableIterable<>(Collections.emptyList()));
+
+        // When
+        final Object result = opChainHandler.doOperation(new OperationChain<>(Arrays.asList(op1, op2)), context, store);
+        ((CloseableIterable<?>) result).close();
+
+        // Then
+        verify(op1Result).close();
+    }
+
+    @Test
+    public void shouldClosePipelinesWhenChainFails() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainHandler<Object> opChainHandler = new OperationChainHandler<>(opChainValidator, Collections.emptyList());
+
+        final Context context = new Context(new User("user01"));
+        final Store store = mock(Store.class);
+        final StoreProperties storeProperties = new StoreProperties();
+        storeProperties.setOperationChainPipelineBufferSize(10);
+
+        final GetAllElements op1 = new GetAllElements();
+        final Limit<Entity> op2 = new Limit<>(1);
+        final CloseableIterable<Entity> op1Result = mock(CloseableIterable.class);
+
+        given(store.getProperties()).willReturn(storeProperties);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.handleOperation(op1, context)).willReturn(op1Result);
+        given(store.handleOperation(op2, context)).willThrow(new OperationException("Limit failed"));
+
+        // When
+        assertThrows(OperationException.class,
+                () -> opChainHandler.doOperation(new OperationChain<>(Arrays.asList(op1, op2)), context, store));
+
+        // Then
+        verify(op1Result).close();
+    }
 }
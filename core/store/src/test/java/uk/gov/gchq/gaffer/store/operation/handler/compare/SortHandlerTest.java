@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.store.operation.handler.compare;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
@@ -290,6 +291,60 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSortExternallyWhenInputExceedsMaxInMemorySize() throws OperationException {
+                // Given
+                final List<Element> input = new ArrayList<>();
+                final Random random = new Random();
+                for (int i = 0; i < 1000; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + (i % 10))
+                                        .property("property", random.nextInt(200)).build());
+                }
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxInMemorySize(100);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                final List<Element> expected = input.stream().distinct().sorted(sort.getCombinedComparator())
+                                .collect(Collectors.toList());
+                final List<? extends Element> resultList = Lists.newArrayList(result);
+                assertEquals(expected.size(), resultList.size());
+                for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i).getProperty("property"), resultList.get(i).getProperty("property"));
+                }
+                assertEquals(Sets.newHashSet(expected), Sets.newHashSet(resultList));
+        }
+
+        @Test
+        public void shouldDeduplicateAndApplyResultLimitAfterExternalSort() throws OperationException {
+                // Given
+                final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY).property("property", 1).build();
+                final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY).property("property", 2).build();
+                final Entity entity3 = new Entity.Builder().group(TestGroups.ENTITY).property("property", 3).build();
+                final Entity entity4 = new Entity.Builder().group(TestGroups.ENTITY).property("property", 4).build();
+
+                final Sort sort = new Sort.Builder().input(Lists.newArrayList(entity4, entity1, entity3, entity1, null, entity2))
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .resultLimit(3).deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setMaxInMemorySize(2);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                assertEquals(Arrays.asList(entity1, entity2, entity3), Lists.newArrayList(result));
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.compare.TopK;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TopKHandlerTest {
+
+    @Test
+    public void shouldFindTopKBasedOnPropertyLargestFirst() throws OperationException {
+        // Given
+        final List<Entity> input = Lists.newArrayList(
+                makeEntity(3), makeEntity(1), makeEntity(5), null, makeEntity(2), makeEntity(4));
+        final TopK topK = createTopK(input, 3);
+
+        final TopKHandler handler = new TopKHandler();
+
+        // When
+        final Iterable<? extends Element> results = handler.doOperation(topK, null, null);
+
+        // Then
+        assertThat(getProperties(results)).containsExactly(5, 4, 3);
+    }
+
+    @Test
+    public void shouldFindTopKInParallelBatches() throws OperationException {
+        // Given
+        final List<Entity> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            input.add(makeEntity(i));
+        }
+        Collections.shuffle(input);
+        final TopK topK = createTopK(input, 5);
+
+        final TopKHandler handler = new TopKHandler();
+        handler.setParallelism(4);
+        handler.setBatchSize(10);
+
+        // When
+        final Iterable<? extends Element> results = handler.doOperation(topK, null, null);
+
+        // Then
+        assertThat(getProperties(results)).containsExactly(999, 998, 997, 996, 995);
+    }
+
+    @Test
+    public void shouldReturnAllElementsWhenKIsLargerThanInput() throws OperationException {
+        // Given
+        final TopK topK = createTopK(Lists.newArrayList(makeEntity(1), makeEntity(2)), 10);
+
+        // When
+        final Iterable<? extends Element> results = new TopKHandler().doOperation(topK, null, null);
+
+        // Then
+        assertThat(getProperties(results)).containsExactly(2, 1);
+    }
+
+    @Test
+    public void shouldReturnNullIfOperationInputIsNull() throws OperationException {
+        // Given
+        final TopK topK = new TopK.Builder()
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .k(1)
+                .build();
+
+        // When
+        final Iterable<? extends Element> results = new TopKHandler().doOperation(topK, null, null);
+
+        // Then
+        assertNull(results);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfKIsLessThanOne() {
+        // Given
+        final TopK topK = createTopK(Lists.newArrayList(makeEntity(1)), 0);
+
+        // When / Then
+        assertThatExceptionOfType(OperationException.class)
+                .isThrownBy(() -> new TopKHandler().doOperation(topK, null, null))
+                .withMessage("k must be at least 1");
+    }
+
+    private TopK createTopK(final List<Entity> input, final int k) {
+        return new TopK.Builder()
+                .input(input)
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .k(k)
+                .build();
+    }
+
+    private List<Object> getProperties(final Iterable<? extends Element> elements) {
+        return Lists.newArrayList(elements).stream()
+                .map(e -> e.getProperty("property"))
+                .collect(Collectors.toList());
+    }
+
+    private Entity makeEntity(final int property) {
+        return new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", property)
+                .build();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler.function;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +30,7 @@ import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
 import uk.gov.gchq.gaffer.operation.util.AggregatePair;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -38,6 +40,7 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Or;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -562,4 +565,75 @@ public class AggregateHandlerTest {
                 .isThrownBy(() -> handler.doOperation(aggregate, context, store))
                 .withMessageContaining("Incompatible types.");
     }
+
+    @Test
+    public void shouldOnlyAggregateAdjacentElementsWhenInputIsSorted() throws OperationException {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .groupBy("timestamp")
+                        .build())
+                .build();
+        given(store.getSchema()).willReturn(schema);
+
+        input.add(entity);
+        input.add(entity2);
+        input.add(entity1);
+        input.add(entity3);
+        input.add(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .property("timestamp", 3L)
+                .property("count", 1)
+                .build());
+
+        entities.put(TestGroups.ENTITY, new AggregatePair(
+                new ElementAggregator.Builder()
+                        .select("count")
+                        .execute(new Sum())
+                        .build()));
+
+        final Aggregate aggregate = new Aggregate.Builder()
+                .input(input)
+                .entities(entities)
+                .option(AggregateHandler.SORTED_INPUT, "true")
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(handler.doOperation(aggregate, context, store));
+
+        // Then
+        assertEquals(Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .property("timestamp", 3L)
+                        .property("count", 5)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .property("timestamp", 2L)
+                        .property("count", 6)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .property("timestamp", 3L)
+                        .property("count", 1)
+                        .build()), results);
+    }
+
+    @Test
+    public void shouldUseStoreAggregationMaxInMemorySizeUnlessConfigured() {
+        // Given
+        final StoreProperties properties = new StoreProperties();
+        properties.setAggregationMaxInMemorySize(10);
+        given(store.getProperties()).willReturn(properties);
+
+        // When
+        final int storeMaxInMemorySize = handler.getMaxInMemorySize(store);
+        handler.setMaxInMemorySize(5);
+        final int handlerMaxInMemorySize = handler.getMaxInMemorySize(store);
+
+        // Then
+        assertEquals(10, storeMaxInMemorySize);
+        assertEquals(5, handlerMaxInMemorySize);
+    }
 }
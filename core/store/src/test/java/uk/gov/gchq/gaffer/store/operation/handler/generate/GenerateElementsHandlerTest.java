@@ -16,18 +16,32 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.generate;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.generator.ElementGenerator;
+import uk.gov.gchq.gaffer.data.generator.OneToOneElementGenerator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -56,4 +70,65 @@ public class GenerateElementsHandlerTest {
         // Then
         assertSame(elementsIter, result.iterator());
     }
+
+    @Test
+    public void shouldGenerateElementsInParallelInInputOrder() throws OperationException {
+        // Given
+        final GenerateElementsHandler<Integer> handler = new GenerateElementsHandler<>();
+        handler.setParallelism(4);
+        handler.setBatchSize(10);
+        final List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final Set<String> generatorThreads = ConcurrentHashMap.newKeySet();
+        final GenerateElements<Integer> operation = new GenerateElements.Builder<Integer>()
+                .input(input)
+                .generator((OneToOneElementGenerator<Integer>) item -> {
+                    generatorThreads.add(Thread.currentThread().getName());
+                    return new Entity(TestGroups.ENTITY, item);
+                })
+                .build();
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(operation, new Context(), mock(Store.class));
+
+        // Then
+        final List<Object> vertices = new ArrayList<>();
+        for (final Element element : result) {
+            vertices.add(((Entity) element).getVertex());
+        }
+        assertEquals(input, vertices);
+        assertThat(generatorThreads).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void shouldRethrowGeneratorExceptionWhenGeneratingInParallel() throws OperationException {
+        // Given
+        final GenerateElementsHandler<Integer> handler = new GenerateElementsHandler<>();
+        handler.setParallelism(2);
+        handler.setBatchSize(5);
+        final GenerateElements<Integer> operation = new GenerateElements.Builder<Integer>()
+                .input(IntStream.range(0, 100).boxed().collect(Collectors.toList()))
+                .generator((OneToOneElementGenerator<Integer>) item -> {
+                    if (50 == item) {
+                        throw new IllegalArgumentException("Invalid item");
+                    }
+                    return new Entity(TestGroups.ENTITY, item);
+                })
+                .build();
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(operation, new Context(), mock(Store.class));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenParallelismOrBatchSizeIsInvalid() {
+        // Given
+        final GenerateElementsHandler<Integer> handler = new GenerateElementsHandler<>();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> handler.setParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> handler.setBatchSize(0));
+    }
 }
@@ -16,18 +16,26 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.generate;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.generator.ObjectGenerator;
+import uk.gov.gchq.gaffer.data.generator.OneToOneObjectGenerator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -56,4 +64,27 @@ public class GenerateObjectsHandlerTest {
         // Then
         assertSame(objsIter, result.iterator());
     }
+
+    @Test
+    public void shouldGenerateObjectsInParallelWithoutPreservingOrder() throws OperationException {
+        // Given
+        final GenerateObjectsHandler<Object> handler = new GenerateObjectsHandler<>();
+        handler.setParallelism(4);
+        handler.setBatchSize(7);
+        handler.setPreserveOrder(false);
+        final List<Element> input = IntStream.range(0, 500)
+                .mapToObj(i -> new Entity(TestGroups.ENTITY, i))
+                .collect(Collectors.toList());
+        final GenerateObjects<Object> operation = new GenerateObjects.Builder<Object>()
+                .input(input)
+                .generator((OneToOneObjectGenerator<Object>) element -> ((Entity) element).getVertex())
+                .build();
+
+        // When
+        final Iterable<?> result = handler.doOperation(operation, new Context(), mock(Store.class));
+
+        // Then
+        assertThat(Lists.newArrayList(result))
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 500).boxed().collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.operation.GetElementCount;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountOperationChainOptimiserTest {
+    private final CountOperationChainOptimiser optimiser = new CountOperationChainOptimiser();
+
+    @Test
+    public void shouldReplaceGetAllElementsAndCountWithGetElementCount() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, new Count<>())).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        assertTrue(ops.get(0) instanceof GetElementCount);
+        assertSame(getAllElements, ((GetElementCount) ops.get(0)).getOperation());
+    }
+
+    @Test
+    public void shouldReplaceGetElementsAndCountGroupsWithGetGroupCounts() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getElements, new CountGroups(), new DiscardOutput())).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertTrue(ops.get(0) instanceof GetGroupCounts);
+        assertSame(getElements, ((GetGroupCounts) ops.get(0)).getOperation());
+        assertTrue(ops.get(1) instanceof DiscardOutput);
+    }
+
+    @Test
+    public void shouldNotReplaceCountGroupsWithLimit() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(new GetAllElements(), new CountGroups(10));
+
+        // When
+        final List<Operation> ops = optimiser.optimise(chain).getOperations();
+
+        // Then
+        assertEquals(chain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotReplaceCountWhenViewHasPostTransformFilters() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity("entity", new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select("property")
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final OperationChain<?> chain = new OperationChain<>(getAllElements, new Count<>());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(chain).getOperations();
+
+        // Then
+        assertEquals(chain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotReplaceGetElementsWithoutInputThatTakesSeedsFromPreviousOperation() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(
+                new GetAdjacentIds.Builder()
+                        .input(new EntitySeed("a"))
+                        .build(),
+                new GetElements(),
+                new CountGroups());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(chain).getOperations();
+
+        // Then
+        assertEquals(chain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotReplaceCountWithoutGetOperation() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(new DiscardOutput(), new Count<>());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(chain).getOperations();
+
+        // Then
+        assertEquals(chain.getOperations(), ops);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleBasedOperationChainOptimiserTest {
+
+    @Test
+    public void shouldFuseFilterIntoGetElementsView() {
+        // Given
+        final ElementFilter existingFilter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new Exists())
+                .build();
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postTransformFilter(existingFilter)
+                                .build())
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final ElementFilter countFilter = new ElementFilter.Builder()
+                .select(TestPropertyNames.COUNT)
+                .execute(new IsMoreThan(5L))
+                .build();
+        final Filter filter = new Filter.Builder()
+                .entity(TestGroups.ENTITY, countFilter)
+                .build();
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser(new FuseFunctionsIntoViewRule());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getElements, filter, new Count<>())).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        final View view = ((GetElements) ops.get(0)).getView();
+        assertThat(view.getEdgeGroups()).isEmpty();
+        assertThat(view.getEntity(TestGroups.ENTITY).getPostTransformFilterFunctions())
+                .hasSize(2)
+                .containsAll(existingFilter.getComponents())
+                .containsAll(countFilter.getComponents());
+        assertTrue(ops.get(1) instanceof Count);
+        assertThat(getElements.getView().getEdgeGroups()).containsExactly(TestGroups.EDGE);
+    }
+
+    @Test
+    public void shouldFuseTransformIntoGetElementsViewButNotAfterPostTransformFilter() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        final Transform transform = new Transform.Builder()
+                .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new Identity())
+                        .project(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(TestPropertyNames.PROP_1)
+                        .execute(new Exists())
+                        .build())
+                .build();
+        final RuleBasedOperationChainOptimiser optimiser = new RuleBasedOperationChainOptimiser(new FuseFunctionsIntoViewRule());
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getElements, transform, filter, transform)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        final ViewElementDefinition elementDef = ((GetElements) ops.get(0)).getView().getEntity(TestGroups.ENTITY);
+        assertThat(elementDef.getTransformFunctions()).hasSize(1);
+        assertThat(elementDef.getPostTransformFilterFunctions()).hasSize(1);
+        assertSame(transform, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotFuseFilterWhenViewHasPropertyProjection() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(
+                new GetElements.Builder()
+                        .input(new EntitySeed("a"))
+                        .view(new View.Builder()
+                                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                        .properties(TestPropertyNames.PROP_1)
+                                        .build())
+                                .build())
+                        .build(),
+                new Filter.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build());
+
+        // When
+        final OperationChain<?> optimisedChain = new RuleBasedOperationChainOptimiser(new FuseFunctionsIntoViewRule()).optimise(chain);
+
+        // Then
+        assertSame(chain, optimisedChain);
+    }
+
+    @Test
+    public void shouldRemoveGetElementsFollowedByGetElementsWithSameSeeds() {
+        // Given
+        final GetElements getEntities = new GetElements.Builder()
+                .input(new EntitySeed("a"), new EntitySeed("b"))
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build();
+        final GetElements getEdges = new GetElements.Builder()
+                .input(new EntitySeed("a"), new EntitySeed("b"))
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .build();
+        final GetElements getFromResults = new GetElements();
+
+        // When
+        final List<Operation> ops = new RuleBasedOperationChainOptimiser(new RemoveRedundantGetElementsRule())
+                .optimise(new OperationChain<>(getEntities, getEdges, getFromResults)).getOperations();
+
+        // Then
+        assertThat(ops).containsExactly(getEdges, getFromResults);
+    }
+
+    @Test
+    public void shouldRemoveOperationsWithoutSideEffectsBeforeDiscardOutput() {
+        // Given
+        final AddElements addElements = new AddElements();
+        final DiscardOutput discardOutput = new DiscardOutput();
+        final Count<Object> count = new Count<>();
+
+        // When
+        final List<Operation> ops = new RuleBasedOperationChainOptimiser(new RemoveDiscardedOperationsRule())
+                .optimise(new OperationChain<>(addElements, new GetElements(), new Limit<>(10), discardOutput, count)).getOperations();
+
+        // Then
+        assertThat(ops).containsExactly(addElements, discardOutput, count);
+    }
+
+    @Test
+    public void shouldMoveLimitIntoSort() {
+        // Given
+        final Sort sort = new Sort.Builder()
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property(TestPropertyNames.COUNT)
+                        .build())
+                .resultLimit(100)
+                .build();
+
+        // When
+        final List<Operation> ops = new RuleBasedOperationChainOptimiser(new LimitIntoSortRule())
+                .optimise(new OperationChain<>(new GetElements(), sort, new Limit<>(10))).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertEquals(10, (int) ((Sort) ops.get(1)).getResultLimit());
+        assertEquals(100, (int) sort.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotMoveNonTruncatingLimitIntoSort() {
+        // Given
+        final OperationChain<?> chain = new OperationChain<>(new GetElements(), new Sort(), new Limit<>(10, false));
+
+        // When
+        final OperationChain<?> optimisedChain = new RuleBasedOperationChainOptimiser(new LimitIntoSortRule()).optimise(chain);
+
+        // Then
+        assertSame(chain, optimisedChain);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ScanPushDownOperationChainOptimiserTest {
+    private static final String LIMIT_OPTION = "limit";
+    private static final String IDS_ONLY_OPTION = "idsOnly";
+
+    private final ScanPushDownOperationChainOptimiser optimiser = new ScanPushDownOperationChainOptimiser(LIMIT_OPTION, IDS_ONLY_OPTION);
+
+    @Test
+    public void shouldAddLimitOptionWhenGetAllElementsIsFollowedByLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit<?> limit = new Limit<>(10);
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, limit)).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertEquals("10", ops.get(0).getOption(LIMIT_OPTION));
+        assertNull(ops.get(0).getOption(IDS_ONLY_OPTION));
+        assertSame(limit, ops.get(1));
+        assertNull(getAllElements.getOption(LIMIT_OPTION));
+    }
+
+    @Test
+    public void shouldNotAddLimitOptionWhenLimitDoesNotTruncate() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, new Limit<>(10, false))).getOperations();
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+    }
+
+    @Test
+    public void shouldAddIdentifiersOnlyOptionWhenGetElementsIsFollowedByToVertices() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .option("existing", "value")
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getElements, new ToVertices())).getOperations();
+
+        // Then
+        assertEquals("true", ops.get(0).getOption(IDS_ONLY_OPTION));
+        assertEquals("value", ops.get(0).getOption("existing"));
+        assertNull(getElements.getOption(IDS_ONLY_OPTION));
+    }
+
+    @Test
+    public void shouldAlwaysAddIdentifiersOnlyOptionToGetAdjacentIds() {
+        // Given
+        final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAdjacentIds, new Limit<>(5))).getOperations();
+
+        // Then
+        assertEquals("true", ops.get(0).getOption(IDS_ONLY_OPTION));
+        assertEquals("5", ops.get(0).getOption(LIMIT_OPTION));
+    }
+
+    @Test
+    public void shouldNotOptimiseWhenViewHasTransformer() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity("entity", new ViewElementDefinition.Builder()
+                                .transformer(new ElementTransformer.Builder()
+                                        .select("count")
+                                        .execute(new Identity())
+                                        .project("count")
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, new Limit<>(10))).getOperations();
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+    }
+
+    @Test
+    public void shouldNotOptimiseWhenViewHasPostTransformFilter() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity("entity", new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select("count")
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = optimiser.optimise(new OperationChain<>(getAllElements, new ToVertices())).getOperations();
+
+        // Then
+        assertSame(getAllElements, ops.get(0));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SpillSerialiserTest {
+    private final Schema schema = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldWriteAndReadElementsAndOtherValues() throws IOException {
+        // Given
+        final SpillSerialiser serialiser = new SpillSerialiser(schema);
+        final List<Object> values = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "vertex"),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("source")
+                        .dest("dest")
+                        .directed(true)
+                        .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                        .build(),
+                new Entity(TestGroups.ENTITY_2, "not in schema"),
+                null,
+                "a string");
+
+        // When
+        final List<Object> results = writeAndRead(serialiser, values);
+
+        // Then
+        assertEquals(values, results);
+    }
+
+    @Test
+    public void shouldWriteAndReadElementsAsJsonWithoutSchema() throws IOException {
+        // Given
+        final SpillSerialiser serialiser = new SpillSerialiser(null);
+        final List<Object> values = Arrays.asList(new Entity(TestGroups.ENTITY, "vertex"), 1L);
+
+        // When
+        final List<Object> results = writeAndRead(serialiser, values);
+
+        // Then
+        assertEquals(values, results);
+    }
+
+    private List<Object> writeAndRead(final SpillSerialiser serialiser, final List<Object> values) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object value : values) {
+                serialiser.write(value, out);
+            }
+        }
+
+        final List<Object> results = new ArrayList<>();
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            int type;
+            while (-1 != (type = in.read())) {
+                results.add(serialiser.read((byte) type, in));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ElementDefinitionsCacheTest {
+    @BeforeEach
+    public void before() {
+        ElementDefinitionsCache.clear();
+    }
+
+    @Test
+    public void shouldReturnSameSchemaForSameJson() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .build())
+                .type("string", String.class)
+                .build();
+        final String json = StringUtil.toString(schema.toCompactJson());
+
+        // When
+        final Schema first = ElementDefinitionsCache.getSchema(json);
+        final Schema second = ElementDefinitionsCache.getSchema(StringUtil.toBytes(json));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(schema.getEntityGroups(), first.getEntityGroups());
+    }
+
+    @Test
+    public void shouldReturnDifferentViewsForDifferentJson() {
+        // Given
+        final byte[] entityViewJson = new View.Builder().entity(TestGroups.ENTITY).build().toCompactJson();
+        final byte[] edgeViewJson = new View.Builder().edge(TestGroups.EDGE).build().toCompactJson();
+
+        // When
+        final View entityView = ElementDefinitionsCache.getView(entityViewJson);
+        final View edgeView = ElementDefinitionsCache.getView(edgeViewJson);
+
+        // Then
+        assertNotSame(entityView, edgeView);
+        assertSame(entityView, ElementDefinitionsCache.getView(entityViewJson));
+        assertEquals(new View.Builder().edge(TestGroups.EDGE).build(), edgeView);
+    }
+
+    @Test
+    public void shouldParseJsonAgainAfterClear() {
+        // Given
+        final byte[] json = new View.Builder().entity(TestGroups.ENTITY).build().toCompactJson();
+        final View view = ElementDefinitionsCache.getView(json);
+
+        // When
+        ElementDefinitionsCache.clear();
+
+        // Then
+        assertNotSame(view, ElementDefinitionsCache.getView(json));
+    }
+
+    @Test
+    public void shouldReturnNullForNullJson() {
+        // When / Then
+        assertNull(ElementDefinitionsCache.getSchema((String) null));
+        assertNull(ElementDefinitionsCache.getView((byte[]) null));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ElementSorterTest {
+
+    @Test
+    public void shouldSortBySortKeyCalculatingItOnceForEachElementInEachPass() throws IOException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "5"),
+                new Entity(TestGroups.ENTITY, "3"),
+                new Entity(TestGroups.ENTITY, "4"),
+                new Entity(TestGroups.ENTITY, "1"),
+                new Entity(TestGroups.ENTITY, "2"));
+        final AtomicInteger keyCount = new AtomicInteger();
+        final ElementSorter sorter = new ElementSorter(element -> {
+            keyCount.incrementAndGet();
+            return Integer.parseInt((String) ((Entity) element).getVertex());
+        }, null, false, 2, null);
+
+        // When
+        final List<Element> results;
+        try (final CloseableIterable<Element> sorted = sorter.sort(elements)) {
+            results = Lists.newArrayList(sorted);
+        }
+
+        // Then
+        assertThat(results).containsExactly(
+                new Entity(TestGroups.ENTITY, "1"),
+                new Entity(TestGroups.ENTITY, "2"),
+                new Entity(TestGroups.ENTITY, "3"),
+                new Entity(TestGroups.ENTITY, "4"),
+                new Entity(TestGroups.ENTITY, "5"));
+        // Once when each element is added to a run and once when it is read back
+        assertEquals(10, keyCount.get());
+    }
+
+    @Test
+    public void shouldMergeRunsInSeveralPassesWhenThereAreMoreRunsThanTheMaxFanIn() throws IOException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex(String.valueOf(9 - i % 10))
+                    .property(TestPropertyNames.PROP_1, String.valueOf(i))
+                    .build());
+        }
+        final Comparator<Element> byVertex = Comparator.comparing(element -> (String) ((Entity) element).getVertex());
+        final ElementSorter sorter = new ElementSorter(byVertex, false, 3, null);
+        sorter.setMaxMergeFanIn(2);
+
+        // When
+        final List<Element> results;
+        try (final CloseableIterable<Element> sorted = sorter.sort(elements)) {
+            results = Lists.newArrayList(sorted);
+        }
+
+        // Then
+        final List<Element> expected = new ArrayList<>(elements);
+        expected.sort(byVertex);
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldDeduplicateElementsWithTheSameSortKey() throws IOException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Entity(TestGroups.ENTITY, "b"),
+                new Entity(TestGroups.ENTITY, "a"),
+                new Entity(TestGroups.ENTITY, "b"));
+        final ElementSorter sorter = new ElementSorter(element -> ((Entity) element).getVertex().hashCode(),
+                null, true, 10, null);
+
+        // When
+        final List<Element> results = Lists.newArrayList(sorter.sort(elements));
+
+        // Then
+        assertThat(results).containsExactly(
+                new Entity(TestGroups.ENTITY, "a"),
+                new Entity(TestGroups.ENTITY, "b"));
+    }
+}
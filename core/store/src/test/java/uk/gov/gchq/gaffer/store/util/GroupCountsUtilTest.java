@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupCountsUtilTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .build())
+            .build();
+
+    @Test
+    public void shouldEncodeAndDecodeCounts() throws IOException {
+        // Given
+        final Map<String, Long> counts = new HashMap<>();
+        counts.put(TestGroups.ENTITY, 5L);
+        counts.put(TestGroups.EDGE, Long.MAX_VALUE);
+
+        // When
+        final Map<String, Long> result = GroupCountsUtil.decodeCounts(GroupCountsUtil.encodeCounts(counts));
+
+        // Then
+        assertEquals(counts, result);
+    }
+
+    @Test
+    public void shouldCreateGroupCounts() {
+        // Given
+        final Map<String, Long> counts = new HashMap<>();
+        counts.put(TestGroups.ENTITY, 5L);
+        counts.put(TestGroups.EDGE, 3L);
+
+        // When
+        final GroupCounts groupCounts = GroupCountsUtil.toGroupCounts(counts, SCHEMA);
+
+        // Then
+        assertEquals(5, (int) groupCounts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(3, (int) groupCounts.getEdgeGroups().get(TestGroups.EDGE));
+        assertFalse(groupCounts.isLimitHit());
+    }
+
+    @Test
+    public void shouldLimitCountsThatAreTooLargeAndSetLimitHit() {
+        // Given
+        final Map<String, Long> counts = new HashMap<>();
+        counts.put(TestGroups.ENTITY, 5L);
+        counts.put(TestGroups.EDGE, Integer.MAX_VALUE + 1L);
+
+        // When
+        final GroupCounts groupCounts = GroupCountsUtil.toGroupCounts(counts, SCHEMA);
+
+        // Then
+        assertEquals(5, (int) groupCounts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(Integer.MAX_VALUE, (int) groupCounts.getEdgeGroups().get(TestGroups.EDGE));
+        assertTrue(groupCounts.isLimitHit());
+    }
+}
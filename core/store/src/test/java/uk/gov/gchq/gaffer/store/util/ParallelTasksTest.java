@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ParallelTasksTest {
+
+    @Test
+    public void shouldTakeResultsInSubmittedOrder() throws Exception {
+        // Given
+        final List<Integer> results = new ArrayList<>();
+
+        // When
+        try (final ParallelTasks<Integer> tasks = new ParallelTasks<>(2, true)) {
+            for (int i = 0; i < 10; i++) {
+                final int value = i;
+                if (!tasks.canSubmit()) {
+                    results.add(tasks.take());
+                }
+                tasks.submit(() -> value);
+            }
+            while (!tasks.isEmpty()) {
+                results.add(tasks.take());
+            }
+        }
+
+        // Then
+        assertThat(results).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void shouldTakeCompletedResultsFirstWhenOrderIsNotPreserved() throws Exception {
+        // Given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> results = new ArrayList<>();
+
+        // When
+        try (final ParallelTasks<Integer> tasks = new ParallelTasks<>(2, false)) {
+            tasks.submit(() -> {
+                started.countDown();
+                release.await();
+                return 1;
+            });
+            started.await();
+            tasks.submit(() -> 2);
+            results.add(tasks.take());
+            release.countDown();
+            results.add(tasks.take());
+        }
+
+        // Then
+        assertThat(results).isEqualTo(Arrays.asList(2, 1));
+    }
+
+    @Test
+    public void shouldNotSubmitMoreThanTheMaximumPendingTasks() {
+        // Given
+        try (final ParallelTasks<Integer> tasks = new ParallelTasks<>(2, true)) {
+
+            // When
+            tasks.submit(() -> 1);
+            tasks.submit(() -> 2);
+
+            // Then
+            assertThat(tasks.canSubmit()).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldThrowExecutionExceptionWhenTaskFails() {
+        // Given
+        final ParallelTasks<Integer> tasks = new ParallelTasks<>(1, true);
+        tasks.submit(() -> {
+            throw new IllegalStateException("Task failed");
+        });
+
+        // When / Then
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(tasks::take)
+                .withCauseInstanceOf(IllegalStateException.class);
+        tasks.close();
+    }
+
+    @Test
+    public void shouldRejectInvalidParallelismAndBatchSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ParallelTasks.validateParallelism(0))
+                .withMessage("Parallelism must be at least 1");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ParallelTasks.validateBatchSize(0))
+                .withMessage("Batch size must be at least 1");
+    }
+}
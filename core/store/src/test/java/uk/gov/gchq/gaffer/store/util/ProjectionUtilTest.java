@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectionUtilTest {
+
+    @Test
+    public void shouldReturnNullWhenAllPropertiesAreRequired() {
+        // Given
+        final Schema schema = createSchema();
+        final ViewElementDefinition viewElDef = new ViewElementDefinition.Builder().build();
+
+        // When
+        final Set<String> properties = ProjectionUtil.getRequiredProperties(viewElDef, schema.getEntity(TestGroups.ENTITY), schema);
+
+        // Then
+        assertNull(properties);
+    }
+
+    @Test
+    public void shouldOnlyRequireIncludedProperties() {
+        // Given
+        final Schema schema = createSchema();
+        final ViewElementDefinition viewElDef = new ViewElementDefinition.Builder()
+                .properties(TestPropertyNames.PROP_1)
+                .build();
+
+        // When
+        final Set<String> properties = ProjectionUtil.getRequiredProperties(viewElDef, schema.getEntity(TestGroups.ENTITY), schema);
+
+        // Then
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1), properties);
+    }
+
+    @Test
+    public void shouldRequireExcludedPropertiesUsedByFiltersAndTransforms() {
+        // Given
+        final Schema schema = createSchema();
+        final ViewElementDefinition viewElDef = new ViewElementDefinition.Builder()
+                .excludeProperties(TestPropertyNames.PROP_2, TestPropertyNames.PROP_3, TestPropertyNames.PROP_4)
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(TestPropertyNames.PROP_2)
+                        .execute(new IsMoreThan(1))
+                        .build())
+                .transformer(new ElementTransformer.Builder()
+                        .select(TestPropertyNames.PROP_3)
+                        .execute(new Identity())
+                        .project(TestPropertyNames.TRANSIENT_1)
+                        .build())
+                .build();
+
+        // When
+        final Set<String> properties = ProjectionUtil.getRequiredProperties(viewElDef, schema.getEntity(TestGroups.ENTITY), schema);
+
+        // Then
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2, TestPropertyNames.PROP_3), properties);
+    }
+
+    @Test
+    public void shouldOnlyReturnGroupsThatDoNotRequireAllProperties() {
+        // Given
+        final Schema schema = createSchema();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .entity(TestGroups.ENTITY_2)
+                .build();
+
+        // When
+        final Map<String, Set<String>> properties = ProjectionUtil.getRequiredProperties(view, schema);
+
+        // Then
+        assertEquals(1, properties.size());
+        assertTrue(properties.containsKey(TestGroups.ENTITY));
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, createEntityDefinition())
+                .entity(TestGroups.ENTITY_2, createEntityDefinition())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+
+    private static SchemaEntityDefinition createEntityDefinition() {
+        return new SchemaEntityDefinition.Builder()
+                .vertex("string")
+                .property(TestPropertyNames.PROP_1, "int")
+                .property(TestPropertyNames.PROP_2, "int")
+                .property(TestPropertyNames.PROP_3, "int")
+                .property(TestPropertyNames.PROP_4, "int")
+                .build();
+    }
+}
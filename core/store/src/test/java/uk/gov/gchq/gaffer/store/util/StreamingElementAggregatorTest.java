@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2021 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.gchq.gaffer.data.util.ElementUtil.assertElementEquals;
+
+public class StreamingElementAggregatorTest {
+    private final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+    private final View view = new View.Builder()
+            .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                    .groupBy("property2")
+                    .build())
+            .build();
+
+    @Test
+    public void shouldAggregateElementsWhenSpillingToDisk() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                createEntity(TestGroups.ENTITY, "vertex1", 1, "value1"),
+                createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 1, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex2", 2, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex1", 3, "value2"),
+                createEntity(TestGroups.ENTITY, "vertex1", 4, "value1"),
+                createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 5, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex2", 6, "value1")
+        );
+        final StreamingElementAggregator aggregator = new StreamingElementAggregator(schema, view, false, 2);
+
+        // When
+        try (final CloseableIterable<Element> results = aggregator.aggregate(elements)) {
+
+            // Then
+            assertElementEquals(Arrays.asList(
+                    createEntity(TestGroups.ENTITY, "vertex1", 5, "value1"),
+                    createEntity(TestGroups.ENTITY, "vertex1", 3, "value2"),
+                    createEntity(TestGroups.ENTITY, "vertex2", 8, "value1"),
+                    createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 1, "value1"),
+                    createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 5, "value1")
+            ), results);
+        }
+    }
+
+    @Test
+    public void shouldAggregateAdjacentElementsWhenInputIsSorted() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                createEntity(TestGroups.ENTITY, "vertex1", 1, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex1", 2, "value1"),
+                createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 5, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex2", 3, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex1", 4, "value1")
+        );
+        final StreamingElementAggregator aggregator = new StreamingElementAggregator(schema, view, false, 1);
+
+        // When
+        final List<Element> results = Lists.newArrayList(aggregator.aggregateSorted(elements));
+
+        // Then
+        assertThat(results).containsExactly(
+                createEntity(TestGroups.NON_AGG_ENTITY, "vertex1", 5, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex1", 3, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex2", 3, "value1"),
+                createEntity(TestGroups.ENTITY, "vertex1", 4, "value1"));
+    }
+
+    private static Entity createEntity(final String group, final String vertex, final int count, final String property2) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property("count", count)
+                .property("property2", property2)
+                .build();
+    }
+}
@@ -43,6 +43,10 @@ import java.util.Properties;
  * <p>
  * Rebalancing can be skipped by setting the operation option: gaffer.flink.operation.handler.skip-rebalancing to true
  * </p>
+ * <p>
+ * Elements can be added using the checkpoint aware {@link BatchingGafferSink} by setting
+ * the operation option: gaffer.flink.operation.handler.use-batching-sink to true
+ * </p>
  */
 public class AddElementsFromKafkaHandler implements OperationHandler<AddElementsFromKafka> {
     private static final String FLINK_KAFKA_BOOTSTRAP_SERVERS = "bootstrap.servers";
@@ -98,7 +102,13 @@ public class AddElementsFromKafkaHandler implements OperationHandler<AddElements
     }
 
     private SinkFunction<Element> getSink(final AddElementsFromKafka op, final Store store) {
-        return sink == null ? new GafferSink(op, store) : sink;
+        if (null != sink) {
+            return sink;
+        }
+        if (Boolean.parseBoolean(op.getOption(FlinkConstants.USE_BATCHING_SINK))) {
+            return new BatchingGafferSink(op, store);
+        }
+        return new GafferSink(op, store);
     }
 
     private Properties createFlinkProperties(final AddElementsFromKafka operation) {
@@ -109,6 +119,10 @@ public class AddElementsFromKafkaHandler implements OperationHandler<AddElements
         properties.put(FLINK_KAFKA_GROUP_ID, operation.getGroupId());
         properties.put(FLINK_KAFKA_BOOTSTRAP_SERVERS, StringUtils.join(operation.getBootstrapServers(), ","));
         properties.remove(FlinkConstants.SKIP_REBALANCING);
+        properties.remove(FlinkConstants.USE_BATCHING_SINK);
+        properties.remove(FlinkConstants.MAX_BATCH_SIZE);
+        properties.remove(FlinkConstants.FLUSH_INTERVAL_MILLIS);
+        properties.remove(FlinkConstants.PRE_AGGREGATE);
         return properties;
     }
 }
@@ -39,6 +39,10 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
  * <p>
  * Rebalancing can be skipped by setting the operation option: gaffer.flink.operation.handler.skip-rebalancing to true
  * </p>
+ * <p>
+ * Elements can be added using the checkpoint aware {@link BatchingGafferSink} by setting
+ * the operation option: gaffer.flink.operation.handler.use-batching-sink to true
+ * </p>
  */
 public class AddElementsFromSocketHandler implements OperationHandler<AddElementsFromSocket> {
     private final SinkFunction<Element> sink;
@@ -80,6 +84,12 @@ public class AddElementsFromSocketHandler implements OperationHandler<AddElement
     }
 
     private SinkFunction<Element> getSink(final AddElementsFromSocket op, final Store store) {
-        return sink == null ? new GafferSink(op, store) : sink;
+        if (null != sink) {
+            return sink;
+        }
+        if (Boolean.parseBoolean(op.getOption(FlinkConstants.USE_BATCHING_SINK))) {
+            return new BatchingGafferSink(op, store);
+        }
+        return new GafferSink(op, store);
     }
 }
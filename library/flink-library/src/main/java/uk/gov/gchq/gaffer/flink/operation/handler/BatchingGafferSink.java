@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * <p>
+ * A {@code BatchingGafferSink} is a checkpoint aware Flink sink that adds
+ * elements to Gaffer in bounded, pre-aggregated batches using a {@link GafferBatchAdder}.
+ * </p>
+ * <p>
+ * The buffer for each subtask is flushed to the store whenever Flink takes a
+ * checkpoint, so once a checkpoint completes all elements received before it
+ * have been added to Gaffer. Combined with a replayable source, such as Kafka,
+ * this gives at-least-once delivery into Gaffer. Between checkpoints the buffer
+ * is also flushed when it is full and, on a schedule, when the flush interval
+ * has elapsed, so elements are not held back when the stream is idle.
+ * </p>
+ * <p>
+ * The following metrics are registered on the subtask's metric group:
+ * gafferElementsReceived, gafferElementsWritten, gafferBatchesWritten,
+ * the corresponding per second rates, gafferBufferedElements and
+ * gafferLastFlushDurationMillis. A large flush duration indicates the
+ * Gaffer store is applying back pressure to the job.
+ * </p>
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The metrics are initialised when the sink is opened")
+public class BatchingGafferSink extends RichSinkFunction<Element> implements CheckpointedFunction {
+    private static final long serialVersionUID = -2384738616239137472L;
+    private static final int METER_TIME_SPAN_SECONDS = 60;
+
+    private final GafferBatchAdder adder;
+
+    private transient Counter elementsReceived;
+    private transient Counter elementsWritten;
+    private transient Counter batchesWritten;
+
+    public <OP extends Validatable & Operation> BatchingGafferSink(final OP validatable, final Store store) {
+        this(new GafferBatchAdder(validatable, store));
+    }
+
+    public BatchingGafferSink(final GafferBatchAdder adder) {
+        this.adder = adder;
+    }
+
+    @Override
+    public void open(final Configuration parameters) throws Exception {
+        super.open(parameters);
+        adder.initialise();
+        registerMetrics(getRuntimeContext().getMetricGroup());
+    }
+
+    @Override
+    public void invoke(final Element element) throws Exception {
+        adder.add(element);
+        updateMetrics();
+    }
+
+    @Override
+    public void snapshotState(final FunctionSnapshotContext context) throws Exception {
+        adder.flush();
+        updateMetrics();
+    }
+
+    @Override
+    public void initializeState(final FunctionInitializationContext context) throws Exception {
+        // No state is required as the buffer is always flushed before a checkpoint completes
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            adder.flush();
+            updateMetrics();
+        } finally {
+            try {
+                adder.close();
+            } finally {
+                super.close();
+            }
+        }
+    }
+
+    private void registerMetrics(final MetricGroup metricGroup) {
+        if (null == metricGroup) {
+            return;
+        }
+
+        elementsReceived = metricGroup.counter("gafferElementsReceived");
+        elementsWritten = metricGroup.counter("gafferElementsWritten");
+        batchesWritten = metricGroup.counter("gafferBatchesWritten");
+        metricGroup.meter("gafferElementsReceivedPerSecond", new MeterView(elementsReceived, METER_TIME_SPAN_SECONDS));
+        metricGroup.meter("gafferElementsWrittenPerSecond", new MeterView(elementsWritten, METER_TIME_SPAN_SECONDS));
+        metricGroup.meter("gafferBatchesWrittenPerSecond", new MeterView(batchesWritten, METER_TIME_SPAN_SECONDS));
+        metricGroup.gauge("gafferBufferedElements", (Gauge<Integer>) adder::getBufferSize);
+        metricGroup.gauge("gafferLastFlushDurationMillis", (Gauge<Long>) adder::getLastFlushDurationMillis);
+    }
+
+    private void updateMetrics() {
+        if (null == elementsReceived) {
+            return;
+        }
+
+        elementsReceived.inc(adder.getElementsReceived() - elementsReceived.getCount());
+        elementsWritten.inc(adder.getElementsWritten() - elementsWritten.getCount());
+        batchesWritten.inc(adder.getBatchesWritten() - batchesWritten.getCount());
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Helper class to add {@link Element}s to a Gaffer store in bounded batches.
+ * </p>
+ * <p>
+ * Unlike the {@link GafferAdder}, which streams elements through a single long
+ * running {@link AddElements} operation, this adder buffers the elements for a
+ * single Flink subtask and writes them synchronously when the buffer is flushed.
+ * The buffer is flushed when it reaches the maximum batch size, whenever
+ * {@link #flush()} is called explicitly, e.g. when Flink takes a checkpoint, and
+ * when the flush interval has elapsed since the last flush. The flush interval
+ * is checked by a scheduled task once the adder has been initialised, so
+ * buffered elements are written even if no more elements arrive. As the flush
+ * holds the adder's lock, a slow Gaffer store applies back pressure to the Flink
+ * job. A failed scheduled flush is thrown from the next call to {@link #add(Element)}
+ * or {@link #flush()} rather than being lost in the scheduler thread.
+ * </p>
+ * <p>
+ * If the operation requires validation, elements are validated against the
+ * {@link Schema} as they are added, before they are pre-aggregated. Elements in
+ * aggregated groups are then pre-aggregated in the buffer using the
+ * ingest aggregators from the {@link Schema}, so duplicate elements are only
+ * sent to the store once per batch. This can be disabled using the operation
+ * option: gaffer.flink.operation.handler.pre-aggregate.
+ * The batch size and flush interval can be configured using the operation options:
+ * gaffer.flink.operation.handler.max-batch-size and
+ * gaffer.flink.operation.handler.flush-interval-millis.
+ * By default the maximum batch size is 10,000 and the flush interval is 1 second.
+ * </p>
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
+public class GafferBatchAdder implements Serializable {
+    private static final long serialVersionUID = 5029338612358187364L;
+    public static final int MAX_BATCH_SIZE_DEFAULT = 10000;
+    public static final long FLUSH_INTERVAL_MILLIS_DEFAULT = 1000L;
+
+    private final String graphId;
+    private final byte[] schemaJson;
+    private final Properties properties;
+
+    private final boolean validate;
+    private final boolean skipInvalid;
+    private final boolean preAggregate;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+
+    private transient Store store;
+    private transient Schema schema;
+    private transient Collection<String> aggregatedGroups;
+    private transient AggregatorUtil.ToIngestElementKey toKey;
+    private transient AggregatorUtil.IngestElementBinaryOperator aggregator;
+    private transient ElementValidator validator;
+    private transient Map<Element, Element> aggregatedBuffer;
+    private transient List<Element> nonAggregatedBuffer;
+    private transient long lastFlushTime;
+    private transient ScheduledExecutorService flushScheduler;
+    private transient volatile Exception scheduledFlushFailure;
+
+    private transient long elementsReceived;
+    private transient long elementsWritten;
+    private transient long batchesWritten;
+    private transient long lastFlushDurationMillis;
+
+    public <OP extends Validatable & Operation> GafferBatchAdder(final OP operation, final Store store) {
+        this.store = store;
+        this.validate = operation.isValidate();
+        this.skipInvalid = operation.isSkipInvalidElements();
+        final String preAggregateOption = operation.getOption(FlinkConstants.PRE_AGGREGATE);
+        this.preAggregate = null == preAggregateOption || Boolean.parseBoolean(preAggregateOption);
+        final String maxBatchSizeOption = operation.getOption(FlinkConstants.MAX_BATCH_SIZE);
+        this.maxBatchSize = null != maxBatchSizeOption ? Integer.parseInt(maxBatchSizeOption) : MAX_BATCH_SIZE_DEFAULT;
+        final String flushIntervalOption = operation.getOption(FlinkConstants.FLUSH_INTERVAL_MILLIS);
+        this.flushIntervalMillis = null != flushIntervalOption ? Long.parseLong(flushIntervalOption) : FLUSH_INTERVAL_MILLIS_DEFAULT;
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(FlinkConstants.MAX_BATCH_SIZE + " must be greater than 0");
+        }
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException(FlinkConstants.FLUSH_INTERVAL_MILLIS + " must be greater than 0");
+        }
+        graphId = store.getGraphId();
+        schemaJson = store.getSchema().toCompactJson();
+        properties = store.getProperties().getProperties();
+    }
+
+    public synchronized void initialise() {
+        if (null == store) {
+            store = Store.createStore(graphId, Schema.fromJson(schemaJson), StoreProperties.loadStoreProperties(properties));
+        }
+        if (null == schema) {
+            schema = store.getSchema();
+            aggregatedGroups = schema.getAggregatedGroups();
+            toKey = new AggregatorUtil.ToIngestElementKey(schema);
+            aggregator = new AggregatorUtil.IngestElementBinaryOperator(schema);
+            validator = new ElementValidator(schema);
+        }
+        if (null == aggregatedBuffer) {
+            aggregatedBuffer = new LinkedHashMap<>();
+            nonAggregatedBuffer = new ArrayList<>();
+            lastFlushTime = System.currentTimeMillis();
+        }
+        if (null == flushScheduler) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "GafferBatchAdder-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flushScheduler.scheduleWithFixedDelay(this::flushIfIntervalElapsed,
+                    flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Validates the element and adds it to the buffer, flushing the buffer to
+     * the store if it is full or the flush interval has elapsed.
+     *
+     * @param element the element to add
+     * @throws OperationException if the buffer was flushed and the elements could not be added to the store,
+     *                            or a previous scheduled flush failed
+     * @throws IllegalArgumentException if the element is not valid and invalid elements should not be skipped
+     */
+    public synchronized void add(final Element element) throws OperationException {
+        throwScheduledFlushFailure();
+        if (null == element) {
+            return;
+        }
+
+        initialise();
+        elementsReceived++;
+        if (validate && !validator.validate(element)) {
+            if (skipInvalid) {
+                return;
+            }
+            final ValidationResult result = validator.validateWithValidationResult(element);
+            throw new IllegalArgumentException("Element of type " + element + " is not valid."
+                    + (result.isValid() ? "" : " \n" + result.getErrorString()));
+        }
+
+        if (preAggregate && aggregatedGroups.contains(element.getGroup())) {
+            aggregatedBuffer.merge(toKey.apply(element), element, aggregator);
+        } else {
+            nonAggregatedBuffer.add(element);
+        }
+
+        if (getBufferSize() >= maxBatchSize
+                || System.currentTimeMillis() - lastFlushTime >= flushIntervalMillis) {
+            flush();
+        }
+    }
+
+    /**
+     * Synchronously adds all buffered elements to the store.
+     *
+     * @throws OperationException if the elements could not be added to the store,
+     *                            or a previous scheduled flush failed
+     */
+    public synchronized void flush() throws OperationException {
+        throwScheduledFlushFailure();
+        doFlush();
+    }
+
+    /**
+     * Stops the scheduled flush. Any buffered elements are not flushed, so
+     * {@link #flush()} should be called first.
+     */
+    public synchronized void close() {
+        if (null != flushScheduler) {
+            flushScheduler.shutdownNow();
+            flushScheduler = null;
+        }
+    }
+
+    private synchronized void flushIfIntervalElapsed() {
+        if (null != scheduledFlushFailure
+                || System.currentTimeMillis() - lastFlushTime < flushIntervalMillis) {
+            return;
+        }
+        try {
+            doFlush();
+        } catch (final Exception e) {
+            scheduledFlushFailure = e;
+        }
+    }
+
+    private void throwScheduledFlushFailure() throws OperationException {
+        final Exception failure = scheduledFlushFailure;
+        if (null != failure) {
+            scheduledFlushFailure = null;
+            throw new OperationException("Failed to add a scheduled batch of elements to the store: " + failure.getMessage(), failure);
+        }
+    }
+
+    private void doFlush() throws OperationException {
+        if (null == aggregatedBuffer) {
+            return;
+        }
+
+        final int size = getBufferSize();
+        final long startTime = System.currentTimeMillis();
+        if (size > 0) {
+            initialise();
+            final List<Element> batch = new ArrayList<>(size);
+            new ChainedIterable<Element>(aggregatedBuffer.values(), nonAggregatedBuffer).forEach(batch::add);
+            store.execute(new AddElements.Builder()
+                            .input(batch)
+                            .validate(false)
+                            .skipInvalidElements(skipInvalid)
+                            .build(),
+                    new Context(new User()));
+
+            // Only clear the buffer once the elements have been added, so a failed
+            // flush does not lose any elements before the job is restarted.
+            aggregatedBuffer.clear();
+            nonAggregatedBuffer.clear();
+            elementsWritten += size;
+            batchesWritten++;
+        }
+        lastFlushTime = System.currentTimeMillis();
+        lastFlushDurationMillis = lastFlushTime - startTime;
+    }
+
+    public synchronized int getBufferSize() {
+        return null == aggregatedBuffer ? 0 : aggregatedBuffer.size() + nonAggregatedBuffer.size();
+    }
+
+    public synchronized long getElementsReceived() {
+        return elementsReceived;
+    }
+
+    public synchronized long getElementsWritten() {
+        return elementsWritten;
+    }
+
+    public synchronized long getBatchesWritten() {
+        return batchesWritten;
+    }
+
+    public synchronized long getLastFlushDurationMillis() {
+        return lastFlushDurationMillis;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public boolean isPreAggregate() {
+        return preAggregate;
+    }
+}
@@ -30,6 +30,33 @@ public final class FlinkConstants {
      */
     public static final String MAX_QUEUE_SIZE = "gaffer.flink.operation.handler.max-queue-size";
 
+    /**
+     * Operation option key for adding elements to the Gaffer store using the
+     * checkpoint aware {@link uk.gov.gchq.gaffer.flink.operation.handler.BatchingGafferSink}
+     * rather than a single long running AddElements operation.
+     * This is false by default.
+     */
+    public static final String USE_BATCHING_SINK = "gaffer.flink.operation.handler.use-batching-sink";
+
+    /**
+     * Operation option key for setting the maximum number of elements
+     * buffered by each subtask of the batching sink before they are
+     * flushed to the Gaffer store.
+     */
+    public static final String MAX_BATCH_SIZE = "gaffer.flink.operation.handler.max-batch-size";
+
+    /**
+     * Operation option key for setting the maximum time in milliseconds
+     * between flushes of the batching sink.
+     */
+    public static final String FLUSH_INTERVAL_MILLIS = "gaffer.flink.operation.handler.flush-interval-millis";
+
+    /**
+     * Operation option key for pre-aggregating elements in the batching sink
+     * using the schema ingest aggregators. This is true by default.
+     */
+    public static final String PRE_AGGREGATE = "gaffer.flink.operation.handler.pre-aggregate";
+
     private FlinkConstants() {
         // private constructor to prevent users instantiating this class as it
         // only contains constants.
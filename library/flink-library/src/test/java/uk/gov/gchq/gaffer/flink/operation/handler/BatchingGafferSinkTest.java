@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class BatchingGafferSinkTest {
+    @Test
+    public void shouldDelegateInvokeToGafferBatchAdderAdd() throws Exception {
+        // Given
+        final GafferBatchAdder adder = mock(GafferBatchAdder.class);
+        final BatchingGafferSink sink = new BatchingGafferSink(adder);
+        final Element element = mock(Element.class);
+
+        // When
+        sink.invoke(element);
+
+        // Then
+        verify(adder).add(element);
+    }
+
+    @Test
+    public void shouldFlushGafferBatchAdderOnSnapshot() throws Exception {
+        // Given
+        final GafferBatchAdder adder = mock(GafferBatchAdder.class);
+        final BatchingGafferSink sink = new BatchingGafferSink(adder);
+
+        // When
+        sink.snapshotState(null);
+
+        // Then
+        verify(adder).flush();
+    }
+
+    @Test
+    public void shouldFlushAndCloseGafferBatchAdderOnClose() throws Exception {
+        // Given
+        final GafferBatchAdder adder = mock(GafferBatchAdder.class);
+        final BatchingGafferSink sink = new BatchingGafferSink(adder);
+
+        // When
+        sink.close();
+
+        // Then
+        final InOrder inOrder = inOrder(adder);
+        inOrder.verify(adder).flush();
+        inOrder.verify(adder).close();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.flink.operation.handler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class GafferBatchAdderTest {
+    private static final String AGGREGATED_GROUP = "aggregated";
+    private static final String NON_AGGREGATED_GROUP = "nonAggregated";
+
+    private AddElementsFromSocket op;
+    private Store store;
+
+    @BeforeEach
+    public void before() {
+        op = mock(AddElementsFromSocket.class);
+        store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(createSchema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.MAX_BATCH_SIZE)).willReturn("3");
+        given(op.getOption(FlinkConstants.FLUSH_INTERVAL_MILLIS)).willReturn(String.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldNotAddElementsUntilBatchIsFull() throws Exception {
+        // Given
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        // When
+        adder.add(createEntity(NON_AGGREGATED_GROUP, "1", 1));
+        adder.add(createEntity(NON_AGGREGATED_GROUP, "2", 1));
+
+        // Then
+        verify(store, never()).execute(Mockito.any(AddElements.class), Mockito.any());
+        assertEquals(2, adder.getBufferSize());
+    }
+
+    @Test
+    public void shouldAddBatchWhenFull() throws Exception {
+        // Given
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+        final List<Element> elements = Arrays.asList(
+                createEntity(NON_AGGREGATED_GROUP, "1", 1),
+                createEntity(NON_AGGREGATED_GROUP, "2", 1),
+                createEntity(NON_AGGREGATED_GROUP, "3", 1));
+
+        // When
+        for (final Element element : elements) {
+            adder.add(element);
+        }
+
+        // Then
+        verify(store).execute(Mockito.eq(new AddElements.Builder()
+                .input(elements)
+                .validate(false)
+                .skipInvalidElements(false)
+                .build()), Mockito.any());
+        assertEquals(0, adder.getBufferSize());
+        assertEquals(3, adder.getElementsWritten());
+        assertEquals(1, adder.getBatchesWritten());
+    }
+
+    @Test
+    public void shouldPreAggregateElementsBeforeFlushing() throws Exception {
+        // Given
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        // When
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 1));
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 2));
+        adder.add(createEntity(AGGREGATED_GROUP, "2", 1));
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 3));
+        adder.flush();
+
+        // Then
+        final ArgumentCaptor<AddElements> opCaptor = ArgumentCaptor.forClass(AddElements.class);
+        verify(store).execute(opCaptor.capture(), Mockito.any());
+        final List<Element> added = new ArrayList<>();
+        opCaptor.getValue().getInput().forEach(added::add);
+        assertEquals(Arrays.asList(
+                createEntity(AGGREGATED_GROUP, "1", 6),
+                createEntity(AGGREGATED_GROUP, "2", 1)), added);
+        assertEquals(4, adder.getElementsReceived());
+        assertEquals(2, adder.getElementsWritten());
+    }
+
+    @Test
+    public void shouldNotPreAggregateWhenDisabled() throws Exception {
+        // Given
+        given(op.getOption(FlinkConstants.PRE_AGGREGATE)).willReturn("false");
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        // When
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 1));
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 2));
+
+        // Then
+        assertEquals(2, adder.getBufferSize());
+    }
+
+    @Test
+    public void shouldKeepBufferedElementsIfFlushFails() throws Exception {
+        // Given
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+        willThrow(new OperationException("Store unavailable")).given(store).execute(Mockito.any(AddElements.class), Mockito.any());
+        adder.add(createEntity(NON_AGGREGATED_GROUP, "1", 1));
+
+        // When / Then
+        assertThrows(OperationException.class, adder::flush);
+        assertEquals(1, adder.getBufferSize());
+        assertEquals(0, adder.getElementsWritten());
+    }
+
+    @Test
+    public void shouldValidateElementsBeforePreAggregating() throws Exception {
+        // Given
+        given(op.isSkipInvalidElements()).willReturn(true);
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        // When
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 2));
+        adder.add(createEntity(AGGREGATED_GROUP, "1", -1));
+        adder.flush();
+
+        // Then
+        final ArgumentCaptor<AddElements> opCaptor = ArgumentCaptor.forClass(AddElements.class);
+        verify(store).execute(opCaptor.capture(), Mockito.any());
+        final List<Element> added = new ArrayList<>();
+        opCaptor.getValue().getInput().forEach(added::add);
+        assertEquals(Arrays.asList(createEntity(AGGREGATED_GROUP, "1", 2)), added);
+        assertEquals(2, adder.getElementsReceived());
+        assertEquals(1, adder.getElementsWritten());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenElementIsInvalid() throws Exception {
+        // Given
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+        adder.add(createEntity(AGGREGATED_GROUP, "1", 2));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> adder.add(createEntity(AGGREGATED_GROUP, "1", -1)));
+        assertEquals(1, adder.getBufferSize());
+    }
+
+    @Test
+    public void shouldFlushBufferWhenFlushIntervalElapsesWithoutNewElements() throws Exception {
+        // Given
+        given(op.getOption(FlinkConstants.FLUSH_INTERVAL_MILLIS)).willReturn("50");
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        try {
+            // When
+            adder.add(createEntity(NON_AGGREGATED_GROUP, "1", 1));
+
+            // Then
+            verify(store, timeout(5000)).execute(Mockito.any(AddElements.class), Mockito.any());
+            assertEquals(0, adder.getBufferSize());
+            assertEquals(1, adder.getBatchesWritten());
+        } finally {
+            adder.close();
+        }
+    }
+
+    @Test
+    public void shouldThrowScheduledFlushFailureFromNextAdd() throws Exception {
+        // Given
+        given(op.getOption(FlinkConstants.FLUSH_INTERVAL_MILLIS)).willReturn("50");
+        willThrow(new OperationException("Store unavailable")).given(store).execute(Mockito.any(AddElements.class), Mockito.any());
+        final GafferBatchAdder adder = new GafferBatchAdder(op, store);
+
+        try {
+            adder.add(createEntity(NON_AGGREGATED_GROUP, "1", 1));
+            verify(store, timeout(5000)).execute(Mockito.any(AddElements.class), Mockito.any());
+
+            // When / Then
+            assertThrows(OperationException.class, () -> adder.add(createEntity(NON_AGGREGATED_GROUP, "2", 1)));
+            assertEquals(1, adder.getBufferSize());
+        } finally {
+            adder.close();
+        }
+    }
+
+    private static Entity createEntity(final String group, final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property("count", count)
+                .build();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(AGGREGATED_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("count", "int")
+                        .build())
+                .entity(NON_AGGREGATED_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("count", "int")
+                        .aggregate(false)
+                        .build())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .validateFunctions(new IsMoreThan(0))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.datasketches.frequencies.function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yahoo.sketches.frequencies.ErrorType;
+import com.yahoo.sketches.frequencies.ItemsSketch;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Estimates the k most frequent items in the given iterable using an
+ * {@link ItemsSketch}, returning them most frequent first. This is an
+ * approximate alternative to the TopK operation for finding heavy hitters, for
+ * example the vertices that occur most often in a set of edges. The memory used
+ * is bounded by the maxMapSize of the sketch rather than the number of distinct
+ * items, so once there are more distinct items than the sketch can hold the
+ * returned items and their order are estimates.
+ */
+@Since("1.22.1")
+@Summary("Estimates the k most frequent items in the given iterable")
+public class IterableToFrequentItems extends KorypheFunction<Iterable<Object>, List<Object>> {
+    @JsonInclude(value = JsonInclude.Include.NON_DEFAULT)
+    private int k = 10;
+    @JsonInclude(value = JsonInclude.Include.NON_DEFAULT)
+    private int maxMapSize = 1024;
+
+    public IterableToFrequentItems() {
+    }
+
+    public IterableToFrequentItems(final int k) {
+        setK(k);
+    }
+
+    public IterableToFrequentItems(final int k, final int maxMapSize) {
+        setK(k);
+        setMaxMapSize(maxMapSize);
+    }
+
+    @Override
+    public List<Object> apply(final Iterable<Object> iterable) {
+        final ItemsSketch<Object> sketch = new ItemsSketch<>(maxMapSize);
+        if (nonNull(iterable)) {
+            for (final Object o : iterable) {
+                if (nonNull(o)) {
+                    sketch.update(o);
+                }
+            }
+        }
+        return Arrays.stream(sketch.getFrequentItems(0L, ErrorType.NO_FALSE_NEGATIVES))
+                .sorted(Comparator.comparingLong((ItemsSketch.Row<Object> row) -> row.getEstimate()).reversed())
+                .limit(k)
+                .map(ItemsSketch.Row::getItem)
+                .collect(Collectors.toList());
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public void setK(final int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        this.k = k;
+    }
+
+    public int getMaxMapSize() {
+        return maxMapSize;
+    }
+
+    /**
+     * @param maxMapSize the maximum number of items the sketch tracks, which
+     *                   must be a power of 2
+     */
+    public void setMaxMapSize(final int maxMapSize) {
+        if (maxMapSize < 1 || 0 != (maxMapSize & (maxMapSize - 1))) {
+            throw new IllegalArgumentException("maxMapSize must be a power of 2");
+        }
+        this.maxMapSize = maxMapSize;
+    }
+}
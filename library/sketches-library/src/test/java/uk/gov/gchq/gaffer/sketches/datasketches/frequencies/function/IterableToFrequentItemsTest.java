@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sketches.datasketches.frequencies.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.koryphe.function.FunctionTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IterableToFrequentItemsTest extends FunctionTest<IterableToFrequentItems> {
+
+    @Test
+    public void shouldReturnEmptyListWhenNull() {
+        // Given
+        final IterableToFrequentItems function = new IterableToFrequentItems();
+
+        // When
+        final List<Object> result = function.apply(null);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnMostFrequentItemsFirst() {
+        // Given
+        final IterableToFrequentItems function = new IterableToFrequentItems(2);
+        final List<Object> input = Arrays.asList("two", "one", "three", "one", null, "two", "one");
+
+        // When
+        final List<Object> result = function.apply(input);
+
+        // Then
+        assertEquals(Arrays.asList("one", "two"), result);
+    }
+
+    @Test
+    public void shouldFindHeavyHittersWhenThereAreMoreDistinctItemsThanTheSketchHolds() {
+        // Given
+        final IterableToFrequentItems function = new IterableToFrequentItems(2, 64);
+        final List<Object> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            input.add("item" + i);
+            if (0 == i % 2) {
+                input.add("heavy1");
+            }
+            if (0 == i % 4) {
+                input.add("heavy2");
+            }
+        }
+
+        // When
+        final List<Object> result = function.apply(input);
+
+        // Then
+        assertEquals(Arrays.asList("heavy1", "heavy2"), result);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenMaxMapSizeIsNotAPowerOf2() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new IterableToFrequentItems(2, 100));
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{Iterable.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{List.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final IterableToFrequentItems function = new IterableToFrequentItems(5, 64);
+
+        // When
+        final String json = new String(JSONSerialiser.serialise(function));
+        final IterableToFrequentItems deserialisedFunction = JSONSerialiser.deserialise(json, IterableToFrequentItems.class);
+
+        // Then
+        assertEquals(5, deserialisedFunction.getK());
+        assertEquals(64, deserialisedFunction.getMaxMapSize());
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.sketches.datasketches.frequencies.function.IterableToFrequentItems\",\"k\":5,\"maxMapSize\":64}", json);
+    }
+
+    @Override
+    protected IterableToFrequentItems getInstance() {
+        return new IterableToFrequentItems();
+    }
+
+    @Override
+    protected Iterable<IterableToFrequentItems> getDifferentInstancesOrNull() {
+        return null;
+    }
+}
@@ -20,13 +20,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.common.collect.Sets;
-import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.time.CommonTimeUtil.TimeBucket;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -64,8 +65,19 @@ public class LongTimeSeries implements TimeSeries<Long> {
             YEAR
     );
 
+    private static final int INITIAL_CAPACITY = 8;
+    private static final long[] EMPTY_ARRAY = new long[0];
+
     private final TimeBucket timeBucket;
-    private final SortedMap<Long, Long> timeSeries = new TreeMap<>();
+
+    /**
+     * The buckets are held as sorted parallel arrays rather than a map to avoid
+     * boxing every bucket and value. Only the first <code>size</code> entries
+     * are populated.
+     */
+    private long[] buckets = EMPTY_ARRAY;
+    private long[] values = EMPTY_ARRAY;
+    private int size;
 
     public LongTimeSeries(final TimeBucket timeBucket) {
         if (!VALID_TIME_BUCKETS.contains(timeBucket)) {
@@ -74,6 +86,22 @@ public class LongTimeSeries implements TimeSeries<Long> {
         this.timeBucket = timeBucket;
     }
 
+    /**
+     * Creates an empty time series with space for the given number of instants,
+     * e.g. when the size of the time series is known upfront during deserialisation.
+     *
+     * @param timeBucket      The time bucket to round instants to.
+     * @param initialCapacity The number of instants to allocate space for.
+     */
+    public LongTimeSeries(final TimeBucket timeBucket, final int initialCapacity) {
+        this(timeBucket);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        buckets = new long[initialCapacity];
+        values = new long[initialCapacity];
+    }
+
     @JsonCreator
     public LongTimeSeries(@JsonProperty("timeBucket") final TimeBucket timeBucket,
                           @JsonProperty("timeSeries") final Map<Instant, Long> timeSeries) {
@@ -87,12 +115,22 @@ public class LongTimeSeries implements TimeSeries<Long> {
      * previous value in that bucket.
      *
      * @param instant The instant at which the value was observed.
-     * @param value   The value observed at the instant.
+     * @param value   The value observed at the instant, which must not be null.
+     * @throws IllegalArgumentException if the value is null.
      */
     @Override
     public void put(final Instant instant, final Long value) {
+        if (null == value) {
+            throw new IllegalArgumentException("A LongTimeSeries cannot contain a null value, the value for "
+                    + instant + " was null");
+        }
         final long bucket = toLong(timeBucket, instant.toEpochMilli());
-        timeSeries.put(bucket, value);
+        final int index = indexOf(bucket);
+        if (index >= 0) {
+            values[index] = value;
+        } else {
+            insert(-index - 1, bucket, value);
+        }
     }
 
     /**
@@ -105,7 +143,8 @@ public class LongTimeSeries implements TimeSeries<Long> {
     @JsonIgnore
     @Override
     public Long get(final Instant instant) {
-        return timeSeries.get(toLong(timeBucket, instant.toEpochMilli()));
+        final int index = indexOf(toLong(timeBucket, instant.toEpochMilli()));
+        return index >= 0 ? values[index] : null;
     }
 
     /**
@@ -119,8 +158,86 @@ public class LongTimeSeries implements TimeSeries<Long> {
      * @param count   The value observed at the instant.
      */
     public void upsert(final Instant instant, final long count) {
-        final long bucket = toLong(timeBucket, instant.toEpochMilli());
-        timeSeries.merge(bucket, count, (x, y) -> x + y);
+        upsert(instant.toEpochMilli(), count);
+    }
+
+    /**
+     * Adds the given <code>count</code> to the current value associated to the
+     * given time in milliseconds since the epoch. This avoids creating an
+     * {@link Instant} and is constant time when the times are upserted in
+     * ascending order.
+     *
+     * @param epochMilli The time at which the value was observed.
+     * @param count      The value observed at the time.
+     * @see #upsert(Instant, long)
+     */
+    public void upsert(final long epochMilli, final long count) {
+        final long bucket = toLong(timeBucket, epochMilli);
+        if (0 == size || bucket > buckets[size - 1]) {
+            insert(size, bucket, count);
+            return;
+        }
+
+        final int index = indexOf(bucket);
+        if (index >= 0) {
+            values[index] += count;
+        } else {
+            insert(-index - 1, bucket, count);
+        }
+    }
+
+    /**
+     * Adds all the values in the given {@link LongTimeSeries} to this time series,
+     * summing the values in any buckets that are in both. As both time series are
+     * sorted this is done with a single linear merge.
+     *
+     * @param other The time series to merge into this one.
+     */
+    public void merge(final LongTimeSeries other) {
+        if (!timeBucket.equals(other.timeBucket)) {
+            throw new IllegalArgumentException("Can't merge two LongTimeSeries with different time buckets: "
+                    + timeBucket + " and " + other.timeBucket);
+        }
+        if (0 == other.size) {
+            return;
+        }
+        if (0 == size) {
+            buckets = Arrays.copyOf(other.buckets, other.size);
+            values = Arrays.copyOf(other.values, other.size);
+            size = other.size;
+            return;
+        }
+
+        final long[] mergedBuckets = new long[size + other.size];
+        final long[] mergedValues = new long[size + other.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.size) {
+            final long a = buckets[i];
+            final long b = other.buckets[j];
+            if (a < b) {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++];
+            } else if (a > b) {
+                mergedBuckets[k] = b;
+                mergedValues[k++] = other.values[j++];
+            } else {
+                mergedBuckets[k] = a;
+                mergedValues[k++] = values[i++] + other.values[j++];
+            }
+        }
+        while (i < size) {
+            mergedBuckets[k] = buckets[i];
+            mergedValues[k++] = values[i++];
+        }
+        while (j < other.size) {
+            mergedBuckets[k] = other.buckets[j];
+            mergedValues[k++] = other.values[j++];
+        }
+        buckets = mergedBuckets;
+        values = mergedValues;
+        size = k;
     }
 
     /**
@@ -131,11 +248,9 @@ public class LongTimeSeries implements TimeSeries<Long> {
     @JsonIgnore
     public SortedSet<Instant> getInstants() {
         final SortedSet<Instant> instants = new TreeSet<>();
-        timeSeries
-                .keySet()
-                .stream()
-                .map(l -> getInstantFromLong(timeBucket, l))
-                .forEach(instants::add);
+        for (int i = 0; i < size; i++) {
+            instants.add(getInstantFromLong(timeBucket, buckets[i]));
+        }
         return instants;
     }
 
@@ -146,7 +261,33 @@ public class LongTimeSeries implements TimeSeries<Long> {
      */
     @JsonIgnore
     public int getNumberOfInstants() {
-        return timeSeries.size();
+        return size;
+    }
+
+    /**
+     * Returns the time, in milliseconds since the epoch, of the instant at the
+     * given position in the time series. Instants are in ascending order.
+     *
+     * @param index The position of the instant, between 0 and
+     *              {@link #getNumberOfInstants()} - 1.
+     * @return The time of the instant in milliseconds since the epoch.
+     */
+    public long getEpochMilli(final int index) {
+        checkIndex(index);
+        return fromLong(timeBucket, buckets[index]);
+    }
+
+    /**
+     * Returns the value associated to the instant at the given position in the
+     * time series.
+     *
+     * @param index The position of the instant, between 0 and
+     *              {@link #getNumberOfInstants()} - 1.
+     * @return The value associated to the instant.
+     */
+    public long getValue(final int index) {
+        checkIndex(index);
+        return values[index];
     }
 
     /**
@@ -158,7 +299,9 @@ public class LongTimeSeries implements TimeSeries<Long> {
      */
     public SortedMap<Instant, Long> getTimeSeries() {
         final SortedMap<Instant, Long> map = new TreeMap<>();
-        timeSeries.forEach((k, v) -> map.put(getInstantFromLong(timeBucket, k), v));
+        for (int i = 0; i < size; i++) {
+            map.put(getInstantFromLong(timeBucket, buckets[i]), values[i]);
+        }
         return map;
     }
 
@@ -171,7 +314,9 @@ public class LongTimeSeries implements TimeSeries<Long> {
         if (null == timeBucket) {
             throw new IllegalArgumentException("timeBucket should be configured before setting a timeSeries");
         }
-        this.timeSeries.clear();
+        buckets = EMPTY_ARRAY;
+        values = EMPTY_ARRAY;
+        size = 0;
         if (null != timeSeries) {
             timeSeries.forEach(this::put);
         }
@@ -191,29 +336,65 @@ public class LongTimeSeries implements TimeSeries<Long> {
         }
 
         final LongTimeSeries that = (LongTimeSeries) obj;
-
-        return new EqualsBuilder()
-                .append(timeBucket, that.timeBucket)
-                .append(timeSeries, that.timeSeries)
-                .isEquals();
+        if (timeBucket != that.timeBucket || size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (buckets[i] != that.buckets[i] || values[i] != that.values[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder(21, 3)
-                .append(timeBucket)
-                .append(timeSeries)
-                .toHashCode();
+        final HashCodeBuilder builder = new HashCodeBuilder(21, 3)
+                .append(timeBucket);
+        for (int i = 0; i < size; i++) {
+            builder.append(buckets[i])
+                    .append(values[i]);
+        }
+        return builder.toHashCode();
     }
 
     @Override
     public String toString() {
+        final Map<Long, Long> timeSeries = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            timeSeries.put(buckets[i], values[i]);
+        }
         return new ToStringBuilder(this)
                 .append("timeBucket", timeBucket)
                 .append("timeSeries", timeSeries)
                 .build();
     }
 
+    private int indexOf(final long bucket) {
+        return Arrays.binarySearch(buckets, 0, size, bucket);
+    }
+
+    private void insert(final int index, final long bucket, final long value) {
+        if (size == buckets.length) {
+            final int newCapacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+            buckets = Arrays.copyOf(buckets, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        if (index < size) {
+            System.arraycopy(buckets, index, buckets, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        buckets[index] = bucket;
+        values[index] = value;
+        size++;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
     private static long toLong(final TimeBucket timeBucket, final long time) {
         final long timeTruncatedToBucket = CommonTimeUtil.timeToBucket(time, timeBucket);
         switch (timeBucket) {
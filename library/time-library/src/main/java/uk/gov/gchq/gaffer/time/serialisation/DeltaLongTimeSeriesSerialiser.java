@@ -26,9 +26,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.SortedMap;
 
 /**
  * Serialises a {@link LongTimeSeries} by writing out the deltas between
@@ -58,16 +55,15 @@ public class DeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTime
         final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         final DataOutputStream dos = new DataOutputStream(baos);
         final Mode mode = calculateMode(timeSeries);
-        final SortedMap<Instant, Long> timeseriesMap = timeSeries.getTimeSeries();
         try {
             dos.write(CompactRawSerialisationUtils.writeLong(timeSeries.getTimeBucket().ordinal()));
-            dos.write(CompactRawSerialisationUtils.writeLong(timeseriesMap.size()));
+            dos.write(CompactRawSerialisationUtils.writeLong(timeSeries.getNumberOfInstants()));
             boolean deltaMode = mode == Mode.DELTA;
             dos.writeBoolean(deltaMode);
             if (deltaMode) {
-                deltaSerialise(timeseriesMap, dos);
+                deltaSerialise(timeSeries, dos);
             } else {
-                defaultSerialise(timeseriesMap, dos);
+                defaultSerialise(timeSeries, dos);
             }
         } catch (final IOException e) {
             throw new SerialisationException("Exception writing serialised LongTimeSeries to ByteArrayOutputStream",
@@ -86,7 +82,7 @@ public class DeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTime
         final int bucketInt = (int) CompactRawSerialisationUtils.read(dis);
         final TimeBucket bucket = TimeBucket.values()[bucketInt];
         final int numEntries = (int) CompactRawSerialisationUtils.read(dis);
-        final LongTimeSeries timeSeries = new LongTimeSeries(bucket);
+        final LongTimeSeries timeSeries = new LongTimeSeries(bucket, numEntries);
         try {
             final boolean deltaMode = dis.readBoolean();
             if (deltaMode) {
@@ -124,14 +120,15 @@ public class DeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTime
         DELTA, LITERAL
     }
 
-    private void deltaSerialise(final SortedMap<Instant, Long> timeSeriesMap, final DataOutputStream dos) throws SerialisationException {
+    private void deltaSerialise(final LongTimeSeries timeSeries, final DataOutputStream dos) throws SerialisationException {
         long previousKey = 0L;
         long previousValue = 0L;
-        for (final Map.Entry<Instant, Long> entry : timeSeriesMap.entrySet()) {
-            final long currentKey = entry.getKey().toEpochMilli();
+        final int numEntries = timeSeries.getNumberOfInstants();
+        for (int i = 0; i < numEntries; i++) {
+            final long currentKey = timeSeries.getEpochMilli(i);
             CompactRawSerialisationUtils.write(currentKey - previousKey, dos);
             previousKey = currentKey;
-            final long currentValue = entry.getValue();
+            final long currentValue = timeSeries.getValue(i);
             CompactRawSerialisationUtils.write(currentValue - previousValue, dos);
             previousValue = currentValue;
         }
@@ -147,17 +144,18 @@ public class DeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTime
             final long time = currentKey + previousKey;
             final long currentValue = CompactRawSerialisationUtils.read(dis);
             final long value = currentValue + previousValue;
-            timeSeries.upsert(Instant.ofEpochMilli(time), value);
+            timeSeries.upsert(time, value);
             previousKey = time;
             previousValue = value;
         }
     }
 
-    private void defaultSerialise(final Map<Instant, Long> timeSeriesMap, final DataOutputStream dos) throws SerialisationException {
-        for (final Map.Entry<Instant, Long> entry : timeSeriesMap.entrySet()) {
-            final long currentKey = entry.getKey().toEpochMilli();
+    private void defaultSerialise(final LongTimeSeries timeSeries, final DataOutputStream dos) throws SerialisationException {
+        final int numEntries = timeSeries.getNumberOfInstants();
+        for (int i = 0; i < numEntries; i++) {
+            final long currentKey = timeSeries.getEpochMilli(i);
             CompactRawSerialisationUtils.write(currentKey, dos);
-            final long currentValue = entry.getValue();
+            final long currentValue = timeSeries.getValue(i);
             CompactRawSerialisationUtils.write(currentValue, dos);
         }
     }
@@ -168,20 +166,21 @@ public class DeltaLongTimeSeriesSerialiser implements ToBytesSerialiser<LongTime
         for (int i = 0; i < numEntries; i++) {
             final long currentKey = CompactRawSerialisationUtils.read(dis);
             final long currentValue = CompactRawSerialisationUtils.read(dis);
-            timeSeries.upsert(Instant.ofEpochMilli(currentKey), currentValue);
+            timeSeries.upsert(currentKey, currentValue);
         }
     }
 
     private static Mode calculateMode(final LongTimeSeries timeSeries) {
-        final boolean noneMatch = timeSeries
-                .getTimeSeries()
-                .entrySet()
-                .stream()
-                .noneMatch(e -> e.getKey().toEpochMilli() < -HALF_MAX_VALUE
-                        || e.getKey().toEpochMilli() > HALF_MAX_VALUE
-                        || e.getValue() < -HALF_MAX_VALUE
-                        || e.getValue() > HALF_MAX_VALUE);
-        return noneMatch ? Mode.DELTA : Mode.LITERAL;
+        final int numEntries = timeSeries.getNumberOfInstants();
+        for (int i = 0; i < numEntries; i++) {
+            final long key = timeSeries.getEpochMilli(i);
+            final long value = timeSeries.getValue(i);
+            if (key < -HALF_MAX_VALUE || key > HALF_MAX_VALUE
+                    || value < -HALF_MAX_VALUE || value > HALF_MAX_VALUE) {
+                return Mode.LITERAL;
+            }
+        }
+        return Mode.DELTA;
     }
 
     @Override
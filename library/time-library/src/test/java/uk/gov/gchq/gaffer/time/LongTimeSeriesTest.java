@@ -32,6 +32,7 @@ import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -53,6 +54,17 @@ public class LongTimeSeriesTest extends JSONSerialisationTest<LongTimeSeries> {
         assertEquals(100L, (long) timeSeries.get(instant2));
     }
 
+    @Test
+    public void testPutNullValueThrowsIllegalArgumentException() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        final Instant instant = Instant.ofEpochMilli(1000L * 60);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> timeSeries.put(instant, null));
+        assertEquals(0, timeSeries.getNumberOfInstants());
+    }
+
     @Test
     public void testUpsert() {
         // Given
@@ -67,6 +79,54 @@ public class LongTimeSeriesTest extends JSONSerialisationTest<LongTimeSeries> {
         assertEquals(300L, (long) timeSeries.get(instant));
     }
 
+    @Test
+    public void testUpsertOutOfOrder() {
+        // Given
+        final LongTimeSeries timeSeries = new LongTimeSeries(TimeBucket.MINUTE);
+        final Instant instant1 = Instant.ofEpochMilli(1000L * 60);
+        final Instant instant2 = Instant.ofEpochMilli(1000L * 60 * 2);
+        final Instant instant3 = Instant.ofEpochMilli(1000L * 60 * 3);
+
+        // When
+        timeSeries.upsert(instant3, 3L);
+        timeSeries.upsert(instant1, 1L);
+        timeSeries.upsert(instant2, 2L);
+        timeSeries.upsert(instant1, 10L);
+
+        // Then
+        assertEquals(3, timeSeries.getNumberOfInstants());
+        assertEquals(instant1.toEpochMilli(), timeSeries.getEpochMilli(0));
+        assertEquals(11L, timeSeries.getValue(0));
+        assertEquals(instant2.toEpochMilli(), timeSeries.getEpochMilli(1));
+        assertEquals(2L, timeSeries.getValue(1));
+        assertEquals(instant3.toEpochMilli(), timeSeries.getEpochMilli(2));
+        assertEquals(3L, timeSeries.getValue(2));
+    }
+
+    @Test
+    public void testMerge() {
+        // Given
+        final LongTimeSeries timeSeries1 = new LongTimeSeries(TimeBucket.MINUTE);
+        timeSeries1.upsert(Instant.ofEpochMilli(1000L * 60), 1L);
+        timeSeries1.upsert(Instant.ofEpochMilli(1000L * 60 * 3), 3L);
+        final LongTimeSeries timeSeries2 = new LongTimeSeries(TimeBucket.MINUTE);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L * 60 * 2), 2L);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L * 60 * 3), 30L);
+        timeSeries2.upsert(Instant.ofEpochMilli(1000L * 60 * 4), 4L);
+
+        // When
+        timeSeries1.merge(timeSeries2);
+
+        // Then
+        final LongTimeSeries expected = new LongTimeSeries(TimeBucket.MINUTE);
+        expected.put(Instant.ofEpochMilli(1000L * 60), 1L);
+        expected.put(Instant.ofEpochMilli(1000L * 60 * 2), 2L);
+        expected.put(Instant.ofEpochMilli(1000L * 60 * 3), 33L);
+        expected.put(Instant.ofEpochMilli(1000L * 60 * 4), 4L);
+        assertEquals(expected, timeSeries1);
+        assertEquals(expected.hashCode(), timeSeries1.hashCode());
+    }
+
     @Test
     public void testBucketAppliedCorrectly() {
         // Given
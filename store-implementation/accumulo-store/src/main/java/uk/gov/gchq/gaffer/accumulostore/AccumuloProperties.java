@@ -54,6 +54,9 @@ public class AccumuloProperties extends StoreProperties {
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
+    public static final String ENABLE_LAZY_PROPERTIES = "gaffer.store.accumulo.enable.lazy.properties";
+    public static final String MIN_SEEDS_PER_TABLET_FOR_FULL_SCAN = "accumulo.minSeedsPerTabletForFullScan";
+    public static final String BYTES_SCANNED_PER_SEEK = "accumulo.bytesScannedPerSeek";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
@@ -64,7 +67,10 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String MIN_SEEDS_PER_TABLET_FOR_FULL_SCAN_DEFAULT = "100000";
+    private static final String BYTES_SCANNED_PER_SEEK_DEFAULT = "1048576";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    public static final String ENABLE_LAZY_PROPERTIES_DEFAULT = "true";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -431,6 +437,70 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether retrievers should lazily deserialise
+     * element properties when the view only requires some of them.
+     *
+     * @return true if lazy properties should be enabled.
+     */
+    public boolean getEnableLazyProperties() {
+        return Boolean.parseBoolean(get(ENABLE_LAZY_PROPERTIES, ENABLE_LAZY_PROPERTIES_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether retrievers should lazily deserialise
+     * element properties when the view only requires some of them.
+     *
+     * @param enableLazyProperties true if lazy properties should be enabled.
+     */
+    public void setEnableLazyProperties(final boolean enableLazyProperties) {
+        set(ENABLE_LAZY_PROPERTIES, Boolean.toString(enableLazyProperties));
+    }
+
+    /**
+     * Gets the average number of seeds per tablet above which a query for a
+     * large set of seeds should scan the whole table with a bloom filter,
+     * rather than creating a range for each seed.
+     *
+     * @return the minimum number of seeds per tablet for a full table scan.
+     */
+    public long getMinSeedsPerTabletForFullScan() {
+        return Long.parseLong(get(MIN_SEEDS_PER_TABLET_FOR_FULL_SCAN, MIN_SEEDS_PER_TABLET_FOR_FULL_SCAN_DEFAULT));
+    }
+
+    /**
+     * Sets the average number of seeds per tablet above which a query for a
+     * large set of seeds should scan the whole table with a bloom filter,
+     * rather than creating a range for each seed.
+     *
+     * @param minSeedsPerTabletForFullScan the minimum number of seeds per tablet for a full table scan.
+     */
+    public void setMinSeedsPerTabletForFullScan(final String minSeedsPerTabletForFullScan) {
+        set(MIN_SEEDS_PER_TABLET_FOR_FULL_SCAN, minSeedsPerTabletForFullScan);
+    }
+
+    /**
+     * Gets the cost of seeking to a range on a tablet server, as the number of
+     * bytes that could be scanned sequentially in the same time. This is used
+     * to estimate whether a query for a large set of seeds should scan the
+     * whole table with a bloom filter, rather than creating a range for each seed.
+     *
+     * @return the number of bytes scanned in the time taken by a seek.
+     */
+    public long getBytesScannedPerSeek() {
+        return Long.parseLong(get(BYTES_SCANNED_PER_SEEK, BYTES_SCANNED_PER_SEEK_DEFAULT));
+    }
+
+    /**
+     * Sets the cost of seeking to a range on a tablet server, as the number of
+     * bytes that could be scanned sequentially in the same time.
+     *
+     * @param bytesScannedPerSeek the number of bytes scanned in the time taken by a seek.
+     */
+    public void setBytesScannedPerSeek(final String bytesScannedPerSeek) {
+        set(BYTES_SCANNED_PER_SEEK, bytesScannedPerSeek);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
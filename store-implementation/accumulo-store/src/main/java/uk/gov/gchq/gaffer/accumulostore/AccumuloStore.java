@@ -46,10 +46,12 @@ import uk.gov.gchq.gaffer.accumulostore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GenerateSplitPointsFromSampleHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAllElementsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementCountHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetGroupCountsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SampleElementsForSplitPointsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
@@ -93,8 +95,12 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.operation.GetElementCount;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.CountOperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.ScanPushDownOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -104,6 +110,7 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -183,6 +190,12 @@ public class AccumuloStore extends Store {
             super.initialise(graphId, schema, getProperties());
         }
 
+        // Add OperationChainOptimisers
+        addOperationChainOptimisers(Arrays.asList(
+                new CountOperationChainOptimiser(),
+                new ScanPushDownOperationChainOptimiser(
+                        AccumuloStoreConstants.OPERATION_SCAN_LIMIT, AccumuloStoreConstants.OPERATION_IDENTIFIERS_ONLY)));
+
         final String keyPackageClass = getProperties().getKeyPackageClass();
         try {
             this.keyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
@@ -379,6 +392,8 @@ public class AccumuloStore extends Store {
         addOperationHandler(GenerateSplitPointsFromSample.class, new GenerateSplitPointsFromSampleHandler());
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
+        addOperationHandler(GetElementCount.class, new GetElementCountHandler());
+        addOperationHandler(GetGroupCounts.class, new GetGroupCountsHandler());
 
         if (null == getSchema().getVertexSerialiser() || getSchema().getVertexSerialiser().preservesObjectOrdering()) {
             addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
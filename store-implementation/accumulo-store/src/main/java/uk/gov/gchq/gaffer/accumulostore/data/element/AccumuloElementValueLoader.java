@@ -68,7 +68,8 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
         } else if (name.equals(timestampProperty)) {
             props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
         } else {
-            props = elementConverter.getPropertiesFromValue(group, value);
+            // Only deserialise the requested property, skipping over the bytes of the others
+            return elementConverter.getPropertyFromValue(group, value, name);
         }
         lazyProperties.putAll(props);
         return props.get(name);
@@ -27,6 +27,8 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 
+import java.util.Set;
+
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
  * convert Gaffer {@link Element}s to Accumulo {@link Key}s and {@link Value}s
@@ -95,6 +97,40 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Converts an Accumulo {@link org.apache.accumulo.core.data.Value} to a
+     * {@link uk.gov.gchq.gaffer.data.element.Properties} object containing only
+     * the requested properties. Implementations should skip over the bytes of
+     * the other properties rather than deserialising them.
+     *
+     * @param group                   the element group
+     * @param value                   the Value containing the serialised properties
+     * @param propertiesToDeserialise the properties to deserialise, or null for all properties
+     * @return A set of {@link uk.gov.gchq.gaffer.data.element.Properties} containing the requested
+     * properties stored within the {@link Value}
+     */
+    default Properties getPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToDeserialise) {
+        final Properties properties = getPropertiesFromValue(group, value);
+        if (null != propertiesToDeserialise) {
+            properties.keepOnly(propertiesToDeserialise);
+        }
+        return properties;
+    }
+
+    /**
+     * Deserialises a single property from an Accumulo {@link org.apache.accumulo.core.data.Value}.
+     * Implementations should avoid deserialising any of the other properties
+     * stored in the value.
+     *
+     * @param group        the element group
+     * @param value        the Value containing the serialised properties
+     * @param propertyName the name of the property to deserialise
+     * @return the deserialised property, or null if the property is not stored in the value
+     */
+    default Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        return getPropertiesFromValue(group, value).get(propertyName);
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -126,6 +162,23 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex);
 
+    /**
+     * Returns an {@link Element} populated with the properties defined within
+     * the {@link Key} and the requested properties defined within the {@link Value}.
+     *
+     * @param key                     the accumulo Key containing serialised parts of the Element
+     * @param value                   the accumulo Value containing serialised properties of the Element
+     * @param includeMatchedVertex    if true then the matchedVertex field is set on Edges
+     * @param propertiesToDeserialise the properties to deserialise from the Value, or null for all properties
+     * @return Returns an {@link Element} populated with the properties defined within the {@link Key}
+     * and the requested properties defined within the {@link Value}
+     */
+    default Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex, final Set<String> propertiesToDeserialise) {
+        final Element element = getElementFromKey(key, includeMatchedVertex);
+        element.copyProperties(getPropertiesFromValue(element.getGroup(), value, propertiesToDeserialise));
+        return element;
+    }
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link uk.gov.gchq.gaffer.data.element.id.EntityId} ) with the Identifier
@@ -22,6 +22,7 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
 /**
@@ -46,6 +47,19 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will filter elements based on the
+     * membership of the first vertex in their row key in a given
+     * {@link org.apache.hadoop.util.bloom.BloomFilter}. This can be used to
+     * filter a full table scan down to the elements related to a set of seeds.
+     *
+     * @param filter the bloom filter
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking their row key for membership in a {@link BloomFilter}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getRowKeyBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on
@@ -141,6 +155,36 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getElementPropertyRangeQueryFilter(final GraphFilters operation);
 
+    /**
+     * Returns an Iterator that will stop returning results once the scan limit
+     * set in the operation options has been reached. May return null if
+     * no scan limit has been set on the operation.
+     *
+     * @param operation the operation
+     * @return A new {@link IteratorSetting} for an Iterator that will limit the number of results returned by each scanner
+     */
+    IteratorSetting getLimitIteratorSetting(final Operation operation);
+
+    /**
+     * Returns an Iterator that will remove the serialised properties from
+     * the Accumulo value, if the operation options specify that only the
+     * element identifiers are required. May return null if the properties
+     * are required.
+     *
+     * @param operation the operation
+     * @return A new {@link IteratorSetting} for an Iterator that will replace the values with empty values
+     */
+    IteratorSetting getEmptyValueIteratorSetting(final Operation operation);
+
+    /**
+     * Returns an Iterator that will count the elements in each group on the
+     * tablet servers and return a single key value pair containing the counts
+     * for each range.
+     *
+     * @return A new {@link IteratorSetting} for an Iterator that will count the elements in each group
+     */
+    IteratorSetting getGroupCountIteratorSetting();
+
     /**
      * Returns the iterator settings for a given iterator name. Allowed iterator
      * names are: Aggregator, Validator and Bloom_Filter.
@@ -139,7 +139,12 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value) {
-        final Properties properties = new Properties();
+        return getPropertiesFromValue(group, value, null);
+    }
+
+    @Override
+    public Properties getPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToDeserialise) {
+        final Properties properties = createProperties(group);
         if (isNotEmpty(value)) {
             final byte[] bytes = value.get();
             int delimiterPosition = 0;
@@ -150,7 +155,11 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 final String propertyName = propertyNames.next();
                 try {
                     if (isStoredInValue(propertyName, elementDefinition)) {
-                        delimiterPosition = addDeserialisedProperty(bytes, delimiterPosition, properties, elementDefinition, propertyName);
+                        if (null == propertiesToDeserialise || propertiesToDeserialise.contains(propertyName)) {
+                            delimiterPosition = addDeserialisedProperty(bytes, delimiterPosition, properties, elementDefinition, propertyName);
+                        } else {
+                            delimiterPosition = skipProperty(bytes, delimiterPosition, elementDefinition, propertyName);
+                        }
                     }
                 } catch (final SerialisationException e) {
                     throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
@@ -160,6 +169,30 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        if (isNotEmpty(value)) {
+            final byte[] bytes = value.get();
+            int delimiterPosition = 0;
+            final int arrayLength = bytes.length;
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (!elementDefinition.containsProperty(propertyName) || !isStoredInValue(propertyName, elementDefinition)) {
+                return null;
+            }
+            final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+            while (propertyNames.hasNext() && delimiterPosition < arrayLength) {
+                final String currentPropertyName = propertyNames.next();
+                if (isStoredInValue(currentPropertyName, elementDefinition)) {
+                    if (currentPropertyName.equals(propertyName)) {
+                        return getDeserialisedProperty(bytes, delimiterPosition, elementDefinition, propertyName);
+                    }
+                    delimiterPosition = skipProperty(bytes, delimiterPosition, elementDefinition, currentPropertyName);
+                }
+            }
+        }
+        return null;
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -172,8 +205,13 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex) {
+        return getFullElement(key, value, includeMatchedVertex, null);
+    }
+
+    @Override
+    public Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex, final Set<String> propertiesToDeserialise) {
         final Element element = getElementFromKey(key, includeMatchedVertex);
-        element.copyProperties(getPropertiesFromValue(element.getGroup(), value));
+        element.copyProperties(getPropertiesFromValue(element.getGroup(), value, propertiesToDeserialise));
         return element;
     }
 
@@ -268,6 +306,18 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return stream.toByteArray();
     }
 
+    /**
+     * Creates empty properties for an element of the group, storing the
+     * values of the properties in the schema by slot.
+     *
+     * @param group the group of the element
+     * @return new empty properties
+     */
+    protected Properties createProperties(final String group) {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        return null != elementDefinition ? elementDefinition.createProperties() : new Properties();
+    }
+
     private SchemaElementDefinition getSchemaElementDefinition(final String group) {
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
@@ -296,7 +346,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes) {
-        final Properties properties = new Properties();
+        final Properties properties = createProperties(group);
         if (null != bytes && bytes.length != 0) {
             int delimiterPosition = 0;
             final int arrayLength = bytes.length;
@@ -329,6 +379,30 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return rtn;
     }
 
+    private Object getDeserialisedProperty(final byte[] bytes, final int carriage, final SchemaElementDefinition elementDefinition, final String propertyName) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+        if (null == serialiser) {
+            return null;
+        }
+        final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[carriage]);
+        final int currentPropLength = getCurrentPropLength(bytes, carriage);
+        try {
+            return getDeserialisedObject(serialiser, bytes, carriage + numBytesForLength, currentPropLength);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+        }
+    }
+
+    private int skipProperty(final byte[] bytes, final int carriage, final SchemaElementDefinition elementDefinition, final String propertyName) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        if (null == typeDefinition || null == typeDefinition.getSerialiser()) {
+            return carriage;
+        }
+        final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[carriage]);
+        return carriage + numBytesForLength + getCurrentPropLength(bytes, carriage);
+    }
+
     @Override
     public BytesAndRange getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int numProps) {
         BytesAndRange rtn = new BytesAndRange(bytes, 0, 0);
@@ -467,7 +541,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         final String group = getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
         try {
             final Edge edge = new Edge(group, ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[0]),
-                    ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex, null);
+                    ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex, createProperties(group));
             addPropertiesToElement(edge, key);
             return edge;
         } catch (final SerialisationException e) {
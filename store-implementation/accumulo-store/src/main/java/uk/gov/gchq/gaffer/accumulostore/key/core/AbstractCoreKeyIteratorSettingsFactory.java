@@ -25,16 +25,21 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.RowKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.EmptyValueIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.GroupCountIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.LimitIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -54,6 +59,18 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getRowKeyBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException {
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, RowKeyBloomFilterIterator.class)
+                .bloomFilter(filter)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}",
+                RowKeyBloomFilterIterator.class.getName(),
+                AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_PRIORITY);
+        return is;
+    }
+
     @Override
     public IteratorSetting getElementPreAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
@@ -223,6 +240,53 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return false;
     }
 
+    @Override
+    public IteratorSetting getLimitIteratorSetting(final Operation operation) {
+        final String limit = operation.getOption(AccumuloStoreConstants.OPERATION_SCAN_LIMIT);
+        if (null == limit) {
+            LOGGER.debug("Returning null from getLimitIteratorSetting as the {} option has not been set",
+                    AccumuloStoreConstants.OPERATION_SCAN_LIMIT);
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.LIMIT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.LIMIT_ITERATOR_NAME, LimitIterator.class)
+                .option(AccumuloStoreConstants.LIMIT, limit)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, limit = {}",
+                LimitIterator.class.getName(),
+                AccumuloStoreConstants.LIMIT_ITERATOR_PRIORITY, limit);
+        return is;
+    }
+
+    @Override
+    public IteratorSetting getEmptyValueIteratorSetting(final Operation operation) {
+        if (!Boolean.parseBoolean(operation.getOption(AccumuloStoreConstants.OPERATION_IDENTIFIERS_ONLY))) {
+            LOGGER.debug("Returning null from getEmptyValueIteratorSetting as the {} option is not true",
+                    AccumuloStoreConstants.OPERATION_IDENTIFIERS_ONLY);
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.EMPTY_VALUE_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.EMPTY_VALUE_ITERATOR_NAME, EmptyValueIterator.class)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}",
+                EmptyValueIterator.class.getName(),
+                AccumuloStoreConstants.EMPTY_VALUE_ITERATOR_PRIORITY);
+        return is;
+    }
+
+    @Override
+    public IteratorSetting getGroupCountIteratorSetting() {
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.GROUP_COUNT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.GROUP_COUNT_ITERATOR_NAME, GroupCountIterator.class)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}",
+                GroupCountIterator.class.getName(),
+                AccumuloStoreConstants.GROUP_COUNT_ITERATOR_PRIORITY);
+        return is;
+    }
+
     @Override
     public IteratorSetting getIteratorSetting(final AccumuloStore store, final String iteratorName) throws IteratorSettingException {
         switch (iteratorName) {
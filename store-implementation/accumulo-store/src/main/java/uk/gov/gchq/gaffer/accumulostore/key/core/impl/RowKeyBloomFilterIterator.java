@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.util.bloom.BloomFilter;
+
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The RowKeyBloomFilterIterator filters out Entities and Edges based on the
+ * membership of the first vertex in their row key in the provided {@link BloomFilter}.
+ * Unlike the {@link CoreKeyBloomFilterIterator} this can be applied to a full
+ * table scan, as both Entities and Edges are tested against the filter.
+ */
+public class RowKeyBloomFilterIterator extends CoreKeyBloomFilterIterator {
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final byte[] row = key.getRowData().getBackingArray();
+        final int length = key.getRowData().length();
+        int pos = length;
+        for (int i = 0; i < length; i++) {
+            if (row[i] == ByteArrayEscapeUtils.DELIMITER) {
+                pos = i;
+                break;
+            }
+        }
+        return filter.membershipTest(new org.apache.hadoop.util.bloom.Key(Arrays.copyOfRange(row, 0, pos)));
+    }
+}
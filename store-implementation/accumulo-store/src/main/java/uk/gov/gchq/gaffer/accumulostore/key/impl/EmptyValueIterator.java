@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.util.Map;
+
+/**
+ * The EmptyValueIterator replaces the value of each key value pair with an
+ * empty value. This is used when only the element identifiers are required,
+ * so the properties serialised in the value are not sent to the client.
+ * Properties stored in the key, e.g. the group by properties, are not removed.
+ */
+public class EmptyValueIterator extends WrappingIterator implements OptionDescriber {
+    private static final Value EMPTY_VALUE = new Value(AccumuloStoreConstants.EMPTY_BYTES);
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final EmptyValueIterator copy = new EmptyValueIterator();
+        copy.setSource(getSource().deepCopy(env));
+        return copy;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return EMPTY_VALUE;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.EMPTY_VALUE_ITERATOR_NAME,
+                "Replaces the values with an empty value so only the keys are returned")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        return true;
+    }
+}
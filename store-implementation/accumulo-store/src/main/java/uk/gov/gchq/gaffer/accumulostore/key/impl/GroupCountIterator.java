@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The GroupCountIterator consumes all the key value pairs in the range it is
+ * seeked to and returns a single key value pair. The key is the last key in the
+ * range and the value contains the number of key value pairs for each group
+ * (column family). This must be the last iterator applied, so the counts
+ * reflect the filtering and aggregation done by the other iterators.
+ * The counts can be decoded on the client using
+ * {@link GroupCountsUtil#decodeCounts(byte[])}.
+ */
+public class GroupCountIterator extends WrappingIterator implements OptionDescriber {
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final GroupCountIterator copy = new GroupCountIterator();
+        copy.setSource(getSource().deepCopy(env));
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        countGroups();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        topValue = null;
+    }
+
+    private void countGroups() throws IOException {
+        topKey = null;
+        topValue = null;
+
+        final Map<String, Long> counts = new HashMap<>();
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        ByteSequence currentGroup = null;
+        long currentCount = 0;
+        Key lastKey = null;
+        while (source.hasTop()) {
+            final Key key = source.getTopKey();
+            final ByteSequence group = key.getColumnFamilyData();
+            if (!group.equals(currentGroup)) {
+                if (null != currentGroup) {
+                    counts.merge(StringUtil.toString(currentGroup.toArray()), currentCount, Long::sum);
+                }
+                // Copy the column family as the source may reuse the key
+                currentGroup = new ArrayByteSequence(group.toArray());
+                currentCount = 0;
+            }
+            currentCount++;
+            lastKey = new Key(key);
+            source.next();
+        }
+
+        if (null != lastKey) {
+            counts.merge(StringUtil.toString(currentGroup.toArray()), currentCount, Long::sum);
+            topKey = lastKey;
+            topValue = new Value(GroupCountsUtil.encodeCounts(counts));
+        }
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.GROUP_COUNT_ITERATOR_NAME,
+                "Returns the number of key value pairs in each column family")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        return true;
+    }
+}
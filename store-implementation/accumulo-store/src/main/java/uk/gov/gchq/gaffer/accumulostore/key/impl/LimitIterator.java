@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The LimitIterator stops returning key value pairs once the configured limit
+ * has been reached. The count is held by each instance of the iterator, which
+ * is applied per tablet, and starts again whenever Accumulo rebuilds the
+ * iterator stack, for example between batches of a scan. It therefore only
+ * reduces the number of key value pairs sent to the client, which must apply
+ * the limit to the combined results.
+ */
+public class LimitIterator extends WrappingIterator implements OptionDescriber {
+    private long limit = Long.MAX_VALUE;
+    private long count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source,
+                     final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        limit = Long.parseLong(options.get(AccumuloStoreConstants.LIMIT));
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final LimitIterator copy = new LimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.limit = limit;
+        return copy;
+    }
+
+    @Override
+    public boolean hasTop() {
+        return count < limit && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        count++;
+        super.next();
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.LIMIT_ITERATOR_NAME,
+                "Only returns up to the given number of key value pairs")
+                .addNamedOption(AccumuloStoreConstants.LIMIT, "The maximum number of key value pairs to return")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.LIMIT)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.LIMIT);
+        }
+        try {
+            if (Long.parseLong(options.get(AccumuloStoreConstants.LIMIT)) < 0) {
+                throw new IllegalArgumentException(AccumuloStoreConstants.LIMIT + " must not be negative");
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(AccumuloStoreConstants.LIMIT + " must be a number", e);
+        }
+        return true;
+    }
+}
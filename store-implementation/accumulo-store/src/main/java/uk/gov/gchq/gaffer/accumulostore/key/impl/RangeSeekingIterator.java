@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.commons.codec.binary.Base64;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RangeSeekingIterator only returns the key value pairs within a sorted list
+ * of ranges. When the scan range spans several of the ranges, the source is
+ * seeked to each range in turn, so the key value pairs between the ranges are
+ * skipped on the tablet server. This allows many small ranges to be read in key
+ * order by a single {@link org.apache.accumulo.core.client.Scanner} over the
+ * span of the ranges, rather than a round trip for each range.
+ */
+public class RangeSeekingIterator extends WrappingIterator implements OptionDescriber {
+    private List<Range> ranges = Collections.emptyList();
+    private List<Range> seekRanges = Collections.emptyList();
+    private Collection<ByteSequence> columnFamilies;
+    private boolean inclusive;
+    private int index;
+
+    /**
+     * Encodes the ranges so they can be set as the {@link AccumuloStoreConstants#RANGES}
+     * option of this iterator.
+     *
+     * @param ranges the sorted, non overlapping ranges
+     * @return the encoded ranges
+     * @throws IOException if the ranges could not be written
+     */
+    public static String encodeRanges(final List<Range> ranges) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeInt(ranges.size());
+            for (final Range range : ranges) {
+                range.write(out);
+            }
+        }
+        return Base64.encodeBase64String(baos.toByteArray());
+    }
+
+    public static List<Range> decodeRanges(final String encodedRanges) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.decodeBase64(encodedRanges)))) {
+            final int size = in.readInt();
+            final List<Range> ranges = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final Range range = new Range();
+                range.readFields(in);
+                ranges.add(range);
+            }
+            return ranges;
+        }
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source,
+                     final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        ranges = decodeRanges(options.get(AccumuloStoreConstants.RANGES));
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final RangeSeekingIterator copy = new RangeSeekingIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.ranges = ranges;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        this.columnFamilies = columnFamilies;
+        this.inclusive = inclusive;
+        seekRanges = new ArrayList<>();
+        for (final Range seekRange : ranges) {
+            final Range clipped = range.clip(seekRange, true);
+            if (null != clipped) {
+                seekRanges.add(clipped);
+            }
+        }
+        index = 0;
+        seekToNextRange();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return index < seekRanges.size() && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        if (!super.hasTop()) {
+            index++;
+            seekToNextRange();
+        }
+    }
+
+    private void seekToNextRange() throws IOException {
+        while (index < seekRanges.size()) {
+            super.seek(seekRanges.get(index), columnFamilies, inclusive);
+            if (super.hasTop()) {
+                return;
+            }
+            index++;
+        }
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RANGE_SEEKING_ITERATOR_NAME,
+                "Only returns the key value pairs within the given ranges, seeking between them")
+                .addNamedOption(AccumuloStoreConstants.RANGES, "The encoded, sorted and non overlapping ranges to return")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.RANGES)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.RANGES);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.GetElementCount;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+/**
+ * A {@code GetElementCountHandler} handles {@link GetElementCount} operations
+ * by counting the elements on the tablet servers.
+ */
+public class GetElementCountHandler implements OutputOperationHandler<GetElementCount, Long> {
+    @Override
+    public Long doOperation(final GetElementCount operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public Long doOperation(final GetElementCount operation, final User user, final AccumuloStore store) throws OperationException {
+        long count = 0L;
+        for (final Long groupCount : GetGroupCountsHandler.countGroups(operation.getOperation(), user, store).values()) {
+            count += groupCount;
+        }
+        return count;
+    }
+}
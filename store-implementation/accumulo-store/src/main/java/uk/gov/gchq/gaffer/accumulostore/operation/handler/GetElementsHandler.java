@@ -16,12 +16,27 @@
 
 package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.admin.DiskUsage;
+import org.apache.accumulo.core.client.admin.TableOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.SeedRetrievalStrategy;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloBloomFilterScanRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloElementsRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSortedSeedRetriever;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.SeedMatching;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -29,7 +44,39 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Handles {@link GetElements} operations for the {@link AccumuloStore}.
+ * <p>
+ * For collections of {@link EntityId} seeds the handler estimates whether it is
+ * cheaper to create a range for each seed, or to scan the whole table with a
+ * bloom filter of the seeds. Each range costs a seek on a tablet server, whereas
+ * the full scan costs a seek on each tablet and reading the whole table. The
+ * size of the table is taken from its disk usage and the cost of a seek from the
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#BYTES_SCANNED_PER_SEEK}
+ * store property. If the disk usage is not known, the average number of seeds
+ * per tablet is used instead. The seeds are only read up front if a bloom
+ * filter scan is chosen.
+ * <p>
+ * The strategy can be set using the {@value #SEED_RETRIEVAL_STRATEGY} operation
+ * option, to one of the {@link SeedRetrievalStrategy} values. If the seeds are
+ * sorted in row key order, the {@value #SEEDS_SORTED} operation option can be set
+ * to true, and then {@link SeedRetrievalStrategy#SORTED_MERGE_SCAN} is used
+ * instead of {@link SeedRetrievalStrategy#RANGE_SCAN} to return the elements in
+ * key order.
+ */
 public class GetElementsHandler implements OutputOperationHandler<GetElements, CloseableIterable<? extends Element>> {
+    public static final String SEED_RETRIEVAL_STRATEGY = "accumulostore.operation.seed_retrieval_strategy";
+    public static final String SEEDS_SORTED = "accumulostore.operation.seeds_sorted";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GetElementsHandler.class);
+
     @Override
     public CloseableIterable<? extends Element> doOperation(final GetElements operation,
                                                             final Context context, final Store store)
@@ -49,9 +96,164 @@ public class GetElementsHandler implements OutputOperationHandler<GetElements, C
         }
 
         try {
+            SeedRetrievalStrategy strategy = getSeedRetrievalStrategy(operation, store);
+            if (SeedRetrievalStrategy.BLOOM_FILTER_SCAN == strategy) {
+                final Set<Object> vertices = getBloomFilterVertices(operation);
+                if (null != vertices) {
+                    return new AccumuloBloomFilterScanRetriever(store, operation, user, vertices);
+                }
+                strategy = getSeedScanStrategy(operation);
+                LOGGER.warn("The {} strategy can only be used with EntityId seeds and related seed matching, using {}",
+                        SeedRetrievalStrategy.BLOOM_FILTER_SCAN, strategy);
+            }
+            if (SeedRetrievalStrategy.SORTED_MERGE_SCAN == strategy) {
+                return new AccumuloSortedSeedRetriever(store, operation, user);
+            }
             return new AccumuloElementsRetriever(store, operation, user);
         } catch (final IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
     }
+
+    /**
+     * Chooses a {@link SeedRetrievalStrategy} based on the average number of seeds
+     * in each tablet.
+     *
+     * @param numSeeds          the number of seeds
+     * @param numTablets        the number of tablets in the table
+     * @param minSeedsPerTablet the minimum average number of seeds per tablet for a full table scan
+     * @return the strategy to use to retrieve the elements
+     */
+    public static SeedRetrievalStrategy chooseSeedRetrievalStrategy(final long numSeeds, final int numTablets, final long minSeedsPerTablet) {
+        if (numSeeds >= minSeedsPerTablet * Math.max(1, numTablets)) {
+            return SeedRetrievalStrategy.BLOOM_FILTER_SCAN;
+        }
+        return SeedRetrievalStrategy.RANGE_SCAN;
+    }
+
+    /**
+     * Chooses a {@link SeedRetrievalStrategy} by comparing the estimated cost of
+     * seeking to a range for each seed with the cost of seeking to the start of
+     * each tablet and scanning the whole table.
+     *
+     * @param numSeeds       the number of seeds
+     * @param numTablets     the number of tablets in the table
+     * @param tableSizeBytes the size of the table in bytes
+     * @param bytesPerSeek   the number of bytes that can be scanned in the time taken by a seek
+     * @return the strategy to use to retrieve the elements
+     */
+    public static SeedRetrievalStrategy chooseSeedRetrievalStrategy(final long numSeeds, final int numTablets, final long tableSizeBytes, final long bytesPerSeek) {
+        final double rangeScanCost = (double) numSeeds * bytesPerSeek;
+        final double fullScanCost = (double) Math.max(1, numTablets) * bytesPerSeek + tableSizeBytes;
+        if (fullScanCost < rangeScanCost) {
+            return SeedRetrievalStrategy.BLOOM_FILTER_SCAN;
+        }
+        return SeedRetrievalStrategy.RANGE_SCAN;
+    }
+
+    private SeedRetrievalStrategy getSeedRetrievalStrategy(final GetElements operation, final AccumuloStore store) {
+        final SeedRetrievalStrategy requestedStrategy = getRequestedStrategy(operation);
+        if (SeedRetrievalStrategy.AUTO != requestedStrategy) {
+            LOGGER.info("Using requested seed retrieval strategy {}", requestedStrategy);
+            return requestedStrategy;
+        }
+
+        // Only collections can be counted without reading them
+        if (!(operation.getInput() instanceof Collection)
+                || SeedMatching.SeedMatchingType.EQUAL == operation.getSeedMatching()) {
+            return getSeedScanStrategy(operation);
+        }
+
+        final int numSeeds = ((Collection<?>) operation.getInput()).size();
+        final TableOperations tableOperations;
+        final int numTablets;
+        try {
+            tableOperations = store.getConnection().tableOperations();
+            numTablets = tableOperations.listSplits(store.getTableName()).size() + 1;
+        } catch (final TableNotFoundException | AccumuloSecurityException | StoreException | AccumuloException e) {
+            final SeedRetrievalStrategy strategy = getSeedScanStrategy(operation);
+            LOGGER.warn("Unable to get accumulo's split points, using {}", strategy, e);
+            return strategy;
+        }
+
+        final SeedRetrievalStrategy strategy;
+        long tableSizeBytes = 0;
+        if (numSeeds <= numTablets) {
+            // A full scan needs at least a seek on every tablet, so is never cheaper
+            strategy = SeedRetrievalStrategy.RANGE_SCAN;
+        } else {
+            tableSizeBytes = getTableSize(tableOperations, store.getTableName());
+            if (tableSizeBytes > 0) {
+                strategy = chooseSeedRetrievalStrategy(numSeeds, numTablets, tableSizeBytes,
+                        store.getProperties().getBytesScannedPerSeek());
+            } else {
+                // Data that has not been flushed is not included in the disk usage
+                strategy = chooseSeedRetrievalStrategy(numSeeds, numTablets,
+                        store.getProperties().getMinSeedsPerTabletForFullScan());
+            }
+        }
+        LOGGER.info("Estimated seed retrieval strategy {} for {} seeds over {} tablets of {} bytes",
+                strategy, numSeeds, numTablets, tableSizeBytes);
+        return SeedRetrievalStrategy.BLOOM_FILTER_SCAN == strategy ? strategy : getSeedScanStrategy(operation);
+    }
+
+    private SeedRetrievalStrategy getSeedScanStrategy(final GetElements operation) {
+        return Boolean.parseBoolean(operation.getOption(SEEDS_SORTED))
+                ? SeedRetrievalStrategy.SORTED_MERGE_SCAN
+                : SeedRetrievalStrategy.RANGE_SCAN;
+    }
+
+    private long getTableSize(final TableOperations tableOperations, final String tableName) {
+        try {
+            long size = 0;
+            for (final DiskUsage usage : tableOperations.getDiskUsage(Collections.singleton(tableName))) {
+                size += usage.getUsage();
+            }
+            return size;
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException | UnsupportedOperationException e) {
+            LOGGER.debug("Unable to get the disk usage of table {}", tableName, e);
+            return 0;
+        }
+    }
+
+    private SeedRetrievalStrategy getRequestedStrategy(final GetElements operation) {
+        final String option = operation.getOption(SEED_RETRIEVAL_STRATEGY);
+        if (null == option) {
+            return SeedRetrievalStrategy.AUTO;
+        }
+        try {
+            return SeedRetrievalStrategy.valueOf(option.toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + SEED_RETRIEVAL_STRATEGY + " option: " + option, e);
+        }
+    }
+
+    /**
+     * Reads the vertices of the seeds in a single pass, so they can be passed
+     * to the bloom filter scan without reading the input again.
+     *
+     * @param operation the operation
+     * @return the vertices of the seeds, or null if a bloom filter scan cannot
+     * be used
+     */
+    private Set<Object> getBloomFilterVertices(final GetElements operation) {
+        if (SeedMatching.SeedMatchingType.EQUAL == operation.getSeedMatching()) {
+            return null;
+        }
+
+        final Set<Object> vertices = new HashSet<>();
+        final Iterator<? extends ElementId> seeds = operation.getInput().iterator();
+        try {
+            while (seeds.hasNext()) {
+                final ElementId seed = seeds.next();
+                if (!(seed instanceof EntityId)) {
+                    return null;
+                }
+                vertices.add(((EntityId) seed).getVertex());
+            }
+        } finally {
+            CloseableUtil.close(seeds);
+        }
+        return vertices;
+    }
 }
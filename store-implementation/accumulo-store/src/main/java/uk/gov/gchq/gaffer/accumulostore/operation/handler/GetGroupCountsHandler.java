@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloItemRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloElementsRetriever;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Map;
+
+/**
+ * A {@code GetGroupCountsHandler} handles {@link GetGroupCounts} operations
+ * by counting the elements in each group on the tablet servers.
+ */
+public class GetGroupCountsHandler implements OutputOperationHandler<GetGroupCounts, GroupCounts> {
+    @Override
+    public GroupCounts doOperation(final GetGroupCounts operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public GroupCounts doOperation(final GetGroupCounts operation, final User user, final AccumuloStore store) throws OperationException {
+        return GroupCountsUtil.toGroupCounts(countGroups(operation.getOperation(), user, store), store.getSchema());
+    }
+
+    static Map<String, Long> countGroups(final Operation operation, final User user, final AccumuloStore store) throws OperationException {
+        final AccumuloItemRetriever<?, ?> retriever;
+        try {
+            if (operation instanceof GetElements) {
+                if (null == ((GetElements) operation).getInput()) {
+                    throw new OperationException("Operation input is undefined - please specify an input.");
+                }
+                retriever = new AccumuloElementsRetriever(store, (GetElements) operation, user);
+            } else if (operation instanceof GetAllElements) {
+                retriever = new AccumuloAllElementsRetriever(store, (GetAllElements) operation, user);
+            } else {
+                throw new OperationException("Elements can only be counted for GetElements and GetAllElements operations, not: "
+                        + (null != operation ? operation.getClass().getName() : null));
+            }
+        } catch (final IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to count elements", e);
+        }
+
+        try {
+            return retriever.countGroups();
+        } catch (final RetrieverException e) {
+            throw new OperationException("Failed to count elements", e);
+        }
+    }
+}
@@ -33,16 +33,19 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -71,13 +74,13 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
     public CloseableIterator<Element> iterator() {
         CloseableUtil.close(iterator);
 
-        final Iterator<? extends I_ITEM> idIterator = null != ids ? ids.iterator() : Collections.emptyIterator();
+        final Iterator<? extends I_ITEM> idIterator = getIdsIterator();
         if (!idIterator.hasNext()) {
             return new EmptyCloseableIterator<>();
         }
 
         try {
-            iterator = new ElementIterator(idIterator);
+            iterator = applyScanLimit(new ElementIterator(idIterator));
         } catch (final RetrieverException e) {
             LOGGER.error("{} returning empty iterator", e.getMessage(), e);
             return new EmptyCloseableIterator<>();
@@ -86,6 +89,59 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         return iterator;
     }
 
+    /**
+     * Counts the elements in each group using a
+     * {@link uk.gov.gchq.gaffer.accumulostore.key.impl.GroupCountIterator}, so
+     * the elements are counted on the tablet servers rather than being sent
+     * to the client. Transformations and post transformation filters in the
+     * view are not applied.
+     *
+     * @return the number of elements in each group
+     * @throws RetrieverException if the elements could not be counted
+     */
+    public Map<String, Long> countGroups() throws RetrieverException {
+        final Map<String, Long> counts = new HashMap<>();
+        final Iterator<? extends I_ITEM> idsIterator = getIdsIterator();
+        try {
+            while (idsIterator.hasNext()) {
+                int count = 0;
+                final Set<Range> ranges = new HashSet<>();
+                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                    count++;
+                    try {
+                        addToRanges(idsIterator.next(), ranges);
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+                if (ranges.isEmpty()) {
+                    continue;
+                }
+
+                final BatchScanner scanner = getScanner(ranges);
+                try {
+                    scanner.addScanIterator(iteratorSettingFactory.getGroupCountIteratorSetting());
+                    for (final Entry<Key, Value> entry : scanner) {
+                        GroupCountsUtil.decodeCounts(entry.getValue().get())
+                                .forEach((group, groupCount) -> counts.merge(group, groupCount, Long::sum));
+                    }
+                } finally {
+                    scanner.close();
+                }
+            }
+        } catch (final TableNotFoundException | StoreException | IOException e) {
+            throw new RetrieverException(e);
+        } finally {
+            CloseableUtil.close(idsIterator);
+        }
+
+        return counts;
+    }
+
+    protected Iterator<? extends I_ITEM> getIdsIterator() {
+        return null != ids ? ids.iterator() : Collections.emptyIterator();
+    }
+
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
     protected class ElementIterator implements CloseableIterator<Element> {
@@ -129,7 +185,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             while (scannerIterator.hasNext()) {
                 final Entry<Key, Value> entry = scannerIterator.next();
                 try {
-                    nextElm = elementConverter.getFullElement(
+                    nextElm = getElement(
                             entry.getKey(),
                             entry.getValue(),
                             includeMatchedVertex);
@@ -140,7 +196,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 }
                 doTransformation(nextElm);
                 if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
+                    nextElm = completeElement(nextElm);
                     return true;
                 } else {
                     nextElm = null;
@@ -18,28 +18,46 @@ package uk.gov.gchq.gaffer.accumulostore.retriever;
 
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.ScannerBase;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
+import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.LazyEdge;
+import uk.gov.gchq.gaffer.data.element.LazyEntity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.ProjectionUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
@@ -54,6 +72,8 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private final Map<String, Boolean> lazyGroups = new HashMap<>();
+    private final Map<String, Set<String>> requiredProperties;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -65,6 +85,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
         this.user = user;
+        this.requiredProperties = ProjectionUtil.getRequiredProperties(operation.getView(), store.getSchema());
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
                     user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
@@ -99,6 +120,124 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return true;
     }
 
+    /**
+     * Converts an Accumulo {@link Key} and {@link Value} into an {@link Element}.
+     * <p>
+     * Only the properties that are returned to the user, or are needed to apply
+     * the {@link View}, are deserialised from the {@link Value}.
+     * <p>
+     * If lazy properties are enabled and the {@link View} for the element's group
+     * has post transform filters or only returns some of the properties, then a
+     * {@link LazyEntity} or {@link LazyEdge} is returned. This only deserialises
+     * the identifiers and properties when they are first accessed, so elements
+     * that are filtered out, or properties that are removed, are never deserialised.
+     * The element must be passed to {@link #completeElement(Element)} before it is returned
+     * to the user.
+     *
+     * @param key                  the Accumulo key
+     * @param value                the Accumulo value
+     * @param includeMatchedVertex whether the matched vertex should be set on edges
+     * @return the element, which may be lazily loaded
+     */
+    protected Element getElement(final Key key, final Value value, final boolean includeMatchedVertex) {
+        final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        if (!isLazyGroup(group)) {
+            return elementConverter.getFullElement(key, value, includeMatchedVertex, requiredProperties.get(group));
+        }
+        return getLazyElement(group, key, value, includeMatchedVertex);
+    }
+
+    /**
+     * Creates a {@link LazyEntity} or {@link LazyEdge} that only deserialises
+     * the identifiers and properties from the Accumulo {@link Key} and {@link Value}
+     * when they are first accessed.
+     *
+     * @param group                the group of the element
+     * @param key                  the Accumulo key
+     * @param value                the Accumulo value
+     * @param includeMatchedVertex whether the matched vertex should be set on edges
+     * @return the lazily loaded element
+     */
+    protected Element getLazyElement(final String group, final Key key, final Value value, final boolean includeMatchedVertex) {
+        if (store.getSchema().isEntity(group)) {
+            return new LazyEntity(new Entity(group), new AccumuloEntityValueLoader(group, key, value, elementConverter, store.getSchema()));
+        }
+        return new LazyEdge(new Edge(group, null, null, false), new AccumuloEdgeValueLoader(group, key, value, elementConverter, store.getSchema(), includeMatchedVertex));
+    }
+
+    /**
+     * Loads the identifiers and any properties required by the {@link View} for
+     * an element created by {@link #getElement(Key, Value, boolean)} and then removes
+     * the properties that are not required by the {@link View}.
+     *
+     * @param element the element to complete
+     * @return the completed element with the properties required by the view
+     */
+    protected Element completeElement(final Element element) {
+        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        if (element instanceof LazyEntity || element instanceof LazyEdge) {
+            if (element instanceof LazyEntity) {
+                ((LazyEntity) element).getVertex();
+            } else {
+                ((LazyEdge) element).getSource();
+            }
+            final SchemaElementDefinition schemaDef = store.getSchema().getElement(element.getGroup());
+            if (null != schemaDef) {
+                for (final String propertyName : schemaDef.getProperties()) {
+                    if (isPropertyIncluded(viewDef, propertyName)) {
+                        element.getProperty(propertyName);
+                    }
+                }
+            }
+        }
+
+        final Element fullElement = element.getElement();
+        ViewUtil.removeProperties(viewDef, fullElement);
+        return fullElement;
+    }
+
+    private boolean isLazyGroup(final String group) {
+        return lazyGroups.computeIfAbsent(group, g -> {
+            if (!store.getProperties().getEnableLazyProperties()) {
+                return false;
+            }
+            final ViewElementDefinition viewDef = operation.getView().getElement(g);
+            return null != viewDef && (viewDef.hasPostTransformFilters() || !viewDef.isAllProperties());
+        });
+    }
+
+    private static boolean isPropertyIncluded(final ViewElementDefinition viewDef, final String propertyName) {
+        if (null == viewDef || viewDef.isAllProperties()) {
+            return true;
+        }
+        if (null != viewDef.getProperties()) {
+            return viewDef.getProperties().contains(propertyName);
+        }
+        return !viewDef.getExcludeProperties().contains(propertyName);
+    }
+
+    /**
+     * Limits the results to the {@link AccumuloStoreConstants#OPERATION_SCAN_LIMIT}
+     * option of the operation, if it is set. The
+     * {@link uk.gov.gchq.gaffer.accumulostore.key.impl.LimitIterator} only
+     * limits the results from each tablet, so the combined results must also be
+     * limited on the client.
+     *
+     * @param results the results to limit
+     * @return the limited results
+     */
+    protected CloseableIterator<O_ITEM> applyScanLimit(final CloseableIterator<O_ITEM> results) {
+        final String limit = operation.getOption(AccumuloStoreConstants.OPERATION_SCAN_LIMIT);
+        if (null == limit) {
+            return results;
+        }
+        final long limitValue = Long.parseLong(limit);
+        if (limitValue >= Integer.MAX_VALUE) {
+            return results;
+        }
+        return new LimitedCloseableIterator<>(results, 0, (int) limitValue);
+    }
+
     @Override
     public void close() {
         if (null != iterator) {
@@ -121,16 +260,37 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
                 authorisations, store.getProperties().getThreadsForBatchScanner());
         LOGGER.debug("Initialised BatchScanner on table {} with authorisations {} using {} threads",
                 store.getTableName(), authorisations, store.getProperties().getThreadsForBatchScanner());
+        configureScanner(scanner);
+        scanner.setRanges(ranges);
+        LOGGER.debug("Added {} ranges to BatchScanner", ranges.size());
+        return scanner;
+    }
+
+    /**
+     * Create a scanner that returns results in key order, to be used in your query.
+     * The range to scan must be set on the scanner before it is iterated over.
+     *
+     * @return A {@link org.apache.accumulo.core.client.Scanner} for the
+     * table specified in the properties.
+     * @throws TableNotFoundException if an accumulo table could not be found
+     * @throws StoreException         if a connection to accumulo could not be created.
+     */
+    protected Scanner getScanner() throws TableNotFoundException, StoreException {
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), authorisations);
+        LOGGER.debug("Initialised Scanner on table {} with authorisations {}", store.getTableName(), authorisations);
+        configureScanner(scanner);
+        return scanner;
+    }
+
+    private void configureScanner(final ScannerBase scanner) {
         if (null != iteratorSettings) {
             for (final IteratorSetting iteratorSetting : iteratorSettings) {
                 if (null != iteratorSetting) {
                     scanner.addScanIterator(iteratorSetting);
-                    LOGGER.debug("Added iterator to BatchScanner: {}", iteratorSetting);
+                    LOGGER.debug("Added iterator to scanner: {}", iteratorSetting);
                 }
             }
         }
-        scanner.setRanges(ranges);
-        LOGGER.debug("Added {} ranges to BatchScanner", ranges.size());
 
         for (final String col : operation.getView().getEdgeGroups()) {
             scanner.fetchColumnFamily(new Text(col));
@@ -140,7 +300,6 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
             scanner.fetchColumnFamily(new Text(col));
             LOGGER.debug("Added {} as a column family to fetch", col);
         }
-        return scanner;
     }
 
     protected void transform(final Element element, final ElementTransformer transformer) {
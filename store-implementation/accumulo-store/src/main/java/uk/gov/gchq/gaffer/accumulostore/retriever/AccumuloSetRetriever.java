@@ -305,7 +305,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 while (_hasNext()) {
                     final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
+                        nextElm = getElement(entry.getKey(), entry.getValue(), true);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
@@ -313,7 +313,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                     if (secondaryCheck(nextElm)) {
                         doTransformation(nextElm);
                         if (doPostFilter(nextElm)) {
-                            ViewUtil.removeProperties(operation.getView(), nextElm);
+                            nextElm = completeElement(nextElm);
                             return true;
                         }
                     }
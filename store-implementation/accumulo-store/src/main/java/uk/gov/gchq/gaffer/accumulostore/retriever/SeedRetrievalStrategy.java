@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+/**
+ * The strategies the {@link uk.gov.gchq.gaffer.accumulostore.AccumuloStore} can
+ * use to retrieve the elements related to a set of seeds.
+ */
+public enum SeedRetrievalStrategy {
+    /**
+     * Choose a strategy based on the estimated cost of scanning the seeds'
+     * ranges compared with scanning the whole table.
+     */
+    AUTO,
+
+    /**
+     * Create a range for each seed and scan the ranges in batches.
+     */
+    RANGE_SCAN,
+
+    /**
+     * Scan the whole table, filtering the elements on the tablet servers with
+     * a bloom filter of the seeds.
+     */
+    BLOOM_FILTER_SCAN,
+
+    /**
+     * Scan the range for each seed in turn with a single scanner, returning the
+     * elements in key order. The seeds must be sorted in the same order as the
+     * Accumulo row keys. This is chosen automatically instead of
+     * {@link #RANGE_SCAN} if the operation declares that its seeds are sorted.
+     */
+    SORTED_MERGE_SCAN
+}
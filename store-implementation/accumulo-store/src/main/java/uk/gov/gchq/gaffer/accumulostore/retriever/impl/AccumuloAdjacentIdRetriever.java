@@ -66,7 +66,9 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
-                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store));
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getLimitIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getEmptyValueIteratorSetting(operation));
         this.ids = operation.getInput();
         transformGroups = getGroupsWithTransforms(operation.getView());
     }
@@ -90,7 +92,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
         }
 
         try {
-            iterator = new EntityIdIterator(idIterator);
+            iterator = applyScanLimit(new EntityIdIterator(idIterator));
         } catch (final RetrieverException e) {
             LOGGER.error("{} returning empty iterator", e.getMessage(), e);
             return new EmptyCloseableIterator<>();
@@ -143,10 +145,10 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 if (transformGroups.contains(group)) {
                     final Element element;
                     try {
-                        element = elementConverter.getFullElement(
-                                entry.getKey(),
-                                entry.getValue(),
-                                true);
+                        // Only the identifiers are returned, so only deserialise the properties used by the view
+                        element = store.getProperties().getEnableLazyProperties()
+                                ? getLazyElement(group, entry.getKey(), entry.getValue(), true)
+                                : elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to re-create an element from a key value entry set returning next EntityId as null",
                                 e);
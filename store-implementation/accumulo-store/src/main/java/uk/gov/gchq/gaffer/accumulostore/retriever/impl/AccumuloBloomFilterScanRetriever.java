@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This allows queries for all data related to a large set of {@link EntityId}s.
+ * Rather than creating a range for each seed, the whole table is scanned and a
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.RowKeyBloomFilterIterator}
+ * is used on the tablet servers to skip elements that are not related to the seeds.
+ * Any false positives from the bloom filter are removed on the client.
+ * <p>
+ * This returns the same elements as the {@link AccumuloElementsRetriever} for
+ * {@link EntityId} seeds with {@link uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType#RELATED}
+ * seed matching, but is cheaper when there are a lot of seeds for each tablet.
+ */
+public class AccumuloBloomFilterScanRetriever extends AccumuloRetriever<GetElements, Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloBloomFilterScanRetriever.class);
+
+    private final Set<Object> vertices;
+
+    public AccumuloBloomFilterScanRetriever(final AccumuloStore store,
+                                            final GetElements operation,
+                                            final User user)
+            throws IteratorSettingException, StoreException {
+        this(store, operation, user, null);
+    }
+
+    /**
+     * @param store     the store to retrieve the elements from
+     * @param operation the operation
+     * @param user      the user executing the operation
+     * @param vertices  the vertices of the seeds, if they have already been read
+     *                  from the input, otherwise null
+     * @throws IteratorSettingException if the iterator settings could not be created
+     * @throws StoreException           if the store could not be accessed
+     */
+    public AccumuloBloomFilterScanRetriever(final AccumuloStore store,
+                                            final GetElements operation,
+                                            final User user,
+                                            final Set<Object> vertices)
+            throws IteratorSettingException, StoreException {
+        super(store, operation, user,
+                store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getLimitIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getEmptyValueIteratorSetting(operation));
+        this.vertices = vertices;
+    }
+
+    /**
+     * Only 1 iterator can be open at a time.
+     *
+     * @return a closeable iterator of items.
+     */
+    @Override
+    public CloseableIterator<Element> iterator() {
+        CloseableUtil.close(iterator);
+
+        final Set<Object> seedVertices = null != vertices ? vertices : extractVertices();
+        if (seedVertices.isEmpty()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        try {
+            iterator = applyScanLimit(new ElementIterator(seedVertices));
+        } catch (final RetrieverException e) {
+            LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        return iterator;
+    }
+
+    private Set<Object> extractVertices() {
+        final Set<Object> vertices = new HashSet<>();
+        if (null != operation.getInput()) {
+            final Iterator<? extends ElementId> seeds = operation.getInput().iterator();
+            try {
+                while (seeds.hasNext()) {
+                    vertices.add(((EntityId) seeds.next()).getVertex());
+                }
+            } finally {
+                CloseableUtil.close(seeds);
+            }
+        }
+        return vertices;
+    }
+
+    private class ElementIterator implements CloseableIterator<Element> {
+        private final Set<Object> vertices;
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> scannerIterator;
+        private Element nextElm;
+
+        ElementIterator(final Set<Object> vertices) throws RetrieverException {
+            this.vertices = vertices;
+            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            try {
+                for (final Object vertex : vertices) {
+                    filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
+                }
+            } catch (final AccumuloElementConversionException e) {
+                throw new RetrieverException("Failed to add identifier to the bloom key", e);
+            }
+
+            try {
+                scanner = getScanner(Collections.singleton(new Range()));
+                scanner.addScanIterator(iteratorSettingFactory.getRowKeyBloomFilterIteratorSetting(filter));
+            } catch (final Exception e) {
+                throw new RetrieverException(e);
+            }
+            scannerIterator = scanner.iterator();
+            LOGGER.debug("Scanning table {} with a bloom filter of {} seeds", store.getTableName(), vertices.size());
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextElm) {
+                return true;
+            }
+            while (scannerIterator.hasNext()) {
+                final Entry<Key, Value> entry = scannerIterator.next();
+                final Element element;
+                try {
+                    element = getElement(entry.getKey(), entry.getValue(), true);
+                } catch (final AccumuloElementConversionException e) {
+                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                            e);
+                    continue;
+                }
+                if (isRelatedToSeeds(element)) {
+                    doTransformation(element);
+                    if (doPostFilter(element)) {
+                        nextElm = completeElement(element);
+                        return true;
+                    }
+                }
+            }
+            scanner.close();
+            return false;
+        }
+
+        @Override
+        public Element next() {
+            if (null == nextElm) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+            }
+            final Element nextReturn = nextElm;
+            nextElm = null;
+            return nextReturn;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+        }
+
+        /**
+         * Removes the bloom filter false positives by checking the vertex the
+         * element was stored under is one of the seeds.
+         *
+         * @param element the element to check
+         * @return true if the element is related to one of the seeds
+         */
+        private boolean isRelatedToSeeds(final Element element) {
+            if (element instanceof Entity) {
+                return vertices.contains(element.getIdentifier(IdentifierType.VERTEX));
+            }
+            return vertices.contains(element.getIdentifier(IdentifierType.MATCHED_VERTEX));
+        }
+    }
+}
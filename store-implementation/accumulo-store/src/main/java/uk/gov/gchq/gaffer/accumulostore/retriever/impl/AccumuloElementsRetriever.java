@@ -33,6 +33,8 @@ public class AccumuloElementsRetriever extends AccumuloSingleIDRetriever<GetElem
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
-                store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                store.getKeyPackage().getIteratorFactory().getLimitIteratorSetting(operation),
+                store.getKeyPackage().getIteratorFactory().getEmptyValueIteratorSetting(operation));
     }
 }
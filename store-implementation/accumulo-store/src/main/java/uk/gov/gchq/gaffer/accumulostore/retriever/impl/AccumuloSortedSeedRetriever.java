@@ -0,0 +1,278 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.RangeSeekingIterator;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * This allows queries for all data related to a stream of {@link ElementId}s
+ * that are sorted in the same order as their Accumulo row keys.
+ * <p>
+ * Rather than a {@link org.apache.accumulo.core.client.BatchScanner}, a single
+ * {@link Scanner} is moved through the ranges in order. The seeds are read in
+ * batches of at most the store's maximum entries for a batch scanner; the ranges
+ * of each batch are sorted and merged, so repeated and overlapping ranges are
+ * only scanned once, and each batch is read by one scan over the span of its
+ * ranges, with a {@link RangeSeekingIterator} seeking between the ranges on the
+ * tablet servers. Ranges that overlap the ranges already scanned by the previous
+ * batch are trimmed.
+ * <p>
+ * The results are returned in key order, which allows them to be merged with
+ * other sorted streams without buffering, and only a batch of seeds is held in
+ * memory. If the seeds are not sorted then the same elements are returned,
+ * but not in key order, and overlaps between batches are not removed.
+ */
+public class AccumuloSortedSeedRetriever extends AccumuloElementsRetriever {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloSortedSeedRetriever.class);
+
+    public AccumuloSortedSeedRetriever(final AccumuloStore store,
+                                       final GetElements operation,
+                                       final User user)
+            throws IteratorSettingException, StoreException {
+        super(store, operation, user);
+    }
+
+    /**
+     * Only 1 iterator can be open at a time.
+     *
+     * @return a closeable iterator of items.
+     */
+    @Override
+    public CloseableIterator<Element> iterator() {
+        CloseableUtil.close(iterator);
+
+        final Iterator<? extends ElementId> idIterator = getIdsIterator();
+        if (!idIterator.hasNext()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        try {
+            iterator = new SortedElementIterator(idIterator);
+        } catch (final RetrieverException e) {
+            LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        return iterator;
+    }
+
+    private class SortedElementIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends ElementId> idsIterator;
+        private final Scanner scanner;
+        private Iterator<Entry<Key, Value>> scannerIterator = Collections.emptyIterator();
+        private Range previousRange;
+        private boolean isSorted = true;
+        private Element nextElm;
+
+        SortedElementIterator(final Iterator<? extends ElementId> idsIterator) throws RetrieverException {
+            this.idsIterator = idsIterator;
+            try {
+                scanner = getScanner();
+            } catch (final Exception e) {
+                CloseableUtil.close(idsIterator);
+                throw new RetrieverException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextElm) {
+                return true;
+            }
+            while (true) {
+                while (scannerIterator.hasNext()) {
+                    final Entry<Key, Value> entry = scannerIterator.next();
+                    final Element element;
+                    try {
+                        element = getElement(entry.getKey(), entry.getValue(), includeMatchedVertex);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                                e);
+                        continue;
+                    }
+                    doTransformation(element);
+                    if (doPostFilter(element)) {
+                        nextElm = completeElement(element);
+                        return true;
+                    }
+                }
+
+                final List<Range> ranges = getNextRanges();
+                if (ranges.isEmpty()) {
+                    close();
+                    return false;
+                }
+                scan(ranges);
+            }
+        }
+
+        @Override
+        public Element next() {
+            if (null == nextElm) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+            }
+            final Element nextReturn = nextElm;
+            nextElm = null;
+            return nextReturn;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+            CloseableUtil.close(idsIterator);
+        }
+
+        /**
+         * Scans the ranges of a batch. If there is more than one range, the
+         * scanner is set to the span of the ranges and the tablet servers seek
+         * between them.
+         *
+         * @param ranges the sorted, non overlapping ranges to scan
+         */
+        private void scan(final List<Range> ranges) {
+            scanner.removeScanIterator(AccumuloStoreConstants.RANGE_SEEKING_ITERATOR_NAME);
+            if (1 == ranges.size()) {
+                scanner.setRange(ranges.get(0));
+            } else {
+                final String encodedRanges;
+                try {
+                    encodedRanges = RangeSeekingIterator.encodeRanges(ranges);
+                } catch (final IOException e) {
+                    throw new GafferRuntimeException("Failed to encode the ranges to scan", e);
+                }
+                scanner.addScanIterator(new IteratorSettingBuilder(AccumuloStoreConstants.RANGE_SEEKING_ITERATOR_PRIORITY,
+                        AccumuloStoreConstants.RANGE_SEEKING_ITERATOR_NAME, RangeSeekingIterator.class)
+                        .option(AccumuloStoreConstants.RANGES, encodedRanges)
+                        .build());
+                final Range first = ranges.get(0);
+                final Range last = ranges.get(ranges.size() - 1);
+                scanner.setRange(new Range(first.getStartKey(), first.isStartKeyInclusive(),
+                        last.getEndKey(), last.isEndKeyInclusive()));
+            }
+            scannerIterator = scanner.iterator();
+        }
+
+        /**
+         * Gets the ranges for the next batch of seeds, sorted and merged so each
+         * key is only scanned once.
+         *
+         * @return the ranges to scan, or an empty list if there are no more seeds
+         */
+        private List<Range> getNextRanges() {
+            while (idsIterator.hasNext()) {
+                final List<Range> seedRanges = new ArrayList<>();
+                int count = 0;
+                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                    count++;
+                    try {
+                        seedRanges.addAll(rangeFactory.getRange(idsIterator.next(), operation));
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+                if (seedRanges.isEmpty()) {
+                    continue;
+                }
+
+                final List<Range> mergedRanges = Range.mergeOverlapping(seedRanges);
+                if (null != previousRange && isSorted && mergedRanges.get(0).compareTo(previousRange) < 0) {
+                    isSorted = false;
+                    LOGGER.warn("Seeds are not sorted in row key order, results will not be returned in key order");
+                }
+
+                final List<Range> ranges = new ArrayList<>(mergedRanges.size());
+                for (final Range range : mergedRanges) {
+                    final Range unscannedRange = removeScanned(range);
+                    if (null != unscannedRange) {
+                        ranges.add(unscannedRange);
+                    }
+                }
+                if (!ranges.isEmpty()) {
+                    previousRange = ranges.get(ranges.size() - 1);
+                    return ranges;
+                }
+            }
+            return Collections.emptyList();
+        }
+
+        /**
+         * Removes the part of a range that has already been scanned as part of
+         * the last range of the previous batch. Sorted seeds only overlap the
+         * previous batch at its last range.
+         *
+         * @param range the range to check
+         * @return the part of the range still to scan, or null if it has all been scanned
+         */
+        private Range removeScanned(final Range range) {
+            if (null == previousRange
+                    || range.compareTo(previousRange) < 0
+                    || null == previousRange.clip(range, true)) {
+                return range;
+            }
+
+            final Key scannedEnd = previousRange.getEndKey();
+            if (null == scannedEnd) {
+                return null;
+            }
+            if (null != range.getEndKey()) {
+                final int comparison = range.getEndKey().compareTo(scannedEnd);
+                if (comparison < 0 || (0 == comparison && (previousRange.isEndKeyInclusive() || !range.isEndKeyInclusive()))) {
+                    return null;
+                }
+            }
+            return new Range(scannedEnd, !previousRange.isEndKeyInclusive(), range.getEndKey(), range.isEndKeyInclusive());
+        }
+    }
+}
@@ -28,6 +28,10 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String LIMIT_ITERATOR_NAME = "Limit";
+    public static final String EMPTY_VALUE_ITERATOR_NAME = "Empty_Value";
+    public static final String GROUP_COUNT_ITERATOR_NAME = "Group_Count";
+    public static final String RANGE_SEEKING_ITERATOR_NAME = "Range_Seeking";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -58,6 +62,8 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String LIMIT = "Limit";
+    public static final String RANGES = "Ranges";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -65,6 +71,8 @@ public final class AccumuloStoreConstants {
     // Applied during major compactions, minor compactions and scans.
     public static final int VALIDATOR_ITERATOR_PRIORITY = 20;
     // Applied only during scans.
+    public static final int RANGE_SEEKING_ITERATOR_PRIORITY = 30;
+    // Applied only during scans.
     public static final int BLOOM_FILTER_ITERATOR_PRIORITY = 31;
     // Applied only during scans.
     public static final int RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_PRIORITY = 32;
@@ -78,9 +86,17 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans.
+    public static final int LIMIT_ITERATOR_PRIORITY = 38;
+    // Applied only during scans.
+    public static final int EMPTY_VALUE_ITERATOR_PRIORITY = 39;
+    // Applied only during scans. This must be the last iterator applied.
+    public static final int GROUP_COUNT_ITERATOR_PRIORITY = 40;
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
+    public static final String OPERATION_SCAN_LIMIT = "accumulostore.operation.scan_limit";
+    public static final String OPERATION_IDENTIFIERS_ONLY = "accumulostore.operation.identifiers_only";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
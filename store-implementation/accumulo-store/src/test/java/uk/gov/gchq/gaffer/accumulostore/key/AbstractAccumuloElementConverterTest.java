@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.accumulostore.key;
 
+import com.google.common.collect.Sets;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.junit.jupiter.api.BeforeEach;
@@ -290,6 +291,39 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldOnlyDeserialiseRequestedPropertiesFromValue() {
+        Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+        final Properties deSerialisedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, value,
+                Sets.newHashSet(AccumuloPropertyNames.PROP_3, AccumuloPropertyNames.COUNT));
+        assertEquals(2, deSerialisedProperties.size());
+        assertEquals(299, deSerialisedProperties.get(AccumuloPropertyNames.PROP_3));
+        assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldDeserialiseSinglePropertyFromValue() {
+        Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+        assertEquals(60, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_1));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_2));
+        assertEquals(10, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_4));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COUNT));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, "unknownProperty"));
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueWithNullProperty() {
         Properties properties = new Properties();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupCountIteratorTest {
+    @Test
+    public void shouldCountKeyValuePairsInEachColumnFamily() throws IOException {
+        // Given
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        data.put(new Key("a", TestGroups.ENTITY, "cq"), new Value());
+        data.put(new Key("a", TestGroups.EDGE, "cq1"), new Value());
+        data.put(new Key("a", TestGroups.EDGE, "cq2"), new Value());
+        data.put(new Key("b", TestGroups.ENTITY, "cq"), new Value());
+        data.put(new Key("c", TestGroups.EDGE, "cq"), new Value());
+        final GroupCountIterator iterator = createIterator(data);
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertTrue(iterator.hasTop());
+        assertEquals(new Key("c", TestGroups.EDGE, "cq"), iterator.getTopKey());
+        final Map<String, Long> expected = new HashMap<>();
+        expected.put(TestGroups.ENTITY, 2L);
+        expected.put(TestGroups.EDGE, 3L);
+        assertEquals(expected, GroupCountsUtil.decodeCounts(iterator.getTopValue().get()));
+
+        iterator.next();
+        assertFalse(iterator.hasTop());
+    }
+
+    @Test
+    public void shouldOnlyCountKeyValuePairsInTheSeekRange() throws IOException {
+        // Given
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        data.put(new Key("a", TestGroups.ENTITY, "cq"), new Value());
+        data.put(new Key("b", TestGroups.ENTITY, "cq"), new Value());
+        data.put(new Key("c", TestGroups.ENTITY, "cq"), new Value());
+        final GroupCountIterator iterator = createIterator(data);
+
+        // When
+        iterator.seek(new Range("b", "c"), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 2L), GroupCountsUtil.decodeCounts(iterator.getTopValue().get()));
+    }
+
+    @Test
+    public void shouldNotHaveTopWhenRangeIsEmpty() throws IOException {
+        // Given
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        data.put(new Key("a", TestGroups.ENTITY, "cq"), new Value());
+        final GroupCountIterator iterator = createIterator(data);
+
+        // When
+        iterator.seek(new Range("b", "c"), Collections.emptyList(), false);
+
+        // Then
+        assertFalse(iterator.hasTop());
+    }
+
+    private GroupCountIterator createIterator(final TreeMap<Key, Value> data) throws IOException {
+        final GroupCountIterator iterator = new GroupCountIterator();
+        iterator.init(new SortedMapIterator(data), Collections.emptyMap(), null);
+        return iterator;
+    }
+}
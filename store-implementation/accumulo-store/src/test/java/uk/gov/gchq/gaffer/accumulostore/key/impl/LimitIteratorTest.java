@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LimitIteratorTest {
+    private static final List<String> ROWS = Arrays.asList("a", "b", "c", "d", "e");
+
+    @Test
+    public void shouldOnlyReturnUpToTheLimit() throws IOException {
+        // Given
+        final LimitIterator iterator = createIterator("3");
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), getRows(iterator));
+    }
+
+    @Test
+    public void shouldReturnAllKeysWhenLimitIsLargerThanTheData() throws IOException {
+        // Given
+        final LimitIterator iterator = createIterator("10");
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(ROWS, getRows(iterator));
+    }
+
+    @Test
+    public void shouldReturnNothingWhenLimitIsZero() throws IOException {
+        // Given
+        final LimitIterator iterator = createIterator("0");
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Collections.emptyList(), getRows(iterator));
+    }
+
+    @Test
+    public void shouldKeepTheLimitWhenDeepCopied() throws IOException {
+        // Given
+        final LimitIterator iterator = createIterator("2");
+
+        // When
+        final SortedKeyValueIterator<Key, Value> copy = iterator.deepCopy(null);
+        copy.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b"), getRows(copy));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLimitIsNotSet() {
+        // Given
+        final LimitIterator iterator = new LimitIterator();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> iterator.validateOptions(new HashMap<>()))
+                .withMessageContaining(AccumuloStoreConstants.LIMIT);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLimitIsNegative() {
+        // Given
+        final LimitIterator iterator = new LimitIterator();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> iterator.validateOptions(Collections.singletonMap(AccumuloStoreConstants.LIMIT, "-1")))
+                .withMessageContaining("must not be negative");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLimitIsNotANumber() {
+        // Given
+        final LimitIterator iterator = new LimitIterator();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> iterator.validateOptions(Collections.singletonMap(AccumuloStoreConstants.LIMIT, "ten")))
+                .withMessageContaining("must be a number");
+    }
+
+    private LimitIterator createIterator(final String limit) throws IOException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String row : ROWS) {
+            data.put(new Key(row, "cf", "cq"), new Value(row.getBytes()));
+        }
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.LIMIT, limit);
+
+        final LimitIterator iterator = new LimitIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+
+    private List<String> getRows(final SortedKeyValueIterator<Key, Value> iterator) throws IOException {
+        final List<String> rows = new ArrayList<>();
+        while (iterator.hasTop()) {
+            rows.add(iterator.getTopKey().getRow().toString());
+            iterator.next();
+        }
+        return rows;
+    }
+}
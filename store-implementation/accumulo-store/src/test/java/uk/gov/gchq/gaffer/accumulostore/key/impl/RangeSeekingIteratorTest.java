@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RangeSeekingIteratorTest {
+    private static final List<String> ROWS = Arrays.asList("a", "b", "c", "d", "e", "f", "g");
+
+    @Test
+    public void shouldOnlyReturnKeysWithinTheRanges() throws IOException {
+        // Given
+        final RangeSeekingIterator iterator = createIterator(Arrays.asList(
+                new Range("b"), new Range("d", "e"), new Range("g")));
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Arrays.asList("b", "d", "e", "g"), getRows(iterator));
+    }
+
+    @Test
+    public void shouldClipTheRangesToTheSeekRange() throws IOException {
+        // Given
+        final RangeSeekingIterator iterator = createIterator(Arrays.asList(
+                new Range("a", "c"), new Range("e", "g")));
+
+        // When
+        iterator.seek(new Range("b", "e"), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Arrays.asList("b", "c", "e"), getRows(iterator));
+    }
+
+    @Test
+    public void shouldReturnNothingWhenSeekRangeIsBetweenTheRanges() throws IOException {
+        // Given
+        final RangeSeekingIterator iterator = createIterator(Arrays.asList(
+                new Range("a"), new Range("g")));
+
+        // When
+        iterator.seek(new Range("c", "e"), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(Collections.emptyList(), getRows(iterator));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeRanges() throws IOException {
+        // Given
+        final List<Range> ranges = Arrays.asList(new Range("a"), new Range("c", false, "e", true), new Range());
+
+        // When
+        final List<Range> decoded = RangeSeekingIterator.decodeRanges(RangeSeekingIterator.encodeRanges(ranges));
+
+        // Then
+        assertEquals(ranges, decoded);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenRangesAreNotSet() {
+        // Given
+        final RangeSeekingIterator iterator = new RangeSeekingIterator();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> iterator.validateOptions(new HashMap<>()))
+                .withMessageContaining(AccumuloStoreConstants.RANGES);
+    }
+
+    private RangeSeekingIterator createIterator(final List<Range> ranges) throws IOException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String row : ROWS) {
+            data.put(new Key(row, "cf", "cq"), new Value(row.getBytes()));
+        }
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RANGES, RangeSeekingIterator.encodeRanges(ranges));
+
+        final RangeSeekingIterator iterator = new RangeSeekingIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+
+    private List<String> getRows(final RangeSeekingIterator iterator) throws IOException {
+        final List<String> rows = new ArrayList<>();
+        while (iterator.hasTop()) {
+            rows.add(iterator.getTopKey().getRow().toString());
+            iterator.next();
+        }
+        return rows;
+    }
+}
@@ -18,12 +18,14 @@ package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.accumulostore.retriever.SeedRetrievalStrategy;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
@@ -70,4 +72,55 @@ public class GetElementsHandlerTest {
                 .isThrownBy(() -> handler.doOperation(op, new Context(), null))
                 .withMessageContaining("Operation input is undefined - please specify an input.");
     }
+
+    @Test
+    public void shouldThrowExceptionIfSeedRetrievalStrategyIsUnknown() {
+        // Given
+        final GetElementsHandler handler = new GetElementsHandler();
+        final GetElements op = new GetElements.Builder()
+                .input(mock(Iterable.class))
+                .option(GetElementsHandler.SEED_RETRIEVAL_STRATEGY, "unknown")
+                .build();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> handler.doOperation(op, new Context(), null))
+                .withMessageContaining(GetElementsHandler.SEED_RETRIEVAL_STRATEGY);
+    }
+
+    @Test
+    public void shouldChooseRangeScanForFewSeedsPerTablet() {
+        // When
+        final SeedRetrievalStrategy strategy = GetElementsHandler.chooseSeedRetrievalStrategy(1000, 10, 1000);
+
+        // Then
+        assertThat(strategy).isEqualTo(SeedRetrievalStrategy.RANGE_SCAN);
+    }
+
+    @Test
+    public void shouldChooseRangeScanWhenSeeksCostLessThanScanningTheTable() {
+        // When
+        final SeedRetrievalStrategy strategy = GetElementsHandler.chooseSeedRetrievalStrategy(1000, 10, 10_000_000_000L, 1_000_000L);
+
+        // Then
+        assertThat(strategy).isEqualTo(SeedRetrievalStrategy.RANGE_SCAN);
+    }
+
+    @Test
+    public void shouldChooseBloomFilterScanWhenScanningTheTableCostsLessThanSeeks() {
+        // When
+        final SeedRetrievalStrategy strategy = GetElementsHandler.chooseSeedRetrievalStrategy(100_000, 10, 10_000_000_000L, 1_000_000L);
+
+        // Then
+        assertThat(strategy).isEqualTo(SeedRetrievalStrategy.BLOOM_FILTER_SCAN);
+    }
+
+    @Test
+    public void shouldChooseBloomFilterScanForManySeedsPerTablet() {
+        // When
+        final SeedRetrievalStrategy strategy = GetElementsHandler.chooseSeedRetrievalStrategy(10000, 10, 1000);
+
+        // Then
+        assertThat(strategy).isEqualTo(SeedRetrievalStrategy.BLOOM_FILTER_SCAN);
+    }
 }
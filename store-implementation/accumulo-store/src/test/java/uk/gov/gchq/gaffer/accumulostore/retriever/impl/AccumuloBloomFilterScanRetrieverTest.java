@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccumuloBloomFilterScanRetrieverTest {
+
+    private static final int NUM_ENTRIES = 1000;
+    private static final AccumuloStore BYTE_ENTITY_STORE = new SingleUseMiniAccumuloStore();
+    private static final AccumuloStore GAFFER_1_KEY_STORE = new SingleUseMiniAccumuloStore();
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloBloomFilterScanRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloBloomFilterScanRetrieverTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloBloomFilterScanRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    @BeforeEach
+    public void reInitialise() throws Exception {
+        BYTE_ENTITY_STORE.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+        GAFFER_1_KEY_STORE.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(BYTE_ENTITY_STORE);
+        setupGraph(GAFFER_1_KEY_STORE);
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsRangeScanByteEntityStore() throws Exception {
+        shouldReturnSameElementsAsRangeScan(BYTE_ENTITY_STORE);
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsRangeScanGaffer1Store() throws Exception {
+        shouldReturnSameElementsAsRangeScan(GAFFER_1_KEY_STORE);
+    }
+
+    private void shouldReturnSameElementsAsRangeScan(final AccumuloStore store) throws Exception {
+        // Given
+        final List<EntityId> seeds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            seeds.add(new EntitySeed("" + i));
+        }
+        seeds.add(new EntitySeed("B"));
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .input(seeds)
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AccumuloBloomFilterScanRetriever(store, operation, new User()));
+
+        // Then
+        final List<Element> expected = Lists.newArrayList(new AccumuloElementsRetriever(store, operation, new User()));
+        assertThat(results).isNotEmpty().containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void shouldReturnNoElementsForUnknownSeeds() throws Exception {
+        // Given
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .input(new EntitySeed("unknown"))
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AccumuloBloomFilterScanRetriever(BYTE_ENTITY_STORE, operation, new User()));
+
+        // Then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    public void shouldApplyScanLimitToCombinedResults() throws Exception {
+        // Given
+        final List<EntityId> seeds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            seeds.add(new EntitySeed("" + i));
+        }
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .input(seeds)
+                .option(AccumuloStoreConstants.OPERATION_SCAN_LIMIT, "5")
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AccumuloBloomFilterScanRetriever(BYTE_ENTITY_STORE, operation, new User()));
+
+        // Then
+        assertThat(results).hasSize(5);
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("B")
+                    .directed(false)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("C")
+                    .directed(true)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccumuloSortedSeedRetrieverTest {
+
+    private static final int NUM_ENTRIES = 1000;
+    private static final AccumuloStore BYTE_ENTITY_STORE = new SingleUseMiniAccumuloStore();
+    private static final AccumuloStore GAFFER_1_KEY_STORE = new SingleUseMiniAccumuloStore();
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloSortedSeedRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloSortedSeedRetrieverTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloSortedSeedRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    @BeforeEach
+    public void reInitialise() throws Exception {
+        BYTE_ENTITY_STORE.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+        GAFFER_1_KEY_STORE.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+        setupGraph(BYTE_ENTITY_STORE);
+        setupGraph(GAFFER_1_KEY_STORE);
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsRangeScanInKeyOrderByteEntityStore() throws Exception {
+        shouldReturnSameElementsAsRangeScanInKeyOrder(BYTE_ENTITY_STORE);
+    }
+
+    @Test
+    public void shouldReturnSameElementsAsRangeScanInKeyOrderGaffer1Store() throws Exception {
+        shouldReturnSameElementsAsRangeScanInKeyOrder(GAFFER_1_KEY_STORE);
+    }
+
+    private void shouldReturnSameElementsAsRangeScanInKeyOrder(final AccumuloStore store) throws Exception {
+        // Given
+        final List<String> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add("" + i);
+        }
+        vertices.add("B");
+        Collections.sort(vertices);
+        final List<EntityId> seeds = new ArrayList<>();
+        for (final String vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .input(seeds)
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AccumuloSortedSeedRetriever(store, operation, new User()));
+
+        // Then
+        final List<Element> expected = Lists.newArrayList(new AccumuloElementsRetriever(store, operation, new User()));
+        assertThat(results).isNotEmpty().containsExactlyInAnyOrderElementsOf(expected);
+        final List<String> matchedVertices = new ArrayList<>();
+        for (final Element element : results) {
+            matchedVertices.add((String) (element instanceof Entity
+                    ? element.getIdentifier(IdentifierType.VERTEX)
+                    : element.getIdentifier(IdentifierType.MATCHED_VERTEX)));
+        }
+        assertThat(matchedVertices).isSorted();
+    }
+
+    @Test
+    public void shouldOnlyScanRepeatedSeedsOnce() throws Exception {
+        // Given
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .input(new EntitySeed("1"), new EntitySeed("1"), new EntitySeed("2"))
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new AccumuloSortedSeedRetriever(BYTE_ENTITY_STORE, operation, new User()));
+
+        // Then
+        assertThat(results).extracting(element -> ((Entity) element).getVertex()).containsExactly("1", "2");
+    }
+
+    @Test
+    public void shouldBeChosenAutomaticallyWhenSeedsAreDeclaredSorted() throws Exception {
+        // Given
+        final List<ElementId> seeds = Arrays.asList(new EntitySeed("1"), new EntitySeed("2"));
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .input(seeds::iterator)
+                .option(GetElementsHandler.SEEDS_SORTED, "true")
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = new GetElementsHandler().doOperation(operation, new User(), BYTE_ENTITY_STORE);
+
+        // Then
+        assertThat(results).isInstanceOf(AccumuloSortedSeedRetriever.class);
+        assertThat(Lists.newArrayList(results)).extracting(element -> ((Entity) element).getVertex()).containsExactly("1", "2");
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("B")
+                    .directed(false)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("C")
+                    .directed(true)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
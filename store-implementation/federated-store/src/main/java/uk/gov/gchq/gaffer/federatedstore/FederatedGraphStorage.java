@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.JsonUtil;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.federatedstore.exception.StorageException;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
@@ -48,11 +49,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -69,7 +72,22 @@ public class FederatedGraphStorage {
     public static final String ACCESS_IS_NULL = "Can not put graph into storage without a FederatedAccess key.";
     public static final String GRAPH_IDS_NOT_VISIBLE = "The following graphIds are not visible or do not exist: %s";
     public static final String UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS = "Unable to merge the schemas for all of your federated graphs: %s. You can limit which graphs to query for using the operation option: %s";
+    public static final int MERGED_SCHEMA_CACHE_MAX_SIZE = 100;
     private Map<FederatedAccess, Set<Graph>> storage = new HashMap<>();
+    /**
+     * Merged schemas keyed on whether the schemas are compact and the ordered
+     * graphIds they were merged from. The cache is cleared and the version
+     * incremented whenever a graph is added, removed or moved.
+     */
+    private final Map<Pair<Boolean, List<String>>, Schema> mergedSchemaCache = new LinkedHashMap<Pair<Boolean, List<String>>, Schema>(16, 0.75f, true) {
+        private static final long serialVersionUID = 2866232466592347014L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<Pair<Boolean, List<String>>, Schema> eldest) {
+            return size() > MERGED_SCHEMA_CACHE_MAX_SIZE;
+        }
+    };
+    private long mergedSchemaCacheVersion;
     private FederatedStoreCache federatedStoreCache = new FederatedStoreCache();
     private Boolean isCacheEnabled = false;
     private GraphLibrary graphLibrary;
@@ -132,6 +150,7 @@ public class FederatedGraphStorage {
                 } else {
                     existingGraphs.add(builtGraph);
                 }
+                invalidateMergedSchemaCache();
             } catch (final Exception e) {
                 throw new StorageException("Error adding graph " + graphId + " to storage due to: " + e.getMessage(), e);
             }
@@ -222,6 +241,9 @@ public class FederatedGraphStorage {
                             }
                         }
                         graphs.removeAll(remove);
+                        if (isRemoved) {
+                            invalidateMergedSchemaCache();
+                        }
                     }
                     return isRemoved;
                 })
@@ -268,28 +290,19 @@ public class FederatedGraphStorage {
         }
 
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(operation.getOptions());
-        final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            if (operation.isCompact()) {
-                final GetSchema getSchema = new GetSchema.Builder()
-                        .compact(true)
-                        .build();
-                graphs.forEach(g -> {
-                    try {
-                        schemaBuilder.merge(g.execute(getSchema, context));
-                    } catch (final OperationException e) {
-                        throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
-                    }
-                });
-            } else {
-                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
-            }
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(context.getUser(), graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + resultGraphIds + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
+        if (operation.isCompact()) {
+            final GetSchema getSchema = new GetSchema.Builder()
+                    .compact(true)
+                    .build();
+            return getMergedSchema(context.getUser(), graphIds, true, g -> {
+                try {
+                    return g.execute(getSchema, context);
+                } catch (final OperationException e) {
+                    throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
+                }
+            });
         }
-        return schemaBuilder.build();
+        return getMergedSchema(context.getUser(), graphIds, false, Graph::getSchema);
     }
 
     /**
@@ -312,16 +325,86 @@ public class FederatedGraphStorage {
             return new Schema();
         }
 
-        final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        final Stream<Graph> graphs = getStream(user, graphIds);
+        return getMergedSchema(user, FederatedStoreUtil.getGraphIds(config), false, Graph::getSchema);
+    }
+
+    /**
+     * Merges the schemas of the graphs visible to the user. The merged schema
+     * is cached against the visible graphIds, so the schemas are only merged
+     * again when the visible graphs change.
+     *
+     * @param user         the user to match visibility against.
+     * @param graphIds     the optional graphIds to merge the schemas for.
+     * @param compact      true if the schemas are the compact schemas.
+     * @param schemaGetter the function to get the schema from each graph.
+     * @return the merged schema of the visible graphs.
+     */
+    private Schema getMergedSchema(final User user, final List<String> graphIds, final boolean compact, final Function<Graph, Schema> schemaGetter) {
+        final long version;
+        final List<Graph> graphs;
+        final Pair<Boolean, List<String>> key;
+        synchronized (mergedSchemaCache) {
+            version = mergedSchemaCacheVersion;
+            graphs = getStream(user, graphIds).collect(Collectors.toList());
+            key = new Pair<>(compact, graphs.stream().map(Graph::getGraphId).collect(Collectors.toList()));
+            final Schema cachedSchema = mergedSchemaCache.get(key);
+            if (null != cachedSchema) {
+                return cachedSchema;
+            }
+        }
+        // The compact schema of a nested federated store depends on the user, so it can't be cached
+        final boolean cacheable = !compact || graphs.stream().noneMatch(this::isFederatedGraph);
+
         final Builder schemaBuilder = new Builder();
         try {
-            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+            graphs.forEach(g -> schemaBuilder.merge(schemaGetter.apply(g)));
         } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(user, graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
+            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, key.getSecond(), KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
+        }
+        final Schema schema = schemaBuilder.build();
+
+        synchronized (mergedSchemaCache) {
+            // Only cache the schema if no graphs have changed whilst it was being merged
+            if (cacheable && version == mergedSchemaCacheVersion) {
+                mergedSchemaCache.put(key, schema);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * @return the version of the stored graphs, which is incremented whenever a
+     * graph is added, removed or moved
+     */
+    public long getVersion() {
+        synchronized (mergedSchemaCache) {
+            return mergedSchemaCacheVersion;
+        }
+    }
+
+    /**
+     * @return true if any of the stored graphs are federated stores
+     */
+    public boolean hasFederatedGraphs() {
+        return storage.values().stream()
+                .flatMap(Set::stream)
+                .anyMatch(this::isFederatedGraph);
+    }
+
+    private boolean isFederatedGraph(final Graph graph) {
+        final String storeClass = graph.getStoreProperties().getStoreClass();
+        try {
+            return null != storeClass && FederatedStore.class.isAssignableFrom(Class.forName(storeClass));
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private void invalidateMergedSchemaCache() {
+        synchronized (mergedSchemaCache) {
+            mergedSchemaCacheVersion++;
+            mergedSchemaCache.clear();
         }
-        return schemaBuilder.build();
     }
 
     /**
@@ -563,6 +646,7 @@ public class FederatedGraphStorage {
                 entry.getValue().removeIf(graph -> graph.getGraphId().equals(graphId));
                 oldAccess = entry.getKey();
             }
+            invalidateMergedSchemaCache();
 
             //add the graph being moved.
             this.put(new GraphSerialisable.Builder().graph(graphToMove).build(), newFederatedAccess);
@@ -608,6 +692,7 @@ public class FederatedGraphStorage {
                     break;
                 }
             }
+            invalidateMergedSchemaCache();
 
             //Update Tables
             String storeClass = graphToMove.getStoreProperties().getStoreClass();
@@ -332,6 +332,19 @@ public class FederatedStore extends Store {
         return graphStorage.getSchema(config, user);
     }
 
+    /**
+     * The validation of an operation chain depends on the graphs in this
+     * store, so the version changes whenever a graph is added, removed or
+     * moved. Graphs in nested federated stores can change without this
+     * store knowing, so plans are not cached if there are any.
+     *
+     * @return the version of the graphs, or -1 if plans should not be cached
+     */
+    @Override
+    public long getOperationChainPlanVersion() {
+        return graphStorage.hasFederatedGraphs() ? -1 : graphStorage.getVersion();
+    }
+
     /**
      * @return the {@link uk.gov.gchq.gaffer.store.StoreTrait}s for this store.
      * @see Store#getTraits()
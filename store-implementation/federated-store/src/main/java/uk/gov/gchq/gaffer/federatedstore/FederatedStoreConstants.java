@@ -25,6 +25,10 @@ public final class FederatedStoreConstants {
     public static final String DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE = String.valueOf(false);
     public static final String DEFAULT_VALUE_IS_PUBLIC = String.valueOf(false);
     public static final String KEY_FEDERATION_ADMIN = "gaffer.federatedstore.operation.admin";
+    public static final String KEY_MERGE_RESULTS = "gaffer.federatedstore.operation.mergeResults";
+    public static final String DEFAULT_VALUE_MERGE_RESULTS = String.valueOf(false);
+    public static final String KEY_MERGE_MAX_BUFFER_SIZE = "gaffer.federatedstore.operation.mergeMaxBufferSize";
+    public static final String DEFAULT_VALUE_MERGE_MAX_BUFFER_SIZE = String.valueOf(100000);
 
     private FederatedStoreConstants() {
         // private constructor to prevent users instantiating this class as it
@@ -34,4 +38,17 @@ public final class FederatedStoreConstants {
     public static String getSkipFailedFederatedStoreExecute(final Operation op) {
         return op.getOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, DEFAULT_VALUE_KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE);
     }
+
+    public static boolean isMergeResults(final Operation op) {
+        return Boolean.parseBoolean(op.getOption(KEY_MERGE_RESULTS, DEFAULT_VALUE_MERGE_RESULTS));
+    }
+
+    public static int getMergeMaxBufferSize(final Operation op) {
+        return Integer.parseInt(op.getOption(KEY_MERGE_MAX_BUFFER_SIZE, DEFAULT_VALUE_MERGE_MAX_BUFFER_SIZE));
+    }
+
+    public static int getMergeMaxBufferSize(final Operation op, final int defaultMaxBufferSize) {
+        final String maxBufferSize = op.getOption(KEY_MERGE_MAX_BUFFER_SIZE);
+        return null != maxBufferSize ? Integer.parseInt(maxBufferSize) : defaultMaxBufferSize;
+    }
 }
@@ -43,7 +43,7 @@ public class FederatedAggregateHandler implements OutputOperationHandler<Aggrega
                                                    final Store store)
             throws OperationException {
         try {
-            return handler.doOperation(operation, ((FederatedStore) store).getSchema(operation, context));
+            return handler.doOperation(operation, ((FederatedStore) store).getSchema(operation, context), handler.getMaxInMemorySize(store));
         } catch (final SchemaException e) {
             throw new OperationException("Unable to get the merged schema for the federated store, add graphId to Aggregate operation using option: " + FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
         }
@@ -28,4 +28,8 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
  * @see uk.gov.gchq.gaffer.operation.impl.get.GetAllElements
  */
 public class FederatedGetAllElementsHandler extends FederatedOperationIterableHandler<GetAllElements, CloseableIterable<? extends Element>> {
+    @Override
+    protected boolean isMergeSupported() {
+        return true;
+    }
 }
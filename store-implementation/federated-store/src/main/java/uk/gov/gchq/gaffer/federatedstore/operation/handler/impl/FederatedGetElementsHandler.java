@@ -28,4 +28,8 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
  * @see uk.gov.gchq.gaffer.operation.impl.get.GetElements
  */
 public class FederatedGetElementsHandler extends FederatedOperationIterableHandler<GetElements, CloseableIterable<? extends Element>> {
+    @Override
+    protected boolean isMergeSupported() {
+        return true;
+    }
 }
@@ -19,17 +19,32 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedMergedElementIterable;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
+import java.util.Comparator;
 import java.util.List;
 
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getMergeMaxBufferSize;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.isMergeResults;
+
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
  * using a {@link ChainedIterable}.
+ * For handlers that support merging, setting the operation option
+ * {@value uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants#KEY_MERGE_RESULTS}
+ * to true aggregates the elements from each graph using a
+ * {@link FederatedMergedElementIterable} instead. The merge holds at most the
+ * store's {@link uk.gov.gchq.gaffer.store.StoreProperties#AGGREGATION_MAX_IN_MEMORY_SIZE}
+ * elements in memory, unless the operation option
+ * {@value uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants#KEY_MERGE_MAX_BUFFER_SIZE} is set.
  *
  * @see FederatedOperationOutputHandler
  */
@@ -40,7 +55,41 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
             return (O) new EmptyClosableIterable<>();
         }
 
+        if (isMergeSupported() && isMergeResults(operation)) {
+            return (O) new FederatedMergedElementIterable(
+                    (List) results,
+                    ((FederatedStore) store).getSchema(operation, context),
+                    ((GraphFilters) operation).getView(),
+                    getMergeMaxBufferSize(operation, store.getProperties().getAggregationMaxInMemorySize()),
+                    getMergeSortOrder(operation, context));
+        }
+
         // Concatenate all the results into 1 iterable
         return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
     }
+
+    /**
+     * Whether the results of this operation are elements that can be merged
+     * when the {@value uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants#KEY_MERGE_RESULTS}
+     * option is set. The operation must implement {@link GraphFilters}.
+     *
+     * @return true if the results can be merged
+     */
+    protected boolean isMergeSupported() {
+        return false;
+    }
+
+    /**
+     * The order the results of every sub-graph are returned in, if known. When
+     * an order is provided the results are merged as sorted streams, so each
+     * aggregated element is returned as soon as it is complete rather than once
+     * every sub-graph has been consumed.
+     *
+     * @param operation the operation being executed
+     * @param context   the operation context
+     * @return the order of the sub-graph results, or null if they are not sorted
+     */
+    protected Comparator<Element> getMergeSortOrder(final OP operation, final Context context) {
+        return null;
+    }
 }
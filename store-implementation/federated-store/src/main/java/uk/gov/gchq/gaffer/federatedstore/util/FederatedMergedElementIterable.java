@@ -0,0 +1,587 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.SpillSerialiser;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.ParallelTasks;
+import uk.gov.gchq.gaffer.store.util.StreamingElementAggregator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ * A {@code FederatedMergedElementIterable} merges the results of an operation
+ * executed on several sub-graphs, so elements returned by more than one graph
+ * are aggregated into a single element rather than being returned twice.
+ * </p>
+ * <p>
+ * The sub-graph results are read concurrently, in batches, using
+ * {@link ParallelTasks}, and the elements are combined using the same query
+ * time grouping and aggregation as
+ * {@link AggregatorUtil#queryAggregate(Iterable, Schema, View)}.
+ * Elements in groups that are not aggregated are returned as soon as they
+ * are received. Aggregated elements can only be returned once every sub-graph
+ * has been consumed, so they are held in a buffer of at most maxBufferSize
+ * elements. When the buffer is full its contents are spilled to temporary
+ * files, partitioned on the element key and serialised with a
+ * {@link SpillSerialiser}. Once all the sub-graphs have been consumed each
+ * partition is aggregated separately with a {@link StreamingElementAggregator},
+ * which sorts the partition on disk if it is too large to aggregate in memory.
+ * </p>
+ * <p>
+ * If every sub-graph returns its results in a known sort order, that order can
+ * be provided and the results are merged as a sorted stream instead. Each
+ * aggregated element is then returned as soon as the next element from every
+ * sub-graph sorts after it, so only the elements that compare equal under the
+ * sort order are held in memory. The sort order must compare elements with the
+ * same group and group-by key as equal, e.g. by comparing their group and
+ * identifiers, and a {@link GafferRuntimeException} is thrown if a sub-graph's
+ * results are found to be out of order.
+ * </p>
+ */
+public class FederatedMergedElementIterable implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FederatedMergedElementIterable.class);
+    private static final int SPILL_PARTITIONS = 16;
+    private static final int BATCH_SIZE = 1000;
+
+    private final List<? extends Iterable<? extends Element>> results;
+    private final Schema schema;
+    private final View view;
+    private final int maxBufferSize;
+    private final Comparator<Element> sortOrder;
+    private final List<CloseableIterator<Element>> iterators = new ArrayList<>();
+
+    public FederatedMergedElementIterable(final List<? extends Iterable<? extends Element>> results, final Schema schema, final View view, final int maxBufferSize) {
+        this(results, schema, view, maxBufferSize, null);
+    }
+
+    public FederatedMergedElementIterable(final List<? extends Iterable<? extends Element>> results, final Schema schema, final View view, final int maxBufferSize, final Comparator<Element> sortOrder) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (maxBufferSize < 1) {
+            throw new IllegalArgumentException("Max buffer size must be greater than 0");
+        }
+        this.results = null != results ? results : Collections.emptyList();
+        this.schema = schema;
+        this.view = createMergeView(view, schema);
+        this.maxBufferSize = maxBufferSize;
+        this.sortOrder = sortOrder;
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        final CloseableIterator<Element> iterator = null != sortOrder ? new SortedMergedElementIterator() : new MergedElementIterator();
+        synchronized (iterators) {
+            iterators.add(iterator);
+        }
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        synchronized (iterators) {
+            for (final CloseableIterator<Element> iterator : iterators) {
+                iterator.close();
+            }
+            iterators.clear();
+        }
+        for (final Iterable<? extends Element> result : results) {
+            CloseableUtil.close(result);
+        }
+    }
+
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    public Comparator<Element> getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * The aggregators need a view definition for every group, so any schema
+     * groups missing from the view are added with their default definition.
+     *
+     * @param view   the operation view, may be null
+     * @param schema the merged schema
+     * @return a view containing all the schema groups
+     */
+    private static View createMergeView(final View view, final Schema schema) {
+        final View expandedView = new View.Builder()
+                .merge(view)
+                .expandGlobalDefinitions()
+                .build();
+        final View.Builder builder = new View.Builder().merge(expandedView);
+        for (final String group : schema.getEntityGroups()) {
+            if (!expandedView.getEntityGroups().contains(group)) {
+                builder.entity(group);
+            }
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            if (!expandedView.getEdgeGroups().contains(group)) {
+                builder.edge(group);
+            }
+        }
+        return builder.build();
+    }
+
+    private final class MergedElementIterator implements CloseableIterator<Element> {
+        private final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        private final AggregatorUtil.ToQueryElementKey toKey = new AggregatorUtil.ToQueryElementKey(schema, view);
+        private final AggregatorUtil.QueryElementBinaryOperator aggregator = new AggregatorUtil.QueryElementBinaryOperator(schema, view);
+        private final Map<Element, Element> buffer = new HashMap<>();
+        private final SpillSerialiser serialiser = new SpillSerialiser(schema);
+        private final List<Source> sources = new ArrayList<>();
+        private final ParallelTasks<Source> producers;
+
+        private Iterator<Element> batch;
+        private Path[] spillFiles;
+        private DataOutputStream[] spillStreams;
+        private int nextPartition;
+        private CloseableIterable<Element> partition;
+        private boolean consumed;
+        private Iterator<Element> pending;
+        private Element next;
+        private boolean closed;
+
+        private MergedElementIterator() {
+            producers = new ParallelTasks<>(Math.max(1, results.size()), false);
+            for (final Iterable<? extends Element> result : results) {
+                final Source source = new Source(result);
+                sources.add(source);
+                producers.submit(source);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            while (null == next) {
+                if (null != pending && pending.hasNext()) {
+                    next = pending.next();
+                } else if (null != batch && batch.hasNext()) {
+                    consume(batch.next());
+                } else if (!producers.isEmpty()) {
+                    batch = takeBatch();
+                } else if (!consumed) {
+                    consumed = true;
+                    if (null == spillFiles) {
+                        pending = buffer.values().iterator();
+                    } else {
+                        spill();
+                        closeSpillStreams();
+                    }
+                } else if (null != spillFiles && nextPartition < SPILL_PARTITIONS) {
+                    pending = readPartition(nextPartition++);
+                } else {
+                    close();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                producers.close();
+                sources.forEach(Source::close);
+                buffer.clear();
+                batch = null;
+                pending = null;
+                CloseableUtil.close(partition);
+                closeSpillStreams();
+                deleteSpillFiles();
+            }
+        }
+
+        /**
+         * Takes the next batch read from any of the sub-graphs, then reads the
+         * following batch from the same sub-graph in the background.
+         */
+        private Iterator<Element> takeBatch() {
+            final Source source;
+            try {
+                source = producers.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new GafferRuntimeException("Interrupted whilst merging the federated results", e);
+            } catch (final ExecutionException e) {
+                close();
+                throw new GafferRuntimeException("Unable to merge the federated results: " + e.getCause().getMessage(), e.getCause());
+            }
+
+            final List<Element> elements = source.batch;
+            if (source.exhausted) {
+                source.close();
+            } else {
+                producers.submit(source);
+            }
+            return elements.iterator();
+        }
+
+        private void consume(final Element element) {
+            if (aggregatedGroups.contains(element.getGroup())) {
+                buffer.merge(toKey.apply(element), element, aggregator);
+                if (buffer.size() >= maxBufferSize) {
+                    spill();
+                }
+            } else {
+                next = element;
+            }
+        }
+
+        private void spill() {
+            try {
+                if (null == spillFiles) {
+                    LOGGER.debug("Spilling federated merge buffer of {} elements to disk", buffer.size());
+                    spillFiles = new Path[SPILL_PARTITIONS];
+                    spillStreams = new DataOutputStream[SPILL_PARTITIONS];
+                    for (int i = 0; i < SPILL_PARTITIONS; i++) {
+                        spillFiles[i] = Files.createTempFile("gaffer-federated-merge-", ".spill");
+                        spillStreams[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFiles[i])));
+                    }
+                }
+                for (final Map.Entry<Element, Element> entry : buffer.entrySet()) {
+                    serialiser.write(entry.getValue(), spillStreams[getPartition(entry.getKey())]);
+                }
+                buffer.clear();
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to spill the federated results to disk", e);
+            }
+        }
+
+        /**
+         * Aggregates a spilled partition. The partition is fully read before
+         * this returns, so its spill file can be deleted straight away.
+         */
+        private Iterator<Element> readPartition(final int index) {
+            CloseableUtil.close(partition);
+            final StreamingElementAggregator partitionAggregator = new StreamingElementAggregator(schema, view, false, maxBufferSize);
+            try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFiles[index])))) {
+                partition = partitionAggregator.aggregate(() -> new SpilledElementIterator(in));
+                Files.deleteIfExists(spillFiles[index]);
+            } catch (final IOException | GafferRuntimeException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read the spilled federated results", e);
+            }
+            return partition.iterator();
+        }
+
+        private int getPartition(final Element key) {
+            return (key.hashCode() & Integer.MAX_VALUE) % SPILL_PARTITIONS;
+        }
+
+        private void closeSpillStreams() {
+            if (null != spillStreams) {
+                for (final DataOutputStream stream : spillStreams) {
+                    CloseableUtil.close(stream);
+                }
+                spillStreams = null;
+            }
+        }
+
+        private void deleteSpillFiles() {
+            if (null != spillFiles) {
+                for (final Path spillFile : spillFiles) {
+                    try {
+                        Files.deleteIfExists(spillFile);
+                    } catch (final IOException e) {
+                        LOGGER.warn("Unable to delete spill file {}", spillFile, e);
+                    }
+                }
+            }
+        }
+
+        private final class SpilledElementIterator implements Iterator<Element> {
+            private final DataInputStream in;
+            private Element nextElement;
+            private boolean finished;
+
+            private SpilledElementIterator(final DataInputStream in) {
+                this.in = in;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (null == nextElement && !finished) {
+                    try {
+                        final int type = in.read();
+                        if (-1 == type) {
+                            finished = true;
+                        } else {
+                            nextElement = (Element) serialiser.read((byte) type, in);
+                        }
+                    } catch (final IOException e) {
+                        throw new GafferRuntimeException("Unable to read the spilled federated results", e);
+                    }
+                }
+                return null != nextElement;
+            }
+
+            @Override
+            public Element next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Element element = nextElement;
+                nextElement = null;
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Merges results that are already sorted in the sort order. The head of
+     * each sub-graph's results is held in a priority queue, so the elements are
+     * consumed in order across all the sub-graphs. Consecutive aggregated
+     * elements that compare equal under the sort order are aggregated together
+     * and returned once an element that sorts after them is consumed.
+     */
+    private final class SortedMergedElementIterator implements CloseableIterator<Element> {
+        private final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        private final AggregatorUtil.ToQueryElementKey toKey = new AggregatorUtil.ToQueryElementKey(schema, view);
+        private final AggregatorUtil.QueryElementBinaryOperator aggregator = new AggregatorUtil.QueryElementBinaryOperator(schema, view);
+        private final Map<Element, Element> run = new LinkedHashMap<>();
+        private final List<SortedSource> sources = new ArrayList<>();
+        private final PriorityQueue<SortedSource> queue;
+
+        private Element runFirst;
+        private Iterator<Element> pending;
+        private Element next;
+        private boolean closed;
+
+        private SortedMergedElementIterator() {
+            queue = new PriorityQueue<>(Math.max(1, results.size()), (source1, source2) -> {
+                final int result = sortOrder.compare(source1.head, source2.head);
+                return 0 != result ? result : Integer.compare(source1.index, source2.index);
+            });
+            try {
+                for (final Iterable<? extends Element> result : results) {
+                    final SortedSource source = new SortedSource(sources.size(), result);
+                    sources.add(source);
+                    if (source.advance()) {
+                        queue.add(source);
+                    }
+                }
+            } catch (final RuntimeException e) {
+                close();
+                throw new GafferRuntimeException("Unable to merge the federated results: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            while (null == next) {
+                if (null != pending && pending.hasNext()) {
+                    next = pending.next();
+                } else if (!queue.isEmpty()) {
+                    consume(poll());
+                } else if (!run.isEmpty()) {
+                    completeRun();
+                } else {
+                    close();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                sources.forEach(SortedSource::close);
+                queue.clear();
+                run.clear();
+                pending = null;
+            }
+        }
+
+        private Element poll() {
+            final SortedSource source = queue.poll();
+            final Element element = source.head;
+            try {
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            } catch (final RuntimeException e) {
+                close();
+                throw new GafferRuntimeException("Unable to merge the federated results: " + e.getMessage(), e);
+            }
+            return element;
+        }
+
+        private void consume(final Element element) {
+            if (!aggregatedGroups.contains(element.getGroup())) {
+                next = element;
+                return;
+            }
+
+            if (null != runFirst && 0 != sortOrder.compare(runFirst, element)) {
+                completeRun();
+            }
+            if (run.isEmpty()) {
+                // Aggregation may update the element in place, so compare against a copy
+                runFirst = element.shallowClone();
+            }
+            run.merge(toKey.apply(element), element, aggregator);
+        }
+
+        private void completeRun() {
+            pending = new ArrayList<>(run.values()).iterator();
+            run.clear();
+            runFirst = null;
+        }
+
+        /**
+         * Reads the results of a sub-graph one element at a time, checking
+         * that they are in the sort order.
+         */
+        private final class SortedSource {
+            private final int index;
+            private final Iterable<? extends Element> result;
+            private Iterator<? extends Element> itr;
+            private Element head;
+
+            private SortedSource(final int index, final Iterable<? extends Element> result) {
+                this.index = index;
+                this.result = result;
+            }
+
+            private boolean advance() {
+                if (null == itr) {
+                    itr = result.iterator();
+                }
+                final Element previous = head;
+                head = null;
+                while (null == head && itr.hasNext()) {
+                    head = itr.next();
+                }
+                if (null == head) {
+                    close();
+                    return false;
+                }
+                if (null != previous && sortOrder.compare(previous, head) > 0) {
+                    throw new GafferRuntimeException("The results of sub-graph " + index + " are not in the merge sort order");
+                }
+                return true;
+            }
+
+            private void close() {
+                CloseableUtil.close(itr);
+            }
+        }
+    }
+
+    /**
+     * Reads the results of a sub-graph a batch at a time. Only one batch of a
+     * source is read at once, so the results are never read concurrently.
+     */
+    private static final class Source implements Callable<Source> {
+        private final Iterable<? extends Element> result;
+        private volatile Iterator<? extends Element> itr;
+        private List<Element> batch;
+        private boolean exhausted;
+
+        private Source(final Iterable<? extends Element> result) {
+            this.result = result;
+        }
+
+        @Override
+        public Source call() {
+            if (null == itr) {
+                itr = result.iterator();
+            }
+            final List<Element> elements = new ArrayList<>(BATCH_SIZE);
+            while (elements.size() < BATCH_SIZE && itr.hasNext()) {
+                final Element element = itr.next();
+                if (null != element) {
+                    elements.add(element);
+                }
+            }
+            batch = elements;
+            exhausted = elements.size() < BATCH_SIZE;
+            return this;
+        }
+
+        private void close() {
+            CloseableUtil.close(itr);
+        }
+    }
+}
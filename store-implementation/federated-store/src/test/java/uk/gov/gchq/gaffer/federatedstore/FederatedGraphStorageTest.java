@@ -50,6 +50,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -348,6 +349,26 @@ public class FederatedGraphStorageTest {
         assertEquals(e2, schemaAB.getElement("e2"));
     }
 
+    @Test
+    public void shouldReuseMergedSchemaUntilGraphsChange() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+
+        // When
+        final Schema cachedSchema = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        final Schema cachedSchemaForAuthUser = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+        graphStorage.remove(GRAPH_ID_B, testUser);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+
+        // Then
+        assertSame(schemaAB, cachedSchema);
+        assertSame(schemaAB, cachedSchemaForAuthUser);
+        assertNotSame(schemaAB, schemaA);
+        assertEquals(1, schemaA.getTypes().size());
+        assertEquals(e1, schemaA.getElement("e1"));
+    }
 
     @Test
     public void shouldGetSchemaForAddingUser() throws Exception {
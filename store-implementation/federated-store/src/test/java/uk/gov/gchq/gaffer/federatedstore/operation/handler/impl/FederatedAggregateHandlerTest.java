@@ -66,7 +66,8 @@ public class FederatedAggregateHandlerTest {
         final Schema schema = mock(Schema.class);
 
         given(store.getSchema(op, context)).willReturn(schema);
-        given(handler.doOperation(op, schema)).willReturn(expectedResult);
+        given(handler.getMaxInMemorySize(store)).willReturn(10);
+        given(handler.doOperation(op, schema, 10)).willReturn(expectedResult);
 
         final FederatedAggregateHandler federatedHandler = new FederatedAggregateHandler(handler);
 
@@ -75,7 +76,7 @@ public class FederatedAggregateHandlerTest {
 
         // Then
         assertSame(expectedResult, result);
-        verify(handler).doOperation(op, schema);
+        verify(handler).doOperation(op, schema, 10);
     }
 
     @Test
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FederatedMergedElementIterableTest {
+    private static final String COUNT = "count";
+    private static final Comparator<Element> BY_VERTEX = Comparator.comparing(element -> (String) ((Entity) element).getVertex());
+
+    @Test
+    public void shouldAggregateElementsFromMultipleGraphs() {
+        // Given
+        final List<List<Element>> results = Arrays.asList(
+                Arrays.asList(createEntity(TestGroups.ENTITY, "1", 1), createEntity(TestGroups.ENTITY, "2", 1)),
+                Arrays.asList(createEntity(TestGroups.ENTITY, "1", 2)),
+                Arrays.asList(createEntity(TestGroups.ENTITY, "1", 3), createEntity(TestGroups.ENTITY, "3", 1)));
+
+        // When
+        final List<Element> merged = Lists.newArrayList(new FederatedMergedElementIterable(results, createSchema(), null, 100));
+
+        // Then
+        assertEquals(3, merged.size());
+        assertTrue(merged.contains(createEntity(TestGroups.ENTITY, "1", 6)));
+        assertTrue(merged.contains(createEntity(TestGroups.ENTITY, "2", 1)));
+        assertTrue(merged.contains(createEntity(TestGroups.ENTITY, "3", 1)));
+    }
+
+    @Test
+    public void shouldNotAggregateNonAggregatedGroups() {
+        // Given
+        final List<List<Element>> results = Arrays.asList(
+                Collections.singletonList(createEntity(TestGroups.NON_AGG_ENTITY, "1", 1)),
+                Collections.singletonList(createEntity(TestGroups.NON_AGG_ENTITY, "1", 1)));
+
+        // When
+        final List<Element> merged = Lists.newArrayList(new FederatedMergedElementIterable(results, createSchema(), null, 100));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity(TestGroups.NON_AGG_ENTITY, "1", 1),
+                createEntity(TestGroups.NON_AGG_ENTITY, "1", 1)), merged);
+    }
+
+    @Test
+    public void shouldAggregateElementsWhenBufferIsSpilled() {
+        // Given
+        final List<Element> graph1 = new ArrayList<>();
+        final List<Element> graph2 = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            graph1.add(createEntity(TestGroups.ENTITY, "vertex" + i, 1));
+            graph2.add(createEntity(TestGroups.ENTITY, "vertex" + i, 2));
+        }
+
+        // When
+        final List<Element> merged = Lists.newArrayList(new FederatedMergedElementIterable(Arrays.asList(graph1, graph2), createSchema(), null, 10));
+
+        // Then
+        assertEquals(100, merged.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(merged.contains(createEntity(TestGroups.ENTITY, "vertex" + i, 3)));
+        }
+    }
+
+    @Test
+    public void shouldAggregateElementsWhenSpilledPartitionsAreLargerThanBuffer() {
+        // Given
+        final List<Element> graph1 = new ArrayList<>();
+        final List<Element> graph2 = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            graph1.add(createEntity(TestGroups.ENTITY, "vertex" + i, 1));
+            graph2.add(createEntity(TestGroups.ENTITY, "vertex" + i, 2));
+        }
+
+        // When
+        final List<Element> merged = Lists.newArrayList(new FederatedMergedElementIterable(Arrays.asList(graph1, graph2), createSchema(), null, 10));
+
+        // Then
+        assertEquals(1000, merged.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(merged.contains(createEntity(TestGroups.ENTITY, "vertex" + i, 3)));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfGraphResultsFail() {
+        // Given
+        final Iterable<Element> failingResult = () -> new Iterator<Element>() {
+            @Override
+            public boolean hasNext() {
+                throw new RuntimeException("Graph unavailable");
+            }
+
+            @Override
+            public Element next() {
+                return null;
+            }
+        };
+        final FederatedMergedElementIterable iterable = new FederatedMergedElementIterable(
+                Arrays.asList(Collections.singletonList(createEntity(TestGroups.ENTITY, "1", 1)), failingResult), createSchema(), null, 100);
+
+        // When / Then
+        assertThrows(GafferRuntimeException.class, () -> Lists.newArrayList(iterable));
+    }
+
+    @Test
+    public void shouldAggregateSortedElementsFromMultipleGraphs() {
+        // Given
+        final List<List<Element>> results = Arrays.asList(
+                Arrays.asList(createEntity(TestGroups.ENTITY, "1", 1), createEntity(TestGroups.NON_AGG_ENTITY, "1", 1), createEntity(TestGroups.ENTITY, "2", 1)),
+                Collections.singletonList(createEntity(TestGroups.ENTITY, "1", 2)),
+                Arrays.asList(createEntity(TestGroups.ENTITY, "1", 3), createEntity(TestGroups.ENTITY, "3", 1)));
+
+        // When
+        final List<Element> merged = Lists.newArrayList(new FederatedMergedElementIterable(results, createSchema(), null, 100, BY_VERTEX));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity(TestGroups.NON_AGG_ENTITY, "1", 1),
+                createEntity(TestGroups.ENTITY, "1", 6),
+                createEntity(TestGroups.ENTITY, "2", 1),
+                createEntity(TestGroups.ENTITY, "3", 1)), merged);
+    }
+
+    @Test
+    public void shouldReturnAggregatedElementsBeforeSortedResultsAreConsumed() {
+        // Given
+        final List<Element> graph1 = Arrays.asList(
+                createEntity(TestGroups.ENTITY, "1", 1),
+                createEntity(TestGroups.ENTITY, "2", 1),
+                createEntity(TestGroups.ENTITY, "3", 1));
+        final Iterable<Element> graph2 = () -> new Iterator<Element>() {
+            private final Iterator<Element> elements = Arrays.asList(
+                    createEntity(TestGroups.ENTITY, "1", 2),
+                    createEntity(TestGroups.ENTITY, "2", 2)).iterator();
+
+            @Override
+            public boolean hasNext() {
+                if (!elements.hasNext()) {
+                    throw new IllegalStateException("Results should not be read any further");
+                }
+                return true;
+            }
+
+            @Override
+            public Element next() {
+                return elements.next();
+            }
+        };
+
+        // When
+        final Iterator<Element> merged = new FederatedMergedElementIterable(Arrays.asList(graph1, graph2), createSchema(), null, 100, BY_VERTEX).iterator();
+
+        // Then
+        assertEquals(createEntity(TestGroups.ENTITY, "1", 3), merged.next());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfResultsAreNotInTheSortOrder() {
+        // Given
+        final FederatedMergedElementIterable iterable = new FederatedMergedElementIterable(
+                Arrays.asList(
+                        Arrays.asList(createEntity(TestGroups.ENTITY, "2", 1), createEntity(TestGroups.ENTITY, "1", 1)),
+                        Collections.singletonList(createEntity(TestGroups.ENTITY, "1", 2))),
+                createSchema(), null, 100, BY_VERTEX);
+
+        // When / Then
+        assertThrows(GafferRuntimeException.class, () -> Lists.newArrayList(iterable));
+    }
+
+    private static Entity createEntity(final String group, final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property(COUNT, count)
+                .build();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .build())
+                .entity(TestGroups.NON_AGG_ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .aggregate(false)
+                        .build())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+}
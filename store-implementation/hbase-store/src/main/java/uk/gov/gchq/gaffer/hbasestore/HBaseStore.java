@@ -34,11 +34,14 @@ import uk.gov.gchq.gaffer.hbasestore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GenerateSplitPointsFromSampleHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAllElementsHandler;
+import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetElementCountHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetElementsHandler;
+import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetGroupCountsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.SampleElementsForSplitPointsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.SplitStoreFromIterableHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.hbasestore.utils.TableUtils;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.handler.HdfsSplitStoreFromFileHandler;
@@ -57,8 +60,12 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.operation.GetElementCount;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.optimiser.CountOperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.ScanPushDownOperationChainOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -66,6 +73,7 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -141,6 +149,12 @@ public class HBaseStore extends Store {
         } else {
             super.initialise(graphId, schema, getProperties());
         }
+
+        // Add OperationChainOptimisers
+        addOperationChainOptimisers(Arrays.asList(
+                new CountOperationChainOptimiser(),
+                new ScanPushDownOperationChainOptimiser(
+                        HBaseStoreConstants.OPERATION_SCAN_LIMIT, HBaseStoreConstants.OPERATION_IDENTIFIERS_ONLY)));
     }
 
     public Configuration getConfiguration() {
@@ -257,5 +271,7 @@ public class HBaseStore extends Store {
         addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
         addOperationHandler(SampleElementsForSplitPoints.class, new SampleElementsForSplitPointsHandler());
         addOperationHandler(GenerateSplitPointsFromSample.class, new GenerateSplitPointsFromSampleHandler());
+        addOperationHandler(GetElementCount.class, new GetElementCountHandler());
+        addOperationHandler(GetGroupCounts.class, new GetGroupCountsHandler());
     }
 }
@@ -25,7 +25,6 @@ import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.regionserver.ScanType;
 import org.apache.hadoop.hbase.regionserver.Store;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionRequest;
-import org.apache.hadoop.hbase.util.Bytes;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner;
@@ -33,6 +32,7 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.StoreScanner;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ElementDefinitionsCache;
 
 import java.io.IOException;
 
@@ -43,7 +43,7 @@ public class GafferCoprocessor extends BaseRegionObserver {
     @Override
     public void start(final CoprocessorEnvironment e) throws IOException {
         final String schemaJson = StringUtil.unescapeComma(e.getConfiguration().get(HBaseStoreConstants.SCHEMA));
-        schema = Schema.fromJson(Bytes.toBytes(schemaJson));
+        schema = ElementDefinitionsCache.getSchema(schemaJson);
         serialisation = new ElementSerialisation(schema);
     }
 
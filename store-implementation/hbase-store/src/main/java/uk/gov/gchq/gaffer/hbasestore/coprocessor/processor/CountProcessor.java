@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CountProcessor} counts the number of element cells in each group
+ * and does not return any of the cells. The counts can be encoded into a single
+ * cell value using {@link uk.gov.gchq.gaffer.store.util.GroupCountsUtil#encodeCounts(Map)}
+ * once the region has been scanned.
+ * A new processor is created for each region scanner, so the client must
+ * combine the counts from each region.
+ */
+@Since("1.22.1")
+@Summary("Counts the number of elements in each group")
+public class CountProcessor implements GafferScannerProcessor {
+    private final Map<String, Long> counts = new HashMap<>();
+
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        for (final LazyElementCell elementCell : elementCells) {
+            if (!elementCell.isDeleted()) {
+                counts.merge(elementCell.getGroup(), 1L, Long::sum);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.List;
+
+/**
+ * The {@code EmptyValueProcessor} replaces the value of each cell with an empty
+ * value. This is used when only the element identifiers are required, so
+ * the properties serialised in the value are not sent to the client.
+ * Properties stored in the column qualifier and timestamp are not removed.
+ */
+@Since("1.22.1")
+@Summary("Removes the properties stored in the cell values")
+public class EmptyValueProcessor implements GafferScannerProcessor {
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        for (final LazyElementCell elementCell : elementCells) {
+            final Cell cell = elementCell.getCell();
+            if (!elementCell.isDeleted() && cell.getValueLength() > 0) {
+                elementCell.setCell(CellUtil.createCell(
+                        CellUtil.cloneRow(cell),
+                        CellUtil.cloneFamily(cell),
+                        CellUtil.cloneQualifier(cell),
+                        cell.getTimestamp(),
+                        KeyValue.Type.codeToType(cell.getTypeByte()),
+                        HBaseStoreConstants.EMPTY_BYTES,
+                        CellUtil.getTagArray(cell)));
+            }
+        }
+        return elementCells;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code LimitProcessor} stops returning element cells once the limit has
+ * been reached. A new processor is created for each region scanner, so the
+ * client must still apply the limit to the combined results.
+ */
+@Since("1.22.1")
+@Summary("Limits the number of elements returned by a scanner")
+public class LimitProcessor implements GafferScannerProcessor {
+    private final long limit;
+    private long count;
+
+    public LimitProcessor(final long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        final List<LazyElementCell> output = new ArrayList<>(elementCells.size());
+        for (final LazyElementCell elementCell : elementCells) {
+            if (elementCell.isDeleted()) {
+                output.add(elementCell);
+            } else if (count < limit) {
+                output.add(elementCell);
+                count++;
+            }
+        }
+        return output;
+    }
+
+    public boolean isLimitReached() {
+        return count >= limit;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+}
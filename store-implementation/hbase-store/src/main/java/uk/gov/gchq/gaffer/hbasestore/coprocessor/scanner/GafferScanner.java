@@ -84,4 +84,8 @@ public abstract class GafferScanner implements InternalScanner {
     protected InternalScanner getScanner() {
         return scanner;
     }
+
+    protected List<GafferScannerProcessor> getProcessors() {
+        return processors;
+    }
 }
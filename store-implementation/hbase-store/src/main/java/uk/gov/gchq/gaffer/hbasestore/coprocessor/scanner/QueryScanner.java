@@ -16,7 +16,9 @@
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
@@ -25,9 +27,12 @@ import org.apache.hadoop.hbase.util.Bytes;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.CountProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.EmptyValueProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.LimitProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
@@ -36,6 +41,8 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ElementDefinitionsCache;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -44,6 +51,8 @@ import java.util.List;
 import java.util.Set;
 
 public class QueryScanner extends GafferScanner implements RegionScanner {
+    private Cell lastCountedCell;
+
     public QueryScanner(final RegionScanner scanner,
                         final Scan scan,
                         final Schema schema,
@@ -81,6 +90,19 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
             processors.add(new PostAggregationFilterProcessor(view));
         }
 
+        if (isCount(scan)) {
+            processors.add(new CountProcessor());
+        }
+
+        final Long limit = getLimit(scan);
+        if (null != limit) {
+            processors.add(new LimitProcessor(limit));
+        }
+
+        if (isIdentifiersOnly(scan)) {
+            processors.add(new EmptyValueProcessor());
+        }
+
         if (!extraProcessors.isEmpty()) {
             throw new RuntimeException("Unrecognised extra processors: " + extraProcessors);
         }
@@ -89,14 +111,7 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
     }
 
     private static View getView(final Scan scan) {
-        final byte[] viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
-        final View view;
-        if (null == viewJson) {
-            view = null;
-        } else {
-            view = View.fromJson(viewJson);
-        }
-        return view;
+        return ElementDefinitionsCache.getView(scan.getAttribute(HBaseStoreConstants.VIEW));
     }
 
     private static DirectedType getDirectedType(final Scan scan) {
@@ -116,11 +131,87 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
     }
 
 
+    private static Long getLimit(final Scan scan) {
+        final byte[] limit = scan.getAttribute(HBaseStoreConstants.LIMIT);
+        if (null == limit) {
+            return null;
+        }
+        return Long.parseLong(Bytes.toString(limit));
+    }
+
+    private static boolean isIdentifiersOnly(final Scan scan) {
+        final byte[] attr = scan.getAttribute(HBaseStoreConstants.IDENTIFIERS_ONLY);
+        return null != attr && Boolean.parseBoolean(Bytes.toString(attr));
+    }
+
+    private static boolean isCount(final Scan scan) {
+        final byte[] attr = scan.getAttribute(HBaseStoreConstants.COUNT);
+        return null != attr && Boolean.parseBoolean(Bytes.toString(attr));
+    }
+
     private static boolean isIncludeMatchedVertex(final Scan scan) {
         final byte[] attr = scan.getAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX);
         return null != attr && Boolean.parseBoolean(Bytes.toString(attr));
     }
 
+    private boolean isLimitReached() {
+        for (final GafferScannerProcessor processor : getProcessors()) {
+            if (processor instanceof LimitProcessor && ((LimitProcessor) processor).isLimitReached()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CountProcessor getCountProcessor() {
+        for (final GafferScannerProcessor processor : getProcessors()) {
+            if (processor instanceof CountProcessor) {
+                return (CountProcessor) processor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans the next row of the region, passing the cells through the count
+     * processor. Once the region has been fully scanned a single cell
+     * containing the encoded group counts is output. The cell has the key of
+     * the last cell scanned, so the client scanner continues from the next
+     * region. Only one row is scanned on each call, so the region server can
+     * apply the scanner context limits between calls.
+     *
+     * @param countProcessor the processor counting the elements
+     * @param output         the list to add the count cell to
+     * @param scannerContext the scanner context, may be null
+     * @return true if there are more rows to count in the region
+     * @throws IOException if the region could not be scanned
+     */
+    private boolean count(final CountProcessor countProcessor, final List<Cell> output, final ScannerContext scannerContext) throws IOException {
+        final List<Cell> input = new ArrayList<>();
+        final boolean shouldContinue = null != scannerContext
+                ? getScanner().nextRaw(input, scannerContext)
+                : getScanner().nextRaw(input);
+        if (!input.isEmpty()) {
+            lastCountedCell = input.get(input.size() - 1);
+        }
+        _next(input, new ArrayList<>());
+        if (shouldContinue) {
+            return true;
+        }
+
+        if (null != lastCountedCell) {
+            output.add(CellUtil.createCell(
+                    CellUtil.cloneRow(lastCountedCell),
+                    CellUtil.cloneFamily(lastCountedCell),
+                    CellUtil.cloneQualifier(lastCountedCell),
+                    lastCountedCell.getTimestamp(),
+                    KeyValue.Type.Put.getCode(),
+                    GroupCountsUtil.encodeCounts(countProcessor.getCounts())));
+            lastCountedCell = null;
+        }
+        return false;
+    }
+
     @Override
     protected RegionScanner getScanner() {
         return (RegionScanner) super.getScanner();
@@ -158,17 +249,19 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
-        final boolean shouldContinue = getScanner().nextRaw(input);
-        _next(input, output);
-        return shouldContinue;
+        return nextRaw(output, null);
     }
 
     @Override
     public boolean nextRaw(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
+        final CountProcessor countProcessor = getCountProcessor();
+        if (null != countProcessor) {
+            return count(countProcessor, output, scannerContext);
+        }
+
         final List<Cell> input = new ArrayList<>();
         final boolean shouldContinue = getScanner().nextRaw(input);
         _next(input, output);
-        return shouldContinue;
+        return shouldContinue && !isLimitReached();
     }
 }
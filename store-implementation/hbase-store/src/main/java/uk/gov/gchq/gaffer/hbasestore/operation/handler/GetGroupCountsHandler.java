@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.SeedMatching;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.GetGroupCounts;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A {@code GetGroupCountsHandler} handles {@link GetGroupCounts} operations
+ * by counting the elements in each group on the region servers.
+ */
+public class GetGroupCountsHandler implements OutputOperationHandler<GetGroupCounts, GroupCounts> {
+    @Override
+    public GroupCounts doOperation(final GetGroupCounts operation, final Context context, final Store store) throws OperationException {
+        return doOperation(operation, context.getUser(), (HBaseStore) store);
+    }
+
+    private GroupCounts doOperation(final GetGroupCounts operation, final User user, final HBaseStore store) throws OperationException {
+        return GroupCountsUtil.toGroupCounts(countGroups(operation.getOperation(), user, store), store.getSchema());
+    }
+
+    static Map<String, Long> countGroups(final Operation operation, final User user, final HBaseStore store) throws OperationException {
+        try {
+            if (operation instanceof GetElements) {
+                final GetElements getElements = (GetElements) operation;
+                if (null == getElements.getInput()) {
+                    // If null seeds no results are returned
+                    return Collections.emptyMap();
+                }
+                return store.createRetriever(getElements, user, getElements.getInput(), SeedMatching.SeedMatchingType.EQUAL != getElements.getSeedMatching())
+                        .countGroups();
+            }
+            if (operation instanceof GetAllElements) {
+                return store.createRetriever((GetAllElements) operation, user, null, false, ElementDedupeFilterProcessor.class)
+                        .countGroups();
+            }
+        } catch (final StoreException e) {
+            throw new OperationException("Unable to count elements", e);
+        }
+
+        throw new OperationException("Elements can only be counted for GetElements and GetAllElements operations, not: "
+                + (null != operation ? operation.getClass().getName() : null));
+    }
+}
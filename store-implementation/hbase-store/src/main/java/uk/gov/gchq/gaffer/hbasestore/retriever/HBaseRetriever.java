@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
@@ -45,14 +46,19 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.GroupCountsUtil;
+import uk.gov.gchq.gaffer.store.util.ProjectionUtil;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
     private final ElementSerialisation serialisation;
@@ -64,9 +70,11 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final OP operation;
     private final byte[] extraProcessors;
     private final boolean includeMatchedVertex;
+    private final Map<String, Set<String>> requiredProperties;
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
+    private boolean countGroups;
 
     public HBaseRetriever(final HBaseStore store,
                           final OP operation,
@@ -88,6 +96,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
 
         this.includeMatchedVertex = includeMatchedVertex;
+        this.requiredProperties = ProjectionUtil.getRequiredProperties(operation.getView(), store.getSchema());
 
         if (null != extraProcessors && extraProcessors.length > 0) {
             this.extraProcessors = StringUtil.toCsv(extraProcessors);
@@ -111,6 +120,49 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         return iterator;
     }
 
+    /**
+     * Counts the elements in each group using a
+     * {@link uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.CountProcessor},
+     * so the elements are counted on the region servers rather than being
+     * sent to the client. Transformations and post transformation filters in
+     * the view are not applied.
+     *
+     * @return the number of elements in each group
+     * @throws StoreException if the elements could not be counted
+     */
+    public Map<String, Long> countGroups() throws StoreException {
+        close();
+
+        final Map<String, Long> counts = new HashMap<>();
+        countGroups = true;
+        final CloseableIterable<Result> results;
+        if (null != ids) {
+            idsIterator = ids.iterator();
+            results = new BatchedResultScanner();
+        } else {
+            results = createScanner();
+        }
+
+        try {
+            for (final Result result : results) {
+                if (null != result.listCells()) {
+                    for (final Cell cell : result.listCells()) {
+                        GroupCountsUtil.decodeCounts(CellUtil.cloneValue(cell))
+                                .forEach((group, count) -> counts.merge(group, count, Long::sum));
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new StoreException("Failed to count elements", e);
+        } finally {
+            countGroups = false;
+            CloseableUtil.close(results);
+            close();
+        }
+
+        return counts;
+    }
+
     @Override
     public void close() {
         if (null != iterator) {
@@ -126,7 +178,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private Element deserialiseAndTransform(final Cell cell) {
         try {
-            Element element = serialisation.getElement(cell, includeMatchedVertex);
+            Element element = serialisation.getElement(cell, includeMatchedVertex, requiredProperties.get(serialisation.getGroup(cell)));
             final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
             if (null != viewDef) {
                 final ElementTransformer transformer = viewDef.getTransformer();
@@ -180,6 +232,16 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             if (null != extraProcessors) {
                 scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
             }
+            final String limit = operation.getOption(HBaseStoreConstants.OPERATION_SCAN_LIMIT);
+            if (null != limit) {
+                scan.setAttribute(HBaseStoreConstants.LIMIT, Bytes.toBytes(limit));
+            }
+            if (Boolean.parseBoolean(operation.getOption(HBaseStoreConstants.OPERATION_IDENTIFIERS_ONLY))) {
+                scan.setAttribute(HBaseStoreConstants.IDENTIFIERS_ONLY, Bytes.toBytes(Boolean.TRUE.toString()));
+            }
+            if (countGroups) {
+                scan.setAttribute(HBaseStoreConstants.COUNT, Bytes.toBytes(Boolean.TRUE.toString()));
+            }
             scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
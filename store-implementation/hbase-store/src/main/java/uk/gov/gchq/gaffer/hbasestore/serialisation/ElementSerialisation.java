@@ -50,6 +50,7 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Set;
 
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
@@ -104,6 +105,21 @@ public class ElementSerialisation {
 
     public Properties getPropertiesFromValue(final String group, final byte[] value)
             throws SerialisationException {
+        return getPropertiesFromValue(group, value, null);
+    }
+
+    /**
+     * Deserialises the requested properties from the value. The bytes of the
+     * other properties are skipped over without being deserialised.
+     *
+     * @param group                   the element group
+     * @param value                   the serialised properties
+     * @param propertiesToDeserialise the properties to deserialise, or null for all properties
+     * @return the deserialised properties
+     * @throws SerialisationException if the properties could not be deserialised
+     */
+    public Properties getPropertiesFromValue(final String group, final byte[] value, final Set<String> propertiesToDeserialise)
+            throws SerialisationException {
         final Properties properties = new Properties();
         if (null == value || value.length == 0) {
             return properties;
@@ -130,7 +146,9 @@ public class ElementSerialisation {
                         throw new SerialisationException("Exception reading length of property");
                     }
                     lastDelimiter += numBytesForLength;
-                    if (currentPropLength > 0) {
+                    if (null != propertiesToDeserialise && !propertiesToDeserialise.contains(propertyName)) {
+                        lastDelimiter += currentPropLength;
+                    } else if (currentPropLength > 0) {
                         try {
                             properties.put(propertyName, serialiser.deserialise(value, lastDelimiter, currentPropLength));
                             lastDelimiter += currentPropLength;
@@ -159,11 +177,16 @@ public class ElementSerialisation {
 
     public Element getElement(final Cell cell, final boolean includeMatchedVertex)
             throws SerialisationException {
+        return getElement(cell, includeMatchedVertex, null);
+    }
+
+    public Element getElement(final Cell cell, final boolean includeMatchedVertex, final Set<String> propertiesToDeserialise)
+            throws SerialisationException {
         final boolean keyRepresentsEntity = isEntity(cell);
         if (keyRepresentsEntity) {
-            return getEntity(cell);
+            return getEntity(cell, propertiesToDeserialise);
         }
-        return getEdge(cell, includeMatchedVertex);
+        return getEdge(cell, includeMatchedVertex, propertiesToDeserialise);
     }
 
     public Properties getProperties(final String group, final Cell cell) throws SerialisationException {
@@ -594,22 +617,22 @@ public class ElementSerialisation {
         out.write(bytes);
     }
 
-    private void addPropertiesToElement(final Element element, final Cell cell)
+    private void addPropertiesToElement(final Element element, final Cell cell, final Set<String> propertiesToDeserialise)
             throws SerialisationException {
         element.copyProperties(
                 getPropertiesFromColumnQualifier(element.getGroup(), CellUtil.cloneQualifier(cell)));
         element.copyProperties(
-                getPropertiesFromValue(element.getGroup(), CellUtil.cloneValue(cell)));
+                getPropertiesFromValue(element.getGroup(), CellUtil.cloneValue(cell), propertiesToDeserialise));
         element.copyProperties(
                 getPropertiesFromTimestamp(element.getGroup(), cell.getTimestamp()));
     }
 
     private Edge getEdge(final Cell cell)
             throws SerialisationException {
-        return getEdge(cell, false);
+        return getEdge(cell, false, null);
     }
 
-    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex)
+    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex, final Set<String> propertiesToDeserialise)
             throws SerialisationException {
         final byte[][] result = new byte[3][];
         final EdgeDirection direction = getSourceAndDestination(CellUtil.cloneRow(cell), result);
@@ -625,20 +648,20 @@ public class ElementSerialisation {
         try {
             final Edge edge = new Edge(group, ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[0]),
                     ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex, null);
-            addPropertiesToElement(edge, cell);
+            addPropertiesToElement(edge, cell, propertiesToDeserialise);
             return edge;
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Edge from cell", e);
         }
     }
 
-    private Entity getEntity(final Cell cell) throws SerialisationException {
+    private Entity getEntity(final Cell cell, final Set<String> propertiesToDeserialise) throws SerialisationException {
 
         try {
             final byte[] row = CellUtil.cloneRow(cell);
             final Entity entity = new Entity(getGroup(cell), ((ToBytesSerialiser) schema.getVertexSerialiser())
                     .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)));
-            addPropertiesToElement(entity, cell);
+            addPropertiesToElement(entity, cell, propertiesToDeserialise);
             return entity;
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Entity from cell", e);
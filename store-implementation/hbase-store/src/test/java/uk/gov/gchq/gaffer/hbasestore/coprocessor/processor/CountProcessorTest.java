@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountProcessorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldCountElementsInEachGroupAcrossBatches() throws SerialisationException {
+        // Given
+        final CountProcessor processor = new CountProcessor();
+
+        // When
+        final List<LazyElementCell> firstBatch = processor.process(CellUtil.getLazyCells(Arrays.asList(
+                new Entity(TestGroups.ENTITY, "1"),
+                new Entity(TestGroups.ENTITY, "2")), serialisation));
+        final List<LazyElementCell> secondBatch = processor.process(CellUtil.getLazyCells(Arrays.asList(
+                new Entity(TestGroups.ENTITY, "3"),
+                new Edge(TestGroups.EDGE, "1", "2", true)), serialisation));
+
+        // Then
+        assertTrue(firstBatch.isEmpty());
+        assertTrue(secondBatch.isEmpty());
+        final Map<String, Long> expected = new HashMap<>();
+        expected.put(TestGroups.ENTITY, 3L);
+        expected.put(TestGroups.EDGE, 2L);
+        assertEquals(expected, processor.getCounts());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LimitProcessorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldLimitElementsAcrossBatches() throws SerialisationException {
+        // Given
+        final LimitProcessor processor = new LimitProcessor(3);
+
+        // When
+        final List<LazyElementCell> firstBatch = processor.process(createCells("1", "2"));
+        final boolean limitReachedAfterFirstBatch = processor.isLimitReached();
+        final List<LazyElementCell> secondBatch = processor.process(createCells("3", "4", "5"));
+
+        // Then
+        assertEquals(2, firstBatch.size());
+        assertFalse(limitReachedAfterFirstBatch);
+        assertEquals(1, secondBatch.size());
+        assertEquals(new Entity(TestGroups.ENTITY, "3"), secondBatch.get(0).getElement());
+        assertTrue(processor.isLimitReached());
+    }
+
+    @Test
+    public void shouldReturnNoElementsWhenLimitIsZero() throws SerialisationException {
+        // Given
+        final LimitProcessor processor = new LimitProcessor(0);
+
+        // When
+        final List<LazyElementCell> result = processor.process(createCells("1"));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    private List<LazyElementCell> createCells(final String... vertices) throws SerialisationException {
+        final Element[] elements = new Element[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            elements[i] = new Entity(TestGroups.ENTITY, vertices[i]);
+        }
+        return CellUtil.getLazyCells(Arrays.asList(elements), serialisation);
+    }
+}
@@ -60,6 +60,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         final Schema schema = mapStore.getSchema();
 
         final int bufferSize = mapStore.getProperties().getIngestBufferSize();
+        final int maxInMemorySize = mapStore.getProperties().getAggregationMaxInMemorySize();
 
         if (bufferSize < 1) {
             // Add all elements directly
@@ -73,7 +74,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(mapImpl.cloneElement(element, schema));
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, maxInMemorySize));
                         batch.clear();
                         count = 0;
                     }
@@ -81,7 +82,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, maxInMemorySize));
             }
         }
     }
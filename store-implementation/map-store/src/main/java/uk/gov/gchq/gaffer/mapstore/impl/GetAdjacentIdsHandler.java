@@ -71,6 +71,7 @@ public class GetAdjacentIdsHandler implements
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxInMemorySize;
 
         EntityIdIterable(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds, final MapStore mapStore, final User user) {
             this.mapImpl = mapImpl;
@@ -78,6 +79,7 @@ public class GetAdjacentIdsHandler implements
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxInMemorySize = mapStore.getProperties().getAggregationMaxInMemorySize();
         }
 
         @Override
@@ -100,7 +102,7 @@ public class GetAdjacentIdsHandler implements
             elementStream = elementStream.map(element -> mapImpl.cloneElement(element, schema));
 
             // Apply the view
-            elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView(), true);
+            elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView(), true, maxInMemorySize);
 
             final Stream<EntityId> adjacentIdsStream = elementStream
                     .filter(Objects::nonNull)
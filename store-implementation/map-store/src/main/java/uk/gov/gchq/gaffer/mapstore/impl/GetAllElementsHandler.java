@@ -29,8 +29,11 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ProjectionUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -55,6 +58,7 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxInMemorySize;
 
         AllElementsIterable(final MapImpl mapImpl, final GetAllElements getAllElements, final MapStore mapStore, final User user) {
             this.mapImpl = mapImpl;
@@ -62,6 +66,7 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxInMemorySize = mapStore.getProperties().getAggregationMaxInMemorySize();
         }
 
         @Override
@@ -71,8 +76,9 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            final Map<String, Set<String>> requiredProperties = ProjectionUtil.getRequiredProperties(getAllElements.getView(), schema);
+            elements = elements.map(element -> mapImpl.cloneElement(element, schema, requiredProperties.get(element.getGroup())));
+            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView(), false, maxInMemorySize);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getAllElements.getView(), element);
                 return element;
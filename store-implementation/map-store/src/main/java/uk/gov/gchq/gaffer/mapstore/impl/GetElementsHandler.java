@@ -32,8 +32,11 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ProjectionUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -69,6 +72,7 @@ public class GetElementsHandler
         private final Schema schema;
         private final User user;
         private final boolean supportsVisibility;
+        private final int maxInMemorySize;
 
         ElementsIterable(final MapImpl mapImpl, final GetElements getElements, final MapStore mapStore, final User user) {
             this.mapImpl = mapImpl;
@@ -76,6 +80,7 @@ public class GetElementsHandler
             this.schema = mapStore.getSchema();
             this.user = user;
             this.supportsVisibility = mapStore.getTraits().contains(StoreTrait.VISIBILITY);
+            this.maxInMemorySize = mapStore.getProperties().getAggregationMaxInMemorySize();
 
         }
 
@@ -88,8 +93,9 @@ public class GetElementsHandler
             if (this.supportsVisibility) {
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            final Map<String, Set<String>> requiredProperties = ProjectionUtil.getRequiredProperties(getElements.getView(), schema);
+            elements = elements.map(element -> mapImpl.cloneElement(element, schema, requiredProperties.get(element.getGroup())));
+            elements = GetElementsUtil.applyView(elements, schema, getElements.getView(), false, maxInMemorySize);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
@@ -47,7 +47,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -183,6 +182,14 @@ public final class GetElementsUtil {
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, AggregatorUtil.DEFAULT_MAX_IN_MEMORY_SIZE);
+    }
+
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final int maxInMemorySize) {
         final Set<String> viewGroups = view.getGroups();
         Stream<Element> stream = elementStream;
         // Check group is valid
@@ -198,7 +205,7 @@ public final class GetElementsUtil {
         });
 
         // Apply aggregation
-        final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
+        final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream::iterator, schema, view, includeMatchedVertex, maxInMemorySize);
         stream = StreamSupport.stream(iterable.spliterator(), false);
 
         // Apply post-aggregation filter
@@ -220,6 +220,29 @@ public class MapImpl {
         return mapFactory.cloneElement(element, schema);
     }
 
+    /**
+     * Clones an element, only cloning the given properties. The other properties
+     * are not included in the clone.
+     *
+     * @param element    the element to clone
+     * @param schema     the schema
+     * @param properties the properties to clone, or null to clone all the properties
+     * @return the cloned element
+     */
+    Element cloneElement(final Element element, final Schema schema, final Set<String> properties) {
+        if (null == properties) {
+            return cloneElement(element, schema);
+        }
+        final Element projectedElement = element.emptyClone();
+        for (final String property : properties) {
+            final Object value = element.getProperty(property);
+            if (null != value) {
+                projectedElement.putProperty(property, value);
+            }
+        }
+        return cloneElement(projectedElement, schema);
+    }
+
     Set<String> getGroupByProperties(final String group) {
         return groupToGroupByProperties.get(group);
     }
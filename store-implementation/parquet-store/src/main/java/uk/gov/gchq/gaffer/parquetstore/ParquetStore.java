@@ -44,6 +44,7 @@ import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.ArrayListStringParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.BooleanParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.ByteParquetSerialiser;
@@ -83,8 +84,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -148,6 +152,7 @@ public class ParquetStore extends Store {
     private long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private final Map<Path, Optional<ParquetFileIndex>> fileIndexes = new ConcurrentHashMap<>();
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -453,6 +458,7 @@ public class ParquetStore extends Store {
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
         this.currentSnapshot = snapshot;
+        fileIndexes.clear();
         loadGraphPartitioner();
     }
 
@@ -471,6 +477,24 @@ public class ParquetStore extends Store {
         return latestSnapshot;
     }
 
+    /**
+     * Gets the {@link ParquetFileIndex} for the given Parquet file. The indexes are
+     * cached until the snapshot changes.
+     *
+     * @param file the Parquet file
+     * @return the index, or null if the file does not have an index
+     */
+    public ParquetFileIndex getFileIndex(final Path file) {
+        return fileIndexes.computeIfAbsent(file, f -> {
+            try {
+                return Optional.ofNullable(ParquetFileIndex.read(fs, f));
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to read the index for file {}", f, e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
     public GraphPartitioner getGraphPartitioner() {
         return graphPartitioner;
     }
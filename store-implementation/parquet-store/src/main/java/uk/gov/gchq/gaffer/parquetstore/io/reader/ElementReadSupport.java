@@ -20,34 +20,82 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
  * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the Parquet types.
+ * If a set of properties is provided then only the identifier columns and the columns for those properties are
+ * requested from the file, so the column chunks for the other properties are never read or decoded.
  */
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> properties;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null);
+    }
+
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter, final Set<String> properties) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.properties = properties;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter, getColumnsToRead());
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        final MessageType fileSchema = context.getFileSchema();
+        final Set<String> columnsToRead = getColumnsToRead();
+        if (null == columnsToRead) {
+            return new ReadContext(fileSchema);
+        }
+        final List<Type> requestedFields = new ArrayList<>();
+        for (final Type field : fileSchema.getFields()) {
+            if (columnsToRead.contains(getColumn(field.getName()))) {
+                requestedFields.add(field);
+            }
+        }
+        return new ReadContext(new MessageType(fileSchema.getName(), requestedFields));
+    }
+
+    private Set<String> getColumnsToRead() {
+        if (null == properties) {
+            return null;
+        }
+        final Set<String> columns = new HashSet<>(properties);
+        if (isEntity) {
+            columns.add(ParquetStore.VERTEX);
+        } else {
+            columns.add(ParquetStore.SOURCE);
+            columns.add(ParquetStore.DESTINATION);
+            columns.add(ParquetStore.DIRECTED);
+        }
+        return columns;
+    }
+
+    /**
+     * Gets the Gaffer column for a top level field in the Parquet schema. A Gaffer column that is stored
+     * in multiple Parquet columns has fields of the form column_suffix.
+     */
+    private static String getColumn(final String fieldName) {
+        return fieldName.contains("_") ? fieldName.substring(0, fieldName.indexOf("_")) : fieldName;
     }
 }
@@ -23,6 +23,8 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.converter.GafferElementConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.Set;
+
 /**
  * This class is used by the {@link ElementReadSupport} to materialise the Gaffer {@link Element}'s directly from the
  * Parquet primitive types.
@@ -32,7 +34,12 @@ public class ElementRecordMaterialiser extends RecordMaterializer<Element> {
     private GafferElementConverter root;
 
     public ElementRecordMaterialiser(final MessageType parquetSchema, final boolean isEntity, final GafferGroupObjectConverter converter) {
-        this.root = new GafferElementConverter(isEntity, parquetSchema, converter);
+        this(parquetSchema, isEntity, converter, null);
+    }
+
+    public ElementRecordMaterialiser(final MessageType parquetSchema, final boolean isEntity, final GafferGroupObjectConverter converter,
+                                     final Set<String> columnsToBuild) {
+        this.root = new GafferElementConverter(isEntity, parquetSchema, converter, columnsToBuild);
     }
 
     @Override
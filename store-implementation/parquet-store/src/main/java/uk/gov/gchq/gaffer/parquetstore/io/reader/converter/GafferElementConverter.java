@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used by the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ElementRecordMaterialiser} to materialise
@@ -39,12 +40,19 @@ public class GafferElementConverter extends GroupConverter {
     private final GafferGroupObjectConverter gafferGroupObjectConverter;
     private final Map<Integer, Converter> fieldToConverter;
     private final Map<String, Object[]> parquetColumnToObject;
+    private final Set<String> columnsToBuild;
     private final int fieldCount;
     private Element currentRecord = null;
 
     public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this(isEntity, schema, gafferGroupObjectConverter, null);
+    }
+
+    public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter,
+                                  final Set<String> columnsToBuild) {
         super();
         this.isEntity = isEntity;
+        this.columnsToBuild = columnsToBuild;
         this.parquetColumnToObject = new HashMap<>(schema.getFieldCount());
         this.gafferGroupObjectConverter = gafferGroupObjectConverter;
         this.fieldCount = schema.getFieldCount();
@@ -78,7 +86,7 @@ public class GafferElementConverter extends GroupConverter {
     @Override
     public void end() {
         try {
-            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, columnsToBuild);
         } catch (final SerialisationException e) {
             LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
         }
@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateAndSortData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteParquetFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -193,6 +194,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                             final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
                             LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
                             fs.rename(status[0].getPath(), destination);
+                            new WriteParquetFileIndex(fs, schemaUtils, group, false).writeIndex(destination);
                         }
                     }
                 }
@@ -216,6 +218,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                             final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
                             LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
                             fs.rename(status[0].getPath(), destination);
+                            new WriteParquetFileIndex(fs, schemaUtils, group, true).writeIndex(destination);
                         }
                     }
                 }
@@ -34,8 +34,10 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.WriteDa
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateDataForGroup;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SortFullGroup;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteParquetFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
@@ -78,6 +80,7 @@ public class AddElementsFromRDD {
         sort();
         sortEdgeGroupsByDestination();
         calculateAndWritePartitioner();
+        writeFileIndexes();
         createNewSnapshotDirectory();
         deleteTempDirectory();
     }
@@ -277,6 +280,29 @@ public class AddElementsFromRDD {
         }
     }
 
+    /**
+     * Writes a {@link ParquetFileIndex} alongside each of the sorted Parquet files so that
+     * seeded queries can skip files that do not contain any of the seeds.
+     *
+     * @throws OperationException if an {@link IOException} is thrown
+     */
+    private void writeFileIndexes() throws OperationException {
+        try {
+            for (final String group : schemaUtils.getGroups()) {
+                LOGGER.info("Writing file indexes for group {}", group);
+                new WriteParquetFileIndex(fs, schemaUtils, group, false)
+                        .writeIndexesForDirectory(new Path(getDirectory(group, true, true, false)));
+            }
+            for (final String group : schemaUtils.getEdgeGroups()) {
+                LOGGER.info("Writing file indexes for reversed edge group {}", group);
+                new WriteParquetFileIndex(fs, schemaUtils, group, true)
+                        .writeIndexesForDirectory(new Path(getDirectory(group, true, true, true)));
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException writing file indexes", e);
+        }
+    }
+
     /**
      * Creates a new snapshot directory within the data directory in the store and moves the new data there.
      *
@@ -16,28 +16,51 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.spark;
 
+import org.apache.spark.sql.Column;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.functions;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.FilterGafferRowsFunction;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * An {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler} for the {@link GetDataFrameOfElements}
  * operation on the {@link ParquetStore}.
+ * <p>
+ * The data is read using Spark's Parquet reader, which reads the column chunks in batches rather than building
+ * an {@link uk.gov.gchq.gaffer.data.element.Element} per row. If the {@link View} contains all the groups and
+ * no filters or projection then the whole graph directory is read. Otherwise each group in the view is read
+ * separately, only the columns that are returned or used by the filters are read from the files, and the
+ * pre and post aggregation filters are applied using a {@link FilterGafferRowsFunction}. The data in the
+ * store is already aggregated, so views that require query time aggregation or transformations are not supported.
  */
 public class GetDataFrameOfElementsHandler implements OutputOperationHandler<GetDataFrameOfElements, Dataset<Row>>, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(GetDataFrameOfElementsHandler.class);
@@ -54,19 +77,178 @@ public class GetDataFrameOfElementsHandler implements OutputOperationHandler<Get
     private Dataset<Row> doOperation(final GetDataFrameOfElements operation,
                                      final ParquetStore store,
                                      final SparkSession spark) throws OperationException {
-        if (!operation.getView()
-                .equals(new View.Builder()
-                        .entities(store.getSchema().getEntityGroups())
-                        .edges(store.getSchema().getEdgeGroups()).build())) {
-            throw new OperationException("This operation does not currently support views");
+        final View allGroupsView = new View.Builder()
+                .entities(store.getSchema().getEntityGroups())
+                .edges(store.getSchema().getEdgeGroups())
+                .build();
+        final View view = null != operation.getView()
+                ? new View.Builder().merge(operation.getView()).expandGlobalDefinitions().build()
+                : allGroupsView;
+        if (view.equals(allGroupsView)) {
+            LOGGER.debug("Creating a Dataset<Row> from path {} with option mergeSchema=true", store.getGraphPath());
+            final StructType schema = store.getSchemaUtils().getMergedSparkSchema(store.getSchema().getGroups());
+            return spark
+                    .read()
+                    .schema(schema)
+                    .parquet(store.getGraphPath());
         }
-        LOGGER.debug("Creating a Dataset<Row> from path {} with option mergeSchema=true", store.getGraphPath());
+        return readGroups(view, store, spark);
+    }
 
-        final StructType schema = new SchemaUtils(store.getSchema()).getMergedSparkSchema(store.getSchema().getGroups());
-        final Dataset<Row> dataframe = spark
-                .read()
-                .schema(schema)
-                .parquet(store.getGraphPath());
+    private Dataset<Row> readGroups(final View view, final ParquetStore store, final SparkSession spark) throws OperationException {
+        final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final Set<String> groups = new LinkedHashSet<>();
+        for (final String group : view.getGroups()) {
+            if (store.getSchema().getGroups().contains(group)) {
+                validateView(group, view.getElement(group), store.getSchema().getElement(group));
+                groups.add(group);
+            }
+        }
+
+        final StructType mergedSchema = schemaUtils.getMergedSparkSchema(groups);
+        final List<StructField> outputFields = new ArrayList<>();
+        for (final StructField field : mergedSchema.fields()) {
+            final String column = getColumn(field.name());
+            for (final String group : groups) {
+                if (isIdentifier(column) || isRequiredProperty(column, view.getElement(group))) {
+                    outputFields.add(field);
+                    break;
+                }
+            }
+        }
+
+        Dataset<Row> dataframe = null;
+        for (final String group : groups) {
+            final Dataset<Row> groupDataframe = readGroup(group, view.getElement(group), outputFields, store, spark);
+            dataframe = null == dataframe ? groupDataframe : dataframe.union(groupDataframe);
+        }
+        if (null == dataframe) {
+            final StructType schema = new StructType(outputFields.toArray(new StructField[0]))
+                    .add(ParquetStore.GROUP, DataTypes.StringType);
+            dataframe = spark.createDataFrame(Collections.<Row>emptyList(), schema);
+        }
         return dataframe;
     }
+
+    private Dataset<Row> readGroup(final String group,
+                                   final ViewElementDefinition elementDef,
+                                   final List<StructField> outputFields,
+                                   final ParquetStore store,
+                                   final SparkSession spark) throws OperationException {
+        final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final StructType groupSchema = schemaUtils.getSparkSchema(group);
+        final boolean isEntity = store.getSchema().getEntityGroups().contains(group);
+        final String path = store.getGroupPath(group).toString();
+        LOGGER.debug("Creating a Dataset<Row> for group {} from path {}", group, path);
+        Dataset<Row> groupDataframe = spark
+                .read()
+                .schema(groupSchema)
+                .parquet(path);
+
+        final ElementFilter filter = getFilter(elementDef);
+        if (null != filter) {
+            final Set<String> filterColumns = getFilterColumns(filter, isEntity, schemaUtils.getColumnToPaths(group).keySet());
+            // Select the columns first so Spark only reads the columns needed by the filter and the output
+            final List<Column> requiredFields = new ArrayList<>();
+            for (final StructField field : groupSchema.fields()) {
+                final String column = getColumn(field.name());
+                if (filterColumns.contains(column) || outputFields.contains(field)) {
+                    requiredFields.add(functions.col(field.name()));
+                }
+            }
+            final byte[] filterJson;
+            try {
+                filterJson = JSONSerialiser.serialise(filter);
+            } catch (final SerialisationException e) {
+                throw new OperationException("Unable to serialise the filter for group " + group, e);
+            }
+            groupDataframe = groupDataframe
+                    .select(requiredFields.toArray(new Column[0]))
+                    .filter(new FilterGafferRowsFunction(group, isEntity, filterColumns.toArray(new String[0]),
+                            filterJson, schemaUtils.getConverter(group)));
+        }
+
+        final List<Column> columns = new ArrayList<>(outputFields.size() + 1);
+        for (final StructField field : outputFields) {
+            if (groupSchema.contains(field)) {
+                columns.add(functions.col(field.name()));
+            } else {
+                columns.add(functions.lit(null).cast(field.dataType()).as(field.name()));
+            }
+        }
+        columns.add(functions.lit(group).as(ParquetStore.GROUP));
+        return groupDataframe.select(columns.toArray(new Column[0]));
+    }
+
+    private void validateView(final String group, final ViewElementDefinition elementDef, final SchemaElementDefinition schemaElementDef) throws OperationException {
+        if (null != elementDef.getTransformer() && !elementDef.getTransformer().getComponents().isEmpty()) {
+            throw new OperationException("This operation does not currently support views with transformations, found one for group " + group);
+        }
+        if (elementDef.hasPostTransformFilters()) {
+            throw new OperationException("This operation does not currently support views with post transform filters, found one for group " + group);
+        }
+        if (null != elementDef.getGroupBy() && !elementDef.getGroupBy().equals(schemaElementDef.getGroupBy())) {
+            throw new OperationException("This operation does not currently support views with a groupBy, found one for group " + group);
+        }
+    }
+
+    private ElementFilter getFilter(final ViewElementDefinition elementDef) {
+        if (!elementDef.hasPreAggregationFilters() && !elementDef.hasPostAggregationFilters()) {
+            return null;
+        }
+        // The data in the store is already aggregated, so the pre and post aggregation filters can be combined
+        final ElementFilter filter = new ElementFilter();
+        if (elementDef.hasPreAggregationFilters()) {
+            filter.getComponents().addAll(elementDef.getPreAggregationFilterFunctions());
+        }
+        if (elementDef.hasPostAggregationFilters()) {
+            filter.getComponents().addAll(elementDef.getPostAggregationFilterFunctions());
+        }
+        return filter;
+    }
+
+    private Set<String> getFilterColumns(final ElementFilter filter, final boolean isEntity, final Set<String> groupColumns) {
+        final Set<String> filterColumns = new LinkedHashSet<>();
+        for (final TupleAdaptedPredicate<String, ?> predicate : filter.getComponents()) {
+            for (final String selection : predicate.getSelection()) {
+                if (groupColumns.contains(selection)) {
+                    filterColumns.add(selection);
+                }
+            }
+        }
+        if (!isEntity && (filterColumns.contains(ParquetStore.SOURCE)
+                || filterColumns.contains(ParquetStore.DESTINATION)
+                || filterColumns.contains(ParquetStore.DIRECTED))) {
+            // The edge identifiers have to be set together
+            filterColumns.add(ParquetStore.SOURCE);
+            filterColumns.add(ParquetStore.DESTINATION);
+            filterColumns.add(ParquetStore.DIRECTED);
+        }
+        return filterColumns;
+    }
+
+    private boolean isIdentifier(final String column) {
+        return ParquetStore.VERTEX.equals(column)
+                || ParquetStore.SOURCE.equals(column)
+                || ParquetStore.DESTINATION.equals(column)
+                || ParquetStore.DIRECTED.equals(column);
+    }
+
+    private boolean isRequiredProperty(final String column, final ViewElementDefinition elementDef) {
+        if (elementDef.isAllProperties()) {
+            return true;
+        }
+        if (null != elementDef.getProperties()) {
+            return elementDef.getProperties().contains(column);
+        }
+        return !elementDef.getExcludeProperties().contains(column);
+    }
+
+    /**
+     * Gets the Gaffer column for a top level field in the Spark schema. A Gaffer column that is stored
+     * in multiple Parquet columns has fields of the form column_suffix.
+     */
+    private static String getColumn(final String fieldName) {
+        return fieldName.contains("_") ? fieldName.substring(0, fieldName.indexOf("_")) : fieldName;
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.spark.api.java.function.FilterFunction;
+import org.apache.spark.sql.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+
+/**
+ * This is used by the {@link uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.GetDataFrameOfElementsHandler}
+ * to apply the {@link ElementFilter}s from a {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View} to the
+ * Spark {@link Row}s read from the Parquet files. Only the columns selected by the filters are converted into Gaffer
+ * objects, so a full {@link Element} is never built for the row.
+ */
+public class FilterGafferRowsFunction implements FilterFunction<Row> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FilterGafferRowsFunction.class);
+    private static final long serialVersionUID = 2862117591218458815L;
+    private final String group;
+    private final boolean isEntity;
+    private final String[] filterColumns;
+    private final byte[] filterJson;
+    private final GafferGroupObjectConverter objectConverter;
+    private transient ElementFilter filter;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public FilterGafferRowsFunction(final String group,
+                                    final boolean isEntity,
+                                    final String[] filterColumns,
+                                    final byte[] filterJson,
+                                    final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this.group = group;
+        this.isEntity = isEntity;
+        this.filterColumns = filterColumns;
+        this.filterJson = filterJson;
+        this.objectConverter = gafferGroupObjectConverter;
+    }
+
+    @Override
+    public boolean call(final Row row) throws SerialisationException {
+        if (null == filter) {
+            filter = JSONSerialiser.deserialise(filterJson, ElementFilter.class);
+        }
+        final Element element = isEntity ? new Entity(group) : new Edge(group);
+        Object src = null;
+        Object dst = null;
+        Boolean isDirected = null;
+        for (final String column : filterColumns) {
+            final Object gafferObject = objectConverter.sparkRowToGafferObject(column, row);
+            if (isEntity && ParquetStore.VERTEX.equals(column)) {
+                ((Entity) element).setVertex(gafferObject);
+            } else if (!isEntity && ParquetStore.SOURCE.equals(column)) {
+                src = gafferObject;
+            } else if (!isEntity && ParquetStore.DESTINATION.equals(column)) {
+                dst = gafferObject;
+            } else if (!isEntity && ParquetStore.DIRECTED.equals(column)) {
+                isDirected = (Boolean) gafferObject;
+            } else {
+                element.putProperty(column, gafferObject);
+            }
+        }
+        if (null != src || null != dst || null != isDirected) {
+            ((Edge) element).setIdentifiers(src, dst, null != isDirected && isDirected);
+        }
+        final boolean result = filter.test(element);
+        LOGGER.trace("Filter result for row {} was {}", row, result);
+        return result;
+    }
+}
@@ -37,9 +37,13 @@ import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.ProjectionUtil;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -65,6 +69,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final Set<String> requiredProperties;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
@@ -103,6 +108,27 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             group = filePath.getParent().getName().split("=")[1];
         }
         elementDefinitionJson = view.getElement(group).toCompactJson();
+        requiredProperties = getRequiredProperties();
+    }
+
+    /**
+     * Gets the properties that need to be read from the file, i.e. the properties returned
+     * to the user and the properties needed by the filters and validators.
+     *
+     * @return the required properties, or null if all the properties are required
+     */
+    private Set<String> getRequiredProperties() {
+        final SchemaElementDefinition schemaElementDefinition = gafferSchema.getElement(group);
+        final Set<String> properties = ProjectionUtil.getRequiredProperties(view.getElement(group), schemaElementDefinition, gafferSchema);
+        if (null != properties && needsValidatorsAndFiltersApplying && !skipValidation) {
+            final ElementFilter validatorFilter = schemaElementDefinition.getValidator(false);
+            if (null != validatorFilter) {
+                for (final TupleAdaptedPredicate<String, ?> predicate : validatorFilter.getComponents()) {
+                    properties.addAll(Arrays.asList(predicate.getSelection()));
+                }
+            }
+        }
+        return properties;
     }
 
     @Override
@@ -164,12 +190,14 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .readingProperties(requiredProperties)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .readingProperties(requiredProperties)
                     .build();
         }
     }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileIndex;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link ParquetFileIndex} for each Parquet file in a directory. All the files
+ * in the directory must contain data for the same group.
+ */
+public class WriteParquetFileIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteParquetFileIndex.class);
+
+    private final FileSystem fs;
+    private final SchemaUtils schemaUtils;
+    private final String group;
+    private final boolean reversed;
+
+    public WriteParquetFileIndex(final FileSystem fs, final SchemaUtils schemaUtils, final String group, final boolean reversed) {
+        this.fs = fs;
+        this.schemaUtils = schemaUtils;
+        this.group = group;
+        this.reversed = reversed;
+    }
+
+    public void writeIndexesForDirectory(final Path directory) throws IOException {
+        if (!fs.exists(directory)) {
+            return;
+        }
+        final FileStatus[] files = fs.listStatus(directory, path -> path.getName().endsWith(".parquet"));
+        for (final FileStatus file : files) {
+            writeIndex(file.getPath());
+        }
+    }
+
+    public void writeIndex(final Path file) throws IOException {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final List<BlockMetaData> rowGroups = ParquetFileReader
+                .readFooter(fs.getConf(), file, ParquetMetadataConverter.NO_FILTER)
+                .getBlocks();
+        long numberOfRows = 0L;
+        for (final BlockMetaData rowGroup : rowGroups) {
+            numberOfRows += rowGroup.getRowCount();
+        }
+
+        final ParquetFileIndex index = new ParquetFileIndex(numberOfRows);
+        final SeedComparator comparator = new SeedComparator();
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .build()) {
+            for (final BlockMetaData rowGroup : rowGroups) {
+                Object[] minKey = null;
+                Object[] maxKey = null;
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    final Element element = reader.read();
+                    if (null == element) {
+                        throw new IOException("Expected " + numberOfRows + " elements in file " + file);
+                    }
+                    final Object[] key = getKey(element, isEntity, converter);
+                    index.addKey(key);
+                    if (null == minKey || comparator.compare(key, minKey) < 0) {
+                        minKey = key;
+                    }
+                    if (null == maxKey || comparator.compare(key, maxKey) > 0) {
+                        maxKey = key;
+                    }
+                }
+                if (null != minKey) {
+                    index.addRowGroup(minKey, maxKey);
+                }
+            }
+        }
+        index.write(fs, file);
+        LOGGER.debug("Wrote index for file {} with {} keys in {} row groups", file, numberOfRows, index.getNumberOfRowGroups());
+    }
+
+    /**
+     * Gets the key the file is sorted by. This uses the same conversion the
+     * {@link uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator} uses for seeds,
+     * i.e. the vertex column for entity groups and the source column for edge groups.
+     */
+    private Object[] getKey(final Element element, final boolean isEntity, final GafferGroupObjectConverter converter) throws IOException {
+        if (isEntity) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, ((Entity) element).getVertex());
+        }
+        final Edge edge = (Edge) element;
+        return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE, reversed ? edge.getDestination() : edge.getSource());
+    }
+}
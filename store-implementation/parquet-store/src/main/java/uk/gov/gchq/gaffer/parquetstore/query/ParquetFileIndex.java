@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code ParquetFileIndex} is a sidecar index written alongside a Parquet file
+ * in the {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore}. It contains a Bloom
+ * filter of the keys the file is sorted by (the vertex for entities, the source for
+ * edges and the destination for reversed edges) and the minimum and maximum key of
+ * each row group. It allows the {@link QueryGenerator} to skip files that cannot
+ * contain any of the seeds without opening them.
+ * <p>
+ * The index file has the same name as the Parquet file prefixed with a '.' and with
+ * the suffix ".index", so it is ignored when the directory is read as a Parquet dataset.
+ */
+public class ParquetFileIndex {
+    public static final String INDEX_FILE_PREFIX = ".";
+    public static final String INDEX_FILE_SUFFIX = ".index";
+    public static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int VERSION = 1;
+
+    private final BloomFilter bloomFilter;
+    private final List<Object[]> rowGroupMinKeys;
+    private final List<Object[]> rowGroupMaxKeys;
+    private final SeedComparator comparator = new SeedComparator();
+
+    public ParquetFileIndex(final long expectedNumberOfKeys) {
+        final int vectorSize = (int) Math.min(Integer.MAX_VALUE - 1,
+                Math.ceil(-Math.max(1, expectedNumberOfKeys) * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2))));
+        final int numberOfHashes = Math.max(1, (int) Math.round((double) vectorSize / Math.max(1, expectedNumberOfKeys) * Math.log(2)));
+        this.bloomFilter = new BloomFilter(vectorSize, numberOfHashes, Hash.MURMUR_HASH);
+        this.rowGroupMinKeys = new ArrayList<>();
+        this.rowGroupMaxKeys = new ArrayList<>();
+    }
+
+    private ParquetFileIndex(final BloomFilter bloomFilter, final List<Object[]> rowGroupMinKeys, final List<Object[]> rowGroupMaxKeys) {
+        this.bloomFilter = bloomFilter;
+        this.rowGroupMinKeys = rowGroupMinKeys;
+        this.rowGroupMaxKeys = rowGroupMaxKeys;
+    }
+
+    /**
+     * Adds a key to the Bloom filter.
+     *
+     * @param key the Parquet objects for the key
+     * @throws IOException if the key could not be converted to bytes
+     */
+    public void addKey(final Object[] key) throws IOException {
+        bloomFilter.add(new Key(toBytes(key)));
+    }
+
+    /**
+     * Adds the range of keys found in the next row group of the file.
+     *
+     * @param minKey the smallest key in the row group
+     * @param maxKey the largest key in the row group
+     */
+    public void addRowGroup(final Object[] minKey, final Object[] maxKey) {
+        rowGroupMinKeys.add(minKey);
+        rowGroupMaxKeys.add(maxKey);
+    }
+
+    /**
+     * Checks whether the file might contain the given key. False positives are
+     * possible but there are no false negatives.
+     *
+     * @param key the Parquet objects for the key
+     * @return false if the file definitely does not contain the key
+     */
+    public boolean mightContain(final Object[] key) {
+        final boolean inRowGroup = mightContainInRowGroups(key);
+        try {
+            return inRowGroup && bloomFilter.membershipTest(new Key(toBytes(key)));
+        } catch (final IOException e) {
+            return inRowGroup;
+        }
+    }
+
+    private boolean mightContainInRowGroups(final Object[] key) {
+        if (rowGroupMinKeys.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < rowGroupMinKeys.size(); i++) {
+            final int compareToMin = comparator.compare(key, rowGroupMinKeys.get(i));
+            final int compareToMax = comparator.compare(key, rowGroupMaxKeys.get(i));
+            // The comparator returns Integer.MAX_VALUE if the types are not comparable
+            if (Integer.MAX_VALUE == compareToMin || Integer.MAX_VALUE == compareToMax
+                    || (compareToMin >= 0 && compareToMax <= 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getNumberOfRowGroups() {
+        return rowGroupMinKeys.size();
+    }
+
+    public static Path getIndexPath(final Path file) {
+        return new Path(file.getParent(), INDEX_FILE_PREFIX + file.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    public void write(final FileSystem fs, final Path file) throws IOException {
+        final ByteArrayOutputStream bloomFilterBytes = new ByteArrayOutputStream();
+        try (final DataOutputStream bloomFilterStream = new DataOutputStream(bloomFilterBytes)) {
+            bloomFilter.write(bloomFilterStream);
+        }
+        try (final FSDataOutputStream stream = fs.create(getIndexPath(file), true);
+             final ObjectOutputStream objectStream = new ObjectOutputStream(stream)) {
+            objectStream.writeInt(VERSION);
+            objectStream.writeObject(bloomFilterBytes.toByteArray());
+            objectStream.writeObject(new ArrayList<>(rowGroupMinKeys));
+            objectStream.writeObject(new ArrayList<>(rowGroupMaxKeys));
+        }
+    }
+
+    /**
+     * Reads the index for the given Parquet file.
+     *
+     * @param fs   the file system
+     * @param file the Parquet file
+     * @return the index, or null if the file does not have an index
+     * @throws IOException if the index exists but could not be read
+     */
+    public static ParquetFileIndex read(final FileSystem fs, final Path file) throws IOException {
+        final Path indexPath = getIndexPath(file);
+        if (!fs.exists(indexPath)) {
+            return null;
+        }
+        try (final FSDataInputStream stream = fs.open(indexPath);
+             final ObjectInputStream objectStream = new ObjectInputStream(stream)) {
+            final int version = objectStream.readInt();
+            if (VERSION != version) {
+                return null;
+            }
+            final BloomFilter bloomFilter = new BloomFilter();
+            try (final DataInputStream bloomFilterStream = new DataInputStream(new ByteArrayInputStream((byte[]) objectStream.readObject()))) {
+                bloomFilter.readFields(bloomFilterStream);
+            }
+            final List<Object[]> minKeys = (List<Object[]>) objectStream.readObject();
+            final List<Object[]> maxKeys = (List<Object[]>) objectStream.readObject();
+            return new ParquetFileIndex(bloomFilter, minKeys, maxKeys);
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to read the index for file " + file, e);
+        }
+    }
+
+    private static byte[] toBytes(final Object[] key) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream stream = new DataOutputStream(bytes)) {
+            for (final Object obj : key) {
+                if (null == obj) {
+                    stream.writeByte(0);
+                } else if (obj instanceof byte[]) {
+                    stream.writeByte(1);
+                    stream.writeInt(((byte[]) obj).length);
+                    stream.write((byte[]) obj);
+                } else if (obj instanceof java.util.Date) {
+                    stream.writeByte(2);
+                    stream.writeLong(((java.util.Date) obj).getTime());
+                } else {
+                    final byte[] value = String.valueOf(obj).getBytes(StandardCharsets.UTF_8);
+                    stream.writeByte(3);
+                    stream.writeUTF(obj.getClass().getName());
+                    stream.writeInt(value.length);
+                    stream.write(value);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("numberOfRowGroups", rowGroupMinKeys.size())
+                .toString();
+    }
+}
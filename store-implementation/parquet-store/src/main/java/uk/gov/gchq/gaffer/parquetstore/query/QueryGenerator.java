@@ -317,13 +317,16 @@ public class QueryGenerator {
 
         final List<PathInfo> paths = new ArrayList<>();
         for (final Object[] seed : seeds) {
+            // The file indexes contain the first identifier the file is sorted by
+            final Object[] indexKey = !isEntityGroup && parquetElementSeed instanceof ParquetEdgeSeed
+                    ? ((ParquetEdgeSeed) parquetElementSeed).getSource() : seed;
             final List<Integer> partitionIds = graphPartitioner.getGroupPartitioner(group).getPartitionIds(seed);
             LOGGER.debug("Partition ids for seed {} in group {}: {}", seed, group, partitionIds);
             final PathInfo.FILETYPE fileType = isEntityGroup ? PathInfo.FILETYPE.ENTITY : PathInfo.FILETYPE.EDGE;
-            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(store.getFile(group, id)), group, fileType)));
+            partitionIds.forEach(id -> addPathIfMightContainKey(paths, new PathInfo(new Path(store.getFile(group, id)), group, fileType), indexKey));
             if (!isEntityGroup && parquetElementSeed instanceof ParquetEntitySeed) {
                 final List<Integer> partitionIdsFromReversed = graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitionIds(seed);
-                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(store.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
+                partitionIdsFromReversed.forEach(id -> addPathIfMightContainKey(paths, new PathInfo(new Path(store.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE), indexKey));
             }
         }
         LOGGER.debug("Returning {} paths for seed {} and group {} (paths are {})",
@@ -331,6 +334,14 @@ public class QueryGenerator {
         return paths.stream().collect(Collectors.toSet());
     }
 
+    private void addPathIfMightContainKey(final List<PathInfo> paths, final PathInfo pathInfo, final Object[] key) {
+        final ParquetFileIndex index = store.getFileIndex(pathInfo.getPath());
+        if (null == index || index.mightContain(key)) {
+            paths.add(pathInfo);
+        } else {
+            LOGGER.debug("Skipping path {} as its index does not contain key {}", pathInfo.getPath(), key);
+        }
+    }
 
     private FilterPredicate seedsToPredicate(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
                                              final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
@@ -22,8 +22,12 @@ import org.apache.spark.sql.Row;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.util.ElementUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.integration.StandaloneIT;
@@ -39,10 +43,12 @@ import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public abstract class AbstractSparkOperationsTest extends StandaloneIT {
 
@@ -155,4 +161,33 @@ public abstract class AbstractSparkOperationsTest extends StandaloneIT {
         final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), elementsFromRows);
     }
+
+    @Test
+    public void shouldReturnCorrectResultsWhenGetDataFrameOfElementsCalledWithViewWithFilters() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        final List<Element> elements = getInputDataForGetAllElementsTestAsList();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select("count")
+                .execute(new IsMoreThan(1))
+                .build();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(filter)
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final Dataset<Row> results = graph.execute(new GetDataFrameOfElements.Builder().view(view).build(), user);
+
+        // Then
+        final List<Element> expected = getResultsForGetAllElementsTest().stream()
+                .filter(e -> TestGroups.EDGE.equals(e.getGroup())
+                        || (TestGroups.ENTITY.equals(e.getGroup()) && filter.test(e)))
+                .collect(Collectors.toList());
+        final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
+        ElementUtil.assertElementEquals(expected, elementsFromRows);
+    }
 }
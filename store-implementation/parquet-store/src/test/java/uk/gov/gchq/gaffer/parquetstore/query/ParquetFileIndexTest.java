@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParquetFileIndexTest {
+
+    @Test
+    public void shouldContainAddedKeys() throws IOException {
+        // Given
+        final ParquetFileIndex index = createIndex();
+
+        // When / Then
+        for (long i = 0; i < 100; i++) {
+            assertTrue(index.mightContain(new Object[]{i}));
+        }
+    }
+
+    @Test
+    public void shouldNotContainKeysOutsideTheRowGroups() throws IOException {
+        // Given
+        final ParquetFileIndex index = createIndex();
+
+        // When / Then
+        assertFalse(index.mightContain(new Object[]{-1L}));
+        assertFalse(index.mightContain(new Object[]{1000L}));
+    }
+
+    @Test
+    public void shouldWriteAndReadIndex(@TempDir final java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final Path file = new Path(tempDir.toString(), "partition-0000000.parquet");
+        final ParquetFileIndex index = createIndex();
+
+        // When
+        index.write(fs, file);
+        final ParquetFileIndex readIndex = ParquetFileIndex.read(fs, file);
+
+        // Then
+        assertEquals(new Path(tempDir.toString(), ".partition-0000000.parquet.index"), ParquetFileIndex.getIndexPath(file));
+        assertEquals(2, readIndex.getNumberOfRowGroups());
+        for (long i = 0; i < 100; i++) {
+            assertTrue(readIndex.mightContain(new Object[]{i}));
+        }
+        assertFalse(readIndex.mightContain(new Object[]{1000L}));
+    }
+
+    @Test
+    public void shouldReturnNullIfIndexDoesNotExist(@TempDir final java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final Path file = new Path(tempDir.toString(), "partition-0000000.parquet");
+
+        // When / Then
+        assertNull(ParquetFileIndex.read(fs, file));
+    }
+
+    private static ParquetFileIndex createIndex() throws IOException {
+        final ParquetFileIndex index = new ParquetFileIndex(100);
+        for (long i = 0; i < 100; i++) {
+            index.addKey(new Object[]{i});
+        }
+        index.addRowGroup(new Object[]{0L}, new Object[]{49L});
+        index.addRowGroup(new Object[]{50L}, new Object[]{99L});
+        return index;
+    }
+}